@@ -0,0 +1,81 @@
+package br.com.codart.benchmark;
+
+import br.com.codart.src.domain.entities.schedule.Schedule;
+import br.com.codart.src.domain.entities.schedule.WeeklyScheduleTemplate;
+import br.com.codart.src.repository.ScheduleRepository;
+import br.com.codart.src.repository.SlotRepository;
+import br.com.codart.src.service.impl.ScheduleServiceImpl;
+import br.com.codart.src.service.impl.SlotServiceImpl;
+import br.com.codart.src.service.result.AvailableSlot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Disponibilidade de uma clínica com 46 agendas (40 médicos e 6 salas) em uma semana,
+ * com 1 thread e com todos os núcleos da máquina.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClinicAvailabilityBenchmark {
+
+    private static final int SCHEDULES = 46;
+
+    @Param({"1", "0"})
+    public int parallelism;
+
+    private ForkJoinPool pool;
+    private ScheduleServiceImpl scheduleService;
+    private List<Long> scheduleIds;
+    private LocalDate from;
+
+    @Setup
+    public void setUp() {
+        // 0: um núcleo por thread
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        ScheduleRepository scheduleRepository = new ScheduleRepository();
+        scheduleService = new ScheduleServiceImpl(scheduleRepository, new SlotServiceImpl(new SlotRepository()), pool);
+        from = LocalDate.now().plusYears(1);
+        WeeklyScheduleTemplate template = new WeeklyScheduleTemplate.Builder()
+                .slotMinutes(15)
+                .weekdays(LocalTime.of(7, 0), LocalTime.of(19, 0))
+                .build();
+        scheduleIds = new ArrayList<>();
+        for (long id = 1; id <= SCHEDULES; id++) {
+            Schedule schedule = Schedule.createRecurringSchedule(id, from.atStartOfDay(), template);
+            schedule.findAvailableSlots(from, from.plusDays(6));
+            scheduleRepository.save(schedule);
+            scheduleIds.add(id);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<AvailableSlot> clinicWeek() {
+        return scheduleService.findAvailableSlots(scheduleIds, from, from.plusDays(6));
+    }
+}
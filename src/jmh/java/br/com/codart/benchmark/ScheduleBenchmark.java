@@ -0,0 +1,116 @@
+package br.com.codart.benchmark;
+
+import br.com.codart.src.domain.Enum.ScheduleStatusEnum;
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.domain.entities.schedule.Schedule;
+import br.com.codart.src.domain.entities.schedule.ScheduleSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks da agenda com 10, 1k e 100k slots de 10 minutos.
+ *
+ * Um slot só pode pertencer a uma agenda, então a construção da agenda (que inclui
+ * {@code validateSlots}) é medida junto com a criação dos slots; {@link #createSlotsOnly()}
+ * serve de linha de base para isolar o custo da agenda.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ScheduleBenchmark {
+
+    private static final int SLOT_MINUTES = 10;
+
+    @Param({"10", "1000", "100000"})
+    public int slotCount;
+
+    private LocalDateTime firstStart;
+    private Schedule schedule;
+    private LocalDate firstDay;
+    private LocalDate lastDay;
+    private Slot middle;
+
+    @Setup
+    public void setUp() {
+        firstStart = LocalDate.now().plusYears(1).atStartOfDay();
+        schedule = Schedule.createSchedule(1L, firstStart, createSlotsOnly());
+        firstDay = firstStart.toLocalDate();
+        lastDay = firstStart.plusMinutes((long) slotCount * SLOT_MINUTES).toLocalDate();
+
+        List<Slot> times = schedule.getTimes();
+        for (int i = 0; i < times.size(); i += 2) {
+            times.get(i).reserveSlot();
+        }
+        // slot ímpar: continua AVAILABLE
+        middle = times.get(times.size() / 2 | 1);
+    }
+
+    @Benchmark
+    public List<Slot> createSlotsOnly() {
+        List<Slot> slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            LocalDateTime start = firstStart.plusMinutes((long) i * SLOT_MINUTES);
+            slots.add(Slot.createSlot(i + 1L, start, start.plusMinutes(SLOT_MINUTES), SlotStatusEnum.AVAILABLE));
+        }
+        return slots;
+    }
+
+    @Benchmark
+    public Schedule createSchedule() {
+        return Schedule.createSchedule(1L, firstStart, createSlotsOnly());
+    }
+
+    @Benchmark
+    public ScheduleStatusEnum status() {
+        return schedule.getStatus();
+    }
+
+    @Benchmark
+    public List<Slot> findAvailableSlots() {
+        return schedule.findAvailableSlots(firstDay, lastDay);
+    }
+
+    @Benchmark
+    public LocalDateTime findFirstFreeGap() {
+        return schedule.findFirstFreeGap(firstStart, 30);
+    }
+
+    @Benchmark
+    public List<Slot> getTimes() {
+        return schedule.getTimes();
+    }
+
+    @Benchmark
+    public List<ScheduleSnapshot.SlotState> snapshotSlots() {
+        return schedule.snapshot().getSlots();
+    }
+
+    /**
+     * Duas transições de um slot da agenda, cada uma publicando uma nova versão da agenda.
+     */
+    @Benchmark
+    public ScheduleSnapshot holdAndRelease() {
+        middle.holdSlot();
+        middle.releaseHold();
+        return schedule.snapshot();
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.codart.benchmark;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.Enum.SlotTransitionOutcomeEnum;
+import br.com.codart.src.domain.entities.Slot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks da criação e das transições de estado do Slot.
+ *
+ * As transições são medidas em ciclos que devolvem o slot ao estado inicial
+ * (por exemplo, reservar, cancelar e reabrir), para que cada invocação encontre o slot
+ * no mesmo estado sem precisar de setup por invocação.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SlotBenchmark {
+
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private LocalDateTime otherStartTime;
+    private LocalDateTime otherEndTime;
+
+    private Slot availableSlot;
+    private Slot reservedSlot;
+    private Slot cycleSlot;
+    private boolean atOtherTime;
+
+    @Setup
+    public void setUp() {
+        startTime = LocalDateTime.now().plusYears(1);
+        endTime = startTime.plusMinutes(20);
+        otherStartTime = startTime.plusHours(1);
+        otherEndTime = otherStartTime.plusMinutes(20);
+
+        availableSlot = Slot.createSlot(1L, startTime, endTime, SlotStatusEnum.AVAILABLE);
+        reservedSlot = Slot.createSlot(2L, startTime, endTime, SlotStatusEnum.RESERVED);
+        cycleSlot = Slot.createSlot(3L, startTime, endTime, SlotStatusEnum.AVAILABLE);
+    }
+
+    @Benchmark
+    public Slot createSlot() {
+        return Slot.createSlot(1L, startTime, endTime, SlotStatusEnum.AVAILABLE);
+    }
+
+    @Benchmark
+    public Slot builderBuild() {
+        return new Slot.Builder()
+                .slotId(1L)
+                .startTime(startTime)
+                .endTime(endTime)
+                .slotStatus(SlotStatusEnum.AVAILABLE)
+                .build();
+    }
+
+    /** blockSlot + reopenSlot */
+    @Benchmark
+    public SlotStatusEnum blockAndReopen() {
+        availableSlot.blockSlot();
+        availableSlot.reopenSlot();
+        return availableSlot.getSlotStatus();
+    }
+
+    /** reserveSlot + cancelSlot + reopenSlot */
+    @Benchmark
+    public SlotStatusEnum reserveCancelAndReopen() {
+        availableSlot.reserveSlot();
+        availableSlot.cancelSlot();
+        availableSlot.reopenSlot();
+        return availableSlot.getSlotStatus();
+    }
+
+    /** reserveSlot + rescheduleSlot + cancelSlot + reopenSlot, alternando entre dois horários */
+    @Benchmark
+    public SlotStatusEnum rescheduleCycle() {
+        cycleSlot.reserveSlot();
+        if (atOtherTime) {
+            cycleSlot.rescheduleSlot(startTime, endTime, 20);
+        } else {
+            cycleSlot.rescheduleSlot(otherStartTime, otherEndTime, 20);
+        }
+        atOtherTime = !atOtherTime;
+        cycleSlot.cancelSlot();
+        cycleSlot.reopenSlot();
+        return cycleSlot.getSlotStatus();
+    }
+
+    /** Reserva rejeitada: o caso comum de quem perde a disputa por um horário. */
+    @Benchmark
+    public Object rejectedReservation() {
+        try {
+            reservedSlot.reserveSlot();
+            return reservedSlot;
+        } catch (IllegalStateException e) {
+            return e;
+        }
+    }
+
+    /** Reserva rejeitada pela API sem exceção: compare com {@link #rejectedReservation()}. */
+    @Benchmark
+    public SlotTransitionOutcomeEnum rejectedTryReserve() {
+        return reservedSlot.tryReserve();
+    }
+
+    /** tryReserve + tryCancel + tryReopen */
+    @Benchmark
+    public SlotStatusEnum tryReserveCancelAndReopen() {
+        availableSlot.tryReserve();
+        availableSlot.tryCancel();
+        availableSlot.tryReopen();
+        return availableSlot.getSlotStatus();
+    }
+}
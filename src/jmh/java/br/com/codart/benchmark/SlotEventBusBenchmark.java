@@ -0,0 +1,44 @@
+package br.com.codart.benchmark;
+
+import br.com.codart.src.domain.Enum.SlotEventTypeEnum;
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.service.event.SlotEventBus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publicação no barramento de eventos, com um e com quatro produtores.
+ * Com {@code -prof gc}, a alocação por operação deve ser zero.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlotEventBusBenchmark {
+
+    private final SlotEventBus bus = new SlotEventBus();
+
+    @Benchmark
+    public void publish() {
+        bus.publish(SlotEventTypeEnum.SLOT_TRANSITION, 1L, 1L,
+                SlotStatusEnum.AVAILABLE.ordinal(), SlotStatusEnum.RESERVED.ordinal(), 0);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void publishFromFourThreads() {
+        publish();
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.codart.benchmark;
+
+import br.com.codart.src.domain.Enum.SlotOperationEnum;
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.repository.SlotRepository;
+import br.com.codart.src.service.ISlotService;
+import br.com.codart.src.service.impl.SlotServiceImpl;
+import br.com.codart.src.service.metrics.MeteredSlotService;
+import br.com.codart.src.service.metrics.SlotMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo das métricas: reter e liberar um slot com e sem o {@link MeteredSlotService}, e o
+ * registro isolado de um resultado e de uma latência. A diferença entre {@code metered=true} e {@code false}, dividida pelas duas
+ * operações, é o custo por operação medida, que deve ficar abaixo de 50 ns.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SlotMetricsBenchmark {
+
+    @Param({"false", "true"})
+    private boolean metered;
+
+    // compartilhado entre as threads, para medir a disputa nos contadores
+    private static final SlotMetrics METRICS = new SlotMetrics();
+
+    private ISlotService slotService;
+
+    @Setup
+    public void setUp() {
+        ISlotService plain = new SlotServiceImpl(new SlotRepository());
+        slotService = metered ? new MeteredSlotService(plain, METRICS) : plain;
+        LocalDateTime start = LocalDateTime.now().plusYears(1);
+        slotService.saveSlot(Slot.createSlot(1L, start, start.plusMinutes(20), SlotStatusEnum.AVAILABLE));
+    }
+
+    @Benchmark
+    public Slot holdAndRelease() {
+        slotService.holdSlot(1L);
+        return slotService.releaseHold(1L);
+    }
+
+    @Benchmark
+    public void record() {
+        METRICS.recordSuccess(SlotOperationEnum.RESERVE);
+        METRICS.recordLatency(SlotOperationEnum.RESERVE, 1_000);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordFromFourThreads() {
+        record();
+    }
+}
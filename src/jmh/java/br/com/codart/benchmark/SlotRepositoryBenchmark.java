@@ -0,0 +1,82 @@
+package br.com.codart.benchmark;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.repository.SlotRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reservas pelo repositório com uma thread e com uma thread por núcleo, cada uma sobre o seu
+ * próprio slot. Os ids são escolhidos para que cada slot caia em uma faixa de lock diferente
+ * (o repositório tem pelo menos quatro faixas por núcleo), então a vazão deve crescer perto do
+ * número de núcleos livres da máquina.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlotRepositoryBenchmark {
+
+    private final SlotRepository repository = new SlotRepository();
+    private final AtomicLong nextId = new AtomicLong();
+    private final Set<Integer> usedStripes = new HashSet<>();
+
+    /** Slot exclusivo de cada thread do benchmark, em uma faixa de lock que nenhuma outra usa. */
+    @State(Scope.Thread)
+    public static class OwnSlot {
+
+        private long slotId;
+
+        @Setup
+        public void setUp(SlotRepositoryBenchmark benchmark) {
+            slotId = benchmark.nextIdInFreeStripe();
+            LocalDateTime start = LocalDateTime.now().plusYears(1).plusMinutes(slotId * 10);
+            benchmark.repository.save(Slot.createSlot(slotId, start, start.plusMinutes(10), SlotStatusEnum.AVAILABLE));
+        }
+    }
+
+    private long nextIdInFreeStripe() {
+        synchronized (usedStripes) {
+            long slotId = nextId.incrementAndGet();
+            while (!usedStripes.add(repository.stripeOf(slotId))) {
+                slotId = nextId.incrementAndGet();
+            }
+            return slotId;
+        }
+    }
+
+    /** reserveSlot + cancelSlot + reopenSlot dentro de um update */
+    @Benchmark
+    public SlotStatusEnum reserveCancelAndReopen(OwnSlot own) {
+        return repository.update(own.slotId, slot -> {
+            slot.reserveSlot();
+            slot.cancelSlot();
+            slot.reopenSlot();
+            return slot.getSlotStatus();
+        });
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public SlotStatusEnum reserveCancelAndReopenFromAllCores(OwnSlot own) {
+        return reserveCancelAndReopen(own);
+    }
+}
@@ -1,7 +1,33 @@
 package br.com.codart;
 
+import br.com.codart.src.api.ScheduleHttpServer;
+import br.com.codart.src.repository.ScheduleRepository;
+import br.com.codart.src.repository.SlotRepository;
+import br.com.codart.src.service.ISlotService;
+import br.com.codart.src.service.event.SlotEventBus;
+import br.com.codart.src.service.impl.ScheduleServiceImpl;
+import br.com.codart.src.service.impl.SlotServiceImpl;
+import br.com.codart.src.service.metrics.MeteredSlotService;
+import br.com.codart.src.service.metrics.SlotMetrics;
+import br.com.codart.src.service.query.AvailabilityProjection;
+
+import java.net.InetSocketAddress;
+
 public class Main {
     public static void main(String[] args) {
-        System.out.println("Hello world!");
+        // precisa ser definida antes de o HttpServer do JDK ser carregado; -D na linha de comando tem precedência
+        System.getProperties().putIfAbsent(ScheduleHttpServer.MAX_IDLE_CONNECTIONS, "65536");
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+
+        SlotMetrics metrics = new SlotMetrics();
+        ISlotService slotService = new MeteredSlotService(new SlotServiceImpl(new SlotRepository()), metrics);
+        SlotEventBus bus = new SlotEventBus();
+        ScheduleRepository scheduleRepository = new ScheduleRepository(bus);
+        ScheduleServiceImpl scheduleService = new ScheduleServiceImpl(scheduleRepository, slotService);
+        AvailabilityProjection availability = new AvailabilityProjection(bus, scheduleRepository);
+        ScheduleHttpServer server = ScheduleHttpServer.start(new InetSocketAddress(port), scheduleService, slotService, availability, metrics);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+
+        System.out.println("Medical Schedule API em http://localhost:" + server.getAddress().getPort());
     }
-}
\ No newline at end of file
+}
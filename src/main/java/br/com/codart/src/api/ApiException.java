@@ -0,0 +1,20 @@
+package br.com.codart.src.api;
+
+import br.com.codart.src.service.message.ResourceMessage;
+
+/**
+ * Erro de requisição com o status HTTP já definido (rota inexistente, método não permitido...).
+ */
+final class ApiException extends RuntimeException {
+
+    private final int status;
+
+    ApiException(int status, ResourceMessage message) {
+        super(message.getMessage(), null, false, false);
+        this.status = status;
+    }
+
+    int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,197 @@
+package br.com.codart.src.api;
+
+import br.com.codart.src.service.message.ResourceMessage;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base dos handlers da API: separa o caminho em segmentos, lê os parâmetros da query string
+ * e converte as exceções do domínio em status HTTP.
+ *
+ * IllegalArgumentException vira 400 (ou 404 quando o slot ou a agenda não existe) e
+ * IllegalStateException, uma transição rejeitada, vira 409.
+ */
+abstract class ApiHandler implements HttpHandler {
+
+    /**
+     * O cabeçalho {@code Idempotency-Key} chega aos handlers como este parâmetro.
+     */
+    static final String IDEMPOTENCY_KEY = "idempotencyKey";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final String context;
+
+    ApiHandler(String context) {
+        this.context = context;
+    }
+
+    /**
+     * @param segments partes do caminho depois do contexto (por exemplo, ["10", "reserve"])
+     */
+    abstract ApiResponse route(String method, List<String> segments, Map<String, String> query);
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        ApiResponse response;
+        try {
+            Map<String, String> query = query(exchange);
+            String idempotencyKey = exchange.getRequestHeaders().getFirst(IDEMPOTENCY_KEY_HEADER);
+            if (idempotencyKey != null) {
+                query.put(IDEMPOTENCY_KEY, idempotencyKey);
+            }
+            response = route(exchange.getRequestMethod(), segments(exchange), query);
+        } catch (ApiException e) {
+            response = new ApiResponse(e.getStatus(), Json.error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            response = new ApiResponse(isNotFound(e.getMessage()) ? 404 : 400, Json.error(e.getMessage()));
+        } catch (IllegalStateException e) {
+            response = new ApiResponse(409, Json.error(e.getMessage()));
+        } catch (RuntimeException e) {
+            response = new ApiResponse(500, Json.error(ResourceMessage.INTERNAL_ERROR.getMessage()));
+        }
+        send(exchange, response);
+    }
+
+    private static boolean isNotFound(String message) {
+        return ResourceMessage.SLOT_NOT_FOUND.getMessage().equals(message)
+                || ResourceMessage.SCHEDULE_NOT_FOUND.getMessage().equals(message);
+    }
+
+    private static void send(HttpExchange exchange, ApiResponse response) throws IOException {
+        byte[] body = response.getBody().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", response.getContentType());
+        exchange.sendResponseHeaders(response.getStatus(), body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private List<String> segments(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.substring(Math.min(context.length(), path.length())).split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(segment);
+            }
+        }
+        return segments;
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> query = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null || raw.isEmpty()) {
+            return query;
+        }
+        for (String pair : raw.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            query.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    // Leitura de parâmetros
+
+    static ApiException notFound() {
+        return new ApiException(404, ResourceMessage.RESOURCE_NOT_FOUND);
+    }
+
+    static ApiException methodNotAllowed() {
+        return new ApiException(405, ResourceMessage.METHOD_NOT_ALLOWED);
+    }
+
+    static void requireMethod(String method, String expected) {
+        if (!expected.equals(method)) {
+            throw methodNotAllowed();
+        }
+    }
+
+    /**
+     * Id de um segmento do caminho; um id que não é número é um recurso inexistente.
+     */
+    static Long pathId(String segment) {
+        try {
+            return Long.valueOf(segment);
+        } catch (NumberFormatException e) {
+            throw notFound();
+        }
+    }
+
+    static String required(Map<String, String> query, String name, ResourceMessage invalid) {
+        String value = query.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException(invalid.getMessage());
+        }
+        return value;
+    }
+
+    static long longParam(Map<String, String> query, String name, ResourceMessage invalid) {
+        try {
+            return Long.parseLong(required(query, name, invalid));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(invalid.getMessage());
+        }
+    }
+
+    /**
+     * Lista de números separados por vírgula, como {@code ids=1,2,3}.
+     */
+    static List<Long> longListParam(Map<String, String> query, String name, ResourceMessage invalid) {
+        List<Long> values = new ArrayList<>();
+        try {
+            for (String value : required(query, name, invalid).split(",")) {
+                values.add(Long.parseLong(value.trim()));
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(invalid.getMessage());
+        }
+        return values;
+    }
+
+    static int intParam(Map<String, String> query, String name, ResourceMessage invalid) {
+        try {
+            return Integer.parseInt(required(query, name, invalid));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(invalid.getMessage());
+        }
+    }
+
+    static LocalDate dateParam(Map<String, String> query, String name, ResourceMessage invalid) {
+        try {
+            return LocalDate.parse(required(query, name, invalid));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(invalid.getMessage());
+        }
+    }
+
+    static LocalTime timeParam(Map<String, String> query, String name, ResourceMessage invalid) {
+        try {
+            return LocalTime.parse(required(query, name, invalid));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(invalid.getMessage());
+        }
+    }
+
+    static LocalDateTime dateTimeParam(Map<String, String> query, String name, ResourceMessage invalid) {
+        try {
+            return LocalDateTime.parse(required(query, name, invalid));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(invalid.getMessage());
+        }
+    }
+}
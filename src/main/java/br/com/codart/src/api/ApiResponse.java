@@ -0,0 +1,48 @@
+package br.com.codart.src.api;
+
+/**
+ * Resposta de um handler: status HTTP e corpo, JSON salvo em {@link #text(String)}.
+ */
+final class ApiResponse {
+
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String TEXT = "text/plain; charset=utf-8";
+
+    private final int status;
+    private final String body;
+    private final String contentType;
+
+    ApiResponse(int status, String body) {
+        this(status, body, JSON);
+    }
+
+    private ApiResponse(int status, String body, String contentType) {
+        this.status = status;
+        this.body = body;
+        this.contentType = contentType;
+    }
+
+    static ApiResponse ok(String body) {
+        return new ApiResponse(200, body);
+    }
+
+    static ApiResponse created(String body) {
+        return new ApiResponse(201, body);
+    }
+
+    static ApiResponse text(String body) {
+        return new ApiResponse(200, body, TEXT);
+    }
+
+    int getStatus() {
+        return status;
+    }
+
+    String getBody() {
+        return body;
+    }
+
+    String getContentType() {
+        return contentType;
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.codart.src.api;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.domain.entities.schedule.Schedule;
+import br.com.codart.src.service.query.AvailableTime;
+import br.com.codart.src.service.result.AvailableSlot;
+import br.com.codart.src.service.result.SlotReservation;
+
+import java.util.List;
+
+/**
+ * Serialização JSON das respostas da API (o projeto não depende de biblioteca de JSON).
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    static String slot(Slot slot) {
+        return appendSlot(new StringBuilder(96), slot).toString();
+    }
+
+    static String reservation(SlotReservation reservation) {
+        return new StringBuilder(96).append("{\"slotId\":").append(reservation.getSlotId())
+                .append(",\"startTime\":\"").append(reservation.getStartTime())
+                .append("\",\"endTime\":\"").append(reservation.getEndTime())
+                .append("\",\"status\":\"").append(reservation.getSlotStatus())
+                .append("\"}").toString();
+    }
+
+    static String availableTimes(List<AvailableTime> times) {
+        StringBuilder json = new StringBuilder(2 + times.size() * 96).append('[');
+        for (int i = 0; i < times.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            AvailableTime time = times.get(i);
+            json.append("{\"slotId\":").append(time.getSlotId())
+                    .append(",\"startTime\":\"").append(time.getStartTime())
+                    .append("\",\"endTime\":\"").append(time.getEndTime())
+                    .append("\",\"status\":\"").append(SlotStatusEnum.AVAILABLE)
+                    .append("\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    static String availableSlots(List<AvailableSlot> slots) {
+        StringBuilder json = new StringBuilder(2 + slots.size() * 112).append('[');
+        for (int i = 0; i < slots.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            AvailableSlot available = slots.get(i);
+            json.append("{\"scheduleId\":").append(available.getScheduleId())
+                    .append(",\"slot\":");
+            appendSlot(json, available.getSlot()).append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    static String schedule(Schedule schedule) {
+        return new StringBuilder(128)
+                .append("{\"scheduleId\":").append(schedule.getId())
+                .append(",\"scheduleDate\":\"").append(schedule.getScheduleDate())
+                .append("\",\"status\":\"").append(schedule.getStatus())
+                .append("\",\"availableSlots\":").append(schedule.countSlots(SlotStatusEnum.AVAILABLE))
+                .append(",\"reservedSlots\":").append(schedule.countSlots(SlotStatusEnum.RESERVED))
+                .append('}')
+                .toString();
+    }
+
+    static String error(String message) {
+        StringBuilder json = new StringBuilder(64).append("{\"message\":");
+        return appendString(json, message).append('}').toString();
+    }
+
+    private static StringBuilder appendSlot(StringBuilder json, Slot slot) {
+        return json.append("{\"slotId\":").append(slot.getSlotId())
+                .append(",\"startTime\":\"").append(slot.getStartTime())
+                .append("\",\"endTime\":\"").append(slot.getEndTime())
+                .append("\",\"status\":\"").append(slot.getSlotStatus())
+                .append("\"}");
+    }
+
+    private static StringBuilder appendString(StringBuilder json, String value) {
+        if (value == null) {
+            return json.append("null");
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append('"');
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.codart.src.api;
+
+import br.com.codart.src.domain.Enum.SlotOperationEnum;
+import br.com.codart.src.service.metrics.LatencySnapshot;
+import br.com.codart.src.service.metrics.SlotMetrics;
+import br.com.codart.src.service.metrics.SlotMetricsSnapshot;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Métricas das operações de slot em texto, no formato de exposição do Prometheus.
+ * <pre>
+ * GET  /metrics
+ * </pre>
+ * As latências saem em segundos, com os percentis 50, 90, 99 e 99,9.
+ */
+final class MetricsHttpHandler extends ApiHandler {
+
+    static final String CONTEXT = "/metrics";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final SlotMetrics metrics;
+
+    MetricsHttpHandler(SlotMetrics metrics) {
+        super(CONTEXT);
+        this.metrics = metrics;
+    }
+
+    @Override
+    ApiResponse route(String method, List<String> segments, Map<String, String> query) {
+        if (!segments.isEmpty()) {
+            throw notFound();
+        }
+        requireMethod(method, "GET");
+        return ApiResponse.text(text(metrics.snapshot()));
+    }
+
+    static String text(SlotMetricsSnapshot snapshot) {
+        StringBuilder text = new StringBuilder(4096);
+        text.append("# TYPE slot_operations_total counter\n");
+        for (SlotOperationEnum operation : snapshot.getOperations()) {
+            for (Map.Entry<String, Long> outcome : snapshot.getCounts(operation).entrySet()) {
+                text.append("slot_operations_total{operation=\"").append(operation)
+                        .append("\",outcome=\"").append(outcome.getKey())
+                        .append("\"} ").append(outcome.getValue()).append('\n');
+            }
+        }
+        text.append("# TYPE slot_operation_seconds summary\n");
+        for (SlotOperationEnum operation : snapshot.getOperations()) {
+            LatencySnapshot latency = snapshot.getLatency(operation);
+            for (double quantile : QUANTILES) {
+                text.append("slot_operation_seconds{operation=\"").append(operation)
+                        .append("\",quantile=\"").append(quantile)
+                        .append("\"} ").append(seconds(latency.getPercentileNanos(quantile))).append('\n');
+            }
+            text.append("slot_operation_seconds_sum{operation=\"").append(operation)
+                    .append("\"} ").append(seconds(latency.getTotalNanos())).append('\n');
+            text.append("slot_operation_seconds_count{operation=\"").append(operation)
+                    .append("\"} ").append(latency.getCount()).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+}
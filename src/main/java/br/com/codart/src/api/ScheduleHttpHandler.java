@@ -0,0 +1,111 @@
+package br.com.codart.src.api;
+
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.domain.entities.schedule.Schedule;
+import br.com.codart.src.service.IScheduleService;
+import br.com.codart.src.service.message.ResourceMessage;
+import br.com.codart.src.service.query.AvailabilityProjection;
+import br.com.codart.src.service.query.AvailableTime;
+import br.com.codart.src.service.query.DayAvailabilityView;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Operações de agenda.
+ * <pre>
+ * POST /schedules?id=1&amp;day=2025-01-10&amp;start=08:00&amp;end=12:00&amp;slotMinutes=20
+ * GET  /schedules/{id}
+ * GET  /schedules/{id}/available?from=2025-01-10&amp;to=2025-01-17   (to é opcional)
+ * GET  /schedules/available?ids=1,2,3&amp;from=2025-01-10&amp;to=2025-01-17   (to é opcional)
+ * GET  /schedules/next?ids=1,2,3&amp;after=2025-01-10T08:00&amp;minutes=20&amp;limit=5
+ * </pre>
+ * Com uma {@link AvailabilityProjection}, {@code /schedules/{id}/available} é respondido pelas
+ * visões em cache, que podem ficar alguns instantes atrás das reservas; o formato da resposta é o
+ * mesmo com ou sem projeção.
+ *
+ * Agendas recorrentes geram os dias consultados, então as consultas de disponibilidade aceitam
+ * no máximo {@value #MAX_RANGE_DAYS} dias; períodos maiores respondem 400.
+ */
+final class ScheduleHttpHandler extends ApiHandler {
+
+    static final String CONTEXT = "/schedules";
+    static final int MAX_RANGE_DAYS = 366;
+
+    private final IScheduleService scheduleService;
+    private final AvailabilityProjection availability;
+
+    ScheduleHttpHandler(IScheduleService scheduleService, AvailabilityProjection availability) {
+        super(CONTEXT);
+        this.scheduleService = scheduleService;
+        this.availability = availability;
+    }
+
+    @Override
+    ApiResponse route(String method, List<String> segments, Map<String, String> query) {
+        if (segments.isEmpty()) {
+            requireMethod(method, "POST");
+            Schedule schedule = scheduleService.createSchedule(
+                    longParam(query, "id", ResourceMessage.SCHEDULE_INVALID),
+                    dateParam(query, "day", ResourceMessage.SCHEDULE_NOT_NULL),
+                    timeParam(query, "start", ResourceMessage.SCHEDULE_INVALID),
+                    timeParam(query, "end", ResourceMessage.SCHEDULE_INVALID),
+                    intParam(query, "slotMinutes", ResourceMessage.SCHEDULE_INVALID));
+            return ApiResponse.created(Json.schedule(schedule));
+        }
+        if (segments.size() > 2) {
+            throw notFound();
+        }
+
+        requireMethod(method, "GET");
+        if (segments.size() == 1 && "available".equals(segments.get(0))) {
+            LocalDate from = dateParam(query, "from", ResourceMessage.SCHEDULE_INVALID);
+            LocalDate to = toParam(query, from);
+            return ApiResponse.ok(Json.availableSlots(scheduleService.findAvailableSlots(
+                    longListParam(query, "ids", ResourceMessage.SCHEDULE_INVALID), from, to)));
+        }
+        if (segments.size() == 1 && "next".equals(segments.get(0))) {
+            return ApiResponse.ok(Json.availableSlots(scheduleService.findNextAvailableSlots(
+                    longListParam(query, "ids", ResourceMessage.SCHEDULE_INVALID),
+                    dateTimeParam(query, "after", ResourceMessage.SCHEDULE_INVALID),
+                    intParam(query, "minutes", ResourceMessage.SCHEDULE_INVALID),
+                    intParam(query, "limit", ResourceMessage.SCHEDULE_INVALID))));
+        }
+        Long scheduleId = pathId(segments.get(0));
+        if (segments.size() == 1) {
+            Schedule schedule = scheduleService.findSchedule(scheduleId)
+                    .orElseThrow(() -> new IllegalArgumentException(ResourceMessage.SCHEDULE_NOT_FOUND.getMessage()));
+            return ApiResponse.ok(Json.schedule(schedule));
+        }
+        if (!"available".equals(segments.get(1))) {
+            throw notFound();
+        }
+        LocalDate from = dateParam(query, "from", ResourceMessage.SCHEDULE_INVALID);
+        LocalDate to = toParam(query, from);
+        List<AvailableTime> times = new ArrayList<>();
+        if (availability != null) {
+            for (DayAvailabilityView day : availability.findDays(scheduleId, from, to)) {
+                times.addAll(day.getTimes());
+            }
+        } else {
+            for (Slot slot : scheduleService.findAvailableSlots(scheduleId, from, to)) {
+                times.add(new AvailableTime(slot.getSlotId(), slot.getStartTime(), slot.getEndTime()));
+            }
+        }
+        return ApiResponse.ok(Json.availableTimes(times));
+    }
+
+    /**
+     * Fim do período (opcional, o padrão é {@code from}), limitado a {@value #MAX_RANGE_DAYS} dias.
+     */
+    private static LocalDate toParam(Map<String, String> query, LocalDate from) {
+        LocalDate to = query.containsKey("to") ? dateParam(query, "to", ResourceMessage.SCHEDULE_INVALID) : from;
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException(ResourceMessage.DATE_RANGE_TOO_LONG.getMessage());
+        }
+        return to;
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.codart.src.api;
+
+import br.com.codart.src.service.IScheduleService;
+import br.com.codart.src.service.ISlotService;
+import br.com.codart.src.service.message.ResourceMessage;
+import br.com.codart.src.service.metrics.SlotMetrics;
+import br.com.codart.src.service.query.AvailabilityProjection;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Servidor HTTP da API de agendas e slots, sobre o {@code HttpServer} do JDK.
+ *
+ * Cada requisição roda em uma thread virtual própria, então não existe um teto de threads
+ * para conexões simultâneas: uma requisição parada em I/O (por exemplo, esperando o sync do
+ * log) não ocupa uma thread de plataforma.
+ *
+ * O HttpServer do JDK mantém no máximo 200 conexões keep-alive ociosas e fecha as demais; com
+ * mais clientes que isso, um cliente que reaproveita a conexão no mesmo instante recebe EOF.
+ * O limite vem da propriedade {@value #MAX_IDLE_CONNECTIONS}, lida uma única vez quando o
+ * servidor do JDK é carregado, então deve ser passada ao subir a JVM
+ * ({@code -Dsun.net.httpserver.maxIdleConnections=65536}) ou definida no início do {@code main}.
+ */
+public final class ScheduleHttpServer implements Closeable {
+
+    private static final int BACKLOG = 4096;
+
+    public static final String MAX_IDLE_CONNECTIONS = "sun.net.httpserver.maxIdleConnections";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private ScheduleHttpServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Inicia o servidor. Use a porta 0 para escolher uma porta livre.
+     */
+    public static ScheduleHttpServer start(InetSocketAddress address, IScheduleService scheduleService, ISlotService slotService) {
+        return start(address, scheduleService, slotService, null, null);
+    }
+
+    /**
+     * Inicia o servidor respondendo as consultas de disponibilidade de uma agenda pela projeção
+     * informada e expondo as métricas em {@code GET /metrics}. Sem projeção (null), as consultas
+     * vão direto à agenda; sem métricas (null), {@code /metrics} não existe.
+     */
+    public static ScheduleHttpServer start(InetSocketAddress address, IScheduleService scheduleService, ISlotService slotService,
+                                           AvailabilityProjection availability, SlotMetrics metrics) {
+        if (address == null || scheduleService == null || slotService == null) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            HttpServer server = HttpServer.create(address, BACKLOG);
+            server.createContext(ScheduleHttpHandler.CONTEXT, new ScheduleHttpHandler(scheduleService, availability));
+            server.createContext(SlotHttpHandler.CONTEXT, new SlotHttpHandler(slotService));
+            if (metrics != null) {
+                server.createContext(MetricsHttpHandler.CONTEXT, new MetricsHttpHandler(metrics));
+            }
+            server.setExecutor(executor);
+            server.start();
+            return new ScheduleHttpServer(server, executor);
+        } catch (IOException e) {
+            executor.shutdownNow();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.codart.src.api;
+
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.service.ISlotService;
+import br.com.codart.src.service.message.ResourceMessage;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Operações de slot.
+ * <pre>
+ * GET  /slots/{id}
+ * POST /slots/{id}/reserve | cancel | block | reopen
+ * POST /slots/{id}/reserve  com o cabeçalho Idempotency-Key: repetições devolvem a primeira resposta
+ * POST /slots/{id}/reschedule?start=2025-01-10T08:00&amp;end=2025-01-10T08:20&amp;durationMinutes=20
+ * </pre>
+ */
+final class SlotHttpHandler extends ApiHandler {
+
+    static final String CONTEXT = "/slots";
+
+    private final ISlotService slotService;
+
+    SlotHttpHandler(ISlotService slotService) {
+        super(CONTEXT);
+        this.slotService = slotService;
+    }
+
+    @Override
+    ApiResponse route(String method, List<String> segments, Map<String, String> query) {
+        if (segments.isEmpty() || segments.size() > 2) {
+            throw notFound();
+        }
+        Long slotId = pathId(segments.get(0));
+        if (segments.size() == 1) {
+            requireMethod(method, "GET");
+            Slot slot = slotService.findSlot(slotId)
+                    .orElseThrow(() -> new IllegalArgumentException(ResourceMessage.SLOT_NOT_FOUND.getMessage()));
+            return ApiResponse.ok(Json.slot(slot));
+        }
+
+        requireMethod(method, "POST");
+        if (segments.get(1).equals("reserve") && query.containsKey(IDEMPOTENCY_KEY)) {
+            return ApiResponse.ok(Json.reservation(slotService.reserveSlot(slotId, query.get(IDEMPOTENCY_KEY))));
+        }
+        Slot slot = switch (segments.get(1)) {
+            case "reserve" -> slotService.reserveSlot(slotId);
+            case "cancel" -> slotService.cancelSlot(slotId);
+            case "block" -> slotService.blockSlot(slotId);
+            case "reopen" -> slotService.reopenSlot(slotId);
+            case "reschedule" -> slotService.rescheduleSlot(slotId,
+                    dateTimeParam(query, "start", ResourceMessage.SLOT_INVALID),
+                    dateTimeParam(query, "end", ResourceMessage.SLOT_INVALID),
+                    intParam(query, "durationMinutes", ResourceMessage.NOT_AVAILABLE));
+            default -> throw notFound();
+        };
+        return ApiResponse.ok(Json.slot(slot));
+    }
+}
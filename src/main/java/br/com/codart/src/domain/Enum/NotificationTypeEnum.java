@@ -0,0 +1,34 @@
+package br.com.codart.src.domain.Enum;
+
+/**
+ * Avisos enviados ao paciente quando um slot dele muda.
+ */
+public enum NotificationTypeEnum {
+    BOOKED,
+    CANCELLED,
+    RESCHEDULED,
+    /**
+     * Reserva desfeita pelo lote que a fez (ver {@code SlotServiceImpl#reserveAll}). Não chega ao
+     * gateway: anula o BOOKED ainda pendente do slot ou, se ele já foi enviado, vira CANCELLED.
+     */
+    RELEASED;
+
+    /**
+     * Aviso correspondente a uma transição de slot, ou null se a transição não gera aviso.
+     */
+    public static NotificationTypeEnum of(SlotStatusEnum from, SlotStatusEnum to) {
+        if (from == SlotStatusEnum.RESERVED && to == SlotStatusEnum.AVAILABLE) {
+            return RELEASED;
+        }
+        if (to == SlotStatusEnum.RESERVED && from != SlotStatusEnum.RESERVED) {
+            return BOOKED;
+        }
+        if (to == SlotStatusEnum.CANCELLED) {
+            return CANCELLED;
+        }
+        if (to == SlotStatusEnum.RESCHEDULED) {
+            return RESCHEDULED;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.codart.src.domain.Enum;
+
+/**
+ * Tipos de evento publicados pela agenda no barramento de eventos.
+ */
+public enum SlotEventTypeEnum {
+    // transição de status de um slot (reserva, cancelamento, reagendamento, ...)
+    SLOT_TRANSITION,
+    // slot adicionado à agenda depois da criação
+    SLOT_ADDED,
+    // slot encerrado retirado da agenda pelo arquivamento
+    SLOT_ARCHIVED,
+    // mudança do status calculado da agenda
+    SCHEDULE_STATUS;
+}
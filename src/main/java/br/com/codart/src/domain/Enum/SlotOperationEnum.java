@@ -0,0 +1,34 @@
+package br.com.codart.src.domain.Enum;
+
+/**
+ * Operações do serviço de slots medidas pelas métricas. As operações que mudam o status de um
+ * slot conhecem a transição correspondente.
+ */
+public enum SlotOperationEnum {
+    SAVE(null),
+    FIND(null),
+    DELETE(null),
+    DELETE_BATCH(null),
+    BLOCK(SlotTransitionEnum.BLOCK),
+    CANCEL(SlotTransitionEnum.CANCEL),
+    RESERVE(SlotTransitionEnum.RESERVE),
+    RESERVE_BATCH(SlotTransitionEnum.RESERVE),
+    RESCHEDULE(SlotTransitionEnum.RESCHEDULE),
+    REOPEN(SlotTransitionEnum.REOPEN),
+    HOLD(SlotTransitionEnum.HOLD),
+    CONFIRM_HOLD(SlotTransitionEnum.CONFIRM),
+    RELEASE_HOLD(SlotTransitionEnum.RELEASE_HOLD);
+
+    private final SlotTransitionEnum transition;
+
+    SlotOperationEnum(SlotTransitionEnum transition) {
+        this.transition = transition;
+    }
+
+    /**
+     * Transição aplicada pela operação; null se ela não muda o status do slot.
+     */
+    public SlotTransitionEnum getTransition() {
+        return transition;
+    }
+}
@@ -6,5 +6,16 @@ public enum SlotStatusEnum {
     BLOCKED,
     CANCELLED,
     RESCHEDULED,
-    DEFAULT
+    DEFAULT,
+    // retido enquanto o paciente conclui o agendamento; fica no fim para não mudar
+    // os ordinais já gravados no log e no snapshot
+    HELD;
+
+    /**
+     * Status gravado no log e no snapshot. Uma retenção é temporária e não sobrevive a um
+     * reinício, então um slot retido é gravado como disponível.
+     */
+    public SlotStatusEnum durableStatus() {
+        return this == HELD ? AVAILABLE : this;
+    }
 }
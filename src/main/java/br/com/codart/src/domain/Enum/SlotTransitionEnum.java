@@ -0,0 +1,78 @@
+package br.com.codart.src.domain.Enum;
+
+import br.com.codart.src.service.message.ResourceMessage;
+
+/**
+ * Transições de estado de um Slot.
+ * Cada transição conhece o estado de destino, os estados de origem permitidos
+ * e o resultado (com a mensagem) usado quando a transição é rejeitada.
+ */
+public enum SlotTransitionEnum {
+    BLOCK(SlotStatusEnum.BLOCKED, SlotTransitionOutcomeEnum.BLOCKED),
+    CANCEL(SlotStatusEnum.CANCELLED, SlotTransitionOutcomeEnum.BLOCKED),
+    RESERVE(SlotStatusEnum.RESERVED, SlotTransitionOutcomeEnum.NOT_AVAILABLE),
+    RESCHEDULE(SlotStatusEnum.RESCHEDULED, SlotTransitionOutcomeEnum.NOT_RESERVED),
+    REOPEN(SlotStatusEnum.AVAILABLE, SlotTransitionOutcomeEnum.BLOCKED),
+    RELEASE(SlotStatusEnum.AVAILABLE, SlotTransitionOutcomeEnum.NOT_RESERVED),
+    HOLD(SlotStatusEnum.HELD, SlotTransitionOutcomeEnum.NOT_AVAILABLE),
+    CONFIRM(SlotStatusEnum.RESERVED, SlotTransitionOutcomeEnum.NOT_HELD),
+    RELEASE_HOLD(SlotStatusEnum.AVAILABLE, SlotTransitionOutcomeEnum.NOT_HELD);
+
+    private final SlotStatusEnum targetStatus;
+    private final SlotTransitionOutcomeEnum rejection;
+
+    SlotTransitionEnum(SlotStatusEnum targetStatus, SlotTransitionOutcomeEnum rejection) {
+        this.targetStatus = targetStatus;
+        this.rejection = rejection;
+    }
+
+    public SlotStatusEnum getTargetStatus() {
+        return targetStatus;
+    }
+
+    public SlotTransitionOutcomeEnum getRejection() {
+        return rejection;
+    }
+
+    public ResourceMessage getRejectionMessage() {
+        return rejection.getResourceMessage();
+    }
+
+    /**
+     * Transições que desfazem uma reserva ou retenção (RELEASE e RELEASE_HOLD) não verificam
+     * a expiração do slot: precisam funcionar mesmo depois do horário dele.
+     */
+    public boolean checksExpiry() {
+        return this != RELEASE && this != RELEASE_HOLD;
+    }
+
+    /**
+     * Regras da máquina de estados do Slot:
+     * BLOCK: não a partir de RESERVED, CANCELLED, RESCHEDULED ou HELD.
+     * CANCEL: não a partir de BLOCKED, AVAILABLE ou HELD.
+     * RESERVE: somente a partir de AVAILABLE.
+     * RESCHEDULE: somente a partir de RESERVED.
+     * REOPEN: somente a partir de CANCELLED ou BLOCKED.
+     * RELEASE: somente a partir de RESERVED (desfaz uma reserva).
+     * HOLD: somente a partir de AVAILABLE.
+     * CONFIRM: somente a partir de HELD (converte a retenção em reserva).
+     * RELEASE_HOLD: somente a partir de HELD (desfaz a retenção).
+     */
+    public boolean allowsFrom(SlotStatusEnum current) {
+        return switch (this) {
+            case BLOCK -> current != SlotStatusEnum.RESERVED
+                    && current != SlotStatusEnum.CANCELLED
+                    && current != SlotStatusEnum.RESCHEDULED
+                    && current != SlotStatusEnum.HELD;
+            case CANCEL -> current != SlotStatusEnum.BLOCKED
+                    && current != SlotStatusEnum.AVAILABLE
+                    && current != SlotStatusEnum.HELD;
+            case RESERVE -> current == SlotStatusEnum.AVAILABLE;
+            case RESCHEDULE -> current == SlotStatusEnum.RESERVED;
+            case REOPEN -> current == SlotStatusEnum.CANCELLED || current == SlotStatusEnum.BLOCKED;
+            case RELEASE -> current == SlotStatusEnum.RESERVED;
+            case HOLD -> current == SlotStatusEnum.AVAILABLE;
+            case CONFIRM, RELEASE_HOLD -> current == SlotStatusEnum.HELD;
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.codart.src.domain.Enum;
+
+import br.com.codart.src.service.message.ResourceMessage;
+
+/**
+ * Resultado de uma tentativa de transição de um Slot (tryReserve, tryBlock, ...).
+ * As constantes são únicas, então devolver um resultado, inclusive uma rejeição, não aloca nada.
+ */
+public enum SlotTransitionOutcomeEnum {
+    SUCCESS(null),
+    EXPIRED(ResourceMessage.SLOT_EXPIRED),
+    BLOCKED(ResourceMessage.SLOT_BLOCKED),
+    NOT_AVAILABLE(ResourceMessage.NOT_AVAILABLE),
+    NOT_RESERVED(ResourceMessage.NOT_RESERVED),
+    NOT_HELD(ResourceMessage.SLOT_NOT_HELD),
+    INVALID(ResourceMessage.SLOT_INVALID);
+
+    private final ResourceMessage resourceMessage;
+
+    SlotTransitionOutcomeEnum(ResourceMessage resourceMessage) {
+        this.resourceMessage = resourceMessage;
+    }
+
+    public boolean isSuccess() {
+        return this == SUCCESS;
+    }
+
+    /**
+     * Mensagem da rejeição, ou null em caso de sucesso.
+     */
+    public ResourceMessage getResourceMessage() {
+        return resourceMessage;
+    }
+
+    public String getMessage() {
+        return resourceMessage == null ? null : resourceMessage.getMessage();
+    }
+}
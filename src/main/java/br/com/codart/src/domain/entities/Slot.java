@@ -1,25 +1,67 @@
 package br.com.codart.src.domain.entities;
 
 import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.Enum.SlotTransitionEnum;
+import br.com.codart.src.domain.Enum.SlotTransitionOutcomeEnum;
+import br.com.codart.src.service.jfr.SlotTransitionEvent;
 import br.com.codart.src.service.message.ResourceMessage;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.Locale;
 
+/**
+ * Intervalo de tempo agendável de uma agenda.
+ *
+ * Todas as transições de estado são feitas com compare-and-set sobre o campo de status:
+ * quando várias threads disputam o mesmo slot, apenas uma vence e as demais recebem
+ * a mesma exceção que receberiam em uma execução sequencial. Nenhuma thread é bloqueada, exceto
+ * no reagendamento, que trava o dono do slot para mover o horário e trocar o status juntos.
+ *
+ * Os métodos {@code try*} (tryReserve, tryBlock, ...) fazem as mesmas transições sem lançar
+ * exceções: devolvem um {@link SlotTransitionOutcomeEnum} e não alocam nada quando a transição
+ * é rejeitada. Os métodos que lançam exceção apenas convertem a rejeição em exceção.
+ *
+ * A expiração é verificada pelo relógio do slot (por padrão, o do sistema), e os horários são
+ * convertidos em instantes no fuso desse relógio. Uma simulação passa o próprio relógio virtual
+ * aos slots que cria, sem afetar os demais.
+ */
 public class Slot {
 
-    private final Long slotId;
-    private LocalDateTime startTime;
-    private LocalDateTime endTime;
-    private SlotStatusEnum slotStatus;
+    private static final Clock SYSTEM_CLOCK = Clock.systemDefaultZone();
+    private static final VarHandle SLOT_STATUS;
+
+    static {
+        try {
+            SLOT_STATUS = MethodHandles.lookup().findVarHandle(Slot.class, "slotStatus", SlotStatusEnum.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
 
-    private Slot(Long slotId, LocalDateTime startTime, LocalDateTime endTime, SlotStatusEnum slotStatus) {
+    private final Long slotId;
+    private volatile LocalDateTime startTime;
+    private volatile LocalDateTime endTime;
+    private volatile SlotStatusEnum slotStatus;
+    private volatile SlotOwner owner;
+    private final Clock clock;
+    // fim do slot em epoch millis no fuso do relógio, para verificar a expiração sem alocar
+    private volatile long endEpochMillis;
+
+    private Slot(Long slotId, LocalDateTime startTime, LocalDateTime endTime, SlotStatusEnum slotStatus, Clock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException(ResourceMessage.CLOCK_INVALID.getMessage());
+        }
         this.slotId = slotId;
         this.startTime = startTime;
         this.endTime = endTime;
         this.slotStatus = slotStatus;
+        this.clock = clock;
 
         validateConstructor(this);
+        this.endEpochMillis = toEpochMillis(endTime);
     }
 
     private void validateConstructor(Slot slot) {
@@ -52,47 +94,187 @@ public class Slot {
         return endTime;
     }
 
+    public boolean hasOwner() {
+        return owner != null;
+    }
+
+    /**
+     * Id da agenda dona do slot; 0 se ele não pertence a uma agenda.
+     */
+    public long getScheduleId() {
+        SlotOwner currentOwner = owner;
+        return currentOwner == null ? 0 : currentOwner.getScheduleId();
+    }
+
+    /**
+     * Vincula o slot ao seu dono (a agenda).
+     * Um slot só pode pertencer a um único dono.
+     */
+    public void attachOwner(SlotOwner owner) {
+        if (owner == null) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        if (this.owner != null && this.owner != owner) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_OWNED.getMessage());
+        }
+        this.owner = owner;
+    }
+
+    /**
+     * Desvincula o slot do dono informado (por exemplo, quando a agenda arquiva o slot).
+     */
+    public void detachOwner(SlotOwner owner) {
+        if (this.owner == owner) {
+            this.owner = null;
+        }
+    }
+
     // Métodos de Validação
     private void validateNotExpired() {
-        if (LocalDateTime.now().isAfter(endTime)) {
+        if (isExpired()) {
             throw new IllegalStateException(ResourceMessage.SLOT_EXPIRED.getMessage());
         }
     }
 
-    private void validateStateForBlocking() {
-        if (slotStatus == SlotStatusEnum.RESERVED || slotStatus == SlotStatusEnum.CANCELLED || slotStatus == SlotStatusEnum.RESCHEDULED) {
-            throw new IllegalStateException(ResourceMessage.SLOT_BLOCKED.getMessage());
-        }
+    private boolean isExpired() {
+        return clock.millis() > endEpochMillis;
     }
 
-    private void validateStateForCancellation() {
-        if (slotStatus == SlotStatusEnum.BLOCKED || slotStatus == SlotStatusEnum.AVAILABLE) {
-            throw new IllegalStateException(ResourceMessage.SLOT_BLOCKED.getMessage());
-        }
+    private long toEpochMillis(LocalDateTime time) {
+        return time.atZone(clock.getZone()).toInstant().toEpochMilli();
     }
 
-    private void validateStateForReservation() {
-        if (slotStatus != SlotStatusEnum.AVAILABLE) {
-            throw new IllegalStateException( ResourceMessage.NOT_AVAILABLE.getMessage());
+    private void validateState(SlotTransitionEnum transition, SlotStatusEnum current) {
+        if (!transition.allowsFrom(current)) {
+            throw new IllegalStateException(transition.getRejectionMessage().getMessage());
         }
     }
 
-    private void validateStateForReschedule() {
-        if (slotStatus != SlotStatusEnum.RESERVED) {
-            throw new IllegalStateException(ResourceMessage.NOT_RESERVED.getMessage());
+    /**
+     * Aplica a transição de forma atômica: relê o status, valida a regra e tenta o
+     * compare-and-set até vencer ou até a regra rejeitar o status corrente.
+     */
+    private SlotStatusEnum transition(SlotTransitionEnum transition) {
+        SlotStatusEnum previous = tryTransition(transition);
+        if (previous == null) {
+            throw new IllegalStateException(transition.getRejectionMessage().getMessage());
         }
+        return previous;
+    }
+
+    /**
+     * Mesma transição atômica, sem exceção.
+     *
+     * @return o status anterior, ou null se a regra rejeitar o status corrente
+     */
+    private SlotStatusEnum tryTransition(SlotTransitionEnum transition) {
+        SlotStatusEnum current;
+        do {
+            current = slotStatus;
+            if (!transition.allowsFrom(current)) {
+                return null;
+            }
+        } while (!SLOT_STATUS.compareAndSet(this, current, transition.getTargetStatus()));
+        return current;
     }
 
-    private void validateStateForReopening() {
-        if (slotStatus != SlotStatusEnum.CANCELLED && slotStatus != SlotStatusEnum.BLOCKED) {
-            throw new IllegalStateException(ResourceMessage.SLOT_BLOCKED.getMessage());
+    private void notifyTransition(SlotStatusEnum from, SlotStatusEnum to) {
+        SlotOwner currentOwner = owner;
+        if (currentOwner != null) {
+            currentOwner.onTransition(this, from, to);
         }
     }
 
     // Métodos de Ação
 
     public static Slot createSlot(Long slotId, LocalDateTime startTime, LocalDateTime endTime, SlotStatusEnum slotStatus) {
-        return new Slot(slotId, startTime, endTime, slotStatus);
+        return new Slot(slotId, startTime, endTime, slotStatus, SYSTEM_CLOCK);
+    }
+
+    /**
+     * Cria o slot com o relógio informado, usado na verificação de expiração.
+     */
+    public static Slot createSlot(Long slotId, LocalDateTime startTime, LocalDateTime endTime, SlotStatusEnum slotStatus,
+                                  Clock clock) {
+        return new Slot(slotId, startTime, endTime, slotStatus, clock);
+    }
+
+    /**
+     * Aplica uma transição que não altera os horários e devolve o status anterior a ela.
+     * Usado por quem precisa registrar exatamente de qual status o slot saiu (por exemplo,
+     * o log de transições). RELEASE e RELEASE_HOLD não verificam a expiração; RESCHEDULE exige os novos
+     * horários e deve usar {@link #rescheduleSlot(LocalDateTime, LocalDateTime, int)}.
+     */
+    public SlotStatusEnum applyTransition(SlotTransitionEnum transition) {
+        if (transition == null || transition == SlotTransitionEnum.RESCHEDULE) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        SlotTransitionEvent event = SlotTransitionEvent.start();
+        SlotStatusEnum previous;
+        try {
+            if (transition.checksExpiry()) {
+                validateNotExpired();
+            }
+            previous = transition(transition);
+        } catch (IllegalStateException e) {
+            SlotTransitionEvent.rejected(event, this, transition, e.getMessage(), true);
+            throw e;
+        }
+        notifyTransition(previous, transition.getTargetStatus());
+        SlotTransitionEvent.accepted(event, this, transition, previous);
+        return previous;
+    }
+
+    /**
+     * Versão sem exceção de {@link #applyTransition(SlotTransitionEnum)}.
+     * Rejeições devolvem uma constante do enum, sem criar exceção nem outro objeto.
+     */
+    public SlotTransitionOutcomeEnum tryApply(SlotTransitionEnum transition) {
+        if (transition == null || transition == SlotTransitionEnum.RESCHEDULE) {
+            return SlotTransitionOutcomeEnum.INVALID;
+        }
+        SlotTransitionEvent event = SlotTransitionEvent.start();
+        SlotTransitionOutcomeEnum rejection = null;
+        SlotStatusEnum previous = null;
+        if (transition.checksExpiry() && isExpired()) {
+            rejection = SlotTransitionOutcomeEnum.EXPIRED;
+        } else {
+            previous = tryTransition(transition);
+            if (previous == null) {
+                rejection = transition.getRejection();
+            }
+        }
+        if (rejection != null) {
+            SlotTransitionEvent.rejected(event, this, transition, rejection.name(), false);
+            return rejection;
+        }
+        notifyTransition(previous, transition.getTargetStatus());
+        SlotTransitionEvent.accepted(event, this, transition, previous);
+        return SlotTransitionOutcomeEnum.SUCCESS;
+    }
+
+    public SlotTransitionOutcomeEnum tryBlock() {
+        return tryApply(SlotTransitionEnum.BLOCK);
+    }
+
+    public SlotTransitionOutcomeEnum tryCancel() {
+        return tryApply(SlotTransitionEnum.CANCEL);
+    }
+
+    public SlotTransitionOutcomeEnum tryReserve() {
+        return tryApply(SlotTransitionEnum.RESERVE);
+    }
+
+    public SlotTransitionOutcomeEnum tryReopen() {
+        return tryApply(SlotTransitionEnum.REOPEN);
+    }
+
+    public SlotTransitionOutcomeEnum tryRelease() {
+        return tryApply(SlotTransitionEnum.RELEASE);
+    }
+
+    public SlotTransitionOutcomeEnum tryReleaseHold() {
+        return tryApply(SlotTransitionEnum.RELEASE_HOLD);
     }
 
     /**
@@ -103,9 +285,7 @@ public class Slot {
      * RESCHEDULED: Já reagendado.
      */
     public void blockSlot() {
-        validateNotExpired();
-        validateStateForBlocking();
-        this.slotStatus = SlotStatusEnum.BLOCKED;
+        applyTransition(SlotTransitionEnum.BLOCK);
     }
 
     /**
@@ -115,9 +295,7 @@ public class Slot {
      * AVAILABLE: Livre para agendamento.
      */
     public void cancelSlot() {
-        validateNotExpired();
-        validateStateForCancellation();
-        this.slotStatus = SlotStatusEnum.CANCELLED;
+        applyTransition(SlotTransitionEnum.CANCEL);
     }
 
     /**
@@ -125,25 +303,81 @@ public class Slot {
      * Um slot só pode ser reservado se estiver no estado AVAILABLE.
      */
     public void reserveSlot() {
-        validateNotExpired();
-        validateStateForReservation();
-        this.slotStatus = SlotStatusEnum.RESERVED;
+        applyTransition(SlotTransitionEnum.RESERVE);
     }
 
     /**
      *Reagendar um Slot
      * Apenas slots no estado RESERVED podem ser reagendados.
+     * Se o slot pertencer a uma agenda, o novo horário não pode conflitar com outro slot dela.
+     * A agenda valida o novo horário e os horários são publicados antes do compare-and-set para
+     * RESCHEDULED: se a agenda rejeitar o horário, o status nunca chega a mudar.
      */
     public void rescheduleSlot(LocalDateTime newStartTime, LocalDateTime newEndTime, int durationMinutes) {
+        SlotTransitionEvent event = SlotTransitionEvent.start();
+        SlotStatusEnum previous;
+        try {
+            previous = reschedule(newStartTime, newEndTime, durationMinutes);
+        } catch (RuntimeException e) {
+            SlotTransitionEvent.rejected(event, this, SlotTransitionEnum.RESCHEDULE, e.getMessage(), true);
+            throw e;
+        }
+        notifyTransition(previous, SlotTransitionEnum.RESCHEDULE.getTargetStatus());
+        SlotTransitionEvent.accepted(event, this, SlotTransitionEnum.RESCHEDULE, previous);
+    }
+
+    /**
+     * Valida e aplica o reagendamento, sem avisar o dono.
+     *
+     * @return o status anterior
+     */
+    private SlotStatusEnum reschedule(LocalDateTime newStartTime, LocalDateTime newEndTime, int durationMinutes) {
         validateNotExpired();
-        validateStateForReschedule();
+        validateState(SlotTransitionEnum.RESCHEDULE, slotStatus);
         if (durationMinutes <= 0) {
             throw new IllegalArgumentException(ResourceMessage.NOT_AVAILABLE.getMessage());
         }
+        if (newStartTime == null || newEndTime == null || newStartTime.isAfter(newEndTime)) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+
+        SlotOwner currentOwner = owner;
+        if (currentOwner == null) {
+            moveTo(null, newStartTime, newEndTime);
+        } else {
+            currentOwner.runLocked(() -> moveTo(currentOwner, newStartTime, newEndTime));
+        }
+        return SlotStatusEnum.RESERVED;
+    }
+
+    /**
+     * Move o slot no dono, publica os novos horários e só então troca RESERVED por RESCHEDULED:
+     * quem lê RESCHEDULED já enxerga os novos horários. Se uma transição concorrente (um
+     * cancelamento, por exemplo) vencer o compare-and-set, o dono e os horários voltam ao intervalo
+     * anterior e o status fica como a outra transição o deixou. Roda com o dono travado, então o
+     * intervalo anterior continua livre; o monitor do slot serializa reagendamentos do mesmo slot.
+     */
+    private synchronized void moveTo(SlotOwner currentOwner, LocalDateTime newStartTime, LocalDateTime newEndTime) {
+        validateState(SlotTransitionEnum.RESCHEDULE, slotStatus);
+        LocalDateTime previousStartTime = startTime;
+        LocalDateTime previousEndTime = endTime;
+        if (currentOwner != null) {
+            currentOwner.beforeReschedule(this, newStartTime, newEndTime);
+        }
+        setTimes(newStartTime, newEndTime);
+        if (!SLOT_STATUS.compareAndSet(this, SlotStatusEnum.RESERVED, SlotTransitionEnum.RESCHEDULE.getTargetStatus())) {
+            if (currentOwner != null) {
+                currentOwner.beforeReschedule(this, previousStartTime, previousEndTime);
+            }
+            setTimes(previousStartTime, previousEndTime);
+            throw new IllegalStateException(SlotTransitionEnum.RESCHEDULE.getRejectionMessage().getMessage());
+        }
+    }
+
+    private void setTimes(LocalDateTime newStartTime, LocalDateTime newEndTime) {
         this.startTime = newStartTime;
         this.endTime = newEndTime;
-        this.slotStatus = SlotStatusEnum.RESCHEDULED;
-
+        this.endEpochMillis = toEpochMillis(newEndTime);
     }
 
     /**
@@ -151,9 +385,105 @@ public class Slot {
      * Apenas slots nos estados CANCELLED ou BLOCKED podem ser reabertos, desde que não estejam expirados.
      */
     public void reopenSlot() {
-        validateNotExpired();
-        validateStateForReopening();
-        this.slotStatus = SlotStatusEnum.AVAILABLE;
+        applyTransition(SlotTransitionEnum.REOPEN);
+    }
+
+    /**
+     *Liberar um Slot
+     * Desfaz uma reserva, devolvendo o slot de RESERVED para AVAILABLE.
+     * Usado para compensar reservas que não puderam ser concluídas (por exemplo, em uma reserva em lote),
+     * por isso não verifica a expiração.
+     */
+    public void releaseSlot() {
+        applyTransition(SlotTransitionEnum.RELEASE);
+    }
+
+    /**
+     *Reter um Slot
+     * Separa um slot AVAILABLE enquanto o paciente conclui o agendamento: nenhuma outra
+     * operação consegue reservá-lo, bloqueá-lo ou cancelá-lo. O prazo da retenção é controlado
+     * pelo serviço de retenções, que chama {@link #releaseHold()} quando ele vence.
+     */
+    public void holdSlot() {
+        applyTransition(SlotTransitionEnum.HOLD);
+    }
+
+    /**
+     *Confirmar uma retenção
+     * Converte um slot HELD em RESERVED.
+     */
+    public void confirmHold() {
+        applyTransition(SlotTransitionEnum.CONFIRM);
+    }
+
+    /**
+     *Liberar uma retenção
+     * Devolve um slot HELD para AVAILABLE. Não verifica a expiração.
+     */
+    public void releaseHold() {
+        applyTransition(SlotTransitionEnum.RELEASE_HOLD);
+    }
+
+    /**
+     * Desfaz uma transição já aplicada que não pôde ser registrada (por exemplo, quando o log
+     * recusa o registro): troca {@code to} de volta por {@code from} com compare-and-set e avisa o
+     * dono. O reagendamento, que também move os horários, é desfeito por
+     * {@link #revertReschedule(LocalDateTime, LocalDateTime)}.
+     *
+     * @return false se o slot já saiu de {@code to}
+     */
+    public boolean revertTransition(SlotStatusEnum from, SlotStatusEnum to) {
+        if (from == null || to == null || to == SlotStatusEnum.RESCHEDULED) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        if (!SLOT_STATUS.compareAndSet(this, to, from)) {
+            return false;
+        }
+        notifyTransition(to, from);
+        return true;
+    }
+
+    /**
+     * Desfaz um reagendamento que não pôde ser registrado: devolve o slot aos horários anteriores
+     * e a RESERVED, com o dono travado como no reagendamento.
+     *
+     * @return false se o slot já saiu de RESCHEDULED
+     */
+    public boolean revertReschedule(LocalDateTime previousStartTime, LocalDateTime previousEndTime) {
+        if (previousStartTime == null || previousEndTime == null || previousStartTime.isAfter(previousEndTime)) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        SlotOwner currentOwner = owner;
+        boolean[] reverted = new boolean[1];
+        if (currentOwner == null) {
+            reverted[0] = moveBack(null, previousStartTime, previousEndTime);
+        } else {
+            currentOwner.runLocked(() -> reverted[0] = moveBack(currentOwner, previousStartTime, previousEndTime));
+        }
+        if (reverted[0]) {
+            notifyTransition(SlotStatusEnum.RESCHEDULED, SlotStatusEnum.RESERVED);
+        }
+        return reverted[0];
+    }
+
+    private synchronized boolean moveBack(SlotOwner currentOwner, LocalDateTime previousStartTime, LocalDateTime previousEndTime) {
+        if (slotStatus != SlotStatusEnum.RESCHEDULED) {
+            return false;
+        }
+        LocalDateTime currentStartTime = startTime;
+        LocalDateTime currentEndTime = endTime;
+        if (currentOwner != null) {
+            currentOwner.beforeReschedule(this, previousStartTime, previousEndTime);
+        }
+        setTimes(previousStartTime, previousEndTime);
+        if (!SLOT_STATUS.compareAndSet(this, SlotStatusEnum.RESCHEDULED, SlotStatusEnum.RESERVED)) {
+            if (currentOwner != null) {
+                currentOwner.beforeReschedule(this, currentStartTime, currentEndTime);
+            }
+            setTimes(currentStartTime, currentEndTime);
+            return false;
+        }
+        return true;
     }
 
     /**
@@ -178,6 +508,7 @@ public class Slot {
         private LocalDateTime startTime;
         private LocalDateTime endTime;
         private SlotStatusEnum slotStatus;
+        private Clock clock = SYSTEM_CLOCK;
 
         public Builder slotId(Long slotId) {
             this.slotId = slotId;
@@ -199,8 +530,13 @@ public class Slot {
             return this;
         }
 
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
         public Slot build() {
-            return new Slot(slotId, startTime, endTime, slotStatus);
+            return new Slot(slotId, startTime, endTime, slotStatus, clock);
         }
     }
 
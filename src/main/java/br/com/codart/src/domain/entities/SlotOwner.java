@@ -0,0 +1,42 @@
+package br.com.codart.src.domain.entities;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dono de um Slot (normalmente a agenda à qual ele pertence).
+ * É avisado pelo Slot antes de mudanças que afetam a organização da agenda
+ * e depois de cada transição de estado concluída.
+ */
+public interface SlotOwner {
+
+    /**
+     * Chamado antes de o slot assumir o novo horário.
+     * Deve lançar exceção se o novo intervalo não for aceito pelo dono.
+     */
+    void beforeReschedule(Slot slot, LocalDateTime newStartTime, LocalDateTime newEndTime);
+
+    /**
+     * Executa o reagendamento com o dono travado: nenhuma outra mudança na organização do dono
+     * acontece entre {@link #beforeReschedule} e a troca de status (ou o desfazimento dela).
+     * O padrão apenas executa a ação.
+     */
+    default void runLocked(Runnable action) {
+        action.run();
+    }
+
+    /**
+     * Chamado depois que a transição foi aplicada.
+     * Avisos de transições concorrentes do mesmo slot podem chegar fora de ordem;
+     * quem precisar do estado final deve reler o status do slot.
+     */
+    void onTransition(Slot slot, SlotStatusEnum from, SlotStatusEnum to);
+
+    /**
+     * Id da agenda dona, usado nos eventos de diagnóstico; 0 se o dono não for uma agenda.
+     */
+    default long getScheduleId() {
+        return 0;
+    }
+}
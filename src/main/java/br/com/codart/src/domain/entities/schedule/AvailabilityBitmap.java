@@ -0,0 +1,109 @@
+package br.com.codart.src.domain.entities.schedule;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mapa de bits de disponibilidade de uma agenda, com um bit por minuto.
+ *
+ * Cada dia ocupa {@value #WORDS_PER_DAY} palavras long (1440 minutos). Um bit ligado indica que
+ * o minuto pertence a um slot AVAILABLE. Os bits são alterados com operações atômicas
+ * (bitwise or/and), então transições de slots diferentes no mesmo dia não precisam de lock.
+ * As buscas percorrem palavra por palavra com {@link Long#numberOfTrailingZeros(long)} e
+ * só acessam os dias do intervalo consultado.
+ *
+ * Os minutos são contados desde a época (UTC), como em {@link SlotIntervalIndex}.
+ */
+final class AvailabilityBitmap {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+    static final int WORDS_PER_DAY = (MINUTES_PER_DAY + Long.SIZE - 1) / Long.SIZE;
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final ConcurrentHashMap<Long, long[]> days = new ConcurrentHashMap<>();
+
+    /**
+     * Liga ou desliga os minutos [startMinute, endMinute).
+     */
+    void mark(long startMinute, long endMinute, boolean available) {
+        long minute = startMinute;
+        while (minute < endMinute) {
+            long day = Math.floorDiv(minute, MINUTES_PER_DAY);
+            long dayEnd = (day + 1) * MINUTES_PER_DAY;
+            long until = Math.min(endMinute, dayEnd);
+            long[] words = available ? days.computeIfAbsent(day, key -> new long[WORDS_PER_DAY]) : days.get(day);
+            if (words != null) {
+                markInDay(words, (int) (minute - day * MINUTES_PER_DAY), (int) (until - day * MINUTES_PER_DAY), available);
+            }
+            minute = until;
+        }
+    }
+
+    boolean isAvailable(long minute) {
+        long day = Math.floorDiv(minute, MINUTES_PER_DAY);
+        long[] words = days.get(day);
+        if (words == null) {
+            return false;
+        }
+        int offset = (int) (minute - day * MINUTES_PER_DAY);
+        return ((long) WORDS.getVolatile(words, offset >>> 6) & (1L << offset)) != 0;
+    }
+
+    /**
+     * Primeiro minuto disponível em [fromMinute, toMinute), ou -1 se não houver.
+     */
+    long nextAvailable(long fromMinute, long toMinute) {
+        long minute = fromMinute;
+        while (minute < toMinute) {
+            long day = Math.floorDiv(minute, MINUTES_PER_DAY);
+            long dayStart = day * MINUTES_PER_DAY;
+            long until = Math.min(toMinute, dayStart + MINUTES_PER_DAY);
+            long[] words = days.get(day);
+            if (words != null) {
+                int found = nextSetBit(words, (int) (minute - dayStart), (int) (until - dayStart));
+                if (found >= 0) {
+                    return dayStart + found;
+                }
+            }
+            minute = until;
+        }
+        return -1;
+    }
+
+    private static void markInDay(long[] words, int from, int to, boolean available) {
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        for (int word = firstWord; word <= lastWord; word++) {
+            long mask = -1L;
+            if (word == firstWord) {
+                mask &= -1L << from;
+            }
+            if (word == lastWord) {
+                mask &= -1L >>> (Long.SIZE - 1 - ((to - 1) & 63));
+            }
+            if (available) {
+                WORDS.getAndBitwiseOr(words, word, mask);
+            } else {
+                WORDS.getAndBitwiseAnd(words, word, ~mask);
+            }
+        }
+    }
+
+    private static int nextSetBit(long[] words, int from, int to) {
+        int word = from >>> 6;
+        long bits = (long) WORDS.getVolatile(words, word) & (-1L << from);
+        while (true) {
+            if (bits != 0) {
+                int found = (word << 6) + Long.numberOfTrailingZeros(bits);
+                return found < to ? found : -1;
+            }
+            word++;
+            if (word << 6 >= to) {
+                return -1;
+            }
+            bits = (long) WORDS.getVolatile(words, word);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.codart.src.domain.entities.schedule;
+
+import br.com.codart.src.domain.entities.Slot;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Gera os slots de um {@link WeeklyScheduleTemplate} sob demanda, um slot por chamada.
+ *
+ * O período é um intervalo de dias [day, lastDay]. A divisão para processamento paralelo
+ * entrega a primeira metade dos dias restantes (incluindo o ponto atual do dia corrente),
+ * preservando a ordem dos slots.
+ */
+final class RecurringSlotSpliterator implements Spliterator<Slot> {
+
+    private final WeeklyScheduleTemplate template;
+    private final long idPrefix;
+    private final long lastDay;
+
+    private long day;
+    private int windowIndex;
+    private int nextMinute = -1;
+
+    RecurringSlotSpliterator(WeeklyScheduleTemplate template, long idPrefix, long firstDay, long lastDay) {
+        this.template = template;
+        this.idPrefix = idPrefix;
+        this.day = firstDay;
+        this.lastDay = lastDay;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Slot> action) {
+        int slotMinutes = template.getSlotMinutes();
+        while (day <= lastDay) {
+            LocalDate date = LocalDate.ofEpochDay(day);
+            List<WeeklyScheduleTemplate.Window> windows = template.windowsOn(date);
+            while (windowIndex < windows.size()) {
+                WeeklyScheduleTemplate.Window window = windows.get(windowIndex);
+                int start = nextMinute < 0 ? window.startMinute : nextMinute;
+                if (start + slotMinutes <= window.endMinute) {
+                    nextMinute = start + slotMinutes;
+                    action.accept(template.createSlot(idPrefix, date.atStartOfDay().plusMinutes(start)));
+                    return true;
+                }
+                windowIndex++;
+                nextMinute = -1;
+            }
+            day++;
+            windowIndex = 0;
+            nextMinute = -1;
+        }
+        return false;
+    }
+
+    @Override
+    public Spliterator<Slot> trySplit() {
+        long remainingDays = lastDay - day;
+        if (remainingDays < 2) {
+            return null;
+        }
+        long mid = day + remainingDays / 2;
+        RecurringSlotSpliterator prefix = new RecurringSlotSpliterator(template, idPrefix, day, mid);
+        prefix.windowIndex = windowIndex;
+        prefix.nextMinute = nextMinute;
+
+        day = mid + 1;
+        windowIndex = 0;
+        nextMinute = -1;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Math.max(0, lastDay - day + 1) * template.maxSlotsPerDay();
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | DISTINCT | NONNULL | IMMUTABLE;
+    }
+}
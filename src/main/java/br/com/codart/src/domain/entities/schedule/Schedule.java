@@ -1,32 +1,80 @@
 package br.com.codart.src.domain.entities.schedule;
 
 import br.com.codart.src.domain.Enum.ScheduleStatusEnum;
+import br.com.codart.src.domain.Enum.SlotEventTypeEnum;
 import br.com.codart.src.domain.Enum.SlotStatusEnum;
 import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.domain.entities.SlotOwner;
+import br.com.codart.src.service.event.SlotEventBus;
+import br.com.codart.src.service.jfr.ScheduleConstructionEvent;
 import br.com.codart.src.service.message.ResourceMessage;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class Schedule {
 
+    // limite da busca por intervalo livre em agendas recorrentes, que não têm fim
+    private static final int GAP_SEARCH_DAYS = 366;
+
     private final Long scheduleId ;
     private final LocalDateTime scheduleDate;
     private final ScheduleStatusEnum status;
-    private List<Slot> times = new ArrayList<>();
+    private final SlotIntervalIndex times = new SlotIntervalIndex();
+    private final AvailabilityBitmap availability = new AvailabilityBitmap();
+    private final SlotOwner slotOwner = new ScheduleSlotOwner();
+    private final WeeklyScheduleTemplate template;
+    private final Set<Long> materializedDays = new HashSet<>();
+    // dias anteriores a este já foram arquivados e não são gerados de novo pelo modelo
+    private long archivedBeforeDay = Long.MIN_VALUE;
+    private final AtomicIntegerArray slotCounts = new AtomicIntegerArray(SlotStatusEnum.values().length);
+    private volatile SlotEventBus eventBus;
+    // último status da agenda publicado no barramento
+    private final AtomicReference<ScheduleStatusEnum> publishedStatus = new AtomicReference<>();
+    // versão imutável corrente da agenda, lida sem lock
+    private final AtomicReference<ScheduleSnapshot> snapshot = new AtomicReference<>();
 
     // Construtores
     public Schedule(Long scheduleId,LocalDateTime scheduleDate, ScheduleStatusEnum status, List<Slot> times) {
+        this(scheduleId, scheduleDate, status, times, null);
+    }
+
+    private Schedule(Long scheduleId, LocalDateTime scheduleDate, ScheduleStatusEnum status, List<Slot> times,
+                     WeeklyScheduleTemplate template) {
         this.scheduleId = scheduleId;
         this.scheduleDate = scheduleDate;
         this.status = status;
-        this.times = times;
-
-        validateConstructor(this);
+        this.template = template;
+
+        ScheduleConstructionEvent event = ScheduleConstructionEvent.start();
+        int slots = times == null ? 0 : times.size();
+        long validationStart = ScheduleConstructionEvent.now(event);
+        long validation = 0;
+        try {
+            validateConstructor(this, times);
+            validation = ScheduleConstructionEvent.now(event) - validationStart;
+            // a sobreposição entre slots é detectada ao montar o índice
+            indexSlots(times);
+        } catch (IllegalArgumentException e) {
+            if (validation == 0) {
+                validation = ScheduleConstructionEvent.now(event) - validationStart;
+            }
+            ScheduleConstructionEvent.end(event, scheduleId, slots, template != null, false, validation);
+            throw e;
+        }
+        ScheduleConstructionEvent.end(event, scheduleId, slots, template != null, true, validation);
     }
 
-    void validateConstructor(Schedule schedule) {
+    void validateConstructor(Schedule schedule, List<Slot> times) {
 
         if(schedule.scheduleId == null || schedule.scheduleDate == null || schedule.status == null ) {
             throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
@@ -36,7 +84,34 @@ public class Schedule {
             throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
         }
 
-        validateSlots(schedule.times);
+        if (schedule.template == null) {
+            validateSlots(times);
+        } else if (times == null) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        } else {
+            times.forEach(this::validateSlot);
+        }
+    }
+
+    private void indexSlots(List<Slot> slots) {
+        for (Slot slot : slots) {
+            times.insert(slot);
+        }
+        snapshot.set(ScheduleSnapshot.of(scheduleId, times.toList()));
+        for (Slot slot : slots) {
+            attach(slot);
+        }
+    }
+
+    /**
+     * Passa a acompanhar as transições do slot, que já deve estar no índice e na versão publicada.
+     * O slot não deve sofrer transições enquanto é adicionado à agenda.
+     */
+    private void attach(Slot slot) {
+        slot.attachOwner(slotOwner);
+        slotCounts.incrementAndGet(slot.getSlotStatus().ordinal());
+        refreshAvailability(slot);
+        refreshSnapshot(slot);
     }
 
     // Getters and Setters
@@ -49,12 +124,75 @@ public class Schedule {
         return scheduleDate;
     }
 
+    /**
+     * Status da agenda. Agendas criadas como BLOCKED ou CANCELLED mantêm esse status;
+     * nas demais, o status é calculado a partir dos contadores de slots por status,
+     * atualizados a cada transição, sem percorrer os slots.
+     */
     public ScheduleStatusEnum getStatus() {
-        return status;
+        if (status != ScheduleStatusEnum.ACTIVE) {
+            return status;
+        }
+        return calculateScheduleStatus();
+    }
+
+    /**
+     * Quantidade de slots da agenda no status informado.
+     * Em agendas recorrentes, conta apenas os slots já gerados.
+     */
+    public int countSlots(SlotStatusEnum slotStatus) {
+        if (slotStatus == null) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        return slotCounts.get(slotStatus.ordinal());
     }
 
+    /**
+     * Slots da agenda em ordem de horário de início, pela versão publicada mais recente, sem lock.
+     * Os slots devolvidos são os próprios slots da agenda; para ler o status de todos eles em um
+     * mesmo instante, use {@link #snapshot()}.
+     */
     public List<Slot> getTimes() {
-        return times;
+        return Collections.unmodifiableList(snapshot.get().slots());
+    }
+
+    /**
+     * Versão imutável mais recente da agenda. A leitura não bloqueia nem é bloqueada pelas
+     * escritas; os dias ainda não gerados de agendas recorrentes não aparecem na versão.
+     */
+    public ScheduleSnapshot snapshot() {
+        return snapshot.get();
+    }
+
+
+    /**
+     * Passa a publicar no barramento as transições dos slots da agenda, os slots adicionados
+     * ou arquivados e as mudanças do status da agenda.
+     */
+    public void publishTo(SlotEventBus eventBus) {
+        if (eventBus == null) {
+            throw new IllegalArgumentException(ResourceMessage.EVENT_BUS_INVALID.getMessage());
+        }
+        publishedStatus.set(getStatus());
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * Publica o evento do slot e, se o status da agenda mudou desde a última publicação, também
+     * essa mudança. Com transições concorrentes, cada mudança de status é publicada uma única vez.
+     */
+    private void publish(SlotEventTypeEnum type, Slot slot, SlotStatusEnum from, SlotStatusEnum to) {
+        SlotEventBus bus = eventBus;
+        if (bus == null) {
+            return;
+        }
+        bus.publish(type, scheduleId, slot.getSlotId(), from.ordinal(), to.ordinal(),
+                slot.getStartTime().toEpochSecond(ZoneOffset.UTC));
+        ScheduleStatusEnum previous = publishedStatus.get();
+        ScheduleStatusEnum current = getStatus();
+        if (current != previous && publishedStatus.compareAndSet(previous, current)) {
+            bus.publish(SlotEventTypeEnum.SCHEDULE_STATUS, scheduleId, 0, previous.ordinal(), current.ordinal(), 0);
+        }
     }
 
 
@@ -83,6 +221,247 @@ public class Schedule {
         return new Schedule(id, scheduleDate, ScheduleStatusEnum.CANCELLED, times);
     }
 
+    /**
+     * Cria uma agenda recorrente a partir de um modelo semanal.
+     * Os slots do modelo são gerados apenas quando um período da agenda é consultado.
+     */
+    public static Schedule createRecurringSchedule(Long id, LocalDateTime scheduleDate, WeeklyScheduleTemplate template) {
+        if (scheduleDate == null) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_NOT_NULL.getMessage());
+        }
+        if (template == null) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        return new Schedule(id, scheduleDate, ScheduleStatusEnum.ACTIVE, List.of(), template);
+    }
+
+    // Manipulação de Slots
+
+    /**
+     * Adiciona um slot à agenda.
+     * O slot não pode conflitar com nenhum horário já existente na agenda.
+     */
+    public synchronized void addSlot(Slot slot) {
+        if (slot == null) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        validateSlot(slot);
+        times.insert(slot);
+        publishSnapshot(slot, null, null);
+        attach(slot);
+        publish(SlotEventTypeEnum.SLOT_ADDED, slot, slot.getSlotStatus(), slot.getSlotStatus());
+    }
+
+    /**
+     * Slots que intersectam o intervalo [start, end), em ordem de horário de início.
+     */
+    public synchronized List<Slot> findSlotsBetween(LocalDateTime start, LocalDateTime end) {
+        validateRange(start, end);
+        ensureMaterialized(start.toLocalDate(), end.toLocalDate());
+        return times.intersecting(start, end);
+    }
+
+    /**
+     * Primeiro horário livre (sem nenhum slot) de pelo menos {@code minutes} minutos a partir de {@code after}.
+     * Em agendas recorrentes, os dias são gerados à medida que a busca avança: um intervalo só é aceito
+     * se terminar antes do primeiro dia ainda não gerado. Se nenhum intervalo couber nos
+     * {@value #GAP_SEARCH_DAYS} dias seguintes a {@code after}, lança exceção.
+     */
+    public synchronized LocalDateTime findFirstFreeGap(LocalDateTime after, int minutes) {
+        if (after == null || minutes <= 0) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        if (template == null) {
+            return times.firstFreeGap(after, minutes);
+        }
+        LocalDate lastDay = after.toLocalDate().plusDays(GAP_SEARCH_DAYS);
+        LocalDate day = after.toLocalDate();
+        LocalDateTime gap = after;
+        while (!day.isAfter(lastDay)) {
+            ensureMaterialized(day, day);
+            gap = times.firstFreeGap(gap, minutes);
+            LocalDate nextDay = day.plusDays(1);
+            if (!gap.plusMinutes(minutes).isAfter(nextDay.atStartOfDay())) {
+                return gap;
+            }
+            // os dias antes do início do intervalo já estão ocupados: gerá-los só acrescentaria slots
+            day = gap.toLocalDate().isAfter(nextDay) ? gap.toLocalDate() : nextDay;
+        }
+        throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+    }
+
+    /**
+     * Slots AVAILABLE entre os dias {@code from} e {@code to} (inclusive), em ordem de horário.
+     * A busca percorre o mapa de bits de disponibilidade apenas nos dias do intervalo.
+     */
+    public synchronized List<Slot> findAvailableSlots(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        ensureMaterialized(from, to);
+        long minute = from.toEpochDay() * AvailabilityBitmap.MINUTES_PER_DAY;
+        long endMinute = (to.toEpochDay() + 1) * AvailabilityBitmap.MINUTES_PER_DAY;
+
+        List<Slot> result = new ArrayList<>();
+        long found;
+        while ((found = availability.nextAvailable(minute, endMinute)) >= 0) {
+            Slot slot = times.floorSlot(found * 60 + 59);
+            if (slot != null && slot.getSlotStatus() == SlotStatusEnum.AVAILABLE && toMinute(slot.getEndTime()) > found) {
+                result.add(slot);
+                minute = Math.max(found + 1, toMinute(slot.getEndTime()));
+            } else {
+                minute = found + 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Primeiro slot AVAILABLE de pelo menos {@code minutes} minutos que começa em [after, until).
+     * A busca percorre o mapa de bits a partir de {@code after} e para no primeiro slot encontrado.
+     * Em agendas recorrentes, um dia ainda não gerado só é gerado se o modelo tiver nele um horário
+     * que atende à busca: cada busca gera no máximo um dia novo, mesmo com {@code until} distante.
+     */
+    public synchronized Optional<Slot> findNextAvailableSlot(LocalDateTime after, LocalDateTime until, int minutes) {
+        validateRange(after, until);
+        if (minutes <= 0) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        long minute = toMinute(after);
+        // um slot que começa antes de until tem o primeiro minuto até o minuto de until
+        long untilMinute = toMinute(until) + 1;
+        long seconds = minutes * 60L;
+        for (LocalDate day = after.toLocalDate(); !day.isAfter(until.toLocalDate()); day = day.plusDays(1)) {
+            if (template != null && !isMaterialized(day) && templateOffers(day, after, until, minutes)) {
+                ensureMaterialized(day, day);
+            }
+            long dayEnd = Math.min((day.toEpochDay() + 1) * AvailabilityBitmap.MINUTES_PER_DAY, untilMinute);
+            long found;
+            while ((found = availability.nextAvailable(minute, dayEnd)) >= 0) {
+                Slot slot = times.floorSlot(found * 60 + 59);
+                if (slot == null || slot.getSlotStatus() != SlotStatusEnum.AVAILABLE || toMinute(slot.getEndTime()) <= found) {
+                    minute = found + 1;
+                    continue;
+                }
+                if (!slot.getStartTime().isBefore(until)) {
+                    return Optional.empty();
+                }
+                long start = SlotIntervalIndex.toKey(slot.getStartTime());
+                if (!slot.getStartTime().isBefore(after) && SlotIntervalIndex.toKey(slot.getEndTime()) - start >= seconds) {
+                    return Optional.of(slot);
+                }
+                minute = Math.max(found + 1, toMinute(slot.getEndTime()));
+            }
+            minute = Math.max(minute, dayEnd);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Slot da agenda que começa exatamente no horário informado.
+     * Em agendas recorrentes, o dia do horário é gerado se ainda não tiver sido.
+     */
+    public synchronized Optional<Slot> findSlotAt(LocalDateTime startTime) {
+        if (startTime == null) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        ensureMaterialized(startTime.toLocalDate(), startTime.toLocalDate());
+        Slot slot = times.floorSlot(SlotIntervalIndex.toKey(startTime));
+        return slot != null && slot.getStartTime().equals(startTime) ? Optional.of(slot) : Optional.empty();
+    }
+
+    /**
+     * Slots da agenda que terminaram antes de {@code cutoff}, em ordem de horário.
+     * Não gera os dias de agendas recorrentes.
+     */
+    public synchronized List<Slot> findSlotsEndedBefore(LocalDateTime cutoff) {
+        if (cutoff == null) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        return times.endedBefore(SlotIntervalIndex.toKey(cutoff));
+    }
+
+    /**
+     * Retira da agenda os slots que terminaram antes de {@code cutoff}, depois de arquivados.
+     * Os contadores e o mapa de disponibilidade deixam de considerá-los, e os dias anteriores
+     * ao de {@code cutoff} não voltam a ser gerados pelo modelo recorrente.
+     *
+     * @return slots retirados, em ordem de horário
+     */
+    public synchronized List<Slot> evictEndedBefore(LocalDateTime cutoff) {
+        if (cutoff == null) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        List<Slot> evicted = times.removeEndedBefore(SlotIntervalIndex.toKey(cutoff));
+        removeFromSnapshot(evicted);
+        for (Slot slot : evicted) {
+            // desvincula antes de ler o status: transições seguintes não chegam mais à agenda
+            slot.detachOwner(slotOwner);
+            SlotStatusEnum slotStatus = slot.getSlotStatus();
+            slotCounts.decrementAndGet(slotStatus.ordinal());
+            availability.mark(toMinute(slot.getStartTime()), toMinute(slot.getEndTime()), false);
+            publish(SlotEventTypeEnum.SLOT_ARCHIVED, slot, slotStatus, slotStatus);
+        }
+        long cutoffDay = cutoff.toLocalDate().toEpochDay();
+        if (cutoffDay > archivedBeforeDay) {
+            archivedBeforeDay = cutoffDay;
+            materializedDays.removeIf(day -> day < cutoffDay);
+        }
+        return evicted;
+    }
+
+    private boolean isMaterialized(LocalDate day) {
+        return day.toEpochDay() < archivedBeforeDay || materializedDays.contains(day.toEpochDay());
+    }
+
+    /**
+     * Diz, sem gerar o dia, se o modelo tem nele um slot de pelo menos {@code minutes} minutos que
+     * começa em [after, until) e não conflita com os slots já presentes. Como os slots de um dia
+     * não gerado estão todos AVAILABLE, esse slot seria encontrado pela busca depois de gerar o dia.
+     */
+    private boolean templateOffers(LocalDate day, LocalDateTime after, LocalDateTime until, int minutes) {
+        int slotMinutes = template.getSlotMinutes();
+        if (slotMinutes < minutes) {
+            return false;
+        }
+        long from = SlotIntervalIndex.toKey(after);
+        long to = SlotIntervalIndex.toKey(until);
+        long dayStart = SlotIntervalIndex.toKey(day.atStartOfDay());
+        for (WeeklyScheduleTemplate.Window window : template.windowsOn(day)) {
+            for (int minute = window.startMinute; minute + slotMinutes <= window.endMinute; minute += slotMinutes) {
+                long start = dayStart + minute * 60L;
+                if (start >= to) {
+                    return false;
+                }
+                if (start >= from && !times.overlaps(start, start + slotMinutes * 60L)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gera os slots do modelo recorrente para os dias ainda não gerados do período.
+     * Horários do modelo que conflitam com slots adicionados manualmente são ignorados.
+     */
+    private void ensureMaterialized(LocalDate from, LocalDate to) {
+        if (template == null) {
+            return;
+        }
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            if (day.toEpochDay() >= archivedBeforeDay && materializedDays.add(day.toEpochDay())) {
+                template.slots(scheduleId, day, day)
+                        .filter(slot -> !times.overlaps(slot))
+                        .forEach(slot -> {
+                            times.insert(slot);
+                            publishSnapshot(slot, null, null);
+                            attach(slot);
+                        });
+            }
+        }
+    }
+
     //validações de Slot
     public void validateSlot(Slot slot) {
         if (slot.getSlotStatus() == SlotStatusEnum.BLOCKED) {
@@ -92,6 +471,74 @@ public class Schedule {
         if (slot.getSlotStatus() == SlotStatusEnum.RESERVED) {
             throw new IllegalArgumentException(ResourceMessage.SCHEDULE_RESERVED.getMessage());
         }
+
+        if (slot.hasOwner()) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_OWNED.getMessage());
+        }
+    }
+
+    /**
+     * Atualiza o mapa de bits com o status atual do slot.
+     * Avisos de transições concorrentes podem chegar fora de ordem, então o status é relido
+     * depois da escrita até que o mapa e o slot concordem.
+     */
+    private void refreshAvailability(Slot slot) {
+        boolean available;
+        do {
+            available = slot.getSlotStatus() == SlotStatusEnum.AVAILABLE;
+            availability.mark(toMinute(slot.getStartTime()), toMinute(slot.getEndTime()), available);
+        } while (available != (slot.getSlotStatus() == SlotStatusEnum.AVAILABLE));
+    }
+
+    /**
+     * Publica a versão com o status atual do slot. Como em {@link #refreshAvailability(Slot)},
+     * o status é relido depois da publicação até que a versão e o slot concordem.
+     */
+    private void refreshSnapshot(Slot slot) {
+        SlotStatusEnum published;
+        do {
+            published = slot.getSlotStatus();
+            ScheduleSnapshot current;
+            ScheduleSnapshot next;
+            do {
+                current = snapshot.get();
+                next = current.withStatus(slot, published);
+            } while (next != current && !snapshot.compareAndSet(current, next));
+        } while (published != slot.getSlotStatus());
+    }
+
+    /**
+     * Publica a versão com o slot adicionado ou, com os novos horários, movido para eles.
+     * Chamado com o lock da agenda; só as transições de status concorrem com a publicação.
+     */
+    private void publishSnapshot(Slot slot, LocalDateTime newStartTime, LocalDateTime newEndTime) {
+        ScheduleSnapshot current;
+        ScheduleSnapshot next;
+        do {
+            current = snapshot.get();
+            next = newStartTime == null
+                    ? current.withAdded(slot)
+                    : current.withMoved(slot, newStartTime, newEndTime);
+        } while (!snapshot.compareAndSet(current, next));
+    }
+
+    private void removeFromSnapshot(List<Slot> slots) {
+        ScheduleSnapshot current;
+        ScheduleSnapshot next;
+        do {
+            current = snapshot.get();
+            next = current.withRemoved(slots);
+        } while (next != current && !snapshot.compareAndSet(current, next));
+    }
+
+    private static long toMinute(LocalDateTime time) {
+        return Math.floorDiv(SlotIntervalIndex.toKey(time), 60);
+    }
+
+    private void validateRange(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || start.isAfter(end)) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
     }
 
     private void validateSlots(List<Slot> slots) {
@@ -106,21 +553,25 @@ public class Schedule {
     }
 
     // Cálculo automático do estado da agenda com base nos slots
-    private ScheduleStatusEnum calculateScheduleStatus(List<Slot> slots) {
-        if (slots == null || slots.isEmpty()) {
-            return ScheduleStatusEnum.DEFAULT; // Caso não existam slots, a agenda é considerada CANCELLED
+    // Leituras concorrentes com transições podem ver os contadores de um status já atualizados
+    // e os de outro ainda não; o resultado converge assim que a transição termina.
+    private ScheduleStatusEnum calculateScheduleStatus() {
+        int total = 0;
+        for (int i = 0; i < slotCounts.length(); i++) {
+            total += slotCounts.get(i);
         }
-
-        boolean hasActive = false;
-        boolean allBlocked = true;
-
-        for (Slot slot : slots) {
-            if (slot.getSlotStatus() == SlotStatusEnum.AVAILABLE) {
-                hasActive = true;
-            }
-            if (slot.getSlotStatus() != SlotStatusEnum.BLOCKED) {
-                allBlocked = false;
-            }
+        // em agendas recorrentes, os dias ainda não gerados têm slots disponíveis;
+        // uma agenda lotada (slots reservados ou reagendados) continua ativa, e um slot
+        // retido ainda pode voltar a ficar disponível
+        boolean hasActive = template != null
+                || slotCounts.get(SlotStatusEnum.AVAILABLE.ordinal()) > 0
+                || slotCounts.get(SlotStatusEnum.HELD.ordinal()) > 0
+                || slotCounts.get(SlotStatusEnum.RESERVED.ordinal()) > 0
+                || slotCounts.get(SlotStatusEnum.RESCHEDULED.ordinal()) > 0;
+        boolean allBlocked = template == null && slotCounts.get(SlotStatusEnum.BLOCKED.ordinal()) == total;
+
+        if (total == 0 && template == null) {
+            return ScheduleStatusEnum.DEFAULT; // Caso não existam slots, a agenda fica sem status definido
         }
 
         if (allBlocked) {
@@ -132,6 +583,43 @@ public class Schedule {
         }
     }
 
+    /**
+     * Mantém o índice, o mapa de disponibilidade e os contadores da agenda consistentes com os slots.
+     */
+    private final class ScheduleSlotOwner implements SlotOwner {
+
+        @Override
+        public long getScheduleId() {
+            return scheduleId;
+        }
+
+        @Override
+        public void beforeReschedule(Slot slot, LocalDateTime newStartTime, LocalDateTime newEndTime) {
+            synchronized (Schedule.this) {
+                times.move(slot, newStartTime, newEndTime);
+                publishSnapshot(slot, newStartTime, newEndTime);
+            }
+        }
+
+        @Override
+        public void runLocked(Runnable action) {
+            synchronized (Schedule.this) {
+                action.run();
+            }
+        }
+
+        @Override
+        public void onTransition(Slot slot, SlotStatusEnum from, SlotStatusEnum to) {
+            slotCounts.decrementAndGet(from.ordinal());
+            slotCounts.incrementAndGet(to.ordinal());
+            if (from == SlotStatusEnum.AVAILABLE || to == SlotStatusEnum.AVAILABLE) {
+                refreshAvailability(slot);
+            }
+            refreshSnapshot(slot);
+            publish(SlotEventTypeEnum.SLOT_TRANSITION, slot, from, to);
+        }
+    }
+
     public static class Builder {
 
         private Long scheduleId;
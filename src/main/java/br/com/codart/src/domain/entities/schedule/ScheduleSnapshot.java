@@ -0,0 +1,497 @@
+package br.com.codart.src.domain.entities.schedule;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.service.message.ResourceMessage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Versão imutável de uma agenda: os slots, em ordem de início, com os horários e o status que
+ * tinham quando a versão foi publicada.
+ *
+ * A agenda publica uma nova versão a cada mudança (transição de um slot, slot adicionado,
+ * reagendado ou arquivado), e quem lê obtém a versão corrente com uma única leitura volátil,
+ * sem lock: tudo o que é lido de uma versão é consistente entre si, mesmo com escritas
+ * concorrentes na agenda.
+ *
+ * As versões compartilham estrutura. Os slots ficam em blocos de até 64 nas folhas de uma
+ * árvore B ordenada pelo início; uma mudança copia só o bloco do slot alterado e os nós do
+ * caminho até a raiz, e os demais blocos são reaproveitados da versão anterior.
+ */
+public final class ScheduleSnapshot {
+
+    // entradas por folha e filhos por nó interno
+    private static final int NODE_SIZE = 64;
+
+    private final long scheduleId;
+    private final long version;
+    private final int size;
+    // null na agenda sem slots
+    private final Node root;
+
+    private ScheduleSnapshot(long scheduleId, long version, int size, Node root) {
+        this.scheduleId = scheduleId;
+        this.version = version;
+        this.size = size;
+        this.root = root;
+    }
+
+    /**
+     * Primeira versão da agenda, com os slots já em ordem de início.
+     */
+    static ScheduleSnapshot of(long scheduleId, List<Slot> slots) {
+        if (slots.isEmpty()) {
+            return new ScheduleSnapshot(scheduleId, 0, 0, null);
+        }
+        // folhas pela metade, para que as próximas inserções não dividam todas
+        int perNode = NODE_SIZE / 2;
+        List<Node> level = new ArrayList<>(slots.size() / perNode + 1);
+        for (int from = 0; from < slots.size(); from += perNode) {
+            int to = Math.min(from + perNode, slots.size());
+            SlotState[] entries = new SlotState[to - from];
+            for (int i = from; i < to; i++) {
+                Slot slot = slots.get(i);
+                entries[i - from] = new SlotState(slot, slot.getStartTime(), slot.getEndTime(), slot.getSlotStatus());
+            }
+            level.add(new Leaf(entries));
+        }
+        while (level.size() > 1) {
+            List<Node> parents = new ArrayList<>(level.size() / perNode + 1);
+            for (int from = 0; from < level.size(); from += perNode) {
+                parents.add(new Branch(level.subList(from, Math.min(from + perNode, level.size())).toArray(new Node[0])));
+            }
+            level = parents;
+        }
+        return new ScheduleSnapshot(scheduleId, 0, slots.size(), level.get(0));
+    }
+
+    public long getScheduleId() {
+        return scheduleId;
+    }
+
+    /**
+     * Número da versão: cada mudança publicada na agenda incrementa a versão em um.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Slots da versão, em ordem de início.
+     */
+    public List<SlotState> getSlots() {
+        List<SlotState> result = new ArrayList<>(size);
+        if (root != null) {
+            root.collect(Long.MIN_VALUE, Long.MAX_VALUE, result);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Slots da versão que intersectam o intervalo [start, end), em ordem de início.
+     */
+    public List<SlotState> findSlotsBetween(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || start.isAfter(end)) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        List<SlotState> result = new ArrayList<>();
+        if (root != null) {
+            root.collect(SlotIntervalIndex.toKey(start), SlotIntervalIndex.toKey(end), result);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Quantidade de slots da versão no status informado.
+     */
+    public int countSlots(SlotStatusEnum slotStatus) {
+        if (slotStatus == null) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        int count = 0;
+        for (SlotState state : getSlots()) {
+            if (state.getSlotStatus() == slotStatus) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Os próprios slots da versão, em ordem de início; os status deles podem já ter mudado.
+     */
+    List<Slot> slots() {
+        List<Slot> result = new ArrayList<>(size);
+        for (SlotState state : getSlots()) {
+            result.add(state.slot);
+        }
+        return result;
+    }
+
+    // Novas versões: devolvem esta mesma versão quando não há o que mudar
+
+    /**
+     * Versão com o status informado para o slot, que está no horário de início atual dele.
+     */
+    ScheduleSnapshot withStatus(Slot slot, SlotStatusEnum slotStatus) {
+        if (root == null) {
+            return this;
+        }
+        Node updated = root.withStatus(SlotIntervalIndex.toKey(slot.getStartTime()), slot, slotStatus);
+        return updated == root ? this : new ScheduleSnapshot(scheduleId, version + 1, size, updated);
+    }
+
+    /**
+     * Versão com o slot inserido; a agenda já garantiu que ele não conflita com outro slot.
+     */
+    ScheduleSnapshot withAdded(Slot slot) {
+        SlotState state = new SlotState(slot, slot.getStartTime(), slot.getEndTime(), slot.getSlotStatus());
+        return new ScheduleSnapshot(scheduleId, version + 1, size + 1, insert(root, state));
+    }
+
+    /**
+     * Versão com o slot movido do horário de início atual para o novo intervalo.
+     */
+    ScheduleSnapshot withMoved(Slot slot, LocalDateTime newStartTime, LocalDateTime newEndTime) {
+        Node removed = root == null ? null : root.remove(SlotIntervalIndex.toKey(slot.getStartTime()), slot);
+        if (removed == root) {
+            return this;
+        }
+        SlotState state = new SlotState(slot, newStartTime, newEndTime, slot.getSlotStatus());
+        return new ScheduleSnapshot(scheduleId, version + 1, size, insert(removed, state));
+    }
+
+    /**
+     * Versão sem os slots informados, que estão nos horários de início atuais deles.
+     */
+    ScheduleSnapshot withRemoved(List<Slot> slots) {
+        Node updated = root;
+        int removed = 0;
+        for (Slot slot : slots) {
+            Node next = updated == null ? null : updated.remove(SlotIntervalIndex.toKey(slot.getStartTime()), slot);
+            if (next != updated) {
+                removed++;
+                updated = next == null ? null : next.collapse();
+            }
+        }
+        return removed == 0 ? this : new ScheduleSnapshot(scheduleId, version + 1, size - removed, updated);
+    }
+
+    private static Node insert(Node root, SlotState state) {
+        if (root == null) {
+            return new Leaf(new SlotState[]{state});
+        }
+        Node[] nodes = root.insert(state);
+        return nodes.length == 1 ? nodes[0] : new Branch(nodes);
+    }
+
+    /**
+     * Slot de uma versão da agenda.
+     */
+    public static final class SlotState {
+
+        private final Slot slot;
+        private final LocalDateTime startTime;
+        private final LocalDateTime endTime;
+        private final SlotStatusEnum slotStatus;
+        // horários em epoch seconds, como no índice da agenda
+        private final long start;
+        private final long end;
+
+        private SlotState(Slot slot, LocalDateTime startTime, LocalDateTime endTime, SlotStatusEnum slotStatus) {
+            this(slot, startTime, endTime, slotStatus, SlotIntervalIndex.toKey(startTime), SlotIntervalIndex.toKey(endTime));
+        }
+
+        private SlotState(Slot slot, LocalDateTime startTime, LocalDateTime endTime, SlotStatusEnum slotStatus,
+                          long start, long end) {
+            this.slot = slot;
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.slotStatus = slotStatus;
+            this.start = start;
+            this.end = end;
+        }
+
+        private SlotState withStatus(SlotStatusEnum slotStatus) {
+            return new SlotState(slot, startTime, endTime, slotStatus, start, end);
+        }
+
+        public Long getSlotId() {
+            return slot.getSlotId();
+        }
+
+        public LocalDateTime getStartTime() {
+            return startTime;
+        }
+
+        public LocalDateTime getEndTime() {
+            return endTime;
+        }
+
+        public SlotStatusEnum getSlotStatus() {
+            return slotStatus;
+        }
+
+        @Override
+        public String toString() {
+            return "SlotState{" +
+                    "slotId=" + slot.getSlotId() +
+                    ", startTime=" + startTime +
+                    ", endTime=" + endTime +
+                    ", slotStatus=" + slotStatus +
+                    '}';
+        }
+    }
+
+    // Árvore B persistente: os nós nunca mudam depois de criados
+
+    private abstract static class Node {
+
+        abstract long firstStart();
+
+        /**
+         * Este nó, se o slot não está nele no início informado ou já tem o status.
+         */
+        abstract Node withStatus(long start, Slot slot, SlotStatusEnum slotStatus);
+
+        /**
+         * O novo nó, ou dois nós quando ele passou do tamanho máximo e foi dividido.
+         */
+        abstract Node[] insert(SlotState state);
+
+        /**
+         * Este nó, se o slot não está nele no início informado; null se ficou vazio.
+         */
+        abstract Node remove(long start, Slot slot);
+
+        /**
+         * Acrescenta as entradas que intersectam [from, to), em ordem de início.
+         */
+        abstract void collect(long from, long to, List<SlotState> result);
+
+        /**
+         * A raiz sem os nós internos de um único filho.
+         */
+        Node collapse() {
+            return this;
+        }
+    }
+
+    private static final class Leaf extends Node {
+
+        private final SlotState[] entries;
+
+        private Leaf(SlotState[] entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        long firstStart() {
+            return entries[0].start;
+        }
+
+        /**
+         * Índice da entrada que começa em {@code start}, ou {@code -(ponto de inserção) - 1}.
+         */
+        private int indexOf(long start) {
+            int low = 0;
+            int high = entries.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                long key = entries[middle].start;
+                if (key < start) {
+                    low = middle + 1;
+                } else if (key > start) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        @Override
+        Node withStatus(long start, Slot slot, SlotStatusEnum slotStatus) {
+            int index = indexOf(start);
+            if (index < 0 || entries[index].slot != slot || entries[index].slotStatus == slotStatus) {
+                return this;
+            }
+            SlotState[] updated = entries.clone();
+            updated[index] = entries[index].withStatus(slotStatus);
+            return new Leaf(updated);
+        }
+
+        @Override
+        Node[] insert(SlotState state) {
+            int index = indexOf(state.start);
+            int position = index >= 0 ? index : -index - 1;
+            SlotState[] updated = new SlotState[entries.length + 1];
+            System.arraycopy(entries, 0, updated, 0, position);
+            updated[position] = state;
+            System.arraycopy(entries, position, updated, position + 1, entries.length - position);
+            if (updated.length <= NODE_SIZE) {
+                return new Node[]{new Leaf(updated)};
+            }
+            int half = updated.length / 2;
+            return new Node[]{
+                    new Leaf(Arrays.copyOfRange(updated, 0, half)),
+                    new Leaf(Arrays.copyOfRange(updated, half, updated.length))
+            };
+        }
+
+        @Override
+        Node remove(long start, Slot slot) {
+            int index = indexOf(start);
+            if (index < 0 || entries[index].slot != slot) {
+                return this;
+            }
+            if (entries.length == 1) {
+                return null;
+            }
+            SlotState[] updated = new SlotState[entries.length - 1];
+            System.arraycopy(entries, 0, updated, 0, index);
+            System.arraycopy(entries, index + 1, updated, index, updated.length - index);
+            return new Leaf(updated);
+        }
+
+        @Override
+        void collect(long from, long to, List<SlotState> result) {
+            int index = indexOf(from);
+            int position = index >= 0 ? index : -index - 1;
+            // a entrada anterior começa antes de from e pode terminar depois dele
+            if (position > 0 && entries[position - 1].end > from) {
+                position--;
+            }
+            for (; position < entries.length && entries[position].start < to; position++) {
+                if (entries[position].end > from) {
+                    result.add(entries[position]);
+                }
+            }
+        }
+    }
+
+    private static final class Branch extends Node {
+
+        private final Node[] children;
+        // início da primeira entrada de cada filho
+        private final long[] starts;
+
+        private Branch(Node[] children) {
+            this.children = children;
+            this.starts = new long[children.length];
+            for (int i = 0; i < children.length; i++) {
+                starts[i] = children[i].firstStart();
+            }
+        }
+
+        private Branch(Node[] children, long[] starts) {
+            this.children = children;
+            this.starts = starts;
+        }
+
+        @Override
+        long firstStart() {
+            return starts[0];
+        }
+
+        /**
+         * Filho em que fica a entrada que começa em {@code start}: o último cujo primeiro início
+         * é menor ou igual a ele, ou o primeiro filho.
+         */
+        private int route(long start) {
+            int low = 1;
+            int high = starts.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (starts[middle] <= start) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return low - 1;
+        }
+
+        /**
+         * Cópia com um filho trocado; os primeiros inícios dos outros filhos são reaproveitados,
+         * sem visitar esses filhos.
+         */
+        private Branch replace(int index, Node child) {
+            Node[] updated = children.clone();
+            updated[index] = child;
+            long[] updatedStarts = starts.clone();
+            updatedStarts[index] = child.firstStart();
+            return new Branch(updated, updatedStarts);
+        }
+
+        @Override
+        Node withStatus(long start, Slot slot, SlotStatusEnum slotStatus) {
+            int index = route(start);
+            Node child = children[index].withStatus(start, slot, slotStatus);
+            return child == children[index] ? this : replace(index, child);
+        }
+
+        @Override
+        Node[] insert(SlotState state) {
+            int index = route(state.start);
+            Node[] inserted = children[index].insert(state);
+            if (inserted.length == 1) {
+                return new Node[]{replace(index, inserted[0])};
+            }
+            Node[] updated = new Node[children.length + 1];
+            System.arraycopy(children, 0, updated, 0, index);
+            updated[index] = inserted[0];
+            updated[index + 1] = inserted[1];
+            System.arraycopy(children, index + 1, updated, index + 2, children.length - index - 1);
+            if (updated.length <= NODE_SIZE) {
+                return new Node[]{new Branch(updated)};
+            }
+            int half = updated.length / 2;
+            return new Node[]{
+                    new Branch(Arrays.copyOfRange(updated, 0, half)),
+                    new Branch(Arrays.copyOfRange(updated, half, updated.length))
+            };
+        }
+
+        @Override
+        Node remove(long start, Slot slot) {
+            int index = route(start);
+            Node child = children[index].remove(start, slot);
+            if (child == children[index]) {
+                return this;
+            }
+            if (child != null) {
+                return replace(index, child);
+            }
+            if (children.length == 1) {
+                return null;
+            }
+            Node[] updated = new Node[children.length - 1];
+            System.arraycopy(children, 0, updated, 0, index);
+            System.arraycopy(children, index + 1, updated, index, updated.length - index);
+            return new Branch(updated);
+        }
+
+        @Override
+        void collect(long from, long to, List<SlotState> result) {
+            // os filhos anteriores terminam antes do primeiro início do filho de from
+            for (int i = route(from); i < children.length && starts[i] < to; i++) {
+                children[i].collect(from, to, result);
+            }
+        }
+
+        @Override
+        Node collapse() {
+            return children.length == 1 ? children[0].collapse() : this;
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package br.com.codart.src.domain.entities.schedule;
+
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.service.message.ResourceMessage;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Índice de intervalos dos slots de uma agenda.
+ *
+ * Árvore AVL ordenada pelo início do slot. Como a agenda não aceita slots sobrepostos,
+ * os intervalos são disjuntos e cada nó guarda, para a sua subárvore, o menor início,
+ * o maior fim e o maior intervalo livre entre slots consecutivos. Com isso as consultas
+ * de interseção custam O(log n + k) e a busca de intervalo livre custa O(log n).
+ *
+ * Os horários são tratados com precisão de segundos, como intervalos semiabertos [início, fim).
+ * A classe não é thread-safe; a sincronização fica por conta da agenda.
+ */
+final class SlotIntervalIndex {
+
+    private Node root;
+    private int size;
+
+    static long toKey(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    static LocalDateTime fromKey(long key) {
+        return LocalDateTime.ofEpochSecond(key, 0, ZoneOffset.UTC);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Insere o slot, rejeitando-o se conflitar com algum slot já indexado.
+     */
+    void insert(Slot slot) {
+        insert(slot, toKey(slot.getStartTime()), toKey(slot.getEndTime()));
+    }
+
+    /**
+     * Indica se o slot conflitaria com algum slot já indexado.
+     */
+    boolean overlaps(Slot slot) {
+        return overlaps(toKey(slot.getStartTime()), toKey(slot.getEndTime()));
+    }
+
+    /**
+     * Move o slot para o novo intervalo. Se o novo intervalo conflitar com outro slot,
+     * o índice permanece inalterado.
+     */
+    void move(Slot slot, LocalDateTime newStartTime, LocalDateTime newEndTime) {
+        long oldStart = toKey(slot.getStartTime());
+        long oldEnd = toKey(slot.getEndTime());
+
+        root = remove(root, oldStart);
+        size--;
+        try {
+            insert(slot, toKey(newStartTime), toKey(newEndTime));
+        } catch (IllegalArgumentException e) {
+            insert(slot, oldStart, oldEnd);
+            throw e;
+        }
+    }
+
+    /**
+     * Slots que intersectam o intervalo [start, end), em ordem de início.
+     */
+    List<Slot> intersecting(LocalDateTime start, LocalDateTime end) {
+        List<Slot> result = new ArrayList<>();
+        collectIntersecting(root, toKey(start), toKey(end), result);
+        return result;
+    }
+
+    /**
+     * Início do primeiro intervalo livre de pelo menos {@code minutes} minutos a partir de {@code after}.
+     * Depois do último slot a agenda está sempre livre, então sempre existe resposta.
+     */
+    LocalDateTime firstFreeGap(LocalDateTime after, long minutes) {
+        long[] cursor = {toKey(after)};
+        long found = findGap(root, minutes * 60, cursor);
+        return fromKey(found >= 0 ? found : cursor[0]);
+    }
+
+    /**
+     * Slot com o maior início menor ou igual ao instante informado (em segundos), ou null.
+     */
+    Slot floorSlot(long key) {
+        Node node = floor(key);
+        return node != null ? node.slot : null;
+    }
+
+    /**
+     * Slots que terminam antes do instante informado (em segundos), em ordem de início.
+     * Como os intervalos são disjuntos, esses slots formam um prefixo da ordem por início.
+     */
+    List<Slot> endedBefore(long key) {
+        List<Slot> result = new ArrayList<>();
+        collectEndedBefore(root, key, result);
+        return result;
+    }
+
+    /**
+     * Remove e devolve os slots que terminam antes do instante informado (em segundos).
+     */
+    List<Slot> removeEndedBefore(long key) {
+        List<Slot> removed = endedBefore(key);
+        for (Slot slot : removed) {
+            root = remove(root, toKey(slot.getStartTime()));
+            size--;
+        }
+        return removed;
+    }
+
+    List<Slot> toList() {
+        List<Slot> result = new ArrayList<>(size);
+        collectAll(root, result);
+        return result;
+    }
+
+    // Métodos de Validação
+
+    private void insert(Slot slot, long start, long end) {
+        validateNoOverlap(start, end);
+        root = insert(root, new Node(slot, start, end));
+        size++;
+    }
+
+    private void validateNoOverlap(long start, long end) {
+        if (overlaps(start, end)) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_OVERLAP.getMessage());
+        }
+    }
+
+    /**
+     * Diz se algum slot intersecta o intervalo [start, end), em segundos.
+     */
+    boolean overlaps(long start, long end) {
+        Node floor = floor(start);
+        if (floor != null && (floor.start == start || floor.end > start)) {
+            return true;
+        }
+        Node higher = higher(start);
+        return higher != null && higher.start < end;
+    }
+
+    // Consultas
+
+    private Node floor(long key) {
+        Node node = root;
+        Node best = null;
+        while (node != null) {
+            if (node.start <= key) {
+                best = node;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return best;
+    }
+
+    private Node higher(long key) {
+        Node node = root;
+        Node best = null;
+        while (node != null) {
+            if (node.start > key) {
+                best = node;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return best;
+    }
+
+    private static void collectIntersecting(Node node, long start, long end, List<Slot> result) {
+        if (node == null || node.maxEnd <= start || node.minStart >= end) {
+            return;
+        }
+        collectIntersecting(node.left, start, end, result);
+        if (node.start < end && node.end > start) {
+            result.add(node.slot);
+        }
+        collectIntersecting(node.right, start, end, result);
+    }
+
+    /**
+     * Percorre a árvore em ordem, descendo apenas nas subárvores que podem conter
+     * um intervalo livre suficiente. {@code cursor[0]} guarda o início do trecho livre corrente.
+     * Retorna -1 quando nenhum intervalo livre foi encontrado antes do fim da subárvore.
+     */
+    private static long findGap(Node node, long need, long[] cursor) {
+        if (node == null || node.maxEnd <= cursor[0]) {
+            return -1;
+        }
+        if (node.minStart >= cursor[0]) {
+            if (node.minStart - cursor[0] >= need) {
+                return cursor[0];
+            }
+            if (node.maxGap < need) {
+                cursor[0] = node.maxEnd;
+                return -1;
+            }
+        }
+
+        long found = findGap(node.left, need, cursor);
+        if (found >= 0) {
+            return found;
+        }
+        if (node.start - cursor[0] >= need) {
+            return cursor[0];
+        }
+        cursor[0] = Math.max(cursor[0], node.end);
+        return findGap(node.right, need, cursor);
+    }
+
+    /**
+     * Percorre a árvore em ordem até o primeiro slot que termina depois do instante.
+     * Retorna false quando esse slot foi encontrado e a busca deve parar.
+     */
+    private static boolean collectEndedBefore(Node node, long key, List<Slot> result) {
+        if (node == null) {
+            return true;
+        }
+        if (!collectEndedBefore(node.left, key, result) || node.end >= key) {
+            return false;
+        }
+        result.add(node.slot);
+        return collectEndedBefore(node.right, key, result);
+    }
+
+    private static void collectAll(Node node, List<Slot> result) {
+        if (node == null) {
+            return;
+        }
+        collectAll(node.left, result);
+        result.add(node.slot);
+        collectAll(node.right, result);
+    }
+
+    // Manutenção da árvore AVL
+
+    private static Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (inserted.start < node.start) {
+            node.left = insert(node.left, inserted);
+        } else {
+            node.right = insert(node.right, inserted);
+        }
+        return rebalance(node);
+    }
+
+    private static Node remove(Node node, long start) {
+        if (node == null) {
+            return null;
+        }
+        if (start < node.start) {
+            node.left = remove(node.left, start);
+        } else if (start > node.start) {
+            node.right = remove(node.right, start);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeMin(node.right);
+            successor.left = node.left;
+            return rebalance(successor);
+        }
+        return rebalance(node);
+    }
+
+    private static Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    private static Node rebalance(Node node) {
+        node.update();
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node {
+        private final Slot slot;
+        private final long start;
+        private final long end;
+        private Node left;
+        private Node right;
+        private int height = 1;
+        private long minStart;
+        private long maxEnd;
+        private long maxGap;
+
+        private Node(Slot slot, long start, long end) {
+            this.slot = slot;
+            this.start = start;
+            this.end = end;
+            this.minStart = start;
+            this.maxEnd = end;
+        }
+
+        private void update() {
+            height = 1 + Math.max(SlotIntervalIndex.height(left), SlotIntervalIndex.height(right));
+            minStart = left != null ? left.minStart : start;
+            maxEnd = right != null ? right.maxEnd : end;
+            maxGap = 0;
+            if (left != null) {
+                maxGap = Math.max(left.maxGap, start - left.maxEnd);
+            }
+            if (right != null) {
+                maxGap = Math.max(maxGap, Math.max(right.maxGap, right.minStart - end));
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package br.com.codart.src.domain.entities.schedule;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.service.message.ResourceMessage;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Modelo semanal de uma agenda recorrente.
+ * Exemplo: "segunda a sexta, 08:00-12:00, slots de 20 minutos, exceto feriados".
+ *
+ * O modelo não guarda slots: eles são gerados sob demanda, dia a dia, apenas para o período
+ * consultado. O id de cada slot gerado é determinístico ({@link #slotIdOf(long, LocalDateTime)}),
+ * então o mesmo horário sempre gera o mesmo id. Os slots gerados usam o relógio do modelo
+ * (por padrão, o do sistema) para verificar a expiração.
+ */
+public final class WeeklyScheduleTemplate {
+
+    private final int slotMinutes;
+    private final Set<LocalDate> holidays;
+    private final List<List<Window>> windowsByDay;
+    private final int maxSlotsPerDay;
+    private final Clock clock;
+
+    private WeeklyScheduleTemplate(int slotMinutes, Set<LocalDate> holidays, List<List<Window>> windowsByDay, Clock clock) {
+        this.slotMinutes = slotMinutes;
+        this.holidays = holidays;
+        this.windowsByDay = windowsByDay;
+        this.clock = clock;
+
+        validateConstructor();
+        this.maxSlotsPerDay = windowsByDay.stream()
+                .mapToInt(windows -> windows.stream().mapToInt(window -> window.slotCount(slotMinutes)).sum())
+                .max()
+                .orElse(0);
+    }
+
+    private void validateConstructor() {
+        if (slotMinutes <= 0 || windowsByDay.stream().allMatch(List::isEmpty)) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        for (List<Window> windows : windowsByDay) {
+            for (int i = 1; i < windows.size(); i++) {
+                if (windows.get(i).startMinute < windows.get(i - 1).endMinute) {
+                    throw new IllegalArgumentException(ResourceMessage.SLOT_OVERLAP.getMessage());
+                }
+            }
+        }
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    /**
+     * Id determinístico de um slot gerado: o prefixo (normalmente o id da agenda) nos 32 bits
+     * mais altos e o minuto de início desde a época (UTC) nos 32 bits mais baixos.
+     */
+    public static long slotIdOf(long idPrefix, LocalDateTime startTime) {
+        long epochMinute = Math.floorDiv(startTime.toEpochSecond(ZoneOffset.UTC), 60);
+        return (idPrefix << 32) | (epochMinute & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Slots AVAILABLE do modelo entre os dias {@code from} e {@code to} (inclusive), em ordem de horário.
+     * Os slots são criados à medida que o stream é consumido; em um stream paralelo o período é
+     * dividido por dias.
+     */
+    public Stream<Slot> slots(long idPrefix, LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        return StreamSupport.stream(new RecurringSlotSpliterator(this, idPrefix, from.toEpochDay(), to.toEpochDay()), false);
+    }
+
+    public Stream<Slot> slots(LocalDate from, LocalDate to) {
+        return slots(0, from, to);
+    }
+
+    /**
+     * Slot do modelo que começa exatamente no horário informado, se o modelo tiver esse horário.
+     * Usado para reservar um horário que ainda não foi gerado.
+     */
+    public Optional<Slot> slotAt(long idPrefix, LocalDateTime startTime) {
+        if (startTime == null || startTime.getSecond() != 0 || startTime.getNano() != 0) {
+            return Optional.empty();
+        }
+        int minute = startTime.getHour() * 60 + startTime.getMinute();
+        for (Window window : windowsOn(startTime.toLocalDate())) {
+            int offset = minute - window.startMinute;
+            if (offset >= 0 && offset % slotMinutes == 0 && minute + slotMinutes <= window.endMinute) {
+                return Optional.of(createSlot(idPrefix, startTime));
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Métodos usados pelo gerador
+
+    List<Window> windowsOn(LocalDate date) {
+        if (holidays.contains(date)) {
+            return Collections.emptyList();
+        }
+        return windowsByDay.get(date.getDayOfWeek().ordinal());
+    }
+
+    int maxSlotsPerDay() {
+        return maxSlotsPerDay;
+    }
+
+    Slot createSlot(long idPrefix, LocalDateTime startTime) {
+        return Slot.createSlot(slotIdOf(idPrefix, startTime), startTime, startTime.plusMinutes(slotMinutes),
+                SlotStatusEnum.AVAILABLE, clock);
+    }
+
+    /**
+     * Janela de atendimento de um dia, em minutos desde a meia-noite: [startMinute, endMinute).
+     */
+    static final class Window {
+        final int startMinute;
+        final int endMinute;
+
+        Window(int startMinute, int endMinute) {
+            this.startMinute = startMinute;
+            this.endMinute = endMinute;
+        }
+
+        int slotCount(int slotMinutes) {
+            return (endMinute - startMinute) / slotMinutes;
+        }
+    }
+
+    public static class Builder {
+
+        private int slotMinutes;
+        private final Set<LocalDate> holidays = new HashSet<>();
+        private final List<List<Window>> windowsByDay = new ArrayList<>();
+        private Clock clock = Clock.systemDefaultZone();
+
+        public Builder() {
+            for (int i = 0; i < DayOfWeek.values().length; i++) {
+                windowsByDay.add(new ArrayList<>());
+            }
+        }
+
+        public Builder slotMinutes(int slotMinutes) {
+            this.slotMinutes = slotMinutes;
+            return this;
+        }
+
+        /**
+         * Adiciona uma janela de atendimento [start, end) aos dias informados.
+         */
+        public Builder window(Set<DayOfWeek> days, LocalTime start, LocalTime end) {
+            if (days == null || days.isEmpty() || start == null || end == null || !start.isBefore(end)) {
+                throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+            }
+            Window window = new Window(start.getHour() * 60 + start.getMinute(), end.getHour() * 60 + end.getMinute());
+            for (DayOfWeek day : days) {
+                windowsByDay.get(day.ordinal()).add(window);
+            }
+            return this;
+        }
+
+        /**
+         * Janela de atendimento de segunda a sexta.
+         */
+        public Builder weekdays(LocalTime start, LocalTime end) {
+            return window(EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), start, end);
+        }
+
+        public Builder except(LocalDate... dates) {
+            for (LocalDate date : dates) {
+                if (date == null) {
+                    throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+                }
+                holidays.add(date);
+            }
+            return this;
+        }
+
+        /**
+         * Relógio dos slots gerados pelo modelo.
+         */
+        public Builder clock(Clock clock) {
+            if (clock == null) {
+                throw new IllegalArgumentException(ResourceMessage.CLOCK_INVALID.getMessage());
+            }
+            this.clock = clock;
+            return this;
+        }
+
+        public WeeklyScheduleTemplate build() {
+            List<List<Window>> windows = new ArrayList<>();
+            for (List<Window> day : windowsByDay) {
+                List<Window> sorted = new ArrayList<>(day);
+                sorted.sort(Comparator.comparingInt(window -> window.startMinute));
+                windows.add(List.copyOf(sorted));
+            }
+            return new WeeklyScheduleTemplate(slotMinutes, Set.copyOf(holidays), List.copyOf(windows), clock);
+        }
+    }
+}
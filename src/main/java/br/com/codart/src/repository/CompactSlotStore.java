@@ -0,0 +1,327 @@
+package br.com.codart.src.repository;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.Enum.SlotTransitionEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.service.message.ResourceMessage;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Armazenamento compacto de slots para volumes muito grandes (dezenas de milhões).
+ *
+ * Em vez de um objeto Slot por horário, os campos ficam em arrays primitivos paralelos
+ * (struct-of-arrays): id em long, início e fim em minutos desde a época (int) e status em byte,
+ * somando {@value #BYTES_PER_SLOT} bytes por slot. Os arrays são divididos em páginas de tamanho fixo
+ * que nunca são realocadas, então transições concorrentes (compare-and-set no byte de status)
+ * nunca se perdem durante o crescimento do armazenamento.
+ *
+ * Os ids devem ser inseridos em ordem estritamente crescente; a busca por id é binária.
+ * Os horários têm precisão de minutos. A expiração é verificada pelo relógio informado na
+ * criação (por padrão, o do sistema).
+ */
+public final class CompactSlotStore {
+
+    public static final int BYTES_PER_SLOT = Long.BYTES + Integer.BYTES + Integer.BYTES + Byte.BYTES;
+
+    private static final int PAGE_SHIFT = 16;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private static final VarHandle STATUS = MethodHandles.arrayElementVarHandle(byte[].class);
+    private static final SlotStatusEnum[] STATUSES = SlotStatusEnum.values();
+
+    private final Clock clock;
+    private volatile Page[] pages = new Page[0];
+    private volatile int size;
+
+    public CompactSlotStore() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public CompactSlotStore(Clock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException(ResourceMessage.CLOCK_INVALID.getMessage());
+        }
+        this.clock = clock;
+    }
+
+    // Métodos de escrita
+
+    public int append(Slot slot) {
+        if (slot == null) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        return append(slot.getSlotId(), slot.getStartTime(), slot.getEndTime(), slot.getSlotStatus());
+    }
+
+    /**
+     * Adiciona um slot ao final do armazenamento e retorna a sua posição.
+     */
+    public synchronized int append(long slotId, LocalDateTime startTime, LocalDateTime endTime, SlotStatusEnum slotStatus) {
+        if (startTime == null || endTime == null || slotStatus == null || slotId <= 0 || startTime.isAfter(endTime)) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        int index = size;
+        if (index > 0 && slotId <= slotId(index - 1)) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+
+        Page[] current = pages;
+        int pageIndex = index >>> PAGE_SHIFT;
+        if (pageIndex == current.length) {
+            current = Arrays.copyOf(current, pageIndex + 1);
+            current[pageIndex] = new Page();
+            pages = current;
+        }
+        Page page = current[pageIndex];
+        int offset = index & PAGE_MASK;
+        page.ids[offset] = slotId;
+        page.starts[offset] = toEpochMinute(startTime);
+        page.ends[offset] = toEpochMinute(endTime);
+        page.statuses[offset] = (byte) slotStatus.ordinal();
+
+        size = index + 1;
+        return index;
+    }
+
+    /**
+     * Aplica a transição no slot da posição informada seguindo as mesmas regras do Slot:
+     * RELEASE e RELEASE_HOLD não verificam a expiração, e RESCHEDULE exige os novos horários
+     * ({@link #reschedule(int, LocalDateTime, LocalDateTime)}).
+     *
+     * @throws IllegalStateException se o slot estiver expirado ou a transição não for permitida
+     */
+    public void transition(int index, SlotTransitionEnum transition) {
+        if (transition == null || transition == SlotTransitionEnum.RESCHEDULE) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        Page page = page(index);
+        int offset = index & PAGE_MASK;
+        if (transition.checksExpiry()) {
+            validateNotExpired(page.ends[offset]);
+        }
+
+        byte current;
+        do {
+            current = (byte) STATUS.getVolatile(page.statuses, offset);
+            if (!transition.allowsFrom(STATUSES[current])) {
+                throw new IllegalStateException(transition.getRejectionMessage().getMessage());
+            }
+        } while (!STATUS.compareAndSet(page.statuses, offset, current, (byte) transition.getTargetStatus().ordinal()));
+    }
+
+    /**
+     * Reagenda o slot da posição informada. Somente slots RESERVED podem ser reagendados.
+     * Os novos horários são gravados antes do compare-and-set para RESCHEDULED, então quem lê
+     * RESCHEDULED (leitura volátil do status) já enxerga os novos horários. Se outra transição
+     * vencer o compare-and-set, os horários anteriores voltam. Reagendamentos da mesma página
+     * são serializados.
+     */
+    public void reschedule(int index, LocalDateTime newStartTime, LocalDateTime newEndTime) {
+        if (newStartTime == null || newEndTime == null || newStartTime.isAfter(newEndTime)) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        int newStart = toEpochMinute(newStartTime);
+        int newEnd = toEpochMinute(newEndTime);
+        Page page = page(index);
+        int offset = index & PAGE_MASK;
+        validateNotExpired(page.ends[offset]);
+
+        byte reserved = (byte) SlotStatusEnum.RESERVED.ordinal();
+        byte rescheduled = (byte) SlotTransitionEnum.RESCHEDULE.getTargetStatus().ordinal();
+        synchronized (page) {
+            if ((byte) STATUS.getVolatile(page.statuses, offset) != reserved) {
+                throw new IllegalStateException(SlotTransitionEnum.RESCHEDULE.getRejectionMessage().getMessage());
+            }
+            int previousStart = page.starts[offset];
+            int previousEnd = page.ends[offset];
+            page.starts[offset] = newStart;
+            page.ends[offset] = newEnd;
+            if (!STATUS.compareAndSet(page.statuses, offset, reserved, rescheduled)) {
+                page.starts[offset] = previousStart;
+                page.ends[offset] = previousEnd;
+                throw new IllegalStateException(SlotTransitionEnum.RESCHEDULE.getRejectionMessage().getMessage());
+            }
+        }
+    }
+
+    // Métodos de leitura
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Posição do slot com o id informado, ou -1 se ele não existir.
+     */
+    public int indexOf(long slotId) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long id = slotId(mid);
+            if (id < slotId) {
+                low = mid + 1;
+            } else if (id > slotId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public long slotId(int index) {
+        return page(index).ids[index & PAGE_MASK];
+    }
+
+    public int startEpochMinute(int index) {
+        return page(index).starts[index & PAGE_MASK];
+    }
+
+    public int endEpochMinute(int index) {
+        return page(index).ends[index & PAGE_MASK];
+    }
+
+    public SlotStatusEnum status(int index) {
+        return STATUSES[(byte) STATUS.getVolatile(page(index).statuses, index & PAGE_MASK)];
+    }
+
+    /**
+     * Cria um Slot completo com os dados da posição informada, para uso com a API existente.
+     * O slot verifica a expiração pelo relógio do armazenamento.
+     */
+    public Slot toSlot(int index) {
+        return Slot.createSlot(slotId(index), fromEpochMinute(startEpochMinute(index)),
+                fromEpochMinute(endEpochMinute(index)), status(index), clock);
+    }
+
+    /**
+     * Visão reutilizável (flyweight) sobre a posição informada.
+     */
+    public SlotView view(int index) {
+        return new SlotView().moveTo(index);
+    }
+
+    /**
+     * Bytes ocupados pelos arrays de dados, somando o tamanho de cada array alocado
+     * (capacidade, não apenas as posições usadas; sem cabeçalhos de objeto).
+     */
+    public long footprintBytes() {
+        long bytes = 0;
+        for (Page page : pages) {
+            bytes += (long) page.ids.length * Long.BYTES
+                    + (long) page.starts.length * Integer.BYTES
+                    + (long) page.ends.length * Integer.BYTES
+                    + page.statuses.length;
+        }
+        return bytes;
+    }
+
+    public static int toEpochMinute(LocalDateTime time) {
+        return Math.toIntExact(Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60));
+    }
+
+    public static LocalDateTime fromEpochMinute(int epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60L, 0, ZoneOffset.UTC);
+    }
+
+    // Métodos de Validação
+
+    private Page page(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return pages[index >>> PAGE_SHIFT];
+    }
+
+    private void validateNotExpired(int endEpochMinute) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        long nowSecond = now.toEpochSecond(ZoneOffset.UTC);
+        long endSecond = endEpochMinute * 60L;
+        if (nowSecond > endSecond || (nowSecond == endSecond && now.getNano() > 0)) {
+            throw new IllegalStateException(ResourceMessage.SLOT_EXPIRED.getMessage());
+        }
+    }
+
+    private static final class Page {
+        private final long[] ids = new long[PAGE_SIZE];
+        private final int[] starts = new int[PAGE_SIZE];
+        private final int[] ends = new int[PAGE_SIZE];
+        private final byte[] statuses = new byte[PAGE_SIZE];
+    }
+
+    /**
+     * Visão de um slot do armazenamento com a mesma API do Slot.
+     * Pode ser reposicionada com {@link #moveTo(int)} para percorrer o armazenamento sem criar objetos.
+     */
+    public final class SlotView {
+
+        private int index;
+
+        public SlotView moveTo(int index) {
+            page(index);
+            this.index = index;
+            return this;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public long getSlotId() {
+            return slotId(index);
+        }
+
+        public LocalDateTime getStartTime() {
+            return fromEpochMinute(startEpochMinute(index));
+        }
+
+        public LocalDateTime getEndTime() {
+            return fromEpochMinute(endEpochMinute(index));
+        }
+
+        public SlotStatusEnum getSlotStatus() {
+            return status(index);
+        }
+
+        public void blockSlot() {
+            transition(index, SlotTransitionEnum.BLOCK);
+        }
+
+        public void cancelSlot() {
+            transition(index, SlotTransitionEnum.CANCEL);
+        }
+
+        public void reserveSlot() {
+            transition(index, SlotTransitionEnum.RESERVE);
+        }
+
+        public void reopenSlot() {
+            transition(index, SlotTransitionEnum.REOPEN);
+        }
+
+        public void rescheduleSlot(LocalDateTime newStartTime, LocalDateTime newEndTime, int durationMinutes) {
+            if (durationMinutes <= 0) {
+                throw new IllegalArgumentException(ResourceMessage.NOT_AVAILABLE.getMessage());
+            }
+            reschedule(index, newStartTime, newEndTime);
+        }
+
+        @Override
+        public String toString() {
+            return "Slot{" +
+                    "slotId=" + getSlotId() +
+                    ", startTime=" + getStartTime() +
+                    ", endTime=" + getEndTime() +
+                    ", slotStatus=" + getSlotStatus() +
+                    '}';
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.codart.src.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface Repositoy<T> {
@@ -8,7 +9,7 @@ public interface Repositoy<T> {
 
     Optional<T> findById(Long id);
 
-    void findAll();
+    List<T> findAll();
 
     void deleteById(Long id);
 
@@ -0,0 +1,101 @@
+package br.com.codart.src.repository;
+
+import br.com.codart.src.domain.entities.schedule.Schedule;
+import br.com.codart.src.service.event.SlotEventBus;
+import br.com.codart.src.service.jfr.RepositoryOperationEvent;
+import br.com.codart.src.service.message.ResourceMessage;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Repositório de agendas em memória, seguro para acesso concorrente.
+ * Com um barramento de eventos, as agendas salvas passam a publicar nele.
+ */
+public class ScheduleRepository implements Repositoy<Schedule> {
+
+    private static final String NAME = "ScheduleRepository";
+
+    private final ConcurrentHashMap<Long, Schedule> schedules = new ConcurrentHashMap<>();
+    private final SlotEventBus eventBus;
+
+    public ScheduleRepository() {
+        this.eventBus = null;
+    }
+
+    public ScheduleRepository(SlotEventBus eventBus) {
+        if (eventBus == null) {
+            throw new IllegalArgumentException(ResourceMessage.EVENT_BUS_INVALID.getMessage());
+        }
+        this.eventBus = eventBus;
+    }
+
+    @Override
+    public void save(Schedule schedule) {
+        if (schedule == null) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        RepositoryOperationEvent event = RepositoryOperationEvent.start();
+        attachEventBus(schedule);
+        Schedule previous = schedules.put(schedule.getId(), schedule);
+        RepositoryOperationEvent.end(event, NAME, "save", schedule.getId(), previous != null);
+    }
+
+    /**
+     * Salva a agenda apenas se ainda não existir outra com o mesmo id.
+     *
+     * @return true se a agenda foi salva
+     */
+    public boolean saveIfAbsent(Schedule schedule) {
+        if (schedule == null) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        RepositoryOperationEvent event = RepositoryOperationEvent.start();
+        if (schedules.putIfAbsent(schedule.getId(), schedule) != null) {
+            RepositoryOperationEvent.end(event, NAME, "saveIfAbsent", schedule.getId(), true);
+            return false;
+        }
+        attachEventBus(schedule);
+        RepositoryOperationEvent.end(event, NAME, "saveIfAbsent", schedule.getId(), false);
+        return true;
+    }
+
+    private void attachEventBus(Schedule schedule) {
+        if (eventBus != null) {
+            schedule.publishTo(eventBus);
+        }
+    }
+
+    @Override
+    public Optional<Schedule> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        RepositoryOperationEvent event = RepositoryOperationEvent.start();
+        Schedule schedule = schedules.get(id);
+        RepositoryOperationEvent.end(event, NAME, "findById", id, schedule != null);
+        return Optional.ofNullable(schedule);
+    }
+
+    /**
+     * Todas as agendas, ordenadas pelo id.
+     */
+    @Override
+    public List<Schedule> findAll() {
+        List<Schedule> result = new ArrayList<>(schedules.values());
+        result.sort(Comparator.comparing(Schedule::getId));
+        return result;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        if (id != null) {
+            RepositoryOperationEvent event = RepositoryOperationEvent.start();
+            Schedule removed = schedules.remove(id);
+            RepositoryOperationEvent.end(event, NAME, "deleteById", id, removed != null);
+        }
+    }
+}
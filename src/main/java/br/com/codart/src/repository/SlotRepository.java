@@ -1,7 +1,233 @@
 package br.com.codart.src.repository;
 
 import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.repository.snapshot.SlotSnapshot;
+import br.com.codart.src.service.jfr.RepositoryOperationEvent;
+import br.com.codart.src.service.message.ResourceMessage;
 
-public class SlotRepository  {
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
+/**
+ * Repositório de slots em memória, seguro para acesso concorrente.
+ *
+ * Os slots ficam em um ConcurrentHashMap indexado pelo slotId. Operações compostas
+ * sobre um slot (ler, validar e alterar) são serializadas por um lock de uma faixa
+ * (lock striping): slots em faixas diferentes nunca disputam o mesmo lock.
+ *
+ * O repositório pode partir de um {@link SlotSnapshot}: os slots do snapshot só são criados
+ * em memória quando consultados (por id ou por dia), e slots removidos depois do snapshot
+ * ficam marcados para não serem carregados de novo.
+ */
+public class SlotRepository implements Repositoy<Slot> {
+
+    private static final int DEFAULT_STRIPES = 64;
+    private static final String NAME = "SlotRepository";
+
+    private final ConcurrentHashMap<Long, Slot> slots = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes;
+    private final int stripeMask;
+    private final SlotSnapshot snapshot;
+    private final Set<Long> deleted = ConcurrentHashMap.newKeySet();
+    private volatile boolean snapshotLoaded;
+
+    public SlotRepository() {
+        this((SlotSnapshot) null);
+    }
+
+    /**
+     * @param snapshot snapshot de onde os slots são carregados sob demanda, ou null
+     */
+    public SlotRepository(SlotSnapshot snapshot) {
+        this(Math.max(DEFAULT_STRIPES, Runtime.getRuntime().availableProcessors() * 4), snapshot);
+    }
+
+    public SlotRepository(int stripes) {
+        this(stripes, null);
+    }
+
+    /**
+     * @param stripes quantidade mínima de faixas de lock, arredondada para a próxima potência de 2
+     * @param snapshot snapshot de onde os slots são carregados sob demanda, ou null
+     */
+    public SlotRepository(int stripes, SlotSnapshot snapshot) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        int size = Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new ReentrantLock[Math.max(size, 1)];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.stripeMask = this.stripes.length - 1;
+        this.snapshot = snapshot;
+        this.snapshotLoaded = snapshot == null;
+    }
+
+    @Override
+    public void save(Slot slot) {
+        if (slot == null) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        RepositoryOperationEvent event = RepositoryOperationEvent.start();
+        Slot previous = slots.put(slot.getSlotId(), slot);
+        RepositoryOperationEvent.end(event, NAME, "save", slot.getSlotId(), previous != null);
+    }
+
+    @Override
+    public Optional<Slot> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        RepositoryOperationEvent event = RepositoryOperationEvent.start();
+        Slot slot = slots.get(id);
+        if (slot == null && !snapshotLoaded) {
+            slot = slots.computeIfAbsent(id, key -> deleted.contains(key) ? null : snapshot.findById(key).orElse(null));
+        }
+        RepositoryOperationEvent.end(event, NAME, "findById", id, slot != null);
+        return Optional.ofNullable(slot);
+    }
+
+    /**
+     * Slots que começam entre os dias {@code from} e {@code to} (inclusive), em ordem de início.
+     * Apenas esses dias são lidos do snapshot.
+     */
+    public List<Slot> findByDay(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        if (!snapshotLoaded) {
+            snapshot.forEachBetween(from, to, this::load);
+        }
+        List<Slot> result = new ArrayList<>();
+        for (Slot slot : slots.values()) {
+            LocalDate day = slot.getStartTime().toLocalDate();
+            if (!day.isBefore(from) && !day.isAfter(to)) {
+                result.add(slot);
+            }
+        }
+        result.sort(Comparator.comparing(Slot::getStartTime).thenComparing(Slot::getSlotId));
+        return result;
+    }
+
+    /**
+     * Slots que terminaram antes de {@code cutoff}, em ordem de início.
+     * Apenas os dias até o de {@code cutoff} são lidos do snapshot.
+     */
+    public List<Slot> findEndedBefore(LocalDateTime cutoff) {
+        if (cutoff == null) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        if (!snapshotLoaded) {
+            snapshot.forEachBetween(LocalDate.MIN, cutoff.toLocalDate(), this::load);
+        }
+        List<Slot> result = new ArrayList<>();
+        for (Slot slot : slots.values()) {
+            if (slot.getEndTime().isBefore(cutoff)) {
+                result.add(slot);
+            }
+        }
+        result.sort(Comparator.comparing(Slot::getStartTime).thenComparing(Slot::getSlotId));
+        return result;
+    }
+
+    /**
+     * Todos os slots do repositório, ordenados pelo slotId.
+     * Carrega o snapshot inteiro, se ainda não tiver sido carregado.
+     */
+    @Override
+    public List<Slot> findAll() {
+        loadSnapshot();
+        List<Slot> result = new ArrayList<>(slots.values());
+        result.sort(Comparator.comparing(Slot::getSlotId));
+        return result;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        if (id != null) {
+            RepositoryOperationEvent event = RepositoryOperationEvent.start();
+            boolean found = event != null && slots.containsKey(id);
+            slots.compute(id, (key, slot) -> {
+                if (!snapshotLoaded) {
+                    deleted.add(key);
+                }
+                return null;
+            });
+            RepositoryOperationEvent.end(event, NAME, "deleteById", id, found);
+        }
+    }
+
+    public int count() {
+        loadSnapshot();
+        return slots.size();
+    }
+
+    private void loadSnapshot() {
+        if (!snapshotLoaded) {
+            snapshot.forEach(this::load);
+            snapshotLoaded = true;
+        }
+    }
+
+    /**
+     * Coloca em memória um slot lido do snapshot, a menos que ele já esteja em memória
+     * (possivelmente com um estado mais novo) ou tenha sido removido.
+     */
+    private void load(Slot slot) {
+        slots.computeIfAbsent(slot.getSlotId(), key -> deleted.contains(key) ? null : slot);
+    }
+
+    /**
+     * Executa uma operação composta sobre o slot segurando apenas o lock da faixa dele.
+     *
+     * @throws IllegalArgumentException se o slot não existir
+     */
+    public <R> R update(Long slotId, Function<Slot, R> action) {
+        Slot slot = findById(slotId)
+                .orElseThrow(() -> new IllegalArgumentException(ResourceMessage.SLOT_NOT_FOUND.getMessage()));
+
+        // a duração do evento inclui a espera pelo lock da faixa
+        RepositoryOperationEvent event = RepositoryOperationEvent.start();
+        ReentrantLock lock = lockFor(slotId);
+        lock.lock();
+        try {
+            return action.apply(slot);
+        } finally {
+            lock.unlock();
+            RepositoryOperationEvent.end(event, NAME, "update", slotId, true);
+        }
+    }
+
+    /**
+     * Lock da faixa à qual o slot pertence.
+     */
+    public ReentrantLock lockFor(Long slotId) {
+        return stripes[stripeOf(slotId)];
+    }
+
+    /**
+     * Índice da faixa do slot. Faixas devem ser adquiridas em ordem crescente
+     * deste índice quando mais de uma precisar ser segurada ao mesmo tempo.
+     */
+    public int stripeOf(Long slotId) {
+        long id = slotId;
+        int hash = (int) (id ^ (id >>> 32));
+        hash ^= (hash >>> 16);
+        hash *= 0x45d9f3b;
+        hash ^= (hash >>> 16);
+        return hash & stripeMask;
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
 }
@@ -0,0 +1,280 @@
+package br.com.codart.src.repository.archive;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.service.message.ResourceMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Arquivo frio, imutável, dos slots que começam em um mês.
+ *
+ * Os slots são gravados em ordem de início e cada campo é a diferença para o slot anterior,
+ * em varint: slots consecutivos de uma agenda costumam começar minutos depois do anterior,
+ * ter a mesma duração e ids vizinhos, então quase todos os campos cabem em um ou dois bytes.
+ * O resultado ainda é comprimido com {@link Deflater}.
+ *
+ * Formato (big-endian):
+ * <pre>
+ * cabeçalho  int magic, int versão, int ano, int mês, int slots, int tamanho descomprimido,
+ *            long menor slotId, long maior slotId
+ * corpo      deflate de [varint Δinício, varint duração, varint ΔslotId, byte status] por slot
+ * </pre>
+ * Δinício e ΔslotId usam zigzag; o primeiro início é relativo ao começo do mês. Os horários
+ * são epoch seconds (UTC), como no snapshot.
+ *
+ * Consultas descomprimem o mês inteiro: o arquivo é para histórico e relatórios, não para o
+ * caminho quente.
+ */
+public final class SlotArchive {
+
+    private static final int MAGIC = 0x534C4152;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 40;
+    private static final SlotStatusEnum[] STATUSES = SlotStatusEnum.values();
+
+    private final YearMonth month;
+    private final int size;
+    private final int rawLength;
+    private final long minSlotId;
+    private final long maxSlotId;
+    private final byte[] compressed;
+
+    private SlotArchive(YearMonth month, int size, int rawLength, long minSlotId, long maxSlotId, byte[] compressed) {
+        this.month = month;
+        this.size = size;
+        this.rawLength = rawLength;
+        this.minSlotId = minSlotId;
+        this.maxSlotId = maxSlotId;
+        this.compressed = compressed;
+    }
+
+    /**
+     * Arquiva os slots do mês. Todos precisam começar no mês informado.
+     */
+    public static SlotArchive of(YearMonth month, Collection<Slot> slots) {
+        if (month == null || slots == null) {
+            throw new IllegalArgumentException(ResourceMessage.ARCHIVE_INVALID.getMessage());
+        }
+        List<Slot> byStart = new ArrayList<>(slots);
+        byStart.sort(Comparator.comparing(Slot::getStartTime).thenComparing(Slot::getSlotId));
+
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(byStart.size() * 6);
+        long previousStart = epochSecond(month.atDay(1).atStartOfDay());
+        long previousId = 0;
+        long minSlotId = Long.MAX_VALUE;
+        long maxSlotId = Long.MIN_VALUE;
+        for (Slot slot : byStart) {
+            if (!YearMonth.from(slot.getStartTime()).equals(month)) {
+                throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+            }
+            long start = epochSecond(slot.getStartTime());
+            long slotId = slot.getSlotId();
+            writeVarLong(raw, zigzag(start - previousStart));
+            writeVarLong(raw, epochSecond(slot.getEndTime()) - start);
+            writeVarLong(raw, zigzag(slotId - previousId));
+            raw.write(slot.getSlotStatus().durableStatus().ordinal());
+            previousStart = start;
+            previousId = slotId;
+            minSlotId = Math.min(minSlotId, slotId);
+            maxSlotId = Math.max(maxSlotId, slotId);
+        }
+        byte[] body = raw.toByteArray();
+        return new SlotArchive(month, byStart.size(), body.length, minSlotId, maxSlotId, deflate(body));
+    }
+
+    /**
+     * Lê um arquivo gravado por {@link #toBytes()}.
+     */
+    public static SlotArchive fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length < HEADER_SIZE) {
+            throw new IllegalArgumentException(ResourceMessage.ARCHIVE_INVALID.getMessage());
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IllegalArgumentException(ResourceMessage.ARCHIVE_INVALID.getMessage());
+        }
+        int year = buffer.getInt();
+        int month = buffer.getInt();
+        int size = buffer.getInt();
+        int rawLength = buffer.getInt();
+        long minSlotId = buffer.getLong();
+        long maxSlotId = buffer.getLong();
+        if (month < 1 || month > 12 || size < 0 || rawLength < 0) {
+            throw new IllegalArgumentException(ResourceMessage.ARCHIVE_INVALID.getMessage());
+        }
+        byte[] compressed = new byte[buffer.remaining()];
+        buffer.get(compressed);
+        return new SlotArchive(YearMonth.of(year, month), size, rawLength, minSlotId, maxSlotId, compressed);
+    }
+
+    public byte[] toBytes() {
+        return ByteBuffer.allocate(HEADER_SIZE + compressed.length)
+                .putInt(MAGIC).putInt(VERSION)
+                .putInt(month.getYear()).putInt(month.getMonthValue())
+                .putInt(size).putInt(rawLength)
+                .putLong(minSlotId).putLong(maxSlotId)
+                .put(compressed)
+                .array();
+    }
+
+    /**
+     * Novo arquivo do mês com os slots informados; um slot já arquivado com o mesmo id é substituído.
+     */
+    public SlotArchive merge(Collection<Slot> slots) {
+        Map<Long, Slot> byId = new LinkedHashMap<>();
+        forEach(slot -> byId.put(slot.getSlotId(), slot));
+        for (Slot slot : slots) {
+            byId.put(slot.getSlotId(), slot);
+        }
+        return of(month, byId.values());
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Tamanho do arquivo em bytes, com o cabeçalho.
+     */
+    public int compressedSize() {
+        return HEADER_SIZE + compressed.length;
+    }
+
+    public Optional<Slot> findById(long slotId) {
+        if (size == 0 || slotId < minSlotId || slotId > maxSlotId) {
+            return Optional.empty();
+        }
+        Slot[] found = new Slot[1];
+        forEach(slot -> {
+            if (slot.getSlotId() == slotId) {
+                found[0] = slot;
+            }
+        });
+        return Optional.ofNullable(found[0]);
+    }
+
+    /**
+     * Slots que começam em [from, to), em ordem de início.
+     */
+    public List<Slot> findBetween(LocalDateTime from, LocalDateTime to) {
+        List<Slot> result = new ArrayList<>();
+        forEach(slot -> {
+            if (!slot.getStartTime().isBefore(from) && slot.getStartTime().isBefore(to)) {
+                result.add(slot);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Entrega todos os slots do mês, em ordem de início.
+     */
+    public void forEach(Consumer<Slot> action) {
+        ByteBuffer raw = ByteBuffer.wrap(inflate());
+        long start = epochSecond(month.atDay(1).atStartOfDay());
+        long slotId = 0;
+        for (int i = 0; i < size; i++) {
+            start += unzigzag(readVarLong(raw));
+            long end = start + readVarLong(raw);
+            slotId += unzigzag(readVarLong(raw));
+            action.accept(Slot.createSlot(slotId,
+                    LocalDateTime.ofEpochSecond(start, 0, ZoneOffset.UTC),
+                    LocalDateTime.ofEpochSecond(end, 0, ZoneOffset.UTC),
+                    STATUSES[raw.get()]));
+        }
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    // Codificação
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException(ResourceMessage.ARCHIVE_INVALID.getMessage());
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private byte[] inflate() {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int count = inflater.inflate(raw, read, rawLength - read);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += count;
+            }
+            if (read != rawLength) {
+                throw new IllegalArgumentException(ResourceMessage.ARCHIVE_INVALID.getMessage());
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException(ResourceMessage.ARCHIVE_INVALID.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+}
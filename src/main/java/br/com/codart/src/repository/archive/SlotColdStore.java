@@ -0,0 +1,175 @@
+package br.com.codart.src.repository.archive;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.service.message.ResourceMessage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Camada fria dos slots: um {@link SlotArchive} comprimido por mês, para histórico e relatórios.
+ *
+ * Com um diretório, cada mês também é gravado em {@code slots-AAAA-MM.archive} (escrito ao lado
+ * e movido atomicamente) e os meses já gravados são lidos ao abrir. Sem diretório, os arquivos
+ * ficam apenas em memória, ainda comprimidos.
+ *
+ * Leituras são seguras durante um arquivamento; arquivamentos concorrentes são serializados.
+ */
+public class SlotColdStore {
+
+    private static final String PREFIX = "slots-";
+    private static final String SUFFIX = ".archive";
+
+    private final ConcurrentSkipListMap<YearMonth, SlotArchive> months = new ConcurrentSkipListMap<>();
+    private final Path directory;
+
+    public SlotColdStore() {
+        this.directory = null;
+    }
+
+    /**
+     * @param directory diretório dos arquivos mensais, criado se não existir
+     */
+    public SlotColdStore(Path directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException(ResourceMessage.ARCHIVE_INVALID.getMessage());
+        }
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+                for (Path file : files) {
+                    SlotArchive archive = SlotArchive.fromBytes(Files.readAllBytes(file));
+                    months.put(archive.getMonth(), archive);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Acrescenta os slots aos arquivos dos meses em que começam. Um slot já arquivado com o mesmo
+     * id é substituído, então arquivar de novo os mesmos slots é inofensivo.
+     * Quando este método retorna, os meses alterados já estão gravados no diretório.
+     */
+    public synchronized void archive(Collection<Slot> slots) {
+        if (slots == null) {
+            throw new IllegalArgumentException(ResourceMessage.ARCHIVE_INVALID.getMessage());
+        }
+        Map<YearMonth, List<Slot>> byMonth = new TreeMap<>();
+        for (Slot slot : slots) {
+            byMonth.computeIfAbsent(YearMonth.from(slot.getStartTime()), month -> new ArrayList<>()).add(slot);
+        }
+        for (Map.Entry<YearMonth, List<Slot>> entry : byMonth.entrySet()) {
+            SlotArchive current = months.get(entry.getKey());
+            SlotArchive updated = current == null
+                    ? SlotArchive.of(entry.getKey(), entry.getValue())
+                    : current.merge(entry.getValue());
+            write(updated);
+            months.put(entry.getKey(), updated);
+        }
+    }
+
+    private void write(SlotArchive archive) {
+        if (directory == null) {
+            return;
+        }
+        Path file = directory.resolve(PREFIX + archive.getMonth() + SUFFIX);
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.write(temporary, archive.toBytes());
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Slot arquivado com o id informado. Só descomprime os meses cujo intervalo de ids o contém.
+     */
+    public Optional<Slot> findById(Long slotId) {
+        if (slotId == null) {
+            return Optional.empty();
+        }
+        for (SlotArchive archive : months.descendingMap().values()) {
+            Optional<Slot> slot = archive.findById(slotId);
+            if (slot.isPresent()) {
+                return slot;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Slots arquivados que começam entre os dias {@code from} e {@code to} (inclusive), em ordem de início.
+     * Só os meses do intervalo são descomprimidos.
+     */
+    public List<Slot> findByDay(LocalDate from, LocalDate to) {
+        List<Slot> result = new ArrayList<>();
+        for (SlotArchive archive : monthsBetween(from, to).values()) {
+            result.addAll(archive.findBetween(from.atStartOfDay(), to.plusDays(1).atStartOfDay()));
+        }
+        return result;
+    }
+
+    /**
+     * Quantidade de slots arquivados por status entre os dias {@code from} e {@code to} (inclusive).
+     */
+    public Map<SlotStatusEnum, Integer> countByStatus(LocalDate from, LocalDate to) {
+        Map<SlotStatusEnum, Integer> counts = new EnumMap<>(SlotStatusEnum.class);
+        for (Slot slot : findByDay(from, to)) {
+            counts.merge(slot.getSlotStatus(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private NavigableMap<YearMonth, SlotArchive> monthsBetween(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        return months.subMap(YearMonth.from(from), true, YearMonth.from(to), true);
+    }
+
+    /**
+     * Meses arquivados, em ordem.
+     */
+    public List<YearMonth> getMonths() {
+        return new ArrayList<>(months.keySet());
+    }
+
+    public int size() {
+        int size = 0;
+        for (SlotArchive archive : months.values()) {
+            size += archive.size();
+        }
+        return size;
+    }
+
+    /**
+     * Tamanho total dos arquivos comprimidos, em bytes.
+     */
+    public long compressedSize() {
+        long size = 0;
+        for (SlotArchive archive : months.values()) {
+            size += archive.compressedSize();
+        }
+        return size;
+    }
+}
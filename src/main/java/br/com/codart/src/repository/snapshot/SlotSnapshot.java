@@ -0,0 +1,256 @@
+package br.com.codart.src.repository.snapshot;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.repository.SlotRepository;
+import br.com.codart.src.repository.wal.SlotWriteAheadLog;
+import br.com.codart.src.service.message.ResourceMessage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Fotografia (snapshot) binária de todos os slots, lida por mapeamento de memória.
+ *
+ * Ao abrir, apenas o cabeçalho é validado: os slots são lidos do arquivo mapeado quando
+ * consultados, então o sistema operacional só carrega as páginas dos dias e ids usados.
+ *
+ * Formato (big-endian):
+ * <pre>
+ * cabeçalho     int magic, int versão, int slots, int dias, long criação (epoch millis)
+ * dias          [long epochDay, int primeiro slot, int quantidade] por dia, em ordem de dia
+ * slots         [long slotId, long início, long fim, byte status] em ordem de início
+ * índice de id  [long slotId, int posição do slot] em ordem de slotId
+ * </pre>
+ * Os horários são epoch seconds (UTC), com a mesma precisão do log de transições.
+ *
+ * O snapshot, assim como o log, cobre apenas o {@link SlotRepository}: as agendas e os seus
+ * modelos semanais não são persistidos e precisam ser recriados depois de um reinício.
+ */
+public final class SlotSnapshot {
+
+    private static final int MAGIC = 0x534C5453;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final int DAY_ENTRY_SIZE = 16;
+    private static final int SLOT_ENTRY_SIZE = 25;
+    private static final int ID_ENTRY_SIZE = 12;
+
+    private final MappedByteBuffer buffer;
+    private final Clock clock;
+    private final int slotCount;
+    private final int dayCount;
+    private final long createdAt;
+    private final int slotsOffset;
+    private final int idsOffset;
+
+    private SlotSnapshot(MappedByteBuffer buffer, Clock clock) {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException(ResourceMessage.SNAPSHOT_INVALID.getMessage());
+        }
+        this.buffer = buffer;
+        this.clock = clock;
+        this.slotCount = buffer.getInt(8);
+        this.dayCount = buffer.getInt(12);
+        this.createdAt = buffer.getLong(16);
+        this.slotsOffset = HEADER_SIZE + dayCount * DAY_ENTRY_SIZE;
+        this.idsOffset = slotsOffset + slotCount * SLOT_ENTRY_SIZE;
+        if (slotCount < 0 || dayCount < 0 || (long) idsOffset + (long) slotCount * ID_ENTRY_SIZE != buffer.capacity()) {
+            throw new IllegalArgumentException(ResourceMessage.SNAPSHOT_INVALID.getMessage());
+        }
+    }
+
+    /**
+     * Mapeia o snapshot em memória sem ler os slots.
+     */
+    public static SlotSnapshot open(Path path) {
+        return open(path, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Como {@link #open(Path)}, criando os slots lidos com o relógio informado.
+     */
+    public static SlotSnapshot open(Path path, Clock clock) {
+        if (path == null || clock == null) {
+            throw new IllegalArgumentException(ResourceMessage.SNAPSHOT_INVALID.getMessage());
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new SlotSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), clock);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Grava o snapshot dos slots informados. O arquivo é escrito ao lado do destino e
+     * movido atomicamente, então um snapshot anterior nunca fica pela metade.
+     */
+    public static void write(Path path, Collection<Slot> slots) {
+        if (path == null || slots == null) {
+            throw new IllegalArgumentException(ResourceMessage.SNAPSHOT_INVALID.getMessage());
+        }
+        List<Slot> byStart = new ArrayList<>(slots);
+        byStart.sort(Comparator.comparing(Slot::getStartTime).thenComparing(Slot::getSlotId));
+
+        List<long[]> days = new ArrayList<>();
+        for (int i = 0; i < byStart.size(); i++) {
+            long day = byStart.get(i).getStartTime().toLocalDate().toEpochDay();
+            if (days.isEmpty() || days.get(days.size() - 1)[0] != day) {
+                days.add(new long[]{day, i, 0});
+            }
+            days.get(days.size() - 1)[2]++;
+        }
+
+        Integer[] byId = new Integer[byStart.size()];
+        for (int i = 0; i < byId.length; i++) {
+            byId[i] = i;
+        }
+        Arrays.sort(byId, Comparator.comparing(i -> byStart.get(i).getSlotId()));
+
+        long size = HEADER_SIZE + (long) days.size() * DAY_ENTRY_SIZE
+                + (long) byStart.size() * (SLOT_ENTRY_SIZE + ID_ENTRY_SIZE);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(ResourceMessage.SNAPSHOT_INVALID.getMessage());
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                out.putInt(MAGIC).putInt(VERSION).putInt(byStart.size()).putInt(days.size())
+                        .putLong(System.currentTimeMillis());
+                for (long[] day : days) {
+                    out.putLong(day[0]).putInt((int) day[1]).putInt((int) day[2]);
+                }
+                for (Slot slot : byStart) {
+                    out.putLong(slot.getSlotId())
+                            .putLong(slot.getStartTime().toEpochSecond(ZoneOffset.UTC))
+                            .putLong(slot.getEndTime().toEpochSecond(ZoneOffset.UTC))
+                            .put((byte) slot.getSlotStatus().durableStatus().ordinal());
+                }
+                for (Integer index : byId) {
+                    out.putLong(byStart.get(index).getSlotId()).putInt(index);
+                }
+                out.force();
+            }
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Ponto de controle: grava o snapshot do repositório e remove do log tudo o que o
+     * snapshot já contém.
+     *
+     * A posição do log é marcada antes de o repositório ser lido. Como cada mudança é aplicada
+     * em memória antes de ir para o log, tudo o que está antes da marca já aparece no snapshot;
+     * registros depois dela podem repetir mudanças já fotografadas, o que é inofensivo porque
+     * cada registro guarda o estado final do slot, e não uma diferença.
+     */
+    public static void checkpoint(SlotRepository repository, SlotWriteAheadLog log, Path path) {
+        if (repository == null || log == null) {
+            throw new IllegalArgumentException(ResourceMessage.SNAPSHOT_INVALID.getMessage());
+        }
+        long mark = log.mark();
+        write(path, repository.findAll());
+        log.truncateBefore(mark);
+    }
+
+    public int size() {
+        return slotCount;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Slot com o id informado, criado a partir do arquivo (busca binária no índice de ids).
+     */
+    public Optional<Slot> findById(long slotId) {
+        int low = 0;
+        int high = slotCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long id = buffer.getLong(idsOffset + mid * ID_ENTRY_SIZE);
+            if (id < slotId) {
+                low = mid + 1;
+            } else if (id > slotId) {
+                high = mid - 1;
+            } else {
+                return Optional.of(slotAt(buffer.getInt(idsOffset + mid * ID_ENTRY_SIZE + 8)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Entrega, em ordem de início, os slots que começam entre os dias {@code from} e {@code to} (inclusive).
+     */
+    public void forEachBetween(LocalDate from, LocalDate to, Consumer<Slot> action) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        for (int day = firstDayAtOrAfter(from.toEpochDay()); day < dayCount; day++) {
+            int entry = HEADER_SIZE + day * DAY_ENTRY_SIZE;
+            if (buffer.getLong(entry) > to.toEpochDay()) {
+                return;
+            }
+            int first = buffer.getInt(entry + 8);
+            int count = buffer.getInt(entry + 12);
+            for (int i = first; i < first + count; i++) {
+                action.accept(slotAt(i));
+            }
+        }
+    }
+
+    /**
+     * Entrega todos os slots do snapshot, em ordem de início.
+     */
+    public void forEach(Consumer<Slot> action) {
+        for (int i = 0; i < slotCount; i++) {
+            action.accept(slotAt(i));
+        }
+    }
+
+    private int firstDayAtOrAfter(long epochDay) {
+        int low = 0;
+        int high = dayCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getLong(HEADER_SIZE + mid * DAY_ENTRY_SIZE) < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private Slot slotAt(int index) {
+        int offset = slotsOffset + index * SLOT_ENTRY_SIZE;
+        return Slot.createSlot(buffer.getLong(offset),
+                LocalDateTime.ofEpochSecond(buffer.getLong(offset + 8), 0, ZoneOffset.UTC),
+                LocalDateTime.ofEpochSecond(buffer.getLong(offset + 16), 0, ZoneOffset.UTC),
+                SlotStatusEnum.values()[buffer.get(offset + 24)], clock);
+    }
+}
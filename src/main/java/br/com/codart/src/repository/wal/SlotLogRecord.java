@@ -0,0 +1,196 @@
+package br.com.codart.src.repository.wal;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.service.message.ResourceMessage;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+
+/**
+ * Registro do log de transições de slots.
+ *
+ * Formato binário de tamanho fixo ({@link #SIZE} bytes, big-endian):
+ * <pre>
+ *  0  int   CRC32C dos bytes [4, 40)
+ *  4  byte  tipo ({@link SlotLogRecordTypeEnum#getCode()})
+ *  5  byte  status de origem (ordinal, ou -1)
+ *  6  byte  status de destino (ordinal, ou -1)
+ *  7  byte  reservado
+ *  8  long  slotId
+ * 16  long  instante do registro (epoch millis)
+ * 24  long  início do slot (epoch second, UTC), ou 0
+ * 32  long  fim do slot (epoch second, UTC), ou 0
+ * </pre>
+ * Os horários são gravados com precisão de segundos.
+ */
+public final class SlotLogRecord {
+
+    public static final int SIZE = 40;
+
+    private static final byte NO_STATUS = -1;
+
+    private final SlotLogRecordTypeEnum type;
+    private final long slotId;
+    private final SlotStatusEnum from;
+    private final SlotStatusEnum to;
+    private final long timestamp;
+    private final long startEpochSecond;
+    private final long endEpochSecond;
+
+    private SlotLogRecord(SlotLogRecordTypeEnum type, long slotId, SlotStatusEnum from, SlotStatusEnum to,
+                          long timestamp, long startEpochSecond, long endEpochSecond) {
+        this.type = type;
+        this.slotId = slotId;
+        this.from = from;
+        this.to = to;
+        this.timestamp = timestamp;
+        this.startEpochSecond = startEpochSecond;
+        this.endEpochSecond = endEpochSecond;
+    }
+
+    /**
+     * Slot registrado no repositório, com horários e status atuais
+     * (um slot retido é gravado como disponível, ver {@link SlotStatusEnum#durableStatus()}).
+     */
+    public static SlotLogRecord save(Slot slot) {
+        if (slot == null || slot.getSlotId() == null) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        return new SlotLogRecord(SlotLogRecordTypeEnum.SAVE, slot.getSlotId(), null, slot.getSlotStatus().durableStatus(),
+                System.currentTimeMillis(), toEpochSecond(slot.getStartTime()), toEpochSecond(slot.getEndTime()));
+    }
+
+    public static SlotLogRecord transition(long slotId, SlotStatusEnum from, SlotStatusEnum to) {
+        if (to == null) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        return new SlotLogRecord(SlotLogRecordTypeEnum.TRANSITION, slotId, from, to, System.currentTimeMillis(), 0, 0);
+    }
+
+    /**
+     * Reagendamento: além da transição, guarda os novos horários do slot.
+     */
+    public static SlotLogRecord reschedule(long slotId, SlotStatusEnum from, SlotStatusEnum to,
+                                           LocalDateTime newStartTime, LocalDateTime newEndTime) {
+        if (to == null || newStartTime == null || newEndTime == null) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        return new SlotLogRecord(SlotLogRecordTypeEnum.RESCHEDULE, slotId, from, to, System.currentTimeMillis(),
+                toEpochSecond(newStartTime), toEpochSecond(newEndTime));
+    }
+
+    public static SlotLogRecord delete(long slotId) {
+        return new SlotLogRecord(SlotLogRecordTypeEnum.DELETE, slotId, null, null, System.currentTimeMillis(), 0, 0);
+    }
+
+    public SlotLogRecordTypeEnum getType() {
+        return type;
+    }
+
+    public long getSlotId() {
+        return slotId;
+    }
+
+    /**
+     * Status anterior à transição, ou null para SAVE e DELETE.
+     */
+    public SlotStatusEnum getFrom() {
+        return from;
+    }
+
+    /**
+     * Status após a transição, ou null para DELETE.
+     */
+    public SlotStatusEnum getTo() {
+        return to;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Início do slot, para SAVE e RESCHEDULE.
+     */
+    public LocalDateTime getStartTime() {
+        return LocalDateTime.ofEpochSecond(startEpochSecond, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Fim do slot, para SAVE e RESCHEDULE.
+     */
+    public LocalDateTime getEndTime() {
+        return LocalDateTime.ofEpochSecond(endEpochSecond, 0, ZoneOffset.UTC);
+    }
+
+    // Codificação
+
+    void writeTo(ByteBuffer buffer) {
+        int start = buffer.position();
+        buffer.putInt(0);
+        buffer.put(type.getCode());
+        buffer.put(statusCode(from));
+        buffer.put(statusCode(to));
+        buffer.put((byte) 0);
+        buffer.putLong(slotId);
+        buffer.putLong(timestamp);
+        buffer.putLong(startEpochSecond);
+        buffer.putLong(endEpochSecond);
+        buffer.putInt(start, checksum(buffer, start));
+    }
+
+    /**
+     * Lê o registro que começa na posição atual do buffer.
+     * Retorna null (sem consumir o buffer) se o registro estiver incompleto ou corrompido,
+     * o que marca o fim do log válido.
+     */
+    static SlotLogRecord readFrom(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < SIZE || buffer.getInt(start) != checksum(buffer, start)) {
+            return null;
+        }
+        SlotLogRecordTypeEnum type = SlotLogRecordTypeEnum.fromCode(buffer.get(start + 4));
+        SlotStatusEnum from = statusOf(buffer.get(start + 5));
+        SlotStatusEnum to = statusOf(buffer.get(start + 6));
+        if (type == null) {
+            return null;
+        }
+        SlotLogRecord record = new SlotLogRecord(type, buffer.getLong(start + 8), from, to,
+                buffer.getLong(start + 16), buffer.getLong(start + 24), buffer.getLong(start + 32));
+        buffer.position(start + SIZE);
+        return record;
+    }
+
+    private static int checksum(ByteBuffer buffer, int start) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(start + 4, SIZE - 4));
+        return (int) crc.getValue();
+    }
+
+    private static byte statusCode(SlotStatusEnum status) {
+        return status == null ? NO_STATUS : (byte) status.ordinal();
+    }
+
+    private static SlotStatusEnum statusOf(byte code) {
+        SlotStatusEnum[] values = SlotStatusEnum.values();
+        return code >= 0 && code < values.length ? values[code] : null;
+    }
+
+    private static long toEpochSecond(LocalDateTime time) {
+        return time == null ? 0 : time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    @Override
+    public String toString() {
+        return "SlotLogRecord{" +
+                "type=" + type +
+                ", slotId=" + slotId +
+                ", from=" + from +
+                ", to=" + to +
+                ", timestamp=" + timestamp +
+                '}';
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.codart.src.repository.wal;
+
+/**
+ * Tipos de registro do log de transições de slots.
+ * O código é o byte gravado em disco e não deve mudar entre versões.
+ */
+public enum SlotLogRecordTypeEnum {
+    SAVE((byte) 1),
+    TRANSITION((byte) 2),
+    RESCHEDULE((byte) 3),
+    DELETE((byte) 4);
+
+    private final byte code;
+
+    SlotLogRecordTypeEnum(byte code) {
+        this.code = code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * Tipo correspondente ao código gravado, ou null se o código for desconhecido.
+     */
+    public static SlotLogRecordTypeEnum fromCode(byte code) {
+        for (SlotLogRecordTypeEnum type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
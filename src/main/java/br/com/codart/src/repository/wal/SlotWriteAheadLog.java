@@ -0,0 +1,475 @@
+package br.com.codart.src.repository.wal;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.repository.SlotRepository;
+import br.com.codart.src.service.message.ResourceMessage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Log de escrita antecipada (write-ahead log) das mudanças de estado dos slots.
+ *
+ * Os registros ({@link SlotLogRecord}) são apenas acrescentados ao final do arquivo.
+ * {@link #append(SlotLogRecord)} só copia o registro para um buffer em memória e devolve o
+ * número de sequência dele; {@link #sync(long)} garante que o registro chegou ao disco.
+ *
+ * Commit em grupo: a primeira thread que precisa de um sync vira líder, troca o buffer
+ * acumulado por um vazio, grava tudo e faz um único {@code force()}. As threads que chegam
+ * enquanto há um líder não disputam o lock de gravação: esperam o líder terminar e voltam
+ * só se o próprio registro ainda não estiver em disco; nesse caso uma delas vira o próximo
+ * líder e leva de uma vez os registros de todas as que esperavam.
+ *
+ * Ao abrir um arquivo existente, um registro final incompleto ou corrompido (queda no meio de
+ * uma gravação) é descartado. O início do log pode ser removido depois de um ponto de controle
+ * ({@link #mark()} e {@link #truncateBefore(long)}).
+ */
+public class SlotWriteAheadLog implements Closeable {
+
+    private static final int INITIAL_BUFFER_RECORDS = 1024;
+
+    private final Path path;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // eleição do líder do commit em grupo; as demais threads esperam em leaderDone
+    private final ReentrantLock leaderLock = new ReentrantLock();
+    private final Condition leaderDone = leaderLock.newCondition();
+    private boolean leading;
+    private final Object bufferLock = new Object();
+    private final AtomicLong syncCount = new AtomicLong();
+
+    // protegidos por bufferLock
+    private ByteBuffer active;
+    private long appended;
+    private boolean closed;
+
+    // usados apenas com flushLock
+    private FileChannel channel;
+    private ByteBuffer standby;
+
+    private volatile long durable;
+    private volatile long durableBytes;
+
+    private SlotWriteAheadLog(Path path, FileChannel channel, long validBytes) {
+        this.path = path;
+        this.channel = channel;
+        this.durableBytes = validBytes;
+        this.active = ByteBuffer.allocate(INITIAL_BUFFER_RECORDS * SlotLogRecord.SIZE);
+        this.standby = ByteBuffer.allocate(INITIAL_BUFFER_RECORDS * SlotLogRecord.SIZE);
+    }
+
+    /**
+     * Abre (ou cria) o log no arquivo informado, descartando um final de arquivo inválido.
+     */
+    public static SlotWriteAheadLog open(Path path) {
+        if (path == null) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        try {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                long validBytes = scan(channel, null);
+                if (validBytes < channel.size()) {
+                    channel.truncate(validBytes);
+                    channel.force(true);
+                }
+                channel.position(validBytes);
+                return new SlotWriteAheadLog(path, channel, validBytes);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Acrescenta o registro ao log, ainda sem garantir que ele chegou ao disco.
+     *
+     * @return número de sequência do registro, para {@link #sync(long)}
+     */
+    public long append(SlotLogRecord record) {
+        if (record == null) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        synchronized (bufferLock) {
+            ensureOpen();
+            if (active.remaining() < SlotLogRecord.SIZE) {
+                ByteBuffer larger = ByteBuffer.allocate(active.capacity() * 2);
+                active.flip();
+                larger.put(active);
+                active = larger;
+            }
+            record.writeTo(active);
+            return ++appended;
+        }
+    }
+
+    /**
+     * Acrescenta os registros ao log, todos ou nenhum: se o log estiver fechado, nenhum é
+     * acrescentado.
+     *
+     * @return número de sequência do último registro, para {@link #sync(long)}
+     */
+    public long appendAll(List<SlotLogRecord> records) {
+        if (records == null || records.isEmpty() || records.contains(null)) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        synchronized (bufferLock) {
+            ensureOpen();
+            long sequence = 0;
+            for (SlotLogRecord record : records) {
+                sequence = append(record);
+            }
+            return sequence;
+        }
+    }
+
+    /**
+     * Bloqueia até que o registro com o número de sequência informado (e todos os anteriores)
+     * esteja gravado em disco.
+     */
+    public void sync(long sequence) {
+        if (durable >= sequence) {
+            return;
+        }
+        leaderLock.lock();
+        try {
+            while (leading && durable < sequence) {
+                leaderDone.awaitUninterruptibly();
+            }
+            if (durable >= sequence) {
+                return;
+            }
+            leading = true;
+        } finally {
+            leaderLock.unlock();
+        }
+        try {
+            flushLock.lock();
+            try {
+                if (durable < sequence) {
+                    synchronized (bufferLock) {
+                        ensureOpen();
+                    }
+                    flush();
+                }
+            } finally {
+                flushLock.unlock();
+            }
+        } finally {
+            leaderLock.lock();
+            try {
+                leading = false;
+                leaderDone.signalAll();
+            } finally {
+                leaderLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Grava o lote acumulado até agora. Deve ser chamado com flushLock.
+     */
+    private void flush() {
+        ByteBuffer batch;
+        long batchEnd;
+        synchronized (bufferLock) {
+            batch = active;
+            batchEnd = appended;
+            active = standby;
+        }
+        standby = write(batch);
+        durable = batchEnd;
+    }
+
+    /**
+     * Número de sequência do último registro acrescentado (0 se nenhum).
+     */
+    public long lastSequence() {
+        synchronized (bufferLock) {
+            return appended;
+        }
+    }
+
+    /**
+     * Acrescenta o registro e espera até ele estar em disco.
+     */
+    public void appendAndSync(SlotLogRecord record) {
+        sync(append(record));
+    }
+
+    private ByteBuffer write(ByteBuffer batch) {
+        batch.flip();
+        try {
+            while (batch.hasRemaining()) {
+                channel.write(batch);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            // o final do arquivo fica em estado desconhecido: nenhuma escrita posterior é aceita
+            synchronized (bufferLock) {
+                closed = true;
+            }
+            throw new UncheckedIOException(e);
+        }
+        syncCount.incrementAndGet();
+        durableBytes += batch.limit();
+        return batch.clear();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException(ResourceMessage.LOG_CLOSED.getMessage());
+        }
+    }
+
+    /**
+     * Lê, em ordem, todos os registros já gravados em disco.
+     */
+    public void replay(Consumer<SlotLogRecord> consumer) {
+        if (consumer == null) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        flushLock.lock();
+        try {
+            scan(channel, consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Grava tudo o que já foi acrescentado e devolve a posição do log até onde esses registros vão.
+     * Usado como marca de um ponto de controle.
+     */
+    public long mark() {
+        flushLock.lock();
+        try {
+            synchronized (bufferLock) {
+                ensureOpen();
+            }
+            flush();
+            return durableBytes;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Remove do log os registros anteriores à posição informada (obtida com {@link #mark()}),
+     * normalmente depois de um snapshot que já contém o efeito deles.
+     *
+     * Os registros posteriores são copiados para um arquivo novo, que substitui o log
+     * atomicamente. Escritas continuam sendo acumuladas no buffer durante a cópia; apenas
+     * os syncs esperam.
+     */
+    public void truncateBefore(long position) {
+        flushLock.lock();
+        try {
+            synchronized (bufferLock) {
+                ensureOpen();
+            }
+            if (position < 0 || position > durableBytes || position % SlotLogRecord.SIZE != 0) {
+                throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+            }
+            long remaining = durableBytes - position;
+            Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+            try (FileChannel target = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                long copied = 0;
+                while (copied < remaining) {
+                    copied += channel.transferTo(position + copied, remaining - copied, target);
+                }
+                target.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            FileChannel previous = channel;
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.position(remaining);
+            durableBytes = remaining;
+            previous.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Reconstrói o estado dos slots a partir do log e grava o resultado no repositório.
+     * Os slots são recriados diretamente no status final, sem revalidar as transições.
+     * Transições de slots que não foram salvos no log são aplicadas sobre o slot do repositório
+     * (por exemplo, um slot carregado de um snapshot).
+     *
+     * @return quantidade de slots restaurados
+     */
+    public int restore(SlotRepository repository) {
+        return restore(repository, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Como {@link #restore(SlotRepository)}, criando os slots com o relógio informado.
+     */
+    public int restore(SlotRepository repository, Clock clock) {
+        if (repository == null || clock == null) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        Map<Long, RestoredSlot> slots = new LinkedHashMap<>();
+        replay(record -> {
+            switch (record.getType()) {
+                case SAVE -> slots.put(record.getSlotId(),
+                        new RestoredSlot(record.getStartTime(), record.getEndTime(), record.getTo()));
+                case TRANSITION -> {
+                    RestoredSlot slot = restoredSlot(slots, repository, record.getSlotId());
+                    if (slot != null) {
+                        slot.status = record.getTo();
+                    }
+                }
+                case RESCHEDULE -> {
+                    RestoredSlot slot = restoredSlot(slots, repository, record.getSlotId());
+                    if (slot != null) {
+                        slot.status = record.getTo();
+                        slot.startTime = record.getStartTime();
+                        slot.endTime = record.getEndTime();
+                    }
+                }
+                case DELETE -> slots.put(record.getSlotId(), RestoredSlot.DELETED);
+            }
+        });
+
+        int restored = 0;
+        for (Map.Entry<Long, RestoredSlot> entry : slots.entrySet()) {
+            RestoredSlot slot = entry.getValue();
+            if (slot == RestoredSlot.DELETED) {
+                repository.deleteById(entry.getKey());
+            } else {
+                repository.save(Slot.createSlot(entry.getKey(), slot.startTime, slot.endTime, slot.status, clock));
+                restored++;
+            }
+        }
+        return restored;
+    }
+
+    private static RestoredSlot restoredSlot(Map<Long, RestoredSlot> slots, SlotRepository repository, long slotId) {
+        RestoredSlot slot = slots.get(slotId);
+        if (slot == null) {
+            slot = repository.findById(slotId)
+                    .map(existing -> new RestoredSlot(existing.getStartTime(), existing.getEndTime(), existing.getSlotStatus()))
+                    .orElse(null);
+            if (slot != null) {
+                slots.put(slotId, slot);
+            }
+        }
+        return slot == RestoredSlot.DELETED ? null : slot;
+    }
+
+    /**
+     * Percorre os registros válidos desde o início do arquivo.
+     *
+     * @return tamanho em bytes da parte válida do log
+     */
+    private static long scan(FileChannel channel, Consumer<SlotLogRecord> consumer) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_RECORDS * SlotLogRecord.SIZE);
+        long position = 0;
+        while (true) {
+            buffer.clear();
+            int read = 0;
+            while (buffer.hasRemaining()) {
+                int n = channel.read(buffer, position + read);
+                if (n < 0) {
+                    break;
+                }
+                read += n;
+            }
+            buffer.flip();
+            int records = 0;
+            SlotLogRecord record;
+            while ((record = SlotLogRecord.readFrom(buffer)) != null) {
+                records++;
+                if (consumer != null) {
+                    consumer.accept(record);
+                }
+            }
+            position += (long) records * SlotLogRecord.SIZE;
+            if (buffer.hasRemaining() || read < buffer.capacity()) {
+                return position;
+            }
+        }
+    }
+
+    /**
+     * Quantidade de {@code force()} feitos desde a abertura; com commit em grupo é bem menor
+     * que a quantidade de registros quando há escritores concorrentes.
+     */
+    public long syncCount() {
+        return syncCount.get();
+    }
+
+    /**
+     * Tamanho em bytes da parte do log já gravada em disco.
+     */
+    public long durableBytes() {
+        return durableBytes;
+    }
+
+    /**
+     * Grava o que ainda estiver pendente e fecha o arquivo.
+     */
+    @Override
+    public void close() {
+        flushLock.lock();
+        try {
+            synchronized (bufferLock) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private static final class RestoredSlot {
+        private static final RestoredSlot DELETED = new RestoredSlot(null, null, null);
+
+        private LocalDateTime startTime;
+        private LocalDateTime endTime;
+        private SlotStatusEnum status;
+
+        private RestoredSlot(LocalDateTime startTime, LocalDateTime endTime, SlotStatusEnum status) {
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.codart.src.service;
+
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.domain.entities.schedule.Schedule;
+
+import br.com.codart.src.service.result.AvailableSlot;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface IScheduleService {
+
+    /**
+     * Cria a agenda de um dia com slots de {@code slotMinutes} minutos entre {@code start} e {@code end}.
+     * Os slots criados também ficam disponíveis para as operações do {@link ISlotService}.
+     */
+    Schedule createSchedule(Long scheduleId, LocalDate day, LocalTime start, LocalTime end, int slotMinutes);
+
+    Optional<Schedule> findSchedule(Long scheduleId);
+
+    /**
+     * Slots disponíveis da agenda entre os dias {@code from} e {@code to} (inclusive).
+     */
+    List<Slot> findAvailableSlots(Long scheduleId, LocalDate from, LocalDate to);
+
+    /**
+     * Slots AVAILABLE de todas as agendas informadas entre os dias {@code from} e {@code to}
+     * (inclusive), na ordem de {@link AvailableSlot#BY_START}. Para visões de uma clínica inteira.
+     */
+    List<AvailableSlot> findAvailableSlots(Collection<Long> scheduleIds, LocalDate from, LocalDate to);
+
+    /**
+     * Os {@code limit} primeiros slots disponíveis, de pelo menos {@code durationMinutes} minutos,
+     * que começam a partir de {@code after} em qualquer uma das agendas, em ordem de horário.
+     * Usado para encontrar rapidamente um novo horário em um reagendamento.
+     */
+    List<AvailableSlot> findNextAvailableSlots(Collection<Long> scheduleIds, LocalDateTime after, int durationMinutes, int limit);
+}
@@ -0,0 +1,60 @@
+package br.com.codart.src.service;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Separação entre slots quentes e frios: slots que já terminaram não mudam mais, então saem
+ * do repositório e das agendas e passam para um arquivo comprimido, onde continuam disponíveis
+ * para histórico e relatórios. Em memória ficam apenas os slots atuais e futuros.
+ */
+public interface ISlotArchiveService extends Closeable {
+
+    /**
+     * Move para o arquivo os slots que terminaram antes de {@code cutoff}.
+     *
+     * @return quantidade de slots arquivados
+     */
+    int archiveEndedBefore(LocalDateTime cutoff);
+
+    /**
+     * Arquiva periodicamente, em segundo plano, os slots que já terminaram.
+     */
+    void start(Duration interval);
+
+    /**
+     * Execuções do arquivamento em segundo plano que falharam; as seguintes continuam agendadas.
+     */
+    long getFailures();
+
+    /**
+     * Erro da última execução em segundo plano que falhou, se alguma falhou.
+     */
+    Optional<RuntimeException> getLastFailure();
+
+    Optional<Slot> findArchivedSlot(Long slotId);
+
+    /**
+     * Slots arquivados que começam entre os dias {@code from} e {@code to} (inclusive), em ordem de início.
+     */
+    List<Slot> findArchivedSlots(LocalDate from, LocalDate to);
+
+    /**
+     * Quantidade de slots arquivados por status entre os dias {@code from} e {@code to} (inclusive).
+     */
+    Map<SlotStatusEnum, Integer> countArchivedByStatus(LocalDate from, LocalDate to);
+
+    /**
+     * Para o arquivamento em segundo plano.
+     */
+    @Override
+    void close();
+}
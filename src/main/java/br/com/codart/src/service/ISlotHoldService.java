@@ -0,0 +1,46 @@
+package br.com.codart.src.service;
+
+import br.com.codart.src.domain.entities.Slot;
+
+import java.io.Closeable;
+import java.time.Duration;
+
+/**
+ * Retenções temporárias de slots: enquanto o paciente preenche o agendamento, o slot escolhido
+ * fica HELD e ninguém mais consegue reservá-lo. Uma retenção que não é confirmada dentro do
+ * prazo é liberada automaticamente e o slot volta a ficar disponível.
+ */
+public interface ISlotHoldService extends Closeable {
+
+    /**
+     * Retém o slot por {@code ttl}. O slot precisa estar disponível.
+     */
+    Slot holdSlot(Long slotId, Duration ttl);
+
+    /**
+     * Renova o prazo da retenção para {@code ttl} a partir de agora. Um prazo só é estendido,
+     * nunca encurtado.
+     */
+    Slot extendHold(Long slotId, Duration ttl);
+
+    /**
+     * Converte a retenção em reserva.
+     */
+    Slot confirmHold(Long slotId);
+
+    /**
+     * Libera a retenção antes do prazo (por exemplo, quando o paciente desiste).
+     */
+    Slot releaseHold(Long slotId);
+
+    /**
+     * Quantidade de retenções ativas.
+     */
+    int countHolds();
+
+    /**
+     * Para a liberação automática. As retenções ativas continuam HELD.
+     */
+    @Override
+    void close();
+}
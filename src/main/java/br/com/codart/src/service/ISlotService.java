@@ -1,4 +1,66 @@
 package br.com.codart.src.service;
 
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.service.result.BatchReservationResult;
+import br.com.codart.src.service.result.SlotReservation;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
 public interface ISlotService {
+
+    /**
+     * Registra o slot para que possa ser operado pelo serviço.
+     */
+    Slot saveSlot(Slot slot);
+
+    Optional<Slot> findSlot(Long slotId);
+
+    void deleteSlot(Long slotId);
+
+    /**
+     * Remove os slots informados com uma única confirmação no log. Ids inexistentes são ignorados.
+     *
+     * @return quantidade de slots removidos
+     */
+    int deleteSlots(Collection<Long> slotIds);
+
+    Slot blockSlot(Long slotId);
+
+    Slot cancelSlot(Long slotId);
+
+    Slot reserveSlot(Long slotId);
+
+    /**
+     * Reserva o slot uma única vez por chave de idempotência. Repetir a chamada com a mesma chave
+     * devolve o resultado da primeira (o estado do slot quando a reserva terminou, ou a mesma
+     * rejeição) sem tocar no slot. A chave não pode ser reutilizada para outro slot.
+     */
+    SlotReservation reserveSlot(Long slotId, String idempotencyKey);
+
+    Slot rescheduleSlot(Long slotId, LocalDateTime newStartTime, LocalDateTime newEndTime, int durationMinutes);
+
+    Slot reopenSlot(Long slotId);
+
+    /**
+     * Retém um slot disponível (AVAILABLE para HELD). O prazo da retenção não é controlado aqui:
+     * use {@link ISlotHoldService}, que libera retenções vencidas.
+     */
+    Slot holdSlot(Long slotId);
+
+    /**
+     * Converte a retenção em reserva (HELD para RESERVED).
+     */
+    Slot confirmHold(Long slotId);
+
+    /**
+     * Desfaz a retenção (HELD para AVAILABLE).
+     */
+    Slot releaseHold(Long slotId);
+
+    /**
+     * Reserva todos os slots informados ou nenhum deles.
+     */
+    BatchReservationResult reserveAll(Collection<Long> slotIds);
 }
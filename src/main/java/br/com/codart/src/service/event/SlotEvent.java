@@ -0,0 +1,126 @@
+package br.com.codart.src.service.event;
+
+import br.com.codart.src.domain.Enum.ScheduleStatusEnum;
+import br.com.codart.src.domain.Enum.SlotEventTypeEnum;
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Evento lido do {@link SlotEventBus}.
+ *
+ * A mesma instância é reaproveitada pela assinatura a cada evento entregue, para a leitura não
+ * alocar nada: quem precisar guardar o evento depois de {@link SlotEventHandler#onEvent} deve
+ * copiar os campos.
+ */
+public final class SlotEvent {
+
+    private static final SlotEventTypeEnum[] TYPES = SlotEventTypeEnum.values();
+    private static final SlotStatusEnum[] SLOT_STATUSES = SlotStatusEnum.values();
+    private static final ScheduleStatusEnum[] SCHEDULE_STATUSES = ScheduleStatusEnum.values();
+
+    private long sequence;
+    private SlotEventTypeEnum type;
+    private long scheduleId;
+    private long slotId;
+    private int from;
+    private int to;
+    private long startEpochSecond;
+    private long timestampMillis;
+
+    SlotEvent() {
+    }
+
+    void set(long sequence, int type, long scheduleId, long slotId, int from, int to,
+             long startEpochSecond, long timestampMillis) {
+        this.sequence = sequence;
+        this.type = TYPES[type];
+        this.scheduleId = scheduleId;
+        this.slotId = slotId;
+        this.from = from;
+        this.to = to;
+        this.startEpochSecond = startEpochSecond;
+        this.timestampMillis = timestampMillis;
+    }
+
+    /**
+     * Posição do evento no barramento, crescente e sem lacunas entre os eventos publicados.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public SlotEventTypeEnum getType() {
+        return type;
+    }
+
+    public long getScheduleId() {
+        return scheduleId;
+    }
+
+    /**
+     * Id do slot, ou 0 em {@link SlotEventTypeEnum#SCHEDULE_STATUS}.
+     */
+    public long getSlotId() {
+        return slotId;
+    }
+
+    /**
+     * Status anterior do slot, ou null em {@link SlotEventTypeEnum#SCHEDULE_STATUS}.
+     */
+    public SlotStatusEnum getSlotFrom() {
+        return type == SlotEventTypeEnum.SCHEDULE_STATUS ? null : SLOT_STATUSES[from];
+    }
+
+    /**
+     * Status do slot depois do evento, ou null em {@link SlotEventTypeEnum#SCHEDULE_STATUS}.
+     */
+    public SlotStatusEnum getSlotTo() {
+        return type == SlotEventTypeEnum.SCHEDULE_STATUS ? null : SLOT_STATUSES[to];
+    }
+
+    /**
+     * Status anterior da agenda em {@link SlotEventTypeEnum#SCHEDULE_STATUS}, ou null.
+     */
+    public ScheduleStatusEnum getScheduleFrom() {
+        return type == SlotEventTypeEnum.SCHEDULE_STATUS ? SCHEDULE_STATUSES[from] : null;
+    }
+
+    /**
+     * Novo status da agenda em {@link SlotEventTypeEnum#SCHEDULE_STATUS}, ou null.
+     */
+    public ScheduleStatusEnum getScheduleTo() {
+        return type == SlotEventTypeEnum.SCHEDULE_STATUS ? SCHEDULE_STATUSES[to] : null;
+    }
+
+    /**
+     * Início do slot depois do evento, em epoch seconds (UTC, como no snapshot); 0 em eventos da agenda.
+     */
+    public long getStartEpochSecond() {
+        return startEpochSecond;
+    }
+
+    public LocalDateTime getStartTime() {
+        return LocalDateTime.ofEpochSecond(startEpochSecond, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Instante da publicação, em epoch millis.
+     */
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "SlotEvent{" +
+                "sequence=" + sequence +
+                ", type=" + type +
+                ", scheduleId=" + scheduleId +
+                ", slotId=" + slotId +
+                ", from=" + (type == SlotEventTypeEnum.SCHEDULE_STATUS ? getScheduleFrom() : getSlotFrom()) +
+                ", to=" + (type == SlotEventTypeEnum.SCHEDULE_STATUS ? getScheduleTo() : getSlotTo()) +
+                '}';
+    }
+}
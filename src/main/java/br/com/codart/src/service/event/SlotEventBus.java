@@ -0,0 +1,179 @@
+package br.com.codart.src.service.event;
+
+import br.com.codart.src.domain.Enum.SlotEventTypeEnum;
+import br.com.codart.src.service.message.ResourceMessage;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Barramento de eventos de slots e agendas sobre um anel pré-alocado, sem locks.
+ *
+ * Cada evento ocupa uma posição do anel, guardada em vetores de primitivos; publicar reserva a
+ * próxima sequência com um incremento atômico, escreve os campos e marca a posição como
+ * publicada, sem alocar nada. Quem publica nunca espera por quem consome: quando um consumidor
+ * fica uma volta inteira para trás, os eventos mais antigos são sobrescritos e a assinatura dele
+ * pula para o mais antigo ainda no anel, contando os perdidos.
+ *
+ * O estado de cada posição funciona como um seqlock: {@code 2s+1} enquanto o evento de
+ * sequência {@code s} é escrito e {@code 2s+2} depois de publicado. O leitor confere o estado
+ * antes e depois de copiar os campos e descarta a leitura se a posição mudou no meio.
+ *
+ * Cada consumidor (notificações, auditoria, índices, ...) tem a sua {@link Subscription} e lê no
+ * próprio ritmo.
+ */
+public final class SlotEventBus {
+
+    private static final VarHandle STATES = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private final int capacity;
+    private final int mask;
+    private final long[] states;
+    private final byte[] types;
+    private final long[] scheduleIds;
+    private final long[] slotIds;
+    private final byte[] froms;
+    private final byte[] tos;
+    private final long[] startEpochSeconds;
+    private final long[] timestamps;
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    public SlotEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity quantidade de eventos no anel, potência de dois
+     */
+    public SlotEventBus(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException(ResourceMessage.EVENT_BUS_INVALID.getMessage());
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.states = new long[capacity];
+        this.types = new byte[capacity];
+        this.scheduleIds = new long[capacity];
+        this.slotIds = new long[capacity];
+        this.froms = new byte[capacity];
+        this.tos = new byte[capacity];
+        this.startEpochSeconds = new long[capacity];
+        this.timestamps = new long[capacity];
+    }
+
+    /**
+     * Publica um evento. Seguro para várias threads; nunca espera por consumidores.
+     *
+     * @param from ordinal do status anterior (do slot ou da agenda, conforme o tipo)
+     * @param to   ordinal do novo status
+     */
+    public void publish(SlotEventTypeEnum type, long scheduleId, long slotId, int from, int to, long startEpochSecond) {
+        long sequence = nextSequence.getAndIncrement();
+        int index = (int) sequence & mask;
+        long writing = 2 * sequence + 1;
+        for (;;) {
+            long state = (long) STATES.getVolatile(states, index);
+            if (state > writing) {
+                // a posição já recebeu um evento de uma volta seguinte: este já foi sobrescrito
+                return;
+            }
+            if ((state & 1) != 0) {
+                // outro produtor, uma volta atrás, ainda escreve esta posição
+                Thread.onSpinWait();
+            } else if (STATES.compareAndSet(states, index, state, writing)) {
+                break;
+            }
+        }
+        types[index] = (byte) type.ordinal();
+        scheduleIds[index] = scheduleId;
+        slotIds[index] = slotId;
+        froms[index] = (byte) from;
+        tos[index] = (byte) to;
+        startEpochSeconds[index] = startEpochSecond;
+        timestamps[index] = System.currentTimeMillis();
+        STATES.setRelease(states, index, writing + 1);
+    }
+
+    /**
+     * Nova assinatura, que recebe os eventos publicados a partir de agora.
+     */
+    public Subscription subscribe() {
+        return new Subscription(nextSequence.get());
+    }
+
+    /**
+     * Quantidade de eventos publicados (ou em publicação) desde a criação do barramento.
+     */
+    public long getPublished() {
+        return nextSequence.get();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Posição de leitura de um consumidor. Uma assinatura deve ser lida por uma única thread.
+     */
+    public final class Subscription {
+
+        private final SlotEvent event = new SlotEvent();
+        private long next;
+        private long lost;
+
+        private Subscription(long next) {
+            this.next = next;
+        }
+
+        /**
+         * Entrega ao handler, em ordem, até {@code limit} eventos já publicados.
+         * Para no primeiro evento ainda em publicação.
+         *
+         * @return quantidade de eventos entregues
+         */
+        public int poll(SlotEventHandler handler, int limit) {
+            int delivered = 0;
+            while (delivered < limit) {
+                long sequence = next;
+                int index = (int) sequence & mask;
+                long published = 2 * sequence + 2;
+                long state = (long) STATES.getAcquire(states, index);
+                if (state < published) {
+                    return delivered;
+                }
+                if (state == published) {
+                    event.set(sequence, types[index], scheduleIds[index], slotIds[index], froms[index], tos[index],
+                            startEpochSeconds[index], timestamps[index]);
+                    VarHandle.acquireFence();
+                    if ((long) STATES.getVolatile(states, index) == published) {
+                        next = sequence + 1;
+                        delivered++;
+                        handler.onEvent(event);
+                        continue;
+                    }
+                }
+                // o evento foi sobrescrito: pula para o mais antigo ainda no anel
+                long oldest = Math.max(sequence + 1, nextSequence.get() - capacity);
+                lost += oldest - sequence;
+                next = oldest;
+            }
+            return delivered;
+        }
+
+        /**
+         * Eventos sobrescritos antes de esta assinatura lê-los.
+         */
+        public long getLost() {
+            return lost;
+        }
+
+        /**
+         * Eventos publicados e ainda não lidos por esta assinatura.
+         */
+        public long getLag() {
+            return Math.max(0, nextSequence.get() - next);
+        }
+    }
+}
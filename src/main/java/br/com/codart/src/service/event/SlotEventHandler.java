@@ -0,0 +1,13 @@
+package br.com.codart.src.service.event;
+
+/**
+ * Consumidor dos eventos de uma assinatura do {@link SlotEventBus}.
+ */
+@FunctionalInterface
+public interface SlotEventHandler {
+
+    /**
+     * Recebe um evento. A instância é reaproveitada no evento seguinte.
+     */
+    void onEvent(SlotEvent event);
+}
@@ -0,0 +1,75 @@
+package br.com.codart.src.service.event;
+
+import br.com.codart.src.service.message.ResourceMessage;
+
+import java.io.Closeable;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Thread que consome uma assinatura do {@link SlotEventBus} e entrega os eventos a um handler.
+ *
+ * Sem eventos novos, a thread dorme {@value #IDLE_NANOS} ns entre as leituras; quem publica
+ * nunca acorda o consumidor, então publicar continua sem locks nem chamadas ao sistema.
+ * Uma exceção do handler não interrompe o consumo dos eventos seguintes.
+ */
+public class SlotEventProcessor implements Closeable {
+
+    private static final int BATCH = 256;
+    private static final long IDLE_NANOS = 1_000_000;
+
+    private final SlotEventBus.Subscription subscription;
+    private final SlotEventHandler handler;
+    private final Thread thread;
+    private volatile boolean closed;
+
+    public SlotEventProcessor(SlotEventBus bus, SlotEventHandler handler, String name) {
+        if (bus == null || handler == null || name == null) {
+            throw new IllegalArgumentException(ResourceMessage.EVENT_BUS_INVALID.getMessage());
+        }
+        this.subscription = bus.subscribe();
+        this.handler = handler;
+        this.thread = new Thread(this::run, name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public long getLost() {
+        return subscription.getLost();
+    }
+
+    public long getLag() {
+        return subscription.getLag();
+    }
+
+    /**
+     * Entrega os eventos já publicados e encerra a thread.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            int delivered;
+            try {
+                delivered = subscription.poll(handler, BATCH);
+            } catch (RuntimeException e) {
+                // o evento que falhou já foi consumido
+                continue;
+            }
+            if (delivered == 0) {
+                if (closed) {
+                    return;
+                }
+                LockSupport.parkNanos(this, IDLE_NANOS);
+            }
+        }
+    }
+}
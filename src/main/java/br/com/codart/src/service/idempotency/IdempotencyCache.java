@@ -0,0 +1,142 @@
+package br.com.codart.src.service.idempotency;
+
+import br.com.codart.src.service.message.ResourceMessage;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * Resultados de operações por chave de idempotência, para que a repetição de uma requisição
+ * (por exemplo, um cliente móvel que reenvia a reserva depois de perder a resposta) receba o
+ * resultado da primeira execução em vez de executá-la de novo.
+ *
+ * Cada chave é executada uma única vez: chamadas concorrentes com a mesma chave esperam a
+ * primeira terminar. Rejeições da regra de negócio (IllegalArgumentException e
+ * IllegalStateException) também são guardadas e relançadas; outras falhas (por exemplo, de I/O)
+ * não, e a próxima tentativa executa de novo.
+ *
+ * Todas as chaves têm o mesmo prazo, então a ordem de inserção é a ordem de vencimento: as
+ * entradas ficam também em uma fila, e cada inserção retira do começo da fila as vencidas e as
+ * que passam do limite de entradas. A memória fica limitada a {@code maxEntries} sem thread de
+ * limpeza, e cada operação custa O(1) amortizado.
+ *
+ * @param <T> resultado da operação
+ */
+public final class IdempotencyCache<T> {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Clock clock;
+    private final ConcurrentHashMap<String, Entry<T>> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry<T>> byAge = new ConcurrentLinkedQueue<>();
+
+    public IdempotencyCache(Duration ttl, int maxEntries) {
+        this(ttl, maxEntries, Clock.systemUTC());
+    }
+
+    public IdempotencyCache(Duration ttl, int maxEntries, Clock clock) {
+        if (ttl == null || ttl.isNegative() || ttl.isZero() || maxEntries <= 0 || clock == null) {
+            throw new IllegalArgumentException(ResourceMessage.IDEMPOTENCY_KEY_INVALID.getMessage());
+        }
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Resultado já registrado para a chave ou, se não houver, o resultado de {@code action},
+     * que passa a ser o resultado da chave.
+     *
+     * @param request identifica o pedido feito com a chave (por exemplo, o id do slot);
+     *                reutilizar a chave em outro pedido é rejeitado
+     */
+    public T execute(String key, Object request, Supplier<T> action) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH || action == null) {
+            throw new IllegalArgumentException(ResourceMessage.IDEMPOTENCY_KEY_INVALID.getMessage());
+        }
+        long now = clock.millis();
+        evict(now);
+        Entry<T> entry = new Entry<>(key, request, now + ttlMillis);
+        Entry<T> existing;
+        while ((existing = entries.putIfAbsent(key, entry)) != null) {
+            if (existing.expiresAt > now) {
+                return replay(existing, request);
+            }
+            // vencida, mas ainda não retirada
+            entries.remove(key, existing);
+        }
+        byAge.add(entry);
+        try {
+            T result = action.get();
+            entry.result.complete(result);
+            return result;
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            entry.result.completeExceptionally(e);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            entries.remove(key, entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private T replay(Entry<T> entry, Object request) {
+        if (!Objects.equals(entry.request, request)) {
+            throw new IllegalArgumentException(ResourceMessage.IDEMPOTENCY_KEY_REUSED.getMessage());
+        }
+        try {
+            return entry.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException failure) {
+                throw failure;
+            }
+            throw e;
+        }
+    }
+
+    private void evict(long now) {
+        Entry<T> oldest;
+        while ((oldest = byAge.peek()) != null && (oldest.expiresAt <= now || entries.size() > maxEntries)) {
+            Entry<T> polled = byAge.poll();
+            if (polled == null) {
+                return;
+            }
+            if (polled != oldest && polled.expiresAt > now && entries.size() <= maxEntries) {
+                // outra thread retirou a entrada vista; esta ainda vale e volta para a fila
+                byAge.add(polled);
+                return;
+            }
+            entries.remove(polled.key, polled);
+        }
+    }
+
+    /**
+     * Quantidade de chaves guardadas, incluindo as vencidas ainda não retiradas.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private static final class Entry<T> {
+
+        private final String key;
+        private final Object request;
+        private final long expiresAt;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private Entry(String key, Object request, long expiresAt) {
+            this.key = key;
+            this.request = request;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package br.com.codart.src.service.impl;
+
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.domain.entities.schedule.Schedule;
+import br.com.codart.src.domain.entities.schedule.WeeklyScheduleTemplate;
+import br.com.codart.src.repository.ScheduleRepository;
+import br.com.codart.src.service.IScheduleService;
+import br.com.codart.src.service.ISlotService;
+import br.com.codart.src.service.message.ResourceMessage;
+import br.com.codart.src.service.result.AvailableSlot;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class ScheduleServiceImpl implements IScheduleService {
+
+    private static final int SEARCH_DAYS = 365;
+
+    private final ScheduleRepository scheduleRepository;
+    private final ISlotService slotService;
+    private final ForkJoinPool pool;
+    private final Clock clock;
+
+    public ScheduleServiceImpl(ScheduleRepository scheduleRepository, ISlotService slotService) {
+        this(scheduleRepository, slotService, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool pool das buscas que abrangem várias agendas
+     */
+    public ScheduleServiceImpl(ScheduleRepository scheduleRepository, ISlotService slotService, ForkJoinPool pool) {
+        this(scheduleRepository, slotService, pool, Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param clock relógio dos slots das agendas criadas pelo serviço
+     */
+    public ScheduleServiceImpl(ScheduleRepository scheduleRepository, ISlotService slotService, ForkJoinPool pool,
+                               Clock clock) {
+        if (scheduleRepository == null || slotService == null || pool == null || clock == null) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        this.scheduleRepository = scheduleRepository;
+        this.slotService = slotService;
+        this.pool = pool;
+        this.clock = clock;
+    }
+
+    /**
+     * Os slots são gerados por um modelo semanal de um único dia, então seus ids seguem
+     * {@link WeeklyScheduleTemplate#slotIdOf(long, java.time.LocalDateTime)} com o id da agenda como prefixo.
+     */
+    @Override
+    public Schedule createSchedule(Long scheduleId, LocalDate day, LocalTime start, LocalTime end, int slotMinutes) {
+        if (scheduleId == null || day == null) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        List<Slot> slots = new WeeklyScheduleTemplate.Builder()
+                .slotMinutes(slotMinutes)
+                .window(EnumSet.of(day.getDayOfWeek()), start, end)
+                .clock(clock)
+                .build()
+                .slots(scheduleId, day, day)
+                .toList();
+
+        Schedule schedule = Schedule.createSchedule(scheduleId, day.atStartOfDay(), slots);
+        if (!scheduleRepository.saveIfAbsent(schedule)) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_EXISTS.getMessage());
+        }
+        slots.forEach(slotService::saveSlot);
+        return schedule;
+    }
+
+    @Override
+    public Optional<Schedule> findSchedule(Long scheduleId) {
+        return scheduleRepository.findById(scheduleId);
+    }
+
+    @Override
+    public List<Slot> findAvailableSlots(Long scheduleId, LocalDate from, LocalDate to) {
+        return getSchedule(scheduleId).findAvailableSlots(from, to);
+    }
+
+    /**
+     * Cada par (agenda, dia) é uma tarefa independente: um {@link RecursiveTask} divide as tarefas
+     * ao meio até sobrar uma e, na volta, intercala as duas metades já ordenadas. O resultado é
+     * o mesmo de consultar cada agenda no intervalo inteiro e ordenar tudo.
+     */
+    @Override
+    public List<AvailableSlot> findAvailableSlots(Collection<Long> scheduleIds, LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        List<Schedule> schedules = getSchedules(scheduleIds);
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days * schedules.size() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        return pool.invoke(new AvailabilityTask(schedules, from, (int) days));
+    }
+
+    /**
+     * Intercalação (k-way merge) das sequências de slots disponíveis de cada agenda.
+     *
+     * A fila de prioridade guarda, para cada agenda, apenas o próximo slot disponível dela.
+     * A cada passo o menor horário sai da fila e é substituído pelo slot seguinte da mesma
+     * agenda, então a busca custa O(limit · log k) consultas ao mapa de disponibilidade e para
+     * assim que os {@code limit} slots são encontrados, sem percorrer as agendas inteiras.
+     * A busca vai até {@value #SEARCH_DAYS} dias depois de {@code after}.
+     */
+    @Override
+    public List<AvailableSlot> findNextAvailableSlots(Collection<Long> scheduleIds, LocalDateTime after,
+                                                      int durationMinutes, int limit) {
+        if (after == null || durationMinutes <= 0 || limit <= 0) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        List<Schedule> schedules = getSchedules(scheduleIds);
+        LocalDateTime until = after.plusDays(SEARCH_DAYS);
+
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(schedules.size(), Candidate.ORDER);
+        for (Schedule schedule : schedules) {
+            schedule.findNextAvailableSlot(after, until, durationMinutes)
+                    .ifPresent(slot -> queue.add(new Candidate(schedule, slot)));
+        }
+        List<AvailableSlot> result = new ArrayList<>(limit);
+        while (result.size() < limit && !queue.isEmpty()) {
+            Candidate next = queue.poll();
+            result.add(new AvailableSlot(next.schedule.getId(), next.slot));
+            // os slots de uma agenda não se sobrepõem: o próximo começa depois do fim deste
+            next.schedule.findNextAvailableSlot(next.slot.getEndTime(), until, durationMinutes)
+                    .ifPresent(slot -> queue.add(new Candidate(next.schedule, slot)));
+        }
+        return result;
+    }
+
+    /**
+     * Agendas dos ids informados, sem repetição e na ordem dos ids.
+     */
+    private List<Schedule> getSchedules(Collection<Long> scheduleIds) {
+        if (scheduleIds == null || scheduleIds.isEmpty()) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        List<Schedule> schedules = new ArrayList<>(scheduleIds.size());
+        for (Long scheduleId : new LinkedHashSet<>(scheduleIds)) {
+            schedules.add(getSchedule(scheduleId));
+        }
+        return schedules;
+    }
+
+    private Schedule getSchedule(Long scheduleId) {
+        return scheduleRepository.findById(scheduleId)
+                .orElseThrow(() -> new IllegalArgumentException(ResourceMessage.SCHEDULE_NOT_FOUND.getMessage()));
+    }
+
+    /**
+     * Slots disponíveis das tarefas [low, high), onde a tarefa i é a agenda {@code i / days}
+     * no dia {@code from + i % days}.
+     */
+    private static final class AvailabilityTask extends RecursiveTask<List<AvailableSlot>> {
+
+        private final List<Schedule> schedules;
+        private final LocalDate from;
+        private final int days;
+        private final int low;
+        private final int high;
+
+        private AvailabilityTask(List<Schedule> schedules, LocalDate from, int days) {
+            this(schedules, from, days, 0, schedules.size() * days);
+        }
+
+        private AvailabilityTask(List<Schedule> schedules, LocalDate from, int days, int low, int high) {
+            this.schedules = schedules;
+            this.from = from;
+            this.days = days;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected List<AvailableSlot> compute() {
+            if (high - low == 1) {
+                return day(schedules.get(low / days), low % days);
+            }
+            int middle = (low + high) >>> 1;
+            AvailabilityTask left = new AvailabilityTask(schedules, from, days, low, middle);
+            left.fork();
+            List<AvailableSlot> right = new AvailabilityTask(schedules, from, days, middle, high).compute();
+            return merge(left.join(), right);
+        }
+
+        private List<AvailableSlot> day(Schedule schedule, int offset) {
+            LocalDate day = from.plusDays(offset);
+            List<Slot> slots = schedule.findAvailableSlots(day, day);
+            List<AvailableSlot> result = new ArrayList<>(slots.size());
+            for (Slot slot : slots) {
+                // um slot que atravessa a meia-noite pertence ao dia em que começa (ou ao primeiro dia da busca)
+                if (offset == 0 || !slot.getStartTime().toLocalDate().isBefore(day)) {
+                    result.add(new AvailableSlot(schedule.getId(), slot));
+                }
+            }
+            return result;
+        }
+
+        private static List<AvailableSlot> merge(List<AvailableSlot> left, List<AvailableSlot> right) {
+            if (left.isEmpty()) {
+                return right;
+            }
+            if (right.isEmpty()) {
+                return left;
+            }
+            List<AvailableSlot> merged = new ArrayList<>(left.size() + right.size());
+            int i = 0;
+            int j = 0;
+            while (i < left.size() && j < right.size()) {
+                merged.add(AvailableSlot.BY_START.compare(left.get(i), right.get(j)) <= 0 ? left.get(i++) : right.get(j++));
+            }
+            merged.addAll(left.subList(i, left.size()));
+            merged.addAll(right.subList(j, right.size()));
+            return merged;
+        }
+    }
+
+    /**
+     * Próximo slot disponível de uma agenda na fila da intercalação.
+     */
+    private static final class Candidate {
+
+        private static final Comparator<Candidate> ORDER = Comparator
+                .comparing((Candidate candidate) -> candidate.slot.getStartTime())
+                .thenComparing(candidate -> candidate.schedule.getId());
+
+        private final Schedule schedule;
+        private final Slot slot;
+
+        private Candidate(Schedule schedule, Slot slot) {
+            this.schedule = schedule;
+            this.slot = slot;
+        }
+    }
+}
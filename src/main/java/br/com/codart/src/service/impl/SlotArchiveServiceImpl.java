@@ -0,0 +1,163 @@
+package br.com.codart.src.service.impl;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.domain.entities.schedule.Schedule;
+import br.com.codart.src.repository.ScheduleRepository;
+import br.com.codart.src.repository.SlotRepository;
+import br.com.codart.src.repository.archive.SlotColdStore;
+import br.com.codart.src.service.ISlotArchiveService;
+import br.com.codart.src.service.ISlotService;
+import br.com.codart.src.service.message.ResourceMessage;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Arquivamento dos slots encerrados no {@link SlotColdStore}.
+ *
+ * Os slots são gravados no arquivo antes de saírem da memória: se o processo parar no meio,
+ * o próximo arquivamento grava os mesmos slots de novo (substituindo os já arquivados) e
+ * termina de retirá-los. A remoção do repositório passa pelo {@link ISlotService}, então
+ * também vai para o log de transições quando há um.
+ */
+public class SlotArchiveServiceImpl implements ISlotArchiveService {
+
+    private final SlotRepository slotRepository;
+    private final ISlotService slotService;
+    private final ScheduleRepository scheduleRepository;
+    private final SlotColdStore coldStore;
+    private final Clock clock;
+    private final AtomicLong failures = new AtomicLong();
+    private volatile RuntimeException lastFailure;
+    private ScheduledExecutorService executor;
+
+    public SlotArchiveServiceImpl(SlotRepository slotRepository, ISlotService slotService,
+                                  ScheduleRepository scheduleRepository, SlotColdStore coldStore) {
+        this(slotRepository, slotService, scheduleRepository, coldStore, Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param clock relógio que define quais slots já terminaram no arquivamento periódico
+     */
+    public SlotArchiveServiceImpl(SlotRepository slotRepository, ISlotService slotService,
+                                  ScheduleRepository scheduleRepository, SlotColdStore coldStore, Clock clock) {
+        if (slotRepository == null || slotService == null || scheduleRepository == null || coldStore == null
+                || clock == null) {
+            throw new IllegalArgumentException(ResourceMessage.ARCHIVE_INVALID.getMessage());
+        }
+        this.slotRepository = slotRepository;
+        this.slotService = slotService;
+        this.scheduleRepository = scheduleRepository;
+        this.coldStore = coldStore;
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized int archiveEndedBefore(LocalDateTime cutoff) {
+        if (cutoff == null) {
+            throw new IllegalArgumentException(ResourceMessage.ARCHIVE_INVALID.getMessage());
+        }
+        List<Slot> repositorySlots = slotRepository.findEndedBefore(cutoff);
+        Map<Long, Slot> ended = new LinkedHashMap<>();
+        for (Slot slot : repositorySlots) {
+            ended.put(slot.getSlotId(), slot);
+        }
+        // agendas recorrentes têm slots gerados pelo modelo que não estão no repositório
+        List<Schedule> schedules = scheduleRepository.findAll();
+        for (Schedule schedule : schedules) {
+            for (Slot slot : schedule.findSlotsEndedBefore(cutoff)) {
+                ended.putIfAbsent(slot.getSlotId(), slot);
+            }
+        }
+        if (ended.isEmpty()) {
+            return 0;
+        }
+        coldStore.archive(ended.values());
+
+        List<Slot> late = new ArrayList<>();
+        for (Schedule schedule : schedules) {
+            for (Slot slot : schedule.evictEndedBefore(cutoff)) {
+                if (!ended.containsKey(slot.getSlotId())) {
+                    late.add(slot);
+                }
+            }
+        }
+        if (!late.isEmpty()) {
+            // slots adicionados às agendas durante o arquivamento
+            coldStore.archive(late);
+        }
+        slotService.deleteSlots(repositorySlots.stream().map(Slot::getSlotId).toList());
+        return ended.size() + late.size();
+    }
+
+    @Override
+    public synchronized void start(Duration interval) {
+        if (interval == null || interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException(ResourceMessage.ARCHIVE_INVALID.getMessage());
+        }
+        if (executor != null) {
+            throw new IllegalStateException(ResourceMessage.ARCHIVE_INVALID.getMessage());
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "slot-archive");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        executor.scheduleWithFixedDelay(this::archiveEnded, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    private void archiveEnded() {
+        try {
+            archiveEndedBefore(LocalDateTime.now(clock));
+        } catch (RuntimeException e) {
+            // uma falha (por exemplo, disco cheio) não cancela as próximas execuções, mas fica registrada
+            lastFailure = e;
+            failures.incrementAndGet();
+        }
+    }
+
+    @Override
+    public long getFailures() {
+        return failures.get();
+    }
+
+    @Override
+    public Optional<RuntimeException> getLastFailure() {
+        return Optional.ofNullable(lastFailure);
+    }
+
+    @Override
+    public Optional<Slot> findArchivedSlot(Long slotId) {
+        return coldStore.findById(slotId);
+    }
+
+    @Override
+    public List<Slot> findArchivedSlots(LocalDate from, LocalDate to) {
+        return coldStore.findByDay(from, to);
+    }
+
+    @Override
+    public Map<SlotStatusEnum, Integer> countArchivedByStatus(LocalDate from, LocalDate to) {
+        return coldStore.countByStatus(from, to);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package br.com.codart.src.service.impl;
+
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.service.ISlotHoldService;
+import br.com.codart.src.service.ISlotService;
+import br.com.codart.src.service.message.ResourceMessage;
+import br.com.codart.src.service.timer.HierarchicalTimingWheel;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Retenções com prazo sobre o {@link ISlotService}.
+ *
+ * Os prazos ficam em uma única {@link HierarchicalTimingWheel}, avançada por uma única thread:
+ * agendar, confirmar ou liberar uma retenção custa O(1), sem uma tarefa agendada por retenção,
+ * o que permite centenas de milhares de retenções ativas ao mesmo tempo.
+ *
+ * Renovar uma retenção só altera o prazo dela; o prazo antigo continua na roda e, quando vence,
+ * a retenção é reagendada para o novo prazo em vez de liberada.
+ */
+public class SlotHoldServiceImpl implements ISlotHoldService {
+
+    private static final long DEFAULT_TICK_MILLIS = 100;
+
+    private final ISlotService slotService;
+    private final long tickMillis;
+    private final Clock clock;
+    private final HierarchicalTimingWheel<Hold> wheel;
+    private final Map<Long, Hold> holds = new ConcurrentHashMap<>();
+    private final Thread expiryThread;
+    private volatile boolean closed;
+
+    public SlotHoldServiceImpl(ISlotService slotService) {
+        this(slotService, DEFAULT_TICK_MILLIS);
+    }
+
+    /**
+     * @param tickMillis resolução dos prazos: uma retenção é liberada até um tick depois de vencer
+     */
+    public SlotHoldServiceImpl(ISlotService slotService, long tickMillis) {
+        this(slotService, tickMillis, Clock.systemUTC());
+    }
+
+    /**
+     * @param clock relógio dos prazos das retenções
+     */
+    public SlotHoldServiceImpl(ISlotService slotService, long tickMillis, Clock clock) {
+        if (slotService == null) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException(ResourceMessage.HOLD_INVALID.getMessage());
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException(ResourceMessage.CLOCK_INVALID.getMessage());
+        }
+        this.slotService = slotService;
+        this.tickMillis = tickMillis;
+        this.clock = clock;
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, clock.millis());
+        this.expiryThread = new Thread(this::runExpiry, "slot-hold-expiry");
+        this.expiryThread.setDaemon(true);
+        this.expiryThread.start();
+    }
+
+    @Override
+    public Slot holdSlot(Long slotId, Duration ttl) {
+        long ttlMillis = ttlMillis(ttl);
+        Slot slot = slotService.holdSlot(validId(slotId));
+        Hold hold = new Hold(slotId, clock.millis() + ttlMillis);
+        synchronized (hold) {
+            // só quem retém o slot chega aqui, e a retenção anterior já saiu do mapa antes de o slot ser liberado
+            holds.put(slotId, hold);
+            hold.timeout = wheel.schedule(hold.deadline, hold);
+        }
+        return slot;
+    }
+
+    @Override
+    public Slot extendHold(Long slotId, Duration ttl) {
+        long ttlMillis = ttlMillis(ttl);
+        Hold hold = holds.get(validId(slotId));
+        if (hold == null) {
+            throw new IllegalStateException(ResourceMessage.SLOT_NOT_HELD.getMessage());
+        }
+        synchronized (hold) {
+            if (!hold.active) {
+                throw new IllegalStateException(ResourceMessage.SLOT_NOT_HELD.getMessage());
+            }
+            hold.deadline = Math.max(hold.deadline, clock.millis() + ttlMillis);
+        }
+        return slotService.findSlot(slotId)
+                .orElseThrow(() -> new IllegalArgumentException(ResourceMessage.SLOT_NOT_FOUND.getMessage()));
+    }
+
+    @Override
+    public Slot confirmHold(Long slotId) {
+        take(slotId);
+        try {
+            return slotService.confirmHold(slotId);
+        } catch (RuntimeException e) {
+            // o slot expirou ou foi removido: não deixa o slot retido sem prazo
+            releaseQuietly(slotId);
+            throw e;
+        }
+    }
+
+    @Override
+    public Slot releaseHold(Long slotId) {
+        take(slotId);
+        return slotService.releaseHold(slotId);
+    }
+
+    @Override
+    public int countHolds() {
+        return holds.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        expiryThread.interrupt();
+    }
+
+    /**
+     * Encerra a retenção ativa do slot e tira o prazo dela da roda.
+     */
+    private void take(Long slotId) {
+        Hold hold = holds.get(validId(slotId));
+        if (hold != null) {
+            synchronized (hold) {
+                if (hold.active) {
+                    hold.active = false;
+                    holds.remove(slotId, hold);
+                    hold.timeout.cancel();
+                    return;
+                }
+            }
+        }
+        throw new IllegalStateException(ResourceMessage.SLOT_NOT_HELD.getMessage());
+    }
+
+    private void runExpiry() {
+        while (!closed) {
+            try {
+                Thread.sleep(tickMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            wheel.advanceTo(clock.millis(), this::expire);
+        }
+    }
+
+    private void expire(Hold hold) {
+        synchronized (hold) {
+            if (!hold.active) {
+                return;
+            }
+            if (hold.deadline > clock.millis()) {
+                // renovada depois de agendada
+                hold.timeout = wheel.schedule(hold.deadline, hold);
+                return;
+            }
+            hold.active = false;
+            holds.remove(hold.slotId, hold);
+        }
+        releaseQuietly(hold.slotId);
+    }
+
+    private void releaseQuietly(Long slotId) {
+        try {
+            slotService.releaseHold(slotId);
+        } catch (RuntimeException e) {
+            // o slot foi removido ou já não está retido
+        }
+    }
+
+    private static Long validId(Long slotId) {
+        if (slotId == null) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        return slotId;
+    }
+
+    private static long ttlMillis(Duration ttl) {
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException(ResourceMessage.HOLD_INVALID.getMessage());
+        }
+        try {
+            return ttl.toMillis();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(ResourceMessage.HOLD_INVALID.getMessage());
+        }
+    }
+
+    /**
+     * Retenção ativa de um slot. Os campos mutáveis são protegidos pelo monitor da própria retenção.
+     */
+    private static final class Hold {
+
+        private final Long slotId;
+        private long deadline;
+        private boolean active = true;
+        private HierarchicalTimingWheel<Hold>.Timeout timeout;
+
+        private Hold(Long slotId, long deadline) {
+            this.slotId = slotId;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -1,7 +1,388 @@
 package br.com.codart.src.service.impl;
 
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.Enum.SlotTransitionEnum;
+import br.com.codart.src.domain.Enum.SlotTransitionOutcomeEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.repository.SlotRepository;
+import br.com.codart.src.repository.wal.SlotLogRecord;
+import br.com.codart.src.repository.wal.SlotWriteAheadLog;
 import br.com.codart.src.service.ISlotService;
+import br.com.codart.src.service.idempotency.IdempotencyCache;
+import br.com.codart.src.service.message.ResourceMessage;
+import br.com.codart.src.service.result.BatchReservationResult;
+import br.com.codart.src.service.result.ReservationStatusEnum;
+import br.com.codart.src.service.result.SlotReservation;
+import br.com.codart.src.service.result.SlotReservationOutcome;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 public class SlotServiceImpl  implements ISlotService {
 
+    // retentativas de clientes chegam em segundos ou minutos; o limite segura a memória em dias de pico
+    private static final Duration IDEMPOTENCY_TTL = Duration.ofHours(1);
+    private static final int IDEMPOTENCY_MAX_KEYS = 500_000;
+
+    private final SlotRepository slotRepository;
+    private final SlotWriteAheadLog writeAheadLog;
+    private final IdempotencyCache<SlotReservation> reservations;
+
+    public SlotServiceImpl(SlotRepository slotRepository) {
+        this(slotRepository, null);
+    }
+
+    /**
+     * @param writeAheadLog log onde cada mudança é gravada antes de ser confirmada ao chamador,
+     *                      ou null para operar apenas em memória
+     */
+    public SlotServiceImpl(SlotRepository slotRepository, SlotWriteAheadLog writeAheadLog) {
+        this(slotRepository, writeAheadLog, new IdempotencyCache<>(IDEMPOTENCY_TTL, IDEMPOTENCY_MAX_KEYS));
+    }
+
+    /**
+     * @param reservations resultados das reservas por chave de idempotência
+     */
+    public SlotServiceImpl(SlotRepository slotRepository, SlotWriteAheadLog writeAheadLog,
+                           IdempotencyCache<SlotReservation> reservations) {
+        if (slotRepository == null || reservations == null) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        this.slotRepository = slotRepository;
+        this.writeAheadLog = writeAheadLog;
+        this.reservations = reservations;
+    }
+
+    @Override
+    public Slot saveSlot(Slot slot) {
+        if (slot == null) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        sync(logged(slot.getSlotId(), () -> {
+            Optional<Slot> replaced = slotRepository.findById(slot.getSlotId());
+            slotRepository.save(slot);
+            return new LoggedChange(SlotLogRecord.save(slot), () -> replaced.ifPresentOrElse(
+                    slotRepository::save, () -> slotRepository.deleteById(slot.getSlotId())));
+        }));
+        return slot;
+    }
+
+    @Override
+    public Optional<Slot> findSlot(Long slotId) {
+        return slotRepository.findById(slotId);
+    }
+
+    @Override
+    public void deleteSlot(Long slotId) {
+        getSlot(slotId);
+        sync(logged(slotId, () -> delete(slotId)));
+    }
+
+    @Override
+    public int deleteSlots(Collection<Long> slotIds) {
+        if (slotIds == null) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        int deleted = 0;
+        for (Long slotId : slotIds) {
+            if (slotRepository.findById(slotId).isPresent()) {
+                logged(slotId, () -> delete(slotId));
+                deleted++;
+            }
+        }
+        syncAll();
+        return deleted;
+    }
+
+    private LoggedChange delete(Long slotId) {
+        Slot deleted = getSlot(slotId);
+        slotRepository.deleteById(slotId);
+        return new LoggedChange(SlotLogRecord.delete(slotId), () -> slotRepository.save(deleted));
+    }
+
+    @Override
+    public Slot blockSlot(Long slotId) {
+        return apply(slotId, SlotTransitionEnum.BLOCK);
+    }
+
+    @Override
+    public Slot cancelSlot(Long slotId) {
+        return apply(slotId, SlotTransitionEnum.CANCEL);
+    }
+
+    @Override
+    public Slot reserveSlot(Long slotId) {
+        return apply(slotId, SlotTransitionEnum.RESERVE);
+    }
+
+    @Override
+    public SlotReservation reserveSlot(Long slotId, String idempotencyKey) {
+        // guarda uma cópia: o slot continua mudando depois da reserva
+        return reservations.execute(idempotencyKey, slotId, () -> SlotReservation.of(reserveSlot(slotId)));
+    }
+
+    @Override
+    public Slot rescheduleSlot(Long slotId, LocalDateTime newStartTime, LocalDateTime newEndTime, int durationMinutes) {
+        Slot slot = getSlot(slotId);
+        sync(logged(slotId, () -> {
+            LocalDateTime previousStartTime = slot.getStartTime();
+            LocalDateTime previousEndTime = slot.getEndTime();
+            slot.rescheduleSlot(newStartTime, newEndTime, durationMinutes);
+            // RESCHEDULE só é aceito a partir de RESERVED
+            return new LoggedChange(SlotLogRecord.reschedule(slotId, SlotStatusEnum.RESERVED,
+                    SlotTransitionEnum.RESCHEDULE.getTargetStatus(), newStartTime, newEndTime),
+                    () -> slot.revertReschedule(previousStartTime, previousEndTime));
+        }));
+        return slot;
+    }
+
+    @Override
+    public Slot reopenSlot(Long slotId) {
+        return apply(slotId, SlotTransitionEnum.REOPEN);
+    }
+
+    /**
+     * Retenções são temporárias e não vão para o log: depois de um reinício o slot volta a
+     * estar disponível (ver {@link SlotStatusEnum#durableStatus()}).
+     */
+    @Override
+    public Slot holdSlot(Long slotId) {
+        Slot slot = getSlot(slotId);
+        slot.holdSlot();
+        return slot;
+    }
+
+    @Override
+    public Slot confirmHold(Long slotId) {
+        Slot slot = getSlot(slotId);
+        sync(logged(slotId, () -> {
+            slot.confirmHold();
+            // a retenção não está no log, então no disco o slot passa de AVAILABLE para RESERVED
+            return new LoggedChange(
+                    SlotLogRecord.transition(slotId, SlotStatusEnum.AVAILABLE, SlotTransitionEnum.CONFIRM.getTargetStatus()),
+                    () -> slot.revertTransition(SlotStatusEnum.HELD, SlotTransitionEnum.CONFIRM.getTargetStatus()));
+        }));
+        return slot;
+    }
+
+    @Override
+    public Slot releaseHold(Long slotId) {
+        Slot slot = getSlot(slotId);
+        slot.releaseHold();
+        return slot;
+    }
+
+    /**
+     * Aplica a transição em memória e só retorna depois de ela estar no log.
+     * Chamadas concorrentes compartilham o mesmo {@code force()} (commit em grupo).
+     */
+    private Slot apply(Long slotId, SlotTransitionEnum transition) {
+        Slot slot = getSlot(slotId);
+        sync(logged(slotId, () -> transitionRecord(slot, transition)));
+        return slot;
+    }
+
+    private static LoggedChange transitionRecord(Slot slot, SlotTransitionEnum transition) {
+        SlotStatusEnum previous = slot.applyTransition(transition);
+        return new LoggedChange(SlotLogRecord.transition(slot.getSlotId(), previous, transition.getTargetStatus()),
+                () -> slot.revertTransition(previous, transition.getTargetStatus()));
+    }
+
+    /**
+     * Executa a mudança e acrescenta o registro dela ao log segurando o lock da faixa do slot,
+     * para que o log tenha as mudanças de um mesmo slot na ordem em que aconteceram.
+     * A espera pelo disco fica fora do lock.
+     *
+     * Se o log recusar o registro (por exemplo, fechado depois de uma falha de I/O), a mudança é
+     * desfeita em memória, ainda com o lock, antes de a exceção seguir: memória e log continuam iguais.
+     *
+     * @return número de sequência do registro no log, ou 0 quando não há log
+     */
+    private long logged(Long slotId, Supplier<LoggedChange> action) {
+        ReentrantLock lock = slotRepository.lockFor(slotId);
+        lock.lock();
+        try {
+            LoggedChange change = action.get();
+            if (writeAheadLog == null) {
+                return 0;
+            }
+            try {
+                return writeAheadLog.append(change.record);
+            } catch (RuntimeException e) {
+                undo(change.undo, e);
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void undo(Runnable undo, RuntimeException cause) {
+        try {
+            undo.run();
+        } catch (RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Trava as faixas dos slots, cada faixa uma vez, em ordem crescente do índice da faixa
+     * (a ordem pedida pelo {@link SlotRepository}), e devolve os locks na ordem em que foram obtidos.
+     */
+    private List<ReentrantLock> lockStripes(List<Long> slotIds) {
+        TreeMap<Integer, ReentrantLock> byStripe = new TreeMap<>();
+        for (Long slotId : slotIds) {
+            byStripe.putIfAbsent(slotRepository.stripeOf(slotId), slotRepository.lockFor(slotId));
+        }
+        List<ReentrantLock> locks = new ArrayList<>(byStripe.values());
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+        return locks;
+    }
+
+    private static void unlockAll(List<ReentrantLock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+    private void syncAll() {
+        if (writeAheadLog != null) {
+            writeAheadLog.sync(writeAheadLog.lastSequence());
+        }
+    }
+
+    private void sync(long sequence) {
+        if (writeAheadLog != null) {
+            writeAheadLog.sync(sequence);
+        }
+    }
+
+    private Slot getSlot(Long slotId) {
+        return slotRepository.findById(slotId)
+                .orElseThrow(() -> new IllegalArgumentException(ResourceMessage.SLOT_NOT_FOUND.getMessage()));
+    }
+
+    /**
+     * Reserva em lote (tudo ou nada).
+     *
+     * O lote segura as faixas de lock dos seus slots, em ordem crescente de faixa, do início
+     * ao fim: nenhuma outra operação do serviço altera esses slots no meio do lote. Os slots são
+     * reservados um a um em ordem crescente de slotId, cada um com o compare-and-set do próprio
+     * Slot; se algum for rejeitado, os já reservados pelo lote são liberados e o lote inteiro
+     * falha. Slots disputados são rejeitados sem exceção ({@link Slot#tryReserve()}).
+     *
+     * Com log, os registros das reservas só são acrescentados depois de todas terem sido aceitas,
+     * ainda com as faixas travadas, todos de uma vez, e confirmados em disco com um único sync.
+     * Um lote desfeito não deixa nenhum registro no log; se o log recusar os registros, as
+     * reservas são desfeitas e a exceção do log segue para quem chamou.
+     */
+    @Override
+    public BatchReservationResult reserveAll(Collection<Long> slotIds) {
+        if (slotIds == null || slotIds.isEmpty() || slotIds.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException(ResourceMessage.SLOT_INVALID.getMessage());
+        }
+        List<Long> orderedIds = new ArrayList<>(new TreeSet<>(slotIds));
+
+        List<Slot> slots = new ArrayList<>(orderedIds.size());
+        for (Long slotId : orderedIds) {
+            Optional<Slot> slot = slotRepository.findById(slotId);
+            if (slot.isEmpty()) {
+                return rejectBeforeReserving(orderedIds, slotId);
+            }
+            slots.add(slot.get());
+        }
+
+        long sequence = 0;
+        List<ReentrantLock> locks = lockStripes(orderedIds);
+        try {
+            List<SlotLogRecord> records = new ArrayList<>(slots.size());
+            for (int i = 0; i < slots.size(); i++) {
+                Slot slot = slots.get(i);
+                SlotTransitionOutcomeEnum outcome = slot.tryApply(SlotTransitionEnum.RESERVE);
+                if (!outcome.isSuccess()) {
+                    return rollback(slots, i, outcome.getMessage());
+                }
+                // RESERVE só é aceito a partir de AVAILABLE
+                records.add(SlotLogRecord.transition(slot.getSlotId(), SlotStatusEnum.AVAILABLE, SlotStatusEnum.RESERVED));
+            }
+            if (writeAheadLog != null) {
+                try {
+                    sequence = writeAheadLog.appendAll(records);
+                } catch (RuntimeException e) {
+                    // appendAll não acrescenta nenhum registro quando falha
+                    rollback(slots, slots.size(), null);
+                    throw e;
+                }
+            }
+        } finally {
+            unlockAll(locks);
+        }
+        sync(sequence);
+
+        List<SlotReservationOutcome> outcomes = new ArrayList<>(slots.size());
+        for (Slot slot : slots) {
+            outcomes.add(new SlotReservationOutcome(slot.getSlotId(), ReservationStatusEnum.RESERVED, null));
+        }
+        return new BatchReservationResult(true, outcomes);
+    }
+
+    private BatchReservationResult rejectBeforeReserving(List<Long> orderedIds, Long missingId) {
+        List<SlotReservationOutcome> outcomes = new ArrayList<>(orderedIds.size());
+        for (Long slotId : orderedIds) {
+            outcomes.add(slotId.equals(missingId)
+                    ? new SlotReservationOutcome(slotId, ReservationStatusEnum.REJECTED, ResourceMessage.SLOT_NOT_FOUND.getMessage())
+                    : new SlotReservationOutcome(slotId, ReservationStatusEnum.NOT_ATTEMPTED, null));
+        }
+        return new BatchReservationResult(false, outcomes);
+    }
+
+    /**
+     * Libera os slots [0, failedIndex) reservados pelo lote e monta o relatório da falha.
+     * Chamado com as faixas do lote travadas; como as reservas ainda não foram para o log,
+     * as liberações também não vão.
+     */
+    private BatchReservationResult rollback(List<Slot> slots, int failedIndex, String reason) {
+        List<SlotReservationOutcome> outcomes = new ArrayList<>(slots.size());
+        for (int i = 0; i < slots.size(); i++) {
+            Slot slot = slots.get(i);
+            if (i < failedIndex) {
+                // com as faixas travadas, nenhuma operação do serviço alterou o slot desde a reserva do lote;
+                // uma falha indica uma transição feita direto no Slot, que não é desfeita aqui
+                SlotTransitionOutcomeEnum released = slot.tryApply(SlotTransitionEnum.RELEASE);
+                outcomes.add(released.isSuccess()
+                        ? new SlotReservationOutcome(slot.getSlotId(), ReservationStatusEnum.ROLLED_BACK, null)
+                        : new SlotReservationOutcome(slot.getSlotId(), ReservationStatusEnum.RELEASE_FAILED, released.getMessage()));
+            } else if (i == failedIndex) {
+                outcomes.add(new SlotReservationOutcome(slot.getSlotId(), ReservationStatusEnum.REJECTED, reason));
+            } else {
+                outcomes.add(new SlotReservationOutcome(slot.getSlotId(), ReservationStatusEnum.NOT_ATTEMPTED, null));
+            }
+        }
+        return new BatchReservationResult(false, outcomes);
+    }
+
+    /**
+     * Registro de uma mudança já aplicada em memória e a ação que a desfaz.
+     */
+    private static final class LoggedChange {
+
+        private final SlotLogRecord record;
+        private final Runnable undo;
+
+        private LoggedChange(SlotLogRecord record, Runnable undo) {
+            this.record = record;
+            this.undo = undo;
+        }
+    }
 }
@@ -0,0 +1,35 @@
+package br.com.codart.src.service.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+
+/**
+ * Tipos dos eventos do Flight Recorder da aplicação, registrados uma vez.
+ *
+ * Cada evento só é criado quando uma gravação o habilitou: a checagem é a leitura de um campo
+ * do {@link EventType}, então com o JFR desligado os eventos não custam nem uma alocação. Em
+ * JVMs com o JFR indisponível, os eventos ficam sempre desligados.
+ */
+final class JfrEvents {
+
+    static final EventType SLOT_TRANSITION = typeOf(SlotTransitionEvent.class);
+    static final EventType SCHEDULE_CONSTRUCTION = typeOf(ScheduleConstructionEvent.class);
+    static final EventType REPOSITORY_OPERATION = typeOf(RepositoryOperationEvent.class);
+
+    static final String CATEGORY = "Medical Schedule";
+
+    private JfrEvents() {
+    }
+
+    static boolean isEnabled(EventType type) {
+        return type != null && type.isEnabled();
+    }
+
+    private static EventType typeOf(Class<? extends Event> eventClass) {
+        try {
+            return EventType.getEventType(eventClass);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
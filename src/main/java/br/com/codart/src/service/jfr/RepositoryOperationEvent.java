@@ -0,0 +1,56 @@
+package br.com.codart.src.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Operação de um repositório sobre uma entidade.
+ */
+@Name("br.com.codart.RepositoryOperation")
+@Label("Repository Operation")
+@Category({JfrEvents.CATEGORY, "Repository"})
+@Description("Leitura, gravação ou remoção em um repositório")
+@StackTrace(false)
+public final class RepositoryOperationEvent extends jdk.jfr.Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Entity Id")
+    long entityId;
+
+    @Label("Found")
+    @Description("Nas leituras e remoções, se a entidade existia")
+    boolean found;
+
+    private RepositoryOperationEvent() {
+    }
+
+    /**
+     * Começa a medir uma operação; null se o evento não está habilitado.
+     */
+    public static RepositoryOperationEvent start() {
+        if (!JfrEvents.isEnabled(JfrEvents.REPOSITORY_OPERATION)) {
+            return null;
+        }
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void end(RepositoryOperationEvent event, String repository, String operation, Long entityId, boolean found) {
+        if (event != null && event.shouldCommit()) {
+            event.repository = repository;
+            event.operation = operation;
+            event.entityId = entityId == null ? 0 : entityId;
+            event.found = found;
+            event.commit();
+        }
+    }
+}
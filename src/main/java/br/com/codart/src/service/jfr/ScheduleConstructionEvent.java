@@ -0,0 +1,68 @@
+package br.com.codart.src.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Construção de uma agenda: validação dos slots e montagem dos índices.
+ * {@code validation} separa o tempo gasto validando do tempo total.
+ */
+@Name("br.com.codart.ScheduleConstruction")
+@Label("Schedule Construction")
+@Category({JfrEvents.CATEGORY, "Schedule"})
+@Description("Validação dos slots e montagem dos índices de uma agenda")
+public final class ScheduleConstructionEvent extends jdk.jfr.Event {
+
+    @Label("Schedule Id")
+    long scheduleId;
+
+    @Label("Slots")
+    int slots;
+
+    @Label("Recurring")
+    boolean recurring;
+
+    @Label("Valid")
+    boolean valid;
+
+    @Label("Validation")
+    @Timespan(Timespan.NANOSECONDS)
+    long validation;
+
+    private ScheduleConstructionEvent() {
+    }
+
+    /**
+     * Começa a medir a construção; null se o evento não está habilitado.
+     */
+    public static ScheduleConstructionEvent start() {
+        if (!JfrEvents.isEnabled(JfrEvents.SCHEDULE_CONSTRUCTION)) {
+            return null;
+        }
+        ScheduleConstructionEvent event = new ScheduleConstructionEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Instante para medir a validação; 0 sem evento.
+     */
+    public static long now(ScheduleConstructionEvent event) {
+        return event == null ? 0 : System.nanoTime();
+    }
+
+    public static void end(ScheduleConstructionEvent event, Long scheduleId, int slots, boolean recurring,
+                           boolean valid, long validationNanos) {
+        if (event != null && event.shouldCommit()) {
+            event.scheduleId = scheduleId == null ? 0 : scheduleId;
+            event.slots = slots;
+            event.recurring = recurring;
+            event.valid = valid;
+            event.validation = validationNanos;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.codart.src.service.jfr;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.Enum.SlotTransitionEnum;
+import br.com.codart.src.domain.entities.Slot;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Transição de status de um slot, aceita ou rejeitada.
+ *
+ * A duração vai da primeira validação até o aviso à agenda dona (que inclui esperar o lock da
+ * agenda); nas rejeições por exceção, inclui a criação da exceção.
+ */
+@Name("br.com.codart.SlotTransition")
+@Label("Slot Transition")
+@Category({JfrEvents.CATEGORY, "Slot"})
+@Description("Transição de status de um slot, aceita ou rejeitada")
+@StackTrace(false)
+public final class SlotTransitionEvent extends jdk.jfr.Event {
+
+    @Label("Slot Id")
+    long slotId;
+
+    @Label("Schedule Id")
+    @Description("0 se o slot não pertence a uma agenda")
+    long scheduleId;
+
+    @Label("Transition")
+    String transition;
+
+    @Label("From Status")
+    String fromStatus;
+
+    @Label("To Status")
+    @Description("Status do slot depois da tentativa")
+    String toStatus;
+
+    @Label("Accepted")
+    boolean accepted;
+
+    @Label("Rejection")
+    String rejection;
+
+    @Label("Thrown")
+    @Description("A rejeição foi lançada como exceção")
+    boolean thrown;
+
+    private SlotTransitionEvent() {
+    }
+
+    /**
+     * Começa a medir uma transição; null se o evento não está habilitado.
+     */
+    public static SlotTransitionEvent start() {
+        if (!JfrEvents.isEnabled(JfrEvents.SLOT_TRANSITION)) {
+            return null;
+        }
+        SlotTransitionEvent event = new SlotTransitionEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void accepted(SlotTransitionEvent event, Slot slot, SlotTransitionEnum transition, SlotStatusEnum from) {
+        if (event != null && event.shouldCommit()) {
+            event.fill(slot, transition);
+            event.fromStatus = from.name();
+            event.accepted = true;
+            event.commit();
+        }
+    }
+
+    public static void rejected(SlotTransitionEvent event, Slot slot, SlotTransitionEnum transition, String rejection,
+                                boolean thrown) {
+        if (event != null && event.shouldCommit()) {
+            event.fill(slot, transition);
+            event.fromStatus = event.toStatus;
+            event.rejection = rejection;
+            event.thrown = thrown;
+            event.commit();
+        }
+    }
+
+    private void fill(Slot slot, SlotTransitionEnum transition) {
+        this.slotId = slot.getSlotId() == null ? 0 : slot.getSlotId();
+        this.scheduleId = slot.getScheduleId();
+        this.transition = transition.name();
+        this.toStatus = slot.getSlotStatus().name();
+    }
+}
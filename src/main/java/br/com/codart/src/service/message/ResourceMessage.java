@@ -9,7 +9,28 @@ public enum ResourceMessage {
     SCHEDULE_INVALID("O horário selecionado é inválido."),
     SCHEDULE_NOT_NULL("A data do agendamento nao pode ser nula"),
     SCHEDULE_BLOCKED("O horário selecionado é bloqueado."),
-    SCHEDULE_RESERVED("O horário selecionado ja foi reservado.");
+    SCHEDULE_RESERVED("O horário selecionado ja foi reservado."),
+    SLOT_OVERLAP("O slot conflita com outro horário da agenda."),
+    SLOT_OWNED("O slot ja pertence a outra agenda."),
+    SLOT_NOT_FOUND("O slot solicitado nao foi encontrado."),
+    LOG_CLOSED("O log de transicoes esta fechado."),
+    SNAPSHOT_INVALID("O snapshot dos slots e invalido."),
+    SCHEDULE_NOT_FOUND("A agenda solicitada nao foi encontrada."),
+    SCHEDULE_EXISTS("Ja existe uma agenda com este id."),
+    RESOURCE_NOT_FOUND("O recurso solicitado nao existe."),
+    METHOD_NOT_ALLOWED("Metodo nao permitido para este recurso."),
+    INTERNAL_ERROR("Erro interno ao processar a requisicao."),
+    SLOT_NOT_HELD("O slot solicitado nao esta retido."),
+    HOLD_INVALID("O tempo de retencao do slot e invalido."),
+    ARCHIVE_INVALID("O arquivo historico de slots e invalido."),
+    EVENT_BUS_INVALID("Configuracao invalida do barramento de eventos."),
+    NOTIFICATION_INVALID("Configuracao invalida do envio de notificacoes."),
+    IDEMPOTENCY_KEY_INVALID("A chave de idempotencia e invalida."),
+    IDEMPOTENCY_KEY_REUSED("A chave de idempotencia ja foi usada em outra requisicao."),
+    METRICS_INVALID("Parametro invalido para as metricas."),
+    CLOCK_INVALID("O relogio informado e invalido."),
+    DATE_RANGE_TOO_LONG("O periodo consultado e maior que o permitido."),
+    SIMULATION_INVALID("Configuracao invalida da simulacao.");
 
     private final String message;
 
@@ -0,0 +1,62 @@
+package br.com.codart.src.service.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma log-linear de latências em nanossegundos, sem locks.
+ *
+ * Cada potência de dois é dividida em {@code 2^SUB_BUCKET_BITS} faixas iguais, então o erro
+ * relativo de um percentil é de no máximo 12,5%, de nanossegundos a séculos, com 496 contadores
+ * fixos. Registrar é um incremento atômico no contador da faixa e uma soma em um
+ * {@link LongAdder}; nada é alocado.
+ *
+ * Um {@link #snapshot()} lê os contadores um a um, sem parar quem registra: registros
+ * concorrentes podem entrar em uma leitura e não na outra, mas nunca se perdem.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalNanos = new LongAdder();
+
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.getAndIncrement(index(value));
+        totalNanos.add(value);
+    }
+
+    public LatencySnapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new LatencySnapshot(copy, totalNanos.sum());
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    /**
+     * Maior valor que cai na faixa {@code index}.
+     */
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long lower = (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift;
+        long upper = lower + (1L << shift) - 1;
+        // a última faixa termina em Long.MAX_VALUE
+        return upper < lower ? Long.MAX_VALUE : upper;
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.codart.src.service.metrics;
+
+import br.com.codart.src.service.message.ResourceMessage;
+
+/**
+ * Cópia imutável de um {@link LatencyHistogram}. Os percentis são o maior valor da faixa em que
+ * caem, então nunca subestimam a latência real.
+ */
+public final class LatencySnapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long totalNanos;
+
+    LatencySnapshot(long[] counts, long totalNanos) {
+        this.counts = counts;
+        this.totalNanos = totalNanos;
+        long count = 0;
+        for (long bucket : counts) {
+            count += bucket;
+        }
+        this.count = count;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMeanNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    /**
+     * Latência abaixo da qual estão {@code quantile} (0 a 1) dos registros; 0 sem registros.
+     */
+    public long getPercentileNanos(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException(ResourceMessage.METRICS_INVALID.getMessage());
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank && counts[i] > 0) {
+                return LatencyHistogram.upperBound(i);
+            }
+        }
+        return 0;
+    }
+
+    public long getMaxNanos() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] > 0) {
+                return LatencyHistogram.upperBound(i);
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencySnapshot{" +
+                "count=" + count +
+                ", mean=" + getMeanNanos() +
+                ", p50=" + getPercentileNanos(0.5) +
+                ", p99=" + getPercentileNanos(0.99) +
+                ", max=" + getMaxNanos() +
+                '}';
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.codart.src.service.metrics;
+
+import br.com.codart.src.domain.Enum.SlotOperationEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.service.ISlotService;
+import br.com.codart.src.service.message.ResourceMessage;
+import br.com.codart.src.service.result.BatchReservationResult;
+import br.com.codart.src.service.result.SlotReservation;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * {@link ISlotService} que registra em {@link SlotMetrics} o resultado e a latência de cada
+ * operação e repassa a chamada ao serviço original.
+ *
+ * O custo por operação é um incremento em um {@link java.util.concurrent.atomic.LongAdder} e,
+ * nas chamadas amostradas, duas leituras de {@link System#nanoTime()} e o registro no histograma
+ * (ver {@code SlotMetricsBenchmark}). As exceções do serviço são registradas pelo motivo e
+ * relançadas sem alteração.
+ */
+public class MeteredSlotService implements ISlotService {
+
+    private final ISlotService slotService;
+    private final SlotMetrics metrics;
+
+    public MeteredSlotService(ISlotService slotService, SlotMetrics metrics) {
+        if (slotService == null || metrics == null) {
+            throw new IllegalArgumentException(ResourceMessage.METRICS_INVALID.getMessage());
+        }
+        this.slotService = slotService;
+        this.metrics = metrics;
+    }
+
+    public SlotMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public Slot saveSlot(Slot slot) {
+        return measure(SlotOperationEnum.SAVE, () -> slotService.saveSlot(slot));
+    }
+
+    @Override
+    public Optional<Slot> findSlot(Long slotId) {
+        return measure(SlotOperationEnum.FIND, () -> slotService.findSlot(slotId));
+    }
+
+    @Override
+    public void deleteSlot(Long slotId) {
+        measure(SlotOperationEnum.DELETE, () -> {
+            slotService.deleteSlot(slotId);
+            return null;
+        });
+    }
+
+    @Override
+    public int deleteSlots(Collection<Long> slotIds) {
+        return measure(SlotOperationEnum.DELETE_BATCH, () -> slotService.deleteSlots(slotIds));
+    }
+
+    @Override
+    public Slot blockSlot(Long slotId) {
+        return measure(SlotOperationEnum.BLOCK, () -> slotService.blockSlot(slotId));
+    }
+
+    @Override
+    public Slot cancelSlot(Long slotId) {
+        return measure(SlotOperationEnum.CANCEL, () -> slotService.cancelSlot(slotId));
+    }
+
+    @Override
+    public Slot reserveSlot(Long slotId) {
+        return measure(SlotOperationEnum.RESERVE, () -> slotService.reserveSlot(slotId));
+    }
+
+    @Override
+    public SlotReservation reserveSlot(Long slotId, String idempotencyKey) {
+        return measure(SlotOperationEnum.RESERVE, () -> slotService.reserveSlot(slotId, idempotencyKey));
+    }
+
+    @Override
+    public Slot rescheduleSlot(Long slotId, LocalDateTime newStartTime, LocalDateTime newEndTime, int durationMinutes) {
+        return measure(SlotOperationEnum.RESCHEDULE,
+                () -> slotService.rescheduleSlot(slotId, newStartTime, newEndTime, durationMinutes));
+    }
+
+    @Override
+    public Slot reopenSlot(Long slotId) {
+        return measure(SlotOperationEnum.REOPEN, () -> slotService.reopenSlot(slotId));
+    }
+
+    @Override
+    public Slot holdSlot(Long slotId) {
+        return measure(SlotOperationEnum.HOLD, () -> slotService.holdSlot(slotId));
+    }
+
+    @Override
+    public Slot confirmHold(Long slotId) {
+        return measure(SlotOperationEnum.CONFIRM_HOLD, () -> slotService.confirmHold(slotId));
+    }
+
+    @Override
+    public Slot releaseHold(Long slotId) {
+        return measure(SlotOperationEnum.RELEASE_HOLD, () -> slotService.releaseHold(slotId));
+    }
+
+    @Override
+    public BatchReservationResult reserveAll(Collection<Long> slotIds) {
+        return measure(SlotOperationEnum.RESERVE_BATCH, () -> slotService.reserveAll(slotIds));
+    }
+
+    private <T> T measure(SlotOperationEnum operation, Supplier<T> call) {
+        boolean sampled = metrics.sampleLatency();
+        long start = sampled ? System.nanoTime() : 0;
+        try {
+            T result = call.get();
+            metrics.recordSuccess(operation);
+            return result;
+        } catch (RuntimeException e) {
+            metrics.recordFailure(operation, e);
+            throw e;
+        } finally {
+            if (sampled) {
+                metrics.recordLatency(operation, System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package br.com.codart.src.service.metrics;
+
+import br.com.codart.src.domain.Enum.SlotOperationEnum;
+import br.com.codart.src.service.message.ResourceMessage;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores e latências das operações do serviço de slots.
+ *
+ * Cada operação tem um {@link LongAdder} por resultado (sucesso, cada {@link ResourceMessage}
+ * de rejeição ou outro erro) e um {@link LatencyHistogram}. Registrar não aloca nem usa locks;
+ * os {@link LongAdder} espalham as threads concorrentes por células diferentes, então registrar
+ * não vira um ponto de disputa entre quem reserva.
+ *
+ * Os contadores são exatos; a latência é medida em uma amostra aleatória de 1 a cada
+ * {@code latencySampling} chamadas ({@link #sampleLatency()}), porque cada leitura de
+ * {@link System#nanoTime()} custa dezenas de nanossegundos em algumas máquinas virtuais, o dobro
+ * do resto da medição. Com milhares de operações por segundo, a amostra basta para os percentis.
+ *
+ * A leitura é sob demanda: {@link #snapshot()} copia os valores do momento.
+ */
+public class SlotMetrics {
+
+    /**
+     * Resultado de uma operação concluída sem erro.
+     */
+    public static final String SUCCESS = "SUCCESS";
+    /**
+     * Resultado de um erro sem {@link ResourceMessage} conhecida.
+     */
+    public static final String OTHER = "OTHER";
+
+    private static final SlotOperationEnum[] OPERATIONS = SlotOperationEnum.values();
+    private static final ResourceMessage[] MESSAGES = ResourceMessage.values();
+    private static final int SUCCESS_INDEX = 0;
+    private static final int OTHER_INDEX = MESSAGES.length + 1;
+    private static final Map<String, ResourceMessage> BY_MESSAGE = new HashMap<>();
+    private static final int DEFAULT_LATENCY_SAMPLING = 16;
+
+    static {
+        for (ResourceMessage message : MESSAGES) {
+            BY_MESSAGE.put(message.getMessage(), message);
+        }
+    }
+
+    private final LongAdder[][] outcomes = new LongAdder[OPERATIONS.length][MESSAGES.length + 2];
+    private final LatencyHistogram[] latencies = new LatencyHistogram[OPERATIONS.length];
+    private final int samplingMask;
+
+    public SlotMetrics() {
+        this(DEFAULT_LATENCY_SAMPLING);
+    }
+
+    /**
+     * @param latencySampling mede a latência de 1 a cada {@code latencySampling} chamadas,
+     *                        em média; potência de dois (1 mede todas)
+     */
+    public SlotMetrics(int latencySampling) {
+        if (latencySampling <= 0 || Integer.bitCount(latencySampling) != 1) {
+            throw new IllegalArgumentException(ResourceMessage.METRICS_INVALID.getMessage());
+        }
+        this.samplingMask = latencySampling - 1;
+        for (int operation = 0; operation < OPERATIONS.length; operation++) {
+            for (int outcome = 0; outcome < outcomes[operation].length; outcome++) {
+                outcomes[operation][outcome] = new LongAdder();
+            }
+            latencies[operation] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Indica se a chamada que vai começar entra na amostra de latência.
+     */
+    public boolean sampleLatency() {
+        return (ThreadLocalRandom.current().nextInt() & samplingMask) == 0;
+    }
+
+    public void recordSuccess(SlotOperationEnum operation) {
+        outcomes[operation.ordinal()][SUCCESS_INDEX].increment();
+    }
+
+    /**
+     * Registra uma operação rejeitada, pelo motivo da exceção.
+     */
+    public void recordFailure(SlotOperationEnum operation, RuntimeException failure) {
+        ResourceMessage reason = BY_MESSAGE.get(failure.getMessage());
+        outcomes[operation.ordinal()][reason == null ? OTHER_INDEX : reason.ordinal() + 1].increment();
+    }
+
+    /**
+     * Registra a latência de uma chamada amostrada.
+     */
+    public void recordLatency(SlotOperationEnum operation, long nanos) {
+        latencies[operation.ordinal()].record(nanos);
+    }
+
+    public long countSuccesses(SlotOperationEnum operation) {
+        return outcomes[operation.ordinal()][SUCCESS_INDEX].sum();
+    }
+
+    public long countFailures(SlotOperationEnum operation, ResourceMessage reason) {
+        return outcomes[operation.ordinal()][reason.ordinal() + 1].sum();
+    }
+
+    /**
+     * Valores atuais das operações que já foram chamadas.
+     */
+    public SlotMetricsSnapshot snapshot() {
+        Map<SlotOperationEnum, Map<String, Long>> counts = new EnumMap<>(SlotOperationEnum.class);
+        Map<SlotOperationEnum, LatencySnapshot> latencySnapshots = new EnumMap<>(SlotOperationEnum.class);
+        for (SlotOperationEnum operation : OPERATIONS) {
+            Map<String, Long> byOutcome = new LinkedHashMap<>();
+            LongAdder[] adders = outcomes[operation.ordinal()];
+            for (int outcome = 0; outcome < adders.length; outcome++) {
+                long count = adders[outcome].sum();
+                if (count > 0) {
+                    byOutcome.put(outcomeName(outcome), count);
+                }
+            }
+            if (!byOutcome.isEmpty()) {
+                counts.put(operation, byOutcome);
+                latencySnapshots.put(operation, latencies[operation.ordinal()].snapshot());
+            }
+        }
+        return new SlotMetricsSnapshot(counts, latencySnapshots);
+    }
+
+    private static String outcomeName(int outcome) {
+        if (outcome == SUCCESS_INDEX) {
+            return SUCCESS;
+        }
+        return outcome == OTHER_INDEX ? OTHER : MESSAGES[outcome - 1].name();
+    }
+}
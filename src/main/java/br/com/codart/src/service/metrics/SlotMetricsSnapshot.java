@@ -0,0 +1,45 @@
+package br.com.codart.src.service.metrics;
+
+import br.com.codart.src.domain.Enum.SlotOperationEnum;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cópia dos contadores e das latências das operações em um instante. Imutável.
+ */
+public final class SlotMetricsSnapshot {
+
+    private final Map<SlotOperationEnum, Map<String, Long>> counts;
+    private final Map<SlotOperationEnum, LatencySnapshot> latencies;
+
+    SlotMetricsSnapshot(Map<SlotOperationEnum, Map<String, Long>> counts, Map<SlotOperationEnum, LatencySnapshot> latencies) {
+        counts.replaceAll((operation, byOutcome) -> Collections.unmodifiableMap(byOutcome));
+        this.counts = Collections.unmodifiableMap(counts);
+        this.latencies = Collections.unmodifiableMap(latencies);
+    }
+
+    /**
+     * Operações chamadas ao menos uma vez, em ordem.
+     */
+    public Set<SlotOperationEnum> getOperations() {
+        return counts.keySet();
+    }
+
+    /**
+     * Chamadas da operação por resultado: {@link SlotMetrics#SUCCESS}, o nome da
+     * {@code ResourceMessage} da rejeição ou {@link SlotMetrics#OTHER}.
+     */
+    public Map<String, Long> getCounts(SlotOperationEnum operation) {
+        return counts.getOrDefault(operation, Map.of());
+    }
+
+    public long getCount(SlotOperationEnum operation, String outcome) {
+        return getCounts(operation).getOrDefault(outcome, 0L);
+    }
+
+    public LatencySnapshot getLatency(SlotOperationEnum operation) {
+        return latencies.get(operation);
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.codart.src.service.notification;
+
+import java.util.List;
+
+/**
+ * Gateway de envio de e-mail/SMS. Cada chamada envia várias mensagens de uma vez.
+ */
+public interface INotificationGateway {
+
+    /**
+     * Envia uma mensagem por paciente. Pode demorar; uma exceção indica que o lote não foi enviado.
+     */
+    void send(List<NotificationBatch> batches);
+}
@@ -0,0 +1,56 @@
+package br.com.codart.src.service.notification;
+
+import br.com.codart.src.domain.Enum.NotificationTypeEnum;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aviso a um paciente sobre um slot.
+ */
+public final class Notification {
+
+    private final String recipient;
+    private final NotificationTypeEnum type;
+    private final long scheduleId;
+    private final long slotId;
+    private final LocalDateTime startTime;
+
+    public Notification(String recipient, NotificationTypeEnum type, long scheduleId, long slotId, LocalDateTime startTime) {
+        this.recipient = recipient;
+        this.type = type;
+        this.scheduleId = scheduleId;
+        this.slotId = slotId;
+        this.startTime = startTime;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public NotificationTypeEnum getType() {
+        return type;
+    }
+
+    public long getScheduleId() {
+        return scheduleId;
+    }
+
+    public long getSlotId() {
+        return slotId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    @Override
+    public String toString() {
+        return "Notification{" +
+                "recipient='" + recipient + '\'' +
+                ", type=" + type +
+                ", scheduleId=" + scheduleId +
+                ", slotId=" + slotId +
+                ", startTime=" + startTime +
+                '}';
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.codart.src.service.notification;
+
+import java.util.List;
+
+/**
+ * Avisos de um mesmo paciente reunidos em uma única mensagem.
+ */
+public final class NotificationBatch {
+
+    private final String recipient;
+    private final List<Notification> notifications;
+
+    public NotificationBatch(String recipient, List<Notification> notifications) {
+        this.recipient = recipient;
+        this.notifications = List.copyOf(notifications);
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    /**
+     * Avisos do paciente, um por slot, na ordem em que chegaram.
+     */
+    public List<Notification> getNotifications() {
+        return notifications;
+    }
+
+    @Override
+    public String toString() {
+        return "NotificationBatch{" +
+                "recipient='" + recipient + '\'' +
+                ", notifications=" + notifications +
+                '}';
+    }
+}
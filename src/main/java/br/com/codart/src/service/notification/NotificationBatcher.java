@@ -0,0 +1,206 @@
+package br.com.codart.src.service.notification;
+
+import br.com.codart.src.domain.Enum.NotificationTypeEnum;
+import br.com.codart.src.service.message.ResourceMessage;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Assinante que junta os avisos em lotes antes de enviá-los ao gateway.
+ *
+ * Os avisos recebidos ficam pendentes até completar {@code maxBatch} avisos ou até passar a
+ * janela desde o primeiro aviso pendente. No envio, os avisos de cada paciente viram uma única
+ * mensagem, e dois avisos do mesmo slot na mesma janela viram só o último (uma reserva seguida
+ * de cancelamento avisa apenas o cancelamento). Um aviso {@link NotificationTypeEnum#RELEASED}
+ * (reserva de um lote desfeito) descarta o BOOKED pendente do slot, e o paciente não recebe nada;
+ * se o BOOKED já foi enviado, o paciente recebe um CANCELLED.
+ *
+ * Contrapressão: o assinante só pede ao publicador novos avisos depois de enviar os que tem,
+ * então nunca há mais que {@code maxBatch} avisos pendentes; enquanto o gateway está lento, o
+ * buffer do publicador enche e quem publica espera.
+ */
+public class NotificationBatcher implements Flow.Subscriber<Notification>, Closeable {
+
+    private final INotificationGateway gateway;
+    private final int maxBatch;
+    private final long windowMillis;
+    private final ScheduledExecutorService timer;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private final Object pendingLock = new Object();
+    private final Object sendLock = new Object();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong gatewayCalls = new AtomicLong();
+
+    private volatile Flow.Subscription subscription;
+    // paciente -> slot -> último aviso, protegidos por pendingLock
+    private Map<String, Map<Long, Notification>> pending = new LinkedHashMap<>();
+    private int pendingItems;
+    private ScheduledFuture<?> windowFlush;
+
+    public NotificationBatcher(INotificationGateway gateway, int maxBatch, Duration window) {
+        if (gateway == null || maxBatch <= 0 || window == null || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException(ResourceMessage.NOTIFICATION_INVALID.getMessage());
+        }
+        this.gateway = gateway;
+        this.maxBatch = maxBatch;
+        this.windowMillis = window.toMillis();
+        this.timer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "notification-window");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(maxBatch);
+    }
+
+    @Override
+    public void onNext(Notification notification) {
+        boolean full;
+        synchronized (pendingLock) {
+            Map<Long, Notification> bySlot = pending.computeIfAbsent(notification.getRecipient(), recipient -> new LinkedHashMap<>());
+            if (notification.getType() == NotificationTypeEnum.RELEASED) {
+                release(bySlot, notification);
+            } else {
+                bySlot.put(notification.getSlotId(), notification);
+            }
+            pendingItems++;
+            full = pendingItems >= maxBatch;
+            if (!full && windowFlush == null) {
+                windowFlush = timer.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    /**
+     * Chamado com pendingLock.
+     */
+    private void release(Map<Long, Notification> bySlot, Notification released) {
+        Notification previous = bySlot.get(released.getSlotId());
+        if (previous != null && previous.getType() == NotificationTypeEnum.BOOKED) {
+            bySlot.remove(released.getSlotId());
+            if (bySlot.isEmpty()) {
+                pending.remove(released.getRecipient());
+            }
+            return;
+        }
+        bySlot.put(released.getSlotId(), new Notification(released.getRecipient(), NotificationTypeEnum.CANCELLED,
+                released.getScheduleId(), released.getSlotId(), released.getStartTime()));
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        flush();
+        timer.shutdown();
+        completion.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        flush();
+        timer.shutdown();
+        completion.complete(null);
+    }
+
+    /**
+     * Envia os avisos pendentes e pede ao publicador a mesma quantidade de avisos novos.
+     * Os envios são feitos um de cada vez.
+     */
+    private void flush() {
+        synchronized (sendLock) {
+            Map<String, Map<Long, Notification>> taken;
+            int items;
+            synchronized (pendingLock) {
+                if (windowFlush != null) {
+                    windowFlush.cancel(false);
+                    windowFlush = null;
+                }
+                if (pendingItems == 0) {
+                    return;
+                }
+                taken = pending;
+                items = pendingItems;
+                pending = new LinkedHashMap<>();
+                pendingItems = 0;
+            }
+            List<NotificationBatch> batches = new ArrayList<>(taken.size());
+            int notifications = 0;
+            for (Map.Entry<String, Map<Long, Notification>> entry : taken.entrySet()) {
+                batches.add(new NotificationBatch(entry.getKey(), new ArrayList<>(entry.getValue().values())));
+                notifications += entry.getValue().size();
+            }
+            // vazio quando as reservas pendentes foram todas desfeitas
+            if (!batches.isEmpty()) {
+                try {
+                    gatewayCalls.incrementAndGet();
+                    gateway.send(batches);
+                    sent.addAndGet(notifications);
+                } catch (RuntimeException e) {
+                    // o gateway recusou o lote: os avisos são descartados para não travar os seguintes
+                    failed.addAndGet(notifications);
+                }
+            }
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.request(items);
+            }
+        }
+    }
+
+    /**
+     * Completa quando o publicador encerra e os últimos avisos foram enviados.
+     */
+    public CompletableFuture<Void> getCompletion() {
+        return completion;
+    }
+
+    /**
+     * Avisos entregues ao gateway, depois de juntar os avisos repetidos do mesmo slot.
+     */
+    public long getSent() {
+        return sent.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public long getGatewayCalls() {
+        return gatewayCalls.get();
+    }
+
+    /**
+     * Cancela a assinatura sem enviar os avisos pendentes.
+     */
+    @Override
+    public void close() {
+        Flow.Subscription current = subscription;
+        if (current != null) {
+            current.cancel();
+        }
+        timer.shutdownNow();
+    }
+}
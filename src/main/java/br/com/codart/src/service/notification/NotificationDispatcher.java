@@ -0,0 +1,116 @@
+package br.com.codart.src.service.notification;
+
+import br.com.codart.src.domain.Enum.NotificationTypeEnum;
+import br.com.codart.src.domain.Enum.SlotEventTypeEnum;
+import br.com.codart.src.service.event.SlotEvent;
+import br.com.codart.src.service.event.SlotEventBus;
+import br.com.codart.src.service.event.SlotEventProcessor;
+import br.com.codart.src.service.message.ResourceMessage;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * Avisos de agendamento, cancelamento e reagendamento a partir dos eventos do {@link SlotEventBus}.
+ *
+ * Os eventos são lidos por um {@link SlotEventProcessor}, convertidos em {@link Notification}
+ * e publicados em um {@link SubmissionPublisher} de buffer limitado, assinado por um
+ * {@link NotificationBatcher}. Quando o gateway não acompanha (por exemplo, um médico cancela
+ * um dia inteiro), o buffer enche e a thread de leitura dos eventos espera; quem agenda continua
+ * publicando no anel sem esperar, e o anel absorve a rajada.
+ */
+public class NotificationDispatcher implements Closeable {
+
+    private static final int DEFAULT_MAX_BATCH = 100;
+    private static final Duration DEFAULT_WINDOW = Duration.ofSeconds(1);
+    private static final int DEFAULT_BUFFER = 1024;
+
+    private final NotificationRecipientResolver resolver;
+    private final ExecutorService executor;
+    private final SubmissionPublisher<Notification> publisher;
+    private final NotificationBatcher batcher;
+    private final SlotEventProcessor processor;
+
+    public NotificationDispatcher(SlotEventBus bus, NotificationRecipientResolver resolver, INotificationGateway gateway) {
+        this(bus, resolver, gateway, DEFAULT_MAX_BATCH, DEFAULT_WINDOW, DEFAULT_BUFFER);
+    }
+
+    /**
+     * @param maxBatch avisos por envio ao gateway
+     * @param window   espera máxima de um aviso antes de ser enviado
+     * @param buffer   avisos aguardando o envio antes de a leitura dos eventos esperar
+     */
+    public NotificationDispatcher(SlotEventBus bus, NotificationRecipientResolver resolver, INotificationGateway gateway,
+                                  int maxBatch, Duration window, int buffer) {
+        if (bus == null || resolver == null || buffer <= 0) {
+            throw new IllegalArgumentException(ResourceMessage.NOTIFICATION_INVALID.getMessage());
+        }
+        this.resolver = resolver;
+        this.batcher = new NotificationBatcher(gateway, maxBatch, window);
+        this.executor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "notification-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.publisher = new SubmissionPublisher<>(executor, buffer);
+        this.publisher.subscribe(batcher);
+        this.processor = new SlotEventProcessor(bus, this::onEvent, "notification-events");
+    }
+
+    private void onEvent(SlotEvent event) {
+        if (event.getType() != SlotEventTypeEnum.SLOT_TRANSITION) {
+            return;
+        }
+        NotificationTypeEnum type = NotificationTypeEnum.of(event.getSlotFrom(), event.getSlotTo());
+        if (type == null) {
+            return;
+        }
+        String recipient = resolver.recipientOf(event.getScheduleId(), event.getSlotId());
+        if (recipient != null) {
+            // bloqueia enquanto o buffer estiver cheio
+            publisher.submit(new Notification(recipient, type, event.getScheduleId(), event.getSlotId(), event.getStartTime()));
+        }
+    }
+
+    public long getSent() {
+        return batcher.getSent();
+    }
+
+    public long getFailed() {
+        return batcher.getFailed();
+    }
+
+    public long getGatewayCalls() {
+        return batcher.getGatewayCalls();
+    }
+
+    /**
+     * Eventos perdidos porque a leitura ficou uma volta inteira atrás no anel.
+     */
+    public long getLostEvents() {
+        return processor.getLost();
+    }
+
+    /**
+     * Lê os eventos já publicados, envia os avisos pendentes e encerra.
+     */
+    @Override
+    public void close() {
+        processor.close();
+        publisher.close();
+        try {
+            batcher.getCompletion().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // o publicador só encerra com erro se o assinante falhar; os avisos já foram contados
+        } finally {
+            batcher.close();
+            executor.shutdown();
+        }
+    }
+}
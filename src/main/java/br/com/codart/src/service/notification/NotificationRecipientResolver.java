@@ -0,0 +1,13 @@
+package br.com.codart.src.service.notification;
+
+/**
+ * Encontra o paciente a avisar sobre um slot (a agenda não guarda dados de pacientes).
+ */
+@FunctionalInterface
+public interface NotificationRecipientResolver {
+
+    /**
+     * Destinatário dos avisos do slot, ou null se ninguém deve ser avisado.
+     */
+    String recipientOf(long scheduleId, long slotId);
+}
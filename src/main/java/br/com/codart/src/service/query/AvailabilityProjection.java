@@ -0,0 +1,193 @@
+package br.com.codart.src.service.query;
+
+import br.com.codart.src.domain.Enum.SlotEventTypeEnum;
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.repository.ScheduleRepository;
+import br.com.codart.src.service.event.SlotEvent;
+import br.com.codart.src.service.event.SlotEventBus;
+import br.com.codart.src.service.event.SlotEventProcessor;
+import br.com.codart.src.service.message.ResourceMessage;
+
+import java.io.Closeable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lado de leitura da disponibilidade (CQRS): visões imutáveis por agenda e por dia, servidas às
+ * consultas do portal sem disputar as agendas com quem agenda.
+ *
+ * Cada dia de cada agenda tem uma versão, trocada pelos eventos do {@link SlotEventBus} que
+ * mudam a disponibilidade daquele dia (transições de ou para AVAILABLE, slots adicionados ou
+ * arquivados). Uma visão guarda a versão lida antes de ser calculada e só é servida enquanto
+ * essa versão for a atual; assim, uma mudança invalida apenas a visão do próprio dia. O evento
+ * não é aplicado à visão: ela é recalculada a partir da agenda na próxima consulta ao dia.
+ *
+ * As versões vêm de uma sequência única e crescente. Os dias que nunca mudaram não ocupam o mapa
+ * de versões e usam a versão base; quando um slot é arquivado, o dia sai do mapa e a versão base
+ * avança, então o mapa não cresce com os dias que já passaram. Uma versão nunca se repete, e
+ * uma visão calculada antes do arquivamento não volta a valer; o custo é recalcular, na próxima
+ * consulta, as visões dos dias sem versão própria.
+ *
+ * Os eventos chegam por uma thread própria, então uma visão pode mostrar por alguns instantes
+ * um horário que acabou de ser reservado (a reserva continua validada pela agenda). Se a
+ * leitura dos eventos ficar uma volta inteira atrás no anel, todas as visões são descartadas.
+ *
+ * Os dias seguem a regra das buscas por várias agendas: um slot pertence ao dia em que começa.
+ */
+public class AvailabilityProjection implements Closeable {
+
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private final ScheduleRepository scheduleRepository;
+    // só os dias alterados desde o último arquivamento deles; os demais usam baseVersion
+    private final ConcurrentHashMap<DayKey, Long> versions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<DayKey, DayAvailabilityView> views = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+    private final SlotEventProcessor processor;
+    // incrementada quando eventos são perdidos: invalida todas as visões de uma vez
+    private volatile long generation;
+    private volatile long baseVersion;
+    // escritos só pela thread dos eventos
+    private long lastVersion;
+    private long lostSeen;
+
+    public AvailabilityProjection(SlotEventBus bus, ScheduleRepository scheduleRepository) {
+        if (bus == null || scheduleRepository == null) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        this.scheduleRepository = scheduleRepository;
+        this.processor = new SlotEventProcessor(bus, this::onEvent, "availability-projection");
+    }
+
+    /**
+     * Disponibilidade da agenda no dia, da visão em cache quando ela ainda vale.
+     */
+    public DayAvailabilityView findDay(Long scheduleId, LocalDate day) {
+        if (scheduleId == null || day == null) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        DayKey key = new DayKey(scheduleId, day.toEpochDay());
+        // a versão é lida antes da agenda: uma mudança concorrente deixa a visão com versão antiga
+        long currentGeneration = generation;
+        long version = versions.getOrDefault(key, baseVersion);
+        DayAvailabilityView view = views.get(key);
+        if (view != null && view.getGeneration() == currentGeneration && view.getVersion() == version) {
+            hits.increment();
+            return view;
+        }
+        DayAvailabilityView rebuilt = new DayAvailabilityView(scheduleId, day, version, currentGeneration, read(scheduleId, day));
+        views.merge(key, rebuilt, (cached, fresh) -> fresh.isNewerThan(cached) ? fresh : cached);
+        rebuilds.increment();
+        return rebuilt;
+    }
+
+    /**
+     * Visões dos dias {@code from} a {@code to} (inclusive).
+     */
+    public List<DayAvailabilityView> findDays(Long scheduleId, LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException(ResourceMessage.SCHEDULE_INVALID.getMessage());
+        }
+        List<DayAvailabilityView> result = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            result.add(findDay(scheduleId, day));
+        }
+        return result;
+    }
+
+    private List<AvailableTime> read(Long scheduleId, LocalDate day) {
+        List<Slot> slots = scheduleRepository.findById(scheduleId)
+                .orElseThrow(() -> new IllegalArgumentException(ResourceMessage.SCHEDULE_NOT_FOUND.getMessage()))
+                .findAvailableSlots(day, day);
+        List<AvailableTime> times = new ArrayList<>(slots.size());
+        for (Slot slot : slots) {
+            if (slot.getStartTime().toLocalDate().equals(day)) {
+                times.add(new AvailableTime(slot.getSlotId(), slot.getStartTime(), slot.getEndTime()));
+            }
+        }
+        return times;
+    }
+
+    private void onEvent(SlotEvent event) {
+        long lost = processor == null ? 0 : processor.getLost();
+        if (lost != lostSeen) {
+            lostSeen = lost;
+            generation++;
+            views.clear();
+        }
+        boolean changesAvailability = switch (event.getType()) {
+            case SLOT_TRANSITION -> event.getSlotFrom() == SlotStatusEnum.AVAILABLE || event.getSlotTo() == SlotStatusEnum.AVAILABLE;
+            case SLOT_ADDED, SLOT_ARCHIVED -> true;
+            case SCHEDULE_STATUS -> false;
+        };
+        if (!changesAvailability) {
+            return;
+        }
+        DayKey key = new DayKey(event.getScheduleId(), Math.floorDiv(event.getStartEpochSecond(), SECONDS_PER_DAY));
+        if (event.getType() == SlotEventTypeEnum.SLOT_ARCHIVED) {
+            // a versão base avança antes de o dia sair do mapa: a versão lida nunca volta a valer
+            baseVersion = ++lastVersion;
+            versions.remove(key);
+        } else {
+            versions.put(key, ++lastVersion);
+        }
+        views.remove(key);
+    }
+
+    /**
+     * Consultas respondidas por uma visão em cache.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Visões calculadas a partir da agenda.
+     */
+    public long getRebuilds() {
+        return rebuilds.sum();
+    }
+
+    public int countViews() {
+        return views.size();
+    }
+
+    /**
+     * Dias com versão própria, alterados desde o último arquivamento.
+     */
+    public int countVersions() {
+        return versions.size();
+    }
+
+    @Override
+    public void close() {
+        processor.close();
+    }
+
+    private static final class DayKey {
+
+        private final long scheduleId;
+        private final long epochDay;
+
+        private DayKey(long scheduleId, long epochDay) {
+            this.scheduleId = scheduleId;
+            this.epochDay = epochDay;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof DayKey key && key.scheduleId == scheduleId && key.epochDay == epochDay;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scheduleId, epochDay);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.codart.src.service.query;
+
+import java.time.LocalDateTime;
+
+/**
+ * Horário disponível de uma visão de disponibilidade. Imutável.
+ */
+public final class AvailableTime {
+
+    private final long slotId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+
+    public AvailableTime(long slotId, LocalDateTime startTime, LocalDateTime endTime) {
+        this.slotId = slotId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public long getSlotId() {
+        return slotId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    @Override
+    public String toString() {
+        return "AvailableTime{" +
+                "slotId=" + slotId +
+                ", startTime=" + startTime +
+                ", endTime=" + endTime +
+                '}';
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.codart.src.service.query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Horários disponíveis de uma agenda em um dia, calculados uma vez e compartilhados entre as
+ * leituras até o dia mudar. Imutável.
+ */
+public final class DayAvailabilityView {
+
+    private final long scheduleId;
+    private final LocalDate day;
+    private final long version;
+    private final long generation;
+    private final List<AvailableTime> times;
+
+    DayAvailabilityView(long scheduleId, LocalDate day, long version, long generation, List<AvailableTime> times) {
+        this.scheduleId = scheduleId;
+        this.day = day;
+        this.version = version;
+        this.generation = generation;
+        this.times = List.copyOf(times);
+    }
+
+    public long getScheduleId() {
+        return scheduleId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    /**
+     * Quantidade de mudanças de disponibilidade do dia já refletidas na visão.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Horários disponíveis que começam no dia, em ordem de início.
+     */
+    public List<AvailableTime> getTimes() {
+        return times;
+    }
+
+    boolean isNewerThan(DayAvailabilityView other) {
+        return generation != other.generation ? generation > other.generation : version > other.version;
+    }
+
+    @Override
+    public String toString() {
+        return "DayAvailabilityView{" +
+                "scheduleId=" + scheduleId +
+                ", day=" + day +
+                ", version=" + version +
+                ", times=" + times +
+                '}';
+    }
+}
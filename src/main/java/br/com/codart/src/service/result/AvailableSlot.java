@@ -0,0 +1,43 @@
+package br.com.codart.src.service.result;
+
+import br.com.codart.src.domain.entities.Slot;
+
+import java.util.Comparator;
+
+/**
+ * Slot disponível encontrado em uma busca por várias agendas, com a agenda a que pertence.
+ */
+public final class AvailableSlot {
+
+    /**
+     * Ordem das buscas por várias agendas: horário de início, depois agenda, depois slot.
+     */
+    public static final Comparator<AvailableSlot> BY_START = Comparator
+            .comparing((AvailableSlot available) -> available.slot.getStartTime())
+            .thenComparing(AvailableSlot::getScheduleId)
+            .thenComparing(available -> available.slot.getSlotId());
+
+    private final Long scheduleId;
+    private final Slot slot;
+
+    public AvailableSlot(Long scheduleId, Slot slot) {
+        this.scheduleId = scheduleId;
+        this.slot = slot;
+    }
+
+    public Long getScheduleId() {
+        return scheduleId;
+    }
+
+    public Slot getSlot() {
+        return slot;
+    }
+
+    @Override
+    public String toString() {
+        return "AvailableSlot{" +
+                "scheduleId=" + scheduleId +
+                ", slot=" + slot +
+                '}';
+    }
+}
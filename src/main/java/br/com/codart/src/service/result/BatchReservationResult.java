@@ -0,0 +1,38 @@
+package br.com.codart.src.service.result;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Relatório de uma reserva em lote: ou todos os slots foram reservados, ou nenhum.
+ * Os resultados seguem a ordem crescente de slotId em que as reservas foram tentadas.
+ */
+public final class BatchReservationResult {
+
+    private final boolean reserved;
+    private final List<SlotReservationOutcome> outcomes;
+
+    public BatchReservationResult(boolean reserved, List<SlotReservationOutcome> outcomes) {
+        this.reserved = reserved;
+        this.outcomes = Collections.unmodifiableList(outcomes);
+    }
+
+    /**
+     * Indica se todos os slots do lote foram reservados.
+     */
+    public boolean isReserved() {
+        return reserved;
+    }
+
+    public List<SlotReservationOutcome> getOutcomes() {
+        return outcomes;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchReservationResult{" +
+                "reserved=" + reserved +
+                ", outcomes=" + outcomes +
+                '}';
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.codart.src.service.result;
+
+public enum ReservationStatusEnum {
+    RESERVED,
+    REJECTED,
+    ROLLED_BACK,
+    // reservado pelo lote, mas não pôde ser liberado: outra operação já tinha alterado o slot
+    RELEASE_FAILED,
+    NOT_ATTEMPTED
+}
@@ -0,0 +1,59 @@
+package br.com.codart.src.service.result;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado de um slot no momento em que a reserva terminou.
+ * É o resultado guardado por chave de idempotência: as repetições recebem exatamente a primeira
+ * resposta, mesmo que o slot tenha mudado depois (por exemplo, sido cancelado).
+ */
+public final class SlotReservation {
+
+    private final Long slotId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final SlotStatusEnum slotStatus;
+
+    public SlotReservation(Long slotId, LocalDateTime startTime, LocalDateTime endTime, SlotStatusEnum slotStatus) {
+        this.slotId = slotId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.slotStatus = slotStatus;
+    }
+
+    /**
+     * Copia o estado atual do slot reservado.
+     */
+    public static SlotReservation of(Slot slot) {
+        return new SlotReservation(slot.getSlotId(), slot.getStartTime(), slot.getEndTime(), slot.getSlotStatus());
+    }
+
+    public Long getSlotId() {
+        return slotId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public SlotStatusEnum getSlotStatus() {
+        return slotStatus;
+    }
+
+    @Override
+    public String toString() {
+        return "SlotReservation{" +
+                "slotId=" + slotId +
+                ", startTime=" + startTime +
+                ", endTime=" + endTime +
+                ", slotStatus=" + slotStatus +
+                '}';
+    }
+}
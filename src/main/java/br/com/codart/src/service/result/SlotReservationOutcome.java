@@ -0,0 +1,41 @@
+package br.com.codart.src.service.result;
+
+/**
+ * Resultado da reserva de um slot dentro de uma reserva em lote.
+ */
+public final class SlotReservationOutcome {
+
+    private final Long slotId;
+    private final ReservationStatusEnum status;
+    private final String message;
+
+    public SlotReservationOutcome(Long slotId, ReservationStatusEnum status, String message) {
+        this.slotId = slotId;
+        this.status = status;
+        this.message = message;
+    }
+
+    public Long getSlotId() {
+        return slotId;
+    }
+
+    public ReservationStatusEnum getStatus() {
+        return status;
+    }
+
+    /**
+     * Motivo da rejeição, ou null quando o slot não foi rejeitado.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "SlotReservationOutcome{" +
+                "slotId=" + slotId +
+                ", status=" + status +
+                ", message=" + message +
+                '}';
+    }
+}
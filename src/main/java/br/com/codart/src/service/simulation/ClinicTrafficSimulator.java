@@ -0,0 +1,407 @@
+package br.com.codart.src.service.simulation;
+
+import br.com.codart.src.domain.Enum.SlotOperationEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.domain.entities.schedule.Schedule;
+import br.com.codart.src.repository.ScheduleRepository;
+import br.com.codart.src.repository.SlotRepository;
+import br.com.codart.src.service.ISlotService;
+import br.com.codart.src.service.impl.ScheduleServiceImpl;
+import br.com.codart.src.service.impl.SlotServiceImpl;
+import br.com.codart.src.service.message.ResourceMessage;
+import br.com.codart.src.service.metrics.MeteredSlotService;
+import br.com.codart.src.service.metrics.SlotMetrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Reproduz um dia de tráfego da clínica contra o serviço de slots, em tempo virtual.
+ *
+ * A carga é gerada a partir da seed: as operações acontecem no primeiro dia, de uma hora antes
+ * da abertura até uma hora depois do fechamento, com {@code morningRushShare} delas nas duas
+ * primeiras horas. Cada operação escolhe um horário por uma distribuição Zipf em que os horários
+ * mais cedo são os mais procurados, e é uma reserva (55%), cancelamento (15%), reabertura (15%),
+ * reagendamento para o fim do dia (10%) ou bloqueio (5%). Os cancelamentos em massa bloqueiam
+ * (ou cancelam, se reservados) todos os horários de uma agenda de uma vez.
+ *
+ * Os slots da simulação são criados com um {@link VirtualClock}, que avança de minuto virtual
+ * em minuto virtual: as operações de um minuto rodam, divididas entre as threads, antes de o
+ * relógio avançar, então os horários expiram no meio do dia como na clínica. O relógio é passado
+ * apenas aos slots e serviços da simulação; o restante da JVM continua no relógio do sistema.
+ * O relógio usa o fuso da configuração (por padrão, UTC), e não o da máquina.
+ *
+ * As operações de um minuto são divididas entre as threads por agenda: as de uma mesma agenda
+ * (inclusive os reagendamentos e os cancelamentos em massa) rodam em uma única thread, na ordem
+ * em que foram geradas. Como operações de agendas diferentes não interferem umas nas outras, os
+ * resultados dependem só da configuração, com qualquer número de threads; o que varia entre as
+ * execuções são os tempos e a contenção.
+ */
+public class ClinicTrafficSimulator {
+
+    private static final double RESERVE_SHARE = 0.55;
+    private static final double CANCEL_SHARE = 0.15;
+    private static final double REOPEN_SHARE = 0.15;
+    private static final double RESCHEDULE_SHARE = 0.10;
+    // horários depois do fechamento usados como destino dos reagendamentos
+    private static final int EVENING_SLOTS = 6;
+    private static final long STEP_MILLIS = 60_000;
+
+    private final SimulationConfig config;
+
+    public ClinicTrafficSimulator(SimulationConfig config) {
+        if (config == null) {
+            throw new IllegalArgumentException(ResourceMessage.SIMULATION_INVALID.getMessage());
+        }
+        this.config = config;
+    }
+
+    public SimulationReport run() {
+        ZoneId zone = config.getZone();
+        LocalDateTime start = config.getFirstDay().atTime(config.getOpenTime()).minusHours(1);
+        LocalDateTime end = config.getFirstDay().atTime(config.getCloseTime()).plusHours(1);
+        VirtualClock clock = new VirtualClock(start.atZone(zone).toInstant(), zone);
+
+        SlotMetrics metrics = new SlotMetrics(1);
+        ISlotService slotService = new MeteredSlotService(new SlotServiceImpl(new SlotRepository()), metrics);
+        Clinic clinic = openClinic(slotService, clock);
+        List<Operation> operations = generate(clinic, clock.millis(), end.atZone(zone).toInstant().toEpochMilli());
+
+        Contention contention = new Contention();
+        long wallStart = System.nanoTime();
+        execute(operations, clinic, slotService, clock, contention);
+        long wallNanos = System.nanoTime() - wallStart;
+
+        return new SimulationReport(config, config.getMassCancellations(), Duration.between(start, end), wallNanos,
+                metrics.snapshot(), contention.blockedCount, contention.blockedMillis,
+                contention.waitedCount, contention.waitedMillis);
+    }
+
+    private Clinic openClinic(ISlotService slotService, VirtualClock clock) {
+        ScheduleServiceImpl scheduleService = new ScheduleServiceImpl(new ScheduleRepository(), slotService,
+                ForkJoinPool.commonPool(), clock);
+        List<Slot> slots = new ArrayList<>();
+        List<Integer> scheduleOfSlot = new ArrayList<>();
+        List<int[]> schedules = new ArrayList<>();
+        for (int doctor = 1; doctor <= config.getDoctors(); doctor++) {
+            for (int day = 0; day < config.getDays(); day++) {
+                Schedule schedule = scheduleService.createSchedule(doctor * 1000L + day, config.getFirstDay().plusDays(day),
+                        config.getOpenTime(), config.getCloseTime(), config.getSlotMinutes());
+                int first = slots.size();
+                slots.addAll(schedule.getTimes());
+                while (scheduleOfSlot.size() < slots.size()) {
+                    scheduleOfSlot.add(schedules.size());
+                }
+                schedules.add(new int[]{first, slots.size()});
+            }
+        }
+        // os horários mais cedo são os mais procurados; no mesmo horário, alterna entre os médicos
+        Integer[] byPopularity = new Integer[slots.size()];
+        for (int i = 0; i < byPopularity.length; i++) {
+            byPopularity[i] = i;
+        }
+        Arrays.sort(byPopularity, Comparator.comparing((Integer i) -> slots.get(i).getStartTime())
+                .thenComparing(i -> slots.get(i).getSlotId()));
+        return new Clinic(slots, scheduleOfSlot.stream().mapToInt(Integer::intValue).toArray(), schedules, byPopularity);
+    }
+
+    /**
+     * Gera as operações do dia, em ordem de horário virtual. Depende só da configuração.
+     */
+    private List<Operation> generate(Clinic clinic, long startMillis, long endMillis) {
+        SplittableRandom random = new SplittableRandom(config.getSeed());
+        double[] zipf = zipfDistribution(clinic.slots.size(), config.getZipfExponent());
+        long rushEnd = startMillis + Duration.ofHours(2).toMillis();
+        List<Operation> operations = new ArrayList<>(config.getOperations() + config.getMassCancellations());
+        for (int i = 0; i < config.getOperations(); i++) {
+            long millis = random.nextDouble() < config.getMorningRushShare()
+                    ? random.nextLong(startMillis, rushEnd)
+                    : random.nextLong(rushEnd, endMillis);
+            int slot = clinic.byPopularity[sample(zipf, random.nextDouble())];
+            double kind = random.nextDouble();
+            SlotOperationEnum operation;
+            if (kind < RESERVE_SHARE) {
+                operation = SlotOperationEnum.RESERVE;
+            } else if (kind < RESERVE_SHARE + CANCEL_SHARE) {
+                operation = SlotOperationEnum.CANCEL;
+            } else if (kind < RESERVE_SHARE + CANCEL_SHARE + REOPEN_SHARE) {
+                operation = SlotOperationEnum.REOPEN;
+            } else if (kind < RESERVE_SHARE + CANCEL_SHARE + REOPEN_SHARE + RESCHEDULE_SHARE) {
+                operation = SlotOperationEnum.RESCHEDULE;
+            } else {
+                operation = SlotOperationEnum.BLOCK;
+            }
+            operations.add(new Operation(millis, operation, slot, random.nextInt(EVENING_SLOTS), false));
+        }
+        for (int i = 0; i < config.getMassCancellations(); i++) {
+            operations.add(new Operation(random.nextLong(startMillis, endMillis), SlotOperationEnum.BLOCK,
+                    random.nextInt(clinic.schedules.size()), 0, true));
+        }
+        // ordenação estável: operações no mesmo milissegundo mantêm a ordem de geração
+        operations.sort(Comparator.comparingLong(operation -> operation.millis));
+        return operations;
+    }
+
+    /**
+     * Distribuição acumulada de Zipf sobre os postos 0..n-1.
+     */
+    private static double[] zipfDistribution(int n, double exponent) {
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int rank = 0; rank < n; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= total;
+        }
+        return cumulative;
+    }
+
+    private static int sample(double[] cumulative, double uniform) {
+        int index = Arrays.binarySearch(cumulative, uniform);
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+
+    private void execute(List<Operation> operations, Clinic clinic, ISlotService slotService, VirtualClock clock,
+                         Contention contention) {
+        int threads = config.getThreads();
+        ThreadPoolExecutor executor = threads == 1 ? null : (ThreadPoolExecutor) Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "clinic-simulation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Thread> workers = new ArrayList<>();
+        if (executor == null) {
+            workers.add(Thread.currentThread());
+        } else {
+            executor.prestartAllCoreThreads();
+            collectWorkers(executor, threads, workers);
+        }
+        contention.start(workers);
+        try {
+            int from = 0;
+            while (from < operations.size()) {
+                long stepStart = Math.floorDiv(operations.get(from).millis, STEP_MILLIS) * STEP_MILLIS;
+                int to = from;
+                while (to < operations.size() && operations.get(to).millis < stepStart + STEP_MILLIS) {
+                    to++;
+                }
+                clock.advanceTo(Instant.ofEpochMilli(stepStart));
+                runStep(operations.subList(from, to), clinic, slotService, executor, threads);
+                from = to;
+            }
+            contention.stop(workers);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private static void collectWorkers(ThreadPoolExecutor executor, int threads, List<Thread> workers) {
+        List<Callable<Thread>> identify = new ArrayList<>();
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        for (int i = 0; i < threads; i++) {
+            identify.add(() -> {
+                barrier.await();
+                return Thread.currentThread();
+            });
+        }
+        try {
+            for (Future<Thread> worker : executor.invokeAll(identify)) {
+                workers.add(worker.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ResourceMessage.SIMULATION_INVALID.getMessage(), e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(ResourceMessage.SIMULATION_INVALID.getMessage(), e.getCause());
+        }
+    }
+
+    private void runStep(List<Operation> step, Clinic clinic, ISlotService slotService, ThreadPoolExecutor executor, int threads) {
+        if (executor == null) {
+            for (Operation operation : step) {
+                apply(operation, clinic, slotService);
+            }
+            return;
+        }
+        // cada agenda fica com uma única thread, que executa as operações dela na ordem gerada
+        List<Callable<Void>> parts = new ArrayList<>(threads);
+        for (int worker = 0; worker < threads; worker++) {
+            int part = worker;
+            parts.add(() -> {
+                for (Operation operation : step) {
+                    if (clinic.scheduleOf(operation) % threads == part) {
+                        apply(operation, clinic, slotService);
+                    }
+                }
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> part : executor.invokeAll(parts)) {
+                part.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ResourceMessage.SIMULATION_INVALID.getMessage(), e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(ResourceMessage.SIMULATION_INVALID.getMessage(), e.getCause());
+        }
+    }
+
+    private void apply(Operation operation, Clinic clinic, ISlotService slotService) {
+        if (operation.massCancellation) {
+            int[] range = clinic.schedules.get(operation.target);
+            for (int i = range[0]; i < range[1]; i++) {
+                Long slotId = clinic.slots.get(i).getSlotId();
+                if (!attempt(() -> slotService.blockSlot(slotId))) {
+                    attempt(() -> slotService.cancelSlot(slotId));
+                }
+            }
+            return;
+        }
+        Slot slot = clinic.slots.get(operation.target);
+        Long slotId = slot.getSlotId();
+        switch (operation.operation) {
+            case RESERVE -> attempt(() -> slotService.reserveSlot(slotId));
+            case CANCEL -> attempt(() -> slotService.cancelSlot(slotId));
+            case REOPEN -> attempt(() -> slotService.reopenSlot(slotId));
+            case BLOCK -> attempt(() -> slotService.blockSlot(slotId));
+            case RESCHEDULE -> {
+                LocalDate day = slot.getStartTime().toLocalDate();
+                LocalDateTime evening = day.atTime(config.getCloseTime())
+                        .plusMinutes((long) operation.eveningSlot * config.getSlotMinutes());
+                attempt(() -> slotService.rescheduleSlot(slotId, evening,
+                        evening.plusMinutes(config.getSlotMinutes()), config.getSlotMinutes()));
+            }
+            default -> throw new IllegalStateException(ResourceMessage.SIMULATION_INVALID.getMessage());
+        }
+    }
+
+    /**
+     * Executa a operação; rejeições fazem parte da carga e já foram contadas pelas métricas.
+     */
+    private static boolean attempt(Runnable call) {
+        try {
+            call.run();
+            return true;
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return false;
+        }
+    }
+
+    public static void main(String[] args) {
+        SimulationConfig.Builder builder = new SimulationConfig.Builder();
+        if (args.length > 0) {
+            builder.seed(Long.parseLong(args[0]));
+        }
+        if (args.length > 1) {
+            builder.operations(Integer.parseInt(args[1]));
+        }
+        System.out.print(new ClinicTrafficSimulator(builder.build()).run());
+    }
+
+    private static final class Clinic {
+
+        private final List<Slot> slots;
+        // índice da agenda de cada slot de slots
+        private final int[] scheduleOfSlot;
+        // [primeiro, último) dos slots de cada agenda em slots
+        private final List<int[]> schedules;
+        private final Integer[] byPopularity;
+
+        private Clinic(List<Slot> slots, int[] scheduleOfSlot, List<int[]> schedules, Integer[] byPopularity) {
+            this.slots = slots;
+            this.scheduleOfSlot = scheduleOfSlot;
+            this.schedules = schedules;
+            this.byPopularity = byPopularity;
+        }
+
+        private int scheduleOf(Operation operation) {
+            return operation.massCancellation ? operation.target : scheduleOfSlot[operation.target];
+        }
+    }
+
+    private static final class Operation {
+
+        private final long millis;
+        private final SlotOperationEnum operation;
+        // índice do slot, ou da agenda em um cancelamento em massa
+        private final int target;
+        private final int eveningSlot;
+        private final boolean massCancellation;
+
+        private Operation(long millis, SlotOperationEnum operation, int target, int eveningSlot, boolean massCancellation) {
+            this.millis = millis;
+            this.operation = operation;
+            this.target = target;
+            this.eveningSlot = eveningSlot;
+            this.massCancellation = massCancellation;
+        }
+    }
+
+    /**
+     * Tempo bloqueado e parado das threads da simulação, pelo {@link ThreadMXBean}.
+     */
+    private static final class Contention {
+
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        private final boolean timed;
+        private long blockedCount;
+        private long blockedMillis;
+        private long waitedCount;
+        private long waitedMillis;
+
+        private Contention() {
+            boolean supported = threads.isThreadContentionMonitoringSupported();
+            if (supported) {
+                threads.setThreadContentionMonitoringEnabled(true);
+            }
+            this.timed = supported;
+        }
+
+        private void start(List<Thread> workers) {
+            add(workers, -1);
+        }
+
+        private void stop(List<Thread> workers) {
+            add(workers, 1);
+        }
+
+        private void add(List<Thread> workers, int sign) {
+            for (Thread worker : workers) {
+                ThreadInfo info = threads.getThreadInfo(worker.threadId());
+                if (info == null) {
+                    continue;
+                }
+                blockedCount += sign * info.getBlockedCount();
+                waitedCount += sign * info.getWaitedCount();
+                if (timed) {
+                    blockedMillis += sign * Math.max(info.getBlockedTime(), 0);
+                    waitedMillis += sign * Math.max(info.getWaitedTime(), 0);
+                }
+            }
+        }
+    }
+}
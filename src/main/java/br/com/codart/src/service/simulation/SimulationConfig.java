@@ -0,0 +1,209 @@
+package br.com.codart.src.service.simulation;
+
+import br.com.codart.src.service.message.ResourceMessage;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Parâmetros de uma simulação de tráfego da clínica. A mesma configuração (com a mesma seed)
+ * gera sempre a mesma carga.
+ */
+public final class SimulationConfig {
+
+    private final long seed;
+    private final int doctors;
+    private final int days;
+    private final LocalDate firstDay;
+    private final LocalTime openTime;
+    private final LocalTime closeTime;
+    private final int slotMinutes;
+    private final int operations;
+    private final int threads;
+    private final double zipfExponent;
+    private final double morningRushShare;
+    private final int massCancellations;
+    private final ZoneId zone;
+
+    private SimulationConfig(Builder builder) {
+        this.seed = builder.seed;
+        this.doctors = builder.doctors;
+        this.days = builder.days;
+        this.firstDay = builder.firstDay;
+        this.openTime = builder.openTime;
+        this.closeTime = builder.closeTime;
+        this.slotMinutes = builder.slotMinutes;
+        this.operations = builder.operations;
+        this.threads = builder.threads;
+        this.zipfExponent = builder.zipfExponent;
+        this.morningRushShare = builder.morningRushShare;
+        this.massCancellations = builder.massCancellations;
+        this.zone = builder.zone;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Médicos da clínica; cada médico tem uma agenda por dia.
+     */
+    public int getDoctors() {
+        return doctors;
+    }
+
+    /**
+     * Dias de agenda abertos, a partir de {@link #getFirstDay()}.
+     */
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * Dia simulado: as operações acontecem neste dia, de uma hora antes da abertura até uma
+     * hora depois do fechamento.
+     */
+    public LocalDate getFirstDay() {
+        return firstDay;
+    }
+
+    public LocalTime getOpenTime() {
+        return openTime;
+    }
+
+    public LocalTime getCloseTime() {
+        return closeTime;
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    public int getOperations() {
+        return operations;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Expoente da distribuição Zipf da popularidade dos horários: quanto maior, mais a procura
+     * se concentra nos primeiros horários.
+     */
+    public double getZipfExponent() {
+        return zipfExponent;
+    }
+
+    /**
+     * Fração das operações que acontece nas duas primeiras horas do dia.
+     */
+    public double getMorningRushShare() {
+        return morningRushShare;
+    }
+
+    /**
+     * Quantas vezes um médico cancela o dia inteiro de uma agenda.
+     */
+    public int getMassCancellations() {
+        return massCancellations;
+    }
+
+    /**
+     * Fuso do relógio virtual (por padrão, UTC): o dia simulado não depende do fuso da máquina.
+     */
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public static class Builder {
+
+        private long seed = 42;
+        private int doctors = 20;
+        private int days = 5;
+        private LocalDate firstDay = LocalDate.of(2025, 3, 10);
+        private LocalTime openTime = LocalTime.of(8, 0);
+        private LocalTime closeTime = LocalTime.of(18, 0);
+        private int slotMinutes = 20;
+        private int operations = 200_000;
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private double zipfExponent = 1.1;
+        private double morningRushShare = 0.5;
+        private int massCancellations = 3;
+        private ZoneId zone = ZoneOffset.UTC;
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder doctors(int doctors) {
+            this.doctors = doctors;
+            return this;
+        }
+
+        public Builder days(int days) {
+            this.days = days;
+            return this;
+        }
+
+        public Builder firstDay(LocalDate firstDay) {
+            this.firstDay = firstDay;
+            return this;
+        }
+
+        public Builder hours(LocalTime openTime, LocalTime closeTime) {
+            this.openTime = openTime;
+            this.closeTime = closeTime;
+            return this;
+        }
+
+        public Builder slotMinutes(int slotMinutes) {
+            this.slotMinutes = slotMinutes;
+            return this;
+        }
+
+        public Builder operations(int operations) {
+            this.operations = operations;
+            return this;
+        }
+
+        public Builder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public Builder zipfExponent(double zipfExponent) {
+            this.zipfExponent = zipfExponent;
+            return this;
+        }
+
+        public Builder morningRushShare(double morningRushShare) {
+            this.morningRushShare = morningRushShare;
+            return this;
+        }
+
+        public Builder massCancellations(int massCancellations) {
+            this.massCancellations = massCancellations;
+            return this;
+        }
+
+        public Builder zone(ZoneId zone) {
+            this.zone = zone;
+            return this;
+        }
+
+        public SimulationConfig build() {
+            if (doctors <= 0 || days <= 0 || operations < 0 || threads <= 0 || slotMinutes <= 0
+                    || massCancellations < 0 || zipfExponent < 0
+                    || morningRushShare < 0 || morningRushShare > 1
+                    || firstDay == null || openTime == null || closeTime == null || zone == null
+                    || !openTime.isBefore(closeTime) || openTime.getHour() < 1 || closeTime.getHour() > 21) {
+                throw new IllegalArgumentException(ResourceMessage.SIMULATION_INVALID.getMessage());
+            }
+            return new SimulationConfig(this);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package br.com.codart.src.service.simulation;
+
+import br.com.codart.src.domain.Enum.SlotOperationEnum;
+import br.com.codart.src.service.metrics.LatencySnapshot;
+import br.com.codart.src.service.metrics.SlotMetrics;
+import br.com.codart.src.service.metrics.SlotMetricsSnapshot;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Resultado de uma simulação: vazão, latências por operação e contenção nas threads.
+ *
+ * As contagens por resultado dependem só da seed quando a simulação roda em uma thread; com
+ * várias threads, a ordem entre operações do mesmo minuto virtual muda de uma execução para
+ * outra. Vazão, latências e contenção são medidas em tempo real.
+ */
+public final class SimulationReport {
+
+    private final SimulationConfig config;
+    private final int massCancellations;
+    private final Duration virtualDuration;
+    private final long wallNanos;
+    private final SlotMetricsSnapshot metrics;
+    private final long blockedCount;
+    private final long blockedMillis;
+    private final long waitedCount;
+    private final long waitedMillis;
+
+    SimulationReport(SimulationConfig config, int massCancellations, Duration virtualDuration, long wallNanos,
+                     SlotMetricsSnapshot metrics, long blockedCount, long blockedMillis, long waitedCount, long waitedMillis) {
+        this.config = config;
+        this.massCancellations = massCancellations;
+        this.virtualDuration = virtualDuration;
+        this.wallNanos = wallNanos;
+        this.metrics = metrics;
+        this.blockedCount = blockedCount;
+        this.blockedMillis = blockedMillis;
+        this.waitedCount = waitedCount;
+        this.waitedMillis = waitedMillis;
+    }
+
+    public SimulationConfig getConfig() {
+        return config;
+    }
+
+    public int getMassCancellations() {
+        return massCancellations;
+    }
+
+    /**
+     * Tempo virtual coberto pela simulação.
+     */
+    public Duration getVirtualDuration() {
+        return virtualDuration;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * Chamadas feitas ao serviço de slots, inclusive as dos cancelamentos em massa.
+     */
+    public long getSlotOperations() {
+        long total = 0;
+        for (SlotOperationEnum operation : metrics.getOperations()) {
+            for (long count : metrics.getCounts(operation).values()) {
+                total += count;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Chamadas ao serviço de slots por segundo de tempo real.
+     */
+    public double getThroughput() {
+        return wallNanos == 0 ? 0 : getSlotOperations() * 1e9 / wallNanos;
+    }
+
+    /**
+     * Quantas vezes o tempo virtual andou mais rápido que o real.
+     */
+    public double getSpeedup() {
+        return wallNanos == 0 ? 0 : virtualDuration.toNanos() / (double) wallNanos;
+    }
+
+    public SlotMetricsSnapshot getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Vezes que uma thread da simulação esperou um monitor (por exemplo, o de uma agenda).
+     */
+    public long getBlockedCount() {
+        return blockedCount;
+    }
+
+    public long getBlockedMillis() {
+        return blockedMillis;
+    }
+
+    /**
+     * Vezes que uma thread da simulação ficou parada em um lock ou condição (por exemplo, o lock
+     * da faixa de um slot). Inclui as esperas entre os minutos virtuais.
+     */
+    public long getWaitedCount() {
+        return waitedCount;
+    }
+
+    public long getWaitedMillis() {
+        return waitedMillis;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(1024);
+        text.append("Simulação seed=").append(config.getSeed())
+                .append(" threads=").append(config.getThreads())
+                .append(" operações=").append(config.getOperations())
+                .append(" cancelamentos em massa=").append(massCancellations).append('\n');
+        text.append(String.format("Tempo virtual %s em %d ms (%.0fx), %d chamadas, %.0f chamadas/s%n",
+                virtualDuration, wallNanos / 1_000_000, getSpeedup(), getSlotOperations(), getThroughput()));
+        for (SlotOperationEnum operation : metrics.getOperations()) {
+            Map<String, Long> counts = metrics.getCounts(operation);
+            LatencySnapshot latency = metrics.getLatency(operation);
+            text.append(String.format("%-13s sucesso=%d rejeições=%s p50=%dns p99=%dns p99.9=%dns max=%dns%n",
+                    operation, counts.getOrDefault(SlotMetrics.SUCCESS, 0L), rejections(counts),
+                    latency.getPercentileNanos(0.5), latency.getPercentileNanos(0.99),
+                    latency.getPercentileNanos(0.999), latency.getMaxNanos()));
+        }
+        text.append("Contenção: ").append(blockedCount).append(" bloqueios em monitores (").append(blockedMillis)
+                .append(" ms), ").append(waitedCount).append(" esperas (").append(waitedMillis).append(" ms)\n");
+        return text.toString();
+    }
+
+    private static String rejections(Map<String, Long> counts) {
+        StringBuilder text = new StringBuilder("{");
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            if (!entry.getKey().equals(SlotMetrics.SUCCESS)) {
+                if (text.length() > 1) {
+                    text.append(", ");
+                }
+                text.append(entry.getKey()).append('=').append(entry.getValue());
+            }
+        }
+        return text.append('}').toString();
+    }
+}
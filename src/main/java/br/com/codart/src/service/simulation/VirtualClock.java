@@ -0,0 +1,65 @@
+package br.com.codart.src.service.simulation;
+
+import br.com.codart.src.service.message.ResourceMessage;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relógio que só anda quando mandado: a hora é a que a simulação definiu, independente do tempo
+ * real. Nunca volta para trás. As cópias de {@link #withZone(ZoneId)} compartilham a mesma hora.
+ */
+public final class VirtualClock extends Clock {
+
+    private final AtomicLong millis;
+    private final ZoneId zone;
+
+    public VirtualClock(Instant start, ZoneId zone) {
+        this(new AtomicLong(start.toEpochMilli()), zone);
+    }
+
+    private VirtualClock(AtomicLong millis, ZoneId zone) {
+        if (zone == null) {
+            throw new IllegalArgumentException(ResourceMessage.CLOCK_INVALID.getMessage());
+        }
+        this.millis = millis;
+        this.zone = zone;
+    }
+
+    /**
+     * Avança até o instante informado; um instante anterior ao atual é ignorado.
+     */
+    public void advanceTo(Instant instant) {
+        millis.accumulateAndGet(instant.toEpochMilli(), Math::max);
+    }
+
+    public void advance(Duration duration) {
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException(ResourceMessage.CLOCK_INVALID.getMessage());
+        }
+        millis.addAndGet(duration.toMillis());
+    }
+
+    @Override
+    public long millis() {
+        return millis.get();
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis.get());
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return new VirtualClock(millis, zone);
+    }
+}
@@ -0,0 +1,226 @@
+package br.com.codart.src.service.timer;
+
+import br.com.codart.src.service.message.ResourceMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Roda de temporização hierárquica: agenda milhares de prazos sem uma tarefa agendada por prazo.
+ *
+ * O tempo avança em ticks de {@code tickMillis}. Cada nível tem 64 posições e cada posição do
+ * nível N cobre 64^N ticks. Um prazo entra no nível do dígito (em base 64) mais alto em que o
+ * seu tick difere do tick atual, na posição desse dígito. Quando os dígitos abaixo de um nível
+ * voltam a zero, a posição corrente desse nível é redistribuída nos níveis de baixo; no nível 0
+ * a posição corrente contém exatamente os prazos vencidos no tick.
+ *
+ * Agendar e cancelar são O(1) (cada posição é uma lista duplamente encadeada). Cada prazo desce
+ * no máximo um nível por redistribuição, então o custo total por prazo é O(1) amortizado.
+ * Prazos nunca vencem antes da hora, podendo vencer até um tick depois dela.
+ *
+ * Os métodos são thread-safe. As tarefas vencidas são entregues fora do lock da roda, então
+ * quem as recebe pode agendar ou cancelar outros prazos.
+ *
+ * @param <T> tarefa associada a cada prazo
+ */
+public final class HierarchicalTimingWheel<T> {
+
+    private static final int BITS_PER_LEVEL = 6;
+    private static final int WHEEL_SIZE = 1 << BITS_PER_LEVEL;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    // níveis suficientes para qualquer tick de 64 bits
+    private static final int LEVELS = (Long.SIZE + BITS_PER_LEVEL - 1) / BITS_PER_LEVEL;
+
+    private final long tickMillis;
+    private final long startMillis;
+    // Object porque não existe array de Timeout, classe interna de um tipo genérico; ver head()
+    private final Object[][] buckets;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param tickMillis  resolução da roda
+     * @param startMillis instante correspondente ao tick 0
+     */
+    public HierarchicalTimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException(ResourceMessage.HOLD_INVALID.getMessage());
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.buckets = new Object[LEVELS][WHEEL_SIZE];
+        for (Object[] level : buckets) {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                level[i] = new Timeout(null, 0);
+            }
+        }
+    }
+
+    /**
+     * Agenda a tarefa para {@code deadlineMillis}. Um prazo já vencido é entregue no próximo tick.
+     */
+    public Timeout schedule(long deadlineMillis, T task) {
+        if (task == null) {
+            throw new IllegalArgumentException(ResourceMessage.HOLD_INVALID.getMessage());
+        }
+        // arredonda para cima: o prazo nunca vence antes da hora
+        long deadlineTick = Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis);
+        Timeout timeout = new Timeout(task, deadlineTick);
+        lock.lock();
+        try {
+            if (timeout.deadlineTick <= currentTick) {
+                timeout.deadlineTick = currentTick + 1;
+            }
+            place(timeout);
+            size++;
+        } finally {
+            lock.unlock();
+        }
+        return timeout;
+    }
+
+    /**
+     * Avança a roda até {@code nowMillis} e entrega, em ordem de vencimento, as tarefas vencidas.
+     *
+     * @return quantidade de tarefas entregues
+     */
+    public int advanceTo(long nowMillis, Consumer<? super T> onExpired) {
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        List<T> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            while (currentTick < targetTick) {
+                if (size == 0) {
+                    // nada agendado: pula direto para o tick final
+                    currentTick = targetTick;
+                    break;
+                }
+                currentTick++;
+                cascade();
+                drain(head(0, (int) (currentTick & WHEEL_MASK)), expired);
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (T task : expired) {
+            onExpired.accept(task);
+        }
+        return expired.size();
+    }
+
+    /**
+     * Quantidade de prazos agendados e ainda não vencidos nem cancelados.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Redistribui a posição corrente de cada nível cujos dígitos inferiores do tick voltaram a zero.
+     */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((currentTick & ((1L << (BITS_PER_LEVEL * level)) - 1)) != 0) {
+                return;
+            }
+            Timeout head = head(level, digit(currentTick, level));
+            Timeout timeout = head.next;
+            head.next = head;
+            head.previous = head;
+            while (timeout != head) {
+                Timeout next = timeout.next;
+                place(timeout);
+                timeout = next;
+            }
+        }
+    }
+
+    private void drain(Timeout head, List<T> expired) {
+        Timeout timeout = head.next;
+        while (timeout != head) {
+            Timeout next = timeout.next;
+            timeout.previous = null;
+            timeout.next = null;
+            expired.add(timeout.task);
+            size--;
+            timeout = next;
+        }
+        head.next = head;
+        head.previous = head;
+    }
+
+    private void place(Timeout timeout) {
+        long deadlineTick = Math.max(timeout.deadlineTick, currentTick);
+        int level = deadlineTick == currentTick
+                ? 0
+                : (Long.SIZE - 1 - Long.numberOfLeadingZeros(deadlineTick ^ currentTick)) / BITS_PER_LEVEL;
+        Timeout head = head(level, digit(deadlineTick, level));
+        timeout.previous = head.previous;
+        timeout.next = head;
+        head.previous.next = timeout;
+        head.previous = timeout;
+    }
+
+    /**
+     * Sentinela da lista da posição; o array só guarda Timeouts criados no construtor.
+     */
+    @SuppressWarnings("unchecked")
+    private Timeout head(int level, int digit) {
+        return (Timeout) buckets[level][digit];
+    }
+
+    private static int digit(long tick, int level) {
+        return (int) ((tick >>> (BITS_PER_LEVEL * level)) & WHEEL_MASK);
+    }
+
+    /**
+     * Prazo agendado na roda.
+     */
+    public final class Timeout {
+
+        private final T task;
+        private long deadlineTick;
+        private Timeout previous = this;
+        private Timeout next = this;
+
+        private Timeout(T task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getTask() {
+            return task;
+        }
+
+        /**
+         * Remove o prazo da roda em O(1).
+         *
+         * @return false se o prazo já venceu ou já tinha sido cancelado
+         */
+        public boolean cancel() {
+            lock.lock();
+            try {
+                if (next == null) {
+                    return false;
+                }
+                previous.next = next;
+                next.previous = previous;
+                previous = null;
+                next = null;
+                size--;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
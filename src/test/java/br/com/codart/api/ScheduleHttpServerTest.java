@@ -0,0 +1,327 @@
+package br.com.codart.api;
+
+import br.com.codart.src.api.ScheduleHttpServer;
+import br.com.codart.src.domain.entities.schedule.WeeklyScheduleTemplate;
+import br.com.codart.src.repository.ScheduleRepository;
+import br.com.codart.src.repository.SlotRepository;
+import br.com.codart.src.service.ISlotService;
+import br.com.codart.src.service.event.SlotEventBus;
+import br.com.codart.src.service.impl.ScheduleServiceImpl;
+import br.com.codart.src.service.impl.SlotServiceImpl;
+import br.com.codart.src.service.message.ResourceMessage;
+import br.com.codart.src.service.metrics.MeteredSlotService;
+import br.com.codart.src.service.metrics.SlotMetrics;
+import br.com.codart.src.service.query.AvailabilityProjection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleHttpServerTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+
+    private ScheduleHttpServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SlotMetrics metrics = new SlotMetrics(1);
+        ISlotService slotService = new MeteredSlotService(new SlotServiceImpl(new SlotRepository()), metrics);
+        ScheduleServiceImpl scheduleService = new ScheduleServiceImpl(new ScheduleRepository(), slotService);
+        server = ScheduleHttpServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), scheduleService, slotService,
+                null, metrics);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + path);
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> createSchedule(long id, String start, String end, int slotMinutes) throws Exception {
+        return post("/schedules?id=" + id + "&day=" + DAY + "&start=" + start + "&end=" + end + "&slotMinutes=" + slotMinutes);
+    }
+
+    private static long slotId(long scheduleId, int hour, int minute) {
+        return WeeklyScheduleTemplate.slotIdOf(scheduleId, DAY.atTime(hour, minute));
+    }
+
+    @Nested
+    @DisplayName("Teste dos endpoints de agenda")
+    class ScheduleEndpointTest {
+
+        @Test
+        @DisplayName("Deve criar a agenda e listar os horários disponíveis")
+        void shouldCreateScheduleAndListAvailableSlots() throws Exception {
+            HttpResponse<String> created = createSchedule(1, "08:00", "09:00", 20);
+
+            assertEquals(201, created.statusCode());
+            assertTrue(created.body().contains("\"status\":\"ACTIVE\""));
+            assertTrue(created.body().contains("\"availableSlots\":3"));
+
+            HttpResponse<String> available = get("/schedules/1/available?from=" + DAY);
+
+            assertEquals(200, available.statusCode());
+            assertTrue(available.body().contains("\"slotId\":" + slotId(1, 8, 20)));
+            assertEquals(3, available.body().split("\"slotId\"").length - 1);
+        }
+
+        @Test
+        @DisplayName("Deve listar os horários disponíveis de várias agendas")
+        void shouldListAvailableSlotsOfManySchedules() throws Exception {
+            createSchedule(1, "08:00", "09:00", 20);
+            createSchedule(2, "08:10", "09:10", 20);
+
+            HttpResponse<String> available = get("/schedules/available?ids=1,2&from=" + DAY);
+
+            assertEquals(200, available.statusCode());
+            assertEquals(6, available.body().split("\"slotId\"").length - 1);
+            assertTrue(available.body().indexOf("\"slotId\":" + slotId(2, 8, 10)) < available.body().indexOf("\"slotId\":" + slotId(1, 8, 20)));
+        }
+
+        @Test
+        @DisplayName("Deve buscar os próximos horários disponíveis em várias agendas")
+        void shouldFindNextAvailableSlotsAcrossSchedules() throws Exception {
+            createSchedule(1, "08:00", "09:00", 20);
+            createSchedule(2, "08:10", "09:10", 20);
+
+            HttpResponse<String> next = get("/schedules/next?ids=1,2&after=" + DAY.atTime(8, 0) + "&minutes=20&limit=3");
+
+            assertEquals(200, next.statusCode());
+            assertTrue(next.body().startsWith("[{\"scheduleId\":1,\"slot\":{\"slotId\":" + slotId(1, 8, 0)));
+            assertEquals(3, next.body().split("\"slotId\"").length - 1);
+            assertEquals(404, get("/schedules/next?ids=1,99&after=" + DAY.atTime(8, 0) + "&minutes=20&limit=3").statusCode());
+            assertEquals(400, get("/schedules/next?ids=1,x&after=" + DAY.atTime(8, 0) + "&minutes=20&limit=3").statusCode());
+        }
+
+        @Test
+        @DisplayName("Deve recusar agenda duplicada ou com parâmetros inválidos")
+        void shouldRejectDuplicateOrInvalidSchedule() throws Exception {
+            createSchedule(1, "08:00", "09:00", 20);
+
+            HttpResponse<String> duplicate = createSchedule(1, "10:00", "11:00", 20);
+            HttpResponse<String> invalid = post("/schedules?id=2&day=amanha&start=08:00&end=09:00&slotMinutes=20");
+
+            assertEquals(400, duplicate.statusCode());
+            assertTrue(duplicate.body().contains(ResourceMessage.SCHEDULE_EXISTS.getMessage()));
+            assertEquals(400, invalid.statusCode());
+        }
+
+        @Test
+        @DisplayName("Deve responder 400 para períodos de disponibilidade maiores que o limite")
+        void shouldRejectLongRanges() throws Exception {
+            createSchedule(1, "08:00", "09:00", 20);
+
+            HttpResponse<String> single = get("/schedules/1/available?from=" + DAY + "&to=" + DAY.plusDays(400));
+            HttpResponse<String> many = get("/schedules/available?ids=1&from=" + DAY + "&to=9999-12-31");
+
+            assertEquals(400, single.statusCode());
+            assertTrue(single.body().contains(ResourceMessage.DATE_RANGE_TOO_LONG.getMessage()));
+            assertEquals(400, many.statusCode());
+            assertEquals(200, get("/schedules/1/available?from=" + DAY + "&to=" + DAY.plusDays(365)).statusCode());
+        }
+
+        @Test
+        @DisplayName("Deve responder a disponibilidade no mesmo formato com e sem projeção")
+        void shouldAnswerSameShapeWithProjection() throws Exception {
+            createSchedule(1, "08:00", "09:00", 20);
+            String direct = get("/schedules/1/available?from=" + DAY).body();
+
+            SlotEventBus bus = new SlotEventBus();
+            ISlotService slotService = new SlotServiceImpl(new SlotRepository());
+            ScheduleRepository scheduleRepository = new ScheduleRepository(bus);
+            ScheduleServiceImpl scheduleService = new ScheduleServiceImpl(scheduleRepository, slotService);
+            scheduleService.createSchedule(1L, DAY, LocalTime.of(8, 0), LocalTime.of(9, 0), 20);
+            try (AvailabilityProjection projection = new AvailabilityProjection(bus, scheduleRepository);
+                 ScheduleHttpServer projected = ScheduleHttpServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                         scheduleService, slotService, projection, null)) {
+                URI uri = URI.create("http://localhost:" + projected.getAddress().getPort() + "/schedules/1/available?from=" + DAY);
+                HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofString());
+
+                assertEquals(direct, response.body());
+            }
+        }
+
+        @Test
+        @DisplayName("Deve responder 404 para agenda inexistente")
+        void shouldReturnNotFoundForMissingSchedule() throws Exception {
+            assertEquals(404, get("/schedules/99").statusCode());
+            assertEquals(404, get("/schedules/99/available?from=" + DAY).statusCode());
+            assertEquals(404, get("/schedules/abc").statusCode());
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste dos endpoints de slot")
+    class SlotEndpointTest {
+
+        @Test
+        @DisplayName("Deve reservar um slot e retirá-lo dos disponíveis")
+        void shouldReserveSlot() throws Exception {
+            createSchedule(1, "08:00", "09:00", 20);
+            long slotId = slotId(1, 8, 0);
+
+            HttpResponse<String> reserved = post("/slots/" + slotId + "/reserve");
+            HttpResponse<String> again = post("/slots/" + slotId + "/reserve");
+
+            assertEquals(200, reserved.statusCode());
+            assertTrue(reserved.body().contains("\"status\":\"RESERVED\""));
+            assertEquals(409, again.statusCode());
+            assertTrue(again.body().contains(ResourceMessage.NOT_AVAILABLE.getMessage()));
+            assertEquals(2, get("/schedules/1/available?from=" + DAY).body().split("\"slotId\"").length - 1);
+        }
+
+        @Test
+        @DisplayName("Deve devolver a mesma resposta ao repetir a reserva com a mesma chave de idempotência")
+        void shouldReplayReservationWithIdempotencyKey() throws Exception {
+            createSchedule(1, "08:00", "09:00", 20);
+            long slotId = slotId(1, 8, 0);
+            HttpRequest request = HttpRequest.newBuilder(uri("/slots/" + slotId + "/reserve"))
+                    .header("Idempotency-Key", "celular-42").POST(HttpRequest.BodyPublishers.noBody()).build();
+
+            HttpResponse<String> first = client.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> withoutKey = post("/slots/" + slotId + "/reserve");
+            HttpResponse<String> cancelled = post("/slots/" + slotId + "/cancel");
+            HttpResponse<String> retry = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(200, first.statusCode());
+            assertTrue(first.body().contains("\"status\":\"RESERVED\""));
+            assertEquals(409, withoutKey.statusCode());
+            assertEquals(200, cancelled.statusCode());
+            // a repetição devolve a primeira resposta, mesmo com o slot já cancelado
+            assertEquals(200, retry.statusCode());
+            assertEquals(first.body(), retry.body());
+        }
+
+        @Test
+        @DisplayName("Deve bloquear, reabrir, cancelar e reagendar slots")
+        void shouldRunSlotTransitions() throws Exception {
+            createSchedule(1, "08:00", "10:00", 20);
+            long first = slotId(1, 8, 0);
+            long second = slotId(1, 8, 20);
+
+            assertEquals(200, post("/slots/" + first + "/block").statusCode());
+            assertEquals(200, post("/slots/" + first + "/reopen").statusCode());
+            assertEquals(200, post("/slots/" + first + "/reserve").statusCode());
+            assertEquals(200, post("/slots/" + first + "/cancel").statusCode());
+
+            post("/slots/" + second + "/reserve");
+            HttpResponse<String> rescheduled = post("/slots/" + second + "/reschedule?start=" + DAY.atTime(11, 0)
+                    + "&end=" + DAY.atTime(11, 20) + "&durationMinutes=20");
+
+            assertEquals(200, rescheduled.statusCode());
+            assertTrue(rescheduled.body().contains("\"status\":\"RESCHEDULED\""));
+            assertTrue(get("/slots/" + second).body().contains(DAY.atTime(11, 0).toString()));
+        }
+
+        @Test
+        @DisplayName("Deve responder com o status HTTP de cada erro")
+        void shouldMapErrorsToStatusCodes() throws Exception {
+            createSchedule(1, "08:00", "09:00", 20);
+            long slotId = slotId(1, 8, 0);
+
+            assertEquals(404, post("/slots/123/reserve").statusCode());
+            assertEquals(404, post("/slots/" + slotId + "/fly").statusCode());
+            assertEquals(405, get("/slots/" + slotId + "/reserve").statusCode());
+            assertEquals(409, post("/slots/" + slotId + "/cancel").statusCode());
+            assertEquals(400, post("/slots/" + slotId + "/reschedule?start=ontem").statusCode());
+        }
+
+        @Test
+        @DisplayName("Deve expor em texto as reservas por resultado e as latências")
+        void shouldExposeMetricsAsText() throws Exception {
+            createSchedule(1, "08:00", "09:00", 20);
+            long slotId = slotId(1, 8, 0);
+            post("/slots/" + slotId + "/reserve");
+            post("/slots/" + slotId + "/reserve");
+
+            HttpResponse<String> metrics = get("/metrics");
+
+            assertEquals(200, metrics.statusCode());
+            assertTrue(metrics.headers().firstValue("Content-Type").orElse("").startsWith("text/plain"));
+            assertTrue(metrics.body().contains("slot_operations_total{operation=\"RESERVE\",outcome=\"SUCCESS\"} 1\n"));
+            assertTrue(metrics.body().contains("slot_operations_total{operation=\"RESERVE\",outcome=\"NOT_AVAILABLE\"} 1\n"));
+            assertTrue(metrics.body().contains("slot_operation_seconds_count{operation=\"RESERVE\"} 2\n"));
+            assertEquals(405, post("/metrics").statusCode());
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste de carga contra localhost")
+    class LoadTest {
+
+        @Test
+        @DisplayName("Requisições concorrentes devem reservar cada slot exatamente uma vez")
+        void concurrentReservationsShouldReserveEachSlotOnce() throws Exception {
+            int requests = Integer.getInteger("http.load.requests", 4_000);
+            int concurrency = Integer.getInteger("http.load.concurrency", 256);
+            createSchedule(1, "00:00", "23:55", 5);
+            int slots = 287;
+
+            Semaphore inFlight = new Semaphore(concurrency);
+            AtomicInteger reserved = new AtomicInteger();
+            AtomicInteger conflicts = new AtomicInteger();
+            AtomicInteger errors = new AtomicInteger();
+            List<CompletableFuture<?>> futures = new ArrayList<>(requests);
+
+            for (int i = 0; i < requests; i++) {
+                int slot = i % slots;
+                long slotId = slotId(1, slot * 5 / 60, slot * 5 % 60);
+                HttpRequest request = HttpRequest.newBuilder(uri("/slots/" + slotId + "/reserve"))
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build();
+                inFlight.acquire();
+                futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, error) -> {
+                            inFlight.release();
+                            if (error != null) {
+                                errors.incrementAndGet();
+                            } else if (response.statusCode() == 200) {
+                                reserved.incrementAndGet();
+                            } else if (response.statusCode() == 409) {
+                                conflicts.incrementAndGet();
+                            } else {
+                                errors.incrementAndGet();
+                            }
+                        }));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).handle((ignored, error) -> null).get();
+
+            assertEquals(0, errors.get());
+            assertEquals(slots, reserved.get());
+            assertEquals(requests - slots, conflicts.get());
+            assertTrue(get("/schedules/1").body().contains("\"availableSlots\":0"));
+        }
+    }
+}
@@ -5,14 +5,21 @@ import br.com.codart.src.domain.Enum.ScheduleStatusEnum;
 import br.com.codart.src.domain.Enum.SlotStatusEnum;
 import br.com.codart.src.domain.entities.Slot;
 import br.com.codart.src.domain.entities.schedule.Schedule;
+import br.com.codart.src.domain.entities.schedule.ScheduleSnapshot;
 import br.com.codart.src.service.message.ResourceMessage;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -298,4 +305,443 @@ class ScheduleTest {
             assertNotNull(scheduleBuilder);
         }
     }
+    @Nested
+    @DisplayName("Teste de conflitos e consultas de horários da agenda")
+    class SlotIndexTest {
+
+        private final LocalDateTime base = LocalDateTime.now().plusDays(1).withSecond(0).withNano(0);
+
+        private Slot slot(Long id, int startMinutes, int endMinutes) {
+            return Slot.createSlot(id, base.plusMinutes(startMinutes), base.plusMinutes(endMinutes), SlotStatusEnum.AVAILABLE);
+        }
+
+        private Schedule schedule() {
+            List<Slot> times = new ArrayList<>();
+            times.add(slot(1L, 0, 20));
+            times.add(slot(2L, 20, 40));
+            times.add(slot(3L, 60, 80));
+            times.add(slot(4L, 120, 140));
+            return Schedule.createSchedule(1L, base, times);
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção se a agenda for criada com slots sobrepostos")
+        void shouldThrowExceptionIfSlotsOverlap() {
+            List<Slot> times = List.of(slot(1L, 0, 30), slot(2L, 20, 40));
+
+            Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                    Schedule.createSchedule(1L, base, times));
+
+            assertEquals(ResourceMessage.SLOT_OVERLAP.getMessage(), exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Deve retornar os slots ordenados pelo horário de início")
+        void shouldReturnTimesOrderedByStart() {
+            Slot first = slot(1L, 0, 20);
+            Slot second = slot(2L, 20, 40);
+
+            Schedule schedule = Schedule.createSchedule(1L, base, List.of(second, first));
+
+            assertEquals(List.of(first, second), schedule.getTimes());
+        }
+
+        @Test
+        @DisplayName("Deve adicionar slot sem conflito")
+        void shouldAddSlot() {
+            Schedule schedule = schedule();
+
+            schedule.addSlot(slot(5L, 40, 60));
+
+            assertEquals(5, schedule.getTimes().size());
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção ao adicionar slot sobreposto")
+        void shouldThrowExceptionWhenAddingOverlappingSlot() {
+            Schedule schedule = schedule();
+
+            Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                    schedule.addSlot(slot(5L, 70, 90)));
+
+            assertEquals(ResourceMessage.SLOT_OVERLAP.getMessage(), exception.getMessage());
+            assertEquals(4, schedule.getTimes().size());
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção ao adicionar slot de outra agenda")
+        void shouldThrowExceptionWhenAddingSlotOfAnotherSchedule() {
+            Schedule schedule = schedule();
+            Slot owned = schedule.getTimes().get(0);
+            Schedule other = Schedule.createSchedule(2L, base, List.of(slot(9L, 0, 20)));
+
+            Exception exception = assertThrows(IllegalArgumentException.class, () -> other.addSlot(owned));
+
+            assertEquals(ResourceMessage.SLOT_OWNED.getMessage(), exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Deve retornar os slots que intersectam o intervalo")
+        void shouldFindSlotsBetween() {
+            Schedule schedule = schedule();
+
+            List<Slot> slots = schedule.findSlotsBetween(base.plusMinutes(10), base.plusMinutes(65));
+
+            assertEquals(List.of(1L, 2L, 3L), slots.stream().map(Slot::getSlotId).toList());
+            assertTrue(schedule.findSlotsBetween(base.plusMinutes(40), base.plusMinutes(60)).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Deve encontrar o primeiro intervalo livre com a duração mínima")
+        void shouldFindFirstFreeGap() {
+            Schedule schedule = schedule();
+
+            assertEquals(base.plusMinutes(40), schedule.findFirstFreeGap(base, 20));
+            assertEquals(base.plusMinutes(80), schedule.findFirstFreeGap(base, 30));
+            assertEquals(base.plusMinutes(140), schedule.findFirstFreeGap(base, 60));
+            assertEquals(base.plusMinutes(50), schedule.findFirstFreeGap(base.plusMinutes(50), 10));
+        }
+
+        @Test
+        @DisplayName("Deve reagendar slot para horário livre da agenda")
+        void shouldRescheduleSlotToFreeTime() {
+            Slot slot = Slot.createSlot(5L, base.plusMinutes(40), base.plusMinutes(60), SlotStatusEnum.AVAILABLE);
+            Schedule schedule = schedule();
+            schedule.addSlot(slot);
+            slot.reserveSlot();
+
+            slot.rescheduleSlot(base.plusMinutes(90), base.plusMinutes(110), 20);
+
+            assertEquals(List.of(slot), schedule.findSlotsBetween(base.plusMinutes(90), base.plusMinutes(110)));
+            assertTrue(schedule.findSlotsBetween(base.plusMinutes(40), base.plusMinutes(60)).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção ao reagendar slot para horário ocupado")
+        void shouldThrowExceptionWhenReschedulingToOverlappingTime() {
+            Slot slot = Slot.createSlot(5L, base.plusMinutes(40), base.plusMinutes(60), SlotStatusEnum.AVAILABLE);
+            Schedule schedule = schedule();
+            schedule.addSlot(slot);
+            slot.reserveSlot();
+
+            Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                    slot.rescheduleSlot(base.plusMinutes(70), base.plusMinutes(90), 20));
+
+            assertEquals(ResourceMessage.SLOT_OVERLAP.getMessage(), exception.getMessage());
+            assertEquals(SlotStatusEnum.RESERVED, slot.getSlotStatus());
+            assertEquals(base.plusMinutes(40), slot.getStartTime());
+            assertEquals(List.of(slot), schedule.findSlotsBetween(base.plusMinutes(40), base.plusMinutes(60)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste de busca de horários disponíveis")
+    class AvailabilityTest {
+
+        private final LocalDate day = LocalDate.now().plusDays(1);
+
+        private Slot slot(Long id, LocalDateTime start, int minutes) {
+            return Slot.createSlot(id, start, start.plusMinutes(minutes), SlotStatusEnum.AVAILABLE);
+        }
+
+        @Test
+        @DisplayName("Deve retornar apenas os slots disponíveis dos dias consultados")
+        void shouldFindAvailableSlotsInRange() {
+            Slot first = slot(1L, day.atTime(8, 0), 20);
+            Slot second = slot(2L, day.atTime(8, 20), 20);
+            Slot nextDay = slot(3L, day.plusDays(1).atTime(9, 0), 20);
+            Slot later = slot(4L, day.plusDays(5).atTime(9, 0), 20);
+            Schedule schedule = Schedule.createSchedule(1L, day.atStartOfDay(), List.of(first, second, nextDay, later));
+
+            second.reserveSlot();
+
+            assertEquals(List.of(first, nextDay), schedule.findAvailableSlots(day, day.plusDays(1)));
+            assertEquals(List.of(later), schedule.findAvailableSlots(day.plusDays(2), day.plusDays(14)));
+        }
+
+        @Test
+        @DisplayName("Deve refletir as transições dos slots na disponibilidade")
+        void shouldTrackSlotTransitions() {
+            Slot slot = slot(1L, day.atTime(10, 0), 30);
+            Schedule schedule = Schedule.createSchedule(1L, day.atStartOfDay(), List.of(slot));
+
+            slot.blockSlot();
+            assertTrue(schedule.findAvailableSlots(day, day).isEmpty());
+
+            slot.reopenSlot();
+            assertEquals(List.of(slot), schedule.findAvailableSlots(day, day));
+        }
+
+        @Test
+        @DisplayName("Deve considerar slot que atravessa a meia-noite nos dois dias")
+        void shouldFindSlotCrossingMidnight() {
+            Slot slot = slot(1L, day.atTime(23, 40), 40);
+            Schedule schedule = Schedule.createSchedule(1L, day.atStartOfDay(), List.of(slot));
+
+            assertEquals(List.of(slot), schedule.findAvailableSlots(day, day));
+            assertEquals(List.of(slot), schedule.findAvailableSlots(day.plusDays(1), day.plusDays(1)));
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção se o intervalo de dias for inválido")
+        void shouldThrowExceptionIfRangeIsInvalid() {
+            Schedule schedule = Schedule.createSchedule(1L, day.atStartOfDay(), List.of(slot(1L, day.atTime(8, 0), 20)));
+
+            Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                    schedule.findAvailableSlots(day.plusDays(1), day));
+
+            assertEquals(ResourceMessage.SCHEDULE_INVALID.getMessage(), exception.getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste de status calculado pelos contadores de slots")
+    class StatusCounterTest {
+
+        private final LocalDateTime base = LocalDate.now().plusDays(1).atTime(8, 0);
+
+        private Schedule schedule(int slots) {
+            List<Slot> times = new ArrayList<>();
+            for (int i = 0; i < slots; i++) {
+                times.add(Slot.createSlot((long) i + 1, base.plusMinutes(i * 10L), base.plusMinutes(i * 10L + 10), SlotStatusEnum.AVAILABLE));
+            }
+            return Schedule.createSchedule(1L, base, times);
+        }
+
+        @Test
+        @DisplayName("Deve ficar bloqueada quando todos os slots forem bloqueados")
+        void shouldBeBlockedWhenAllSlotsAreBlocked() {
+            Schedule schedule = schedule(3);
+
+            schedule.getTimes().forEach(Slot::blockSlot);
+
+            assertEquals(ScheduleStatusEnum.BLOCKED, schedule.getStatus());
+            assertEquals(3, schedule.countSlots(SlotStatusEnum.BLOCKED));
+
+            schedule.getTimes().get(1).reopenSlot();
+
+            assertEquals(ScheduleStatusEnum.ACTIVE, schedule.getStatus());
+            assertEquals(1, schedule.countSlots(SlotStatusEnum.AVAILABLE));
+        }
+
+        @Test
+        @DisplayName("Deve continuar ativa com slots reservados mesmo sem slots disponíveis")
+        void shouldStayActiveWithReservedSlots() {
+            Schedule schedule = schedule(2);
+            schedule.getTimes().get(0).reserveSlot();
+            schedule.getTimes().get(1).blockSlot();
+
+            assertEquals(ScheduleStatusEnum.ACTIVE, schedule.getStatus());
+            assertEquals(1, schedule.countSlots(SlotStatusEnum.RESERVED));
+        }
+
+        @Test
+        @DisplayName("Deve continuar ativa quando todos os slots estiverem reservados")
+        void shouldStayActiveWhenFullyBooked() {
+            Schedule schedule = schedule(2);
+            schedule.getTimes().forEach(Slot::reserveSlot);
+
+            assertEquals(ScheduleStatusEnum.ACTIVE, schedule.getStatus());
+        }
+
+        @Test
+        @DisplayName("Deve deixar de ficar ativa quando todos os slots forem cancelados ou bloqueados")
+        void shouldNotBeActiveWithoutActiveSlots() {
+            Schedule schedule = schedule(2);
+            schedule.getTimes().get(0).reserveSlot();
+            schedule.getTimes().get(0).cancelSlot();
+            schedule.getTimes().get(1).blockSlot();
+
+            assertEquals(ScheduleStatusEnum.CANCELLED, schedule.getStatus());
+        }
+
+        @Test
+        @DisplayName("Deve contar slots adicionados e reagendados")
+        void shouldCountAddedAndRescheduledSlots() {
+            Schedule schedule = schedule(1);
+            Slot added = Slot.createSlot(9L, base.plusHours(2), base.plusHours(3), SlotStatusEnum.AVAILABLE);
+            schedule.addSlot(added);
+
+            added.reserveSlot();
+            added.rescheduleSlot(base.plusHours(4), base.plusHours(5), 60);
+
+            assertEquals(1, schedule.countSlots(SlotStatusEnum.AVAILABLE));
+            assertEquals(0, schedule.countSlots(SlotStatusEnum.RESERVED));
+            assertEquals(1, schedule.countSlots(SlotStatusEnum.RESCHEDULED));
+        }
+
+        @Test
+        @DisplayName("Deve manter o status definido na criação de agenda bloqueada")
+        void shouldKeepBlockedStatusFromFactory() {
+            List<Slot> times = List.of(Slot.createSlot(1L, base, base.plusMinutes(10), SlotStatusEnum.AVAILABLE));
+
+            assertEquals(ScheduleStatusEnum.BLOCKED, Schedule.blockSchedule(1L, base, times).getStatus());
+        }
+
+        @Test
+        @DisplayName("Contadores devem ficar corretos com transições concorrentes")
+        void countersShouldStayConsistentUnderConcurrency() throws Exception {
+            Schedule schedule = schedule(100);
+            List<Slot> slots = schedule.getTimes();
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    futures.add(executor.submit(() -> {
+                        for (int round = 0; round < 50; round++) {
+                            for (Slot slot : slots) {
+                                try {
+                                    slot.blockSlot();
+                                    slot.reopenSlot();
+                                } catch (IllegalStateException ignored) {
+                                    // outra thread venceu a transição
+                                }
+                            }
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            for (SlotStatusEnum status : SlotStatusEnum.values()) {
+                long expected = slots.stream().filter(slot -> slot.getSlotStatus() == status).count();
+                assertEquals(expected, schedule.countSlots(status), status.name());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste das versões imutáveis da agenda")
+    class SnapshotTest {
+
+        private final LocalDateTime base = LocalDate.now().plusDays(1).atTime(8, 0);
+
+        private Schedule schedule(int slots) {
+            List<Slot> times = new ArrayList<>();
+            for (int i = 0; i < slots; i++) {
+                times.add(Slot.createSlot((long) i + 1, base.plusMinutes(i * 10L), base.plusMinutes(i * 10L + 10), SlotStatusEnum.AVAILABLE));
+            }
+            return Schedule.createSchedule(1L, base, times);
+        }
+
+        private List<Long> ids(List<ScheduleSnapshot.SlotState> states) {
+            return states.stream().map(ScheduleSnapshot.SlotState::getSlotId).collect(Collectors.toList());
+        }
+
+        @Test
+        @DisplayName("Deve manter o status da versão lida depois de uma transição")
+        void shouldKeepStatusOfReadVersion() {
+            Schedule schedule = schedule(3);
+            ScheduleSnapshot before = schedule.snapshot();
+
+            schedule.getTimes().get(1).reserveSlot();
+            ScheduleSnapshot after = schedule.snapshot();
+
+            assertEquals(SlotStatusEnum.AVAILABLE, before.getSlots().get(1).getSlotStatus());
+            assertEquals(SlotStatusEnum.RESERVED, after.getSlots().get(1).getSlotStatus());
+            assertEquals(before.getVersion() + 1, after.getVersion());
+            assertEquals(3, before.countSlots(SlotStatusEnum.AVAILABLE));
+            assertEquals(1, after.countSlots(SlotStatusEnum.RESERVED));
+        }
+
+        @Test
+        @DisplayName("Deve refletir slots adicionados, reagendados e arquivados")
+        void shouldReflectAddedRescheduledAndEvictedSlots() {
+            LocalDateTime past = LocalDate.now().minusDays(1).atTime(8, 0);
+            Schedule schedule = schedule(2);
+            schedule.addSlot(Slot.createSlot(8L, past, past.plusMinutes(10), SlotStatusEnum.AVAILABLE));
+            Slot added = Slot.createSlot(9L, base.plusHours(2), base.plusHours(3), SlotStatusEnum.AVAILABLE);
+            schedule.addSlot(added);
+
+            assertEquals(List.of(8L, 1L, 2L, 9L), ids(schedule.snapshot().getSlots()));
+
+            added.reserveSlot();
+            added.rescheduleSlot(base.minusHours(2), base.minusHours(1), 60);
+            ScheduleSnapshot rescheduled = schedule.snapshot();
+
+            assertEquals(List.of(8L, 9L, 1L, 2L), ids(rescheduled.getSlots()));
+            assertEquals(SlotStatusEnum.RESCHEDULED, rescheduled.getSlots().get(1).getSlotStatus());
+            assertEquals(base.minusHours(2), rescheduled.getSlots().get(1).getStartTime());
+
+            schedule.evictEndedBefore(LocalDate.now().atStartOfDay());
+
+            assertEquals(List.of(9L, 1L, 2L), ids(schedule.snapshot().getSlots()));
+            assertEquals(4, rescheduled.size());
+        }
+
+        @Test
+        @DisplayName("Deve acompanhar o índice da agenda com milhares de slots")
+        void shouldMatchIndexWithThousandsOfSlots() {
+            Schedule schedule = schedule(2000);
+            List<Slot> slots = schedule.getTimes();
+            for (int i = 0; i < slots.size(); i += 3) {
+                slots.get(i).reserveSlot();
+            }
+            for (int i = 0; i < 300; i++) {
+                LocalDateTime start = base.minusDays(1).plusMinutes(i * 3L);
+                schedule.addSlot(Slot.createSlot(10_000L + i, start, start.plusMinutes(3), SlotStatusEnum.AVAILABLE));
+            }
+
+            ScheduleSnapshot snapshot = schedule.snapshot();
+            LocalDateTime from = base.plusMinutes(5_005);
+            LocalDateTime to = base.plusMinutes(9_000);
+
+            assertEquals(2300, snapshot.size());
+            assertEquals(schedule.getTimes().stream().map(Slot::getSlotId).collect(Collectors.toList()), ids(snapshot.getSlots()));
+            assertEquals(schedule.findSlotsBetween(from, to).stream().map(Slot::getSlotId).collect(Collectors.toList()),
+                    ids(snapshot.findSlotsBetween(from, to)));
+            assertEquals(schedule.countSlots(SlotStatusEnum.RESERVED), snapshot.countSlots(SlotStatusEnum.RESERVED));
+        }
+
+        @Test
+        @DisplayName("Leitores devem ver versões consistentes durante transições concorrentes")
+        void readersShouldSeeConsistentVersionsUnderConcurrency() throws Exception {
+            Schedule schedule = schedule(200);
+            List<Slot> slots = schedule.getTimes();
+            AtomicBoolean running = new AtomicBoolean(true);
+            ExecutorService executor = Executors.newFixedThreadPool(5);
+            try {
+                Future<?> reader = executor.submit(() -> {
+                    long version = -1;
+                    while (running.get()) {
+                        ScheduleSnapshot snapshot = schedule.snapshot();
+                        assertTrue(snapshot.getVersion() >= version);
+                        version = snapshot.getVersion();
+                        int total = 0;
+                        for (SlotStatusEnum status : SlotStatusEnum.values()) {
+                            total += snapshot.countSlots(status);
+                        }
+                        assertEquals(200, total);
+                    }
+                });
+                List<Future<?>> writers = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    writers.add(executor.submit(() -> {
+                        for (int round = 0; round < 20; round++) {
+                            for (Slot slot : slots) {
+                                slot.tryBlock();
+                                slot.tryReopen();
+                            }
+                        }
+                    }));
+                }
+                for (Future<?> writer : writers) {
+                    writer.get();
+                }
+                running.set(false);
+                reader.get();
+            } finally {
+                executor.shutdownNow();
+            }
+
+            List<ScheduleSnapshot.SlotState> states = schedule.snapshot().getSlots();
+            for (int i = 0; i < slots.size(); i++) {
+                assertEquals(slots.get(i).getSlotStatus(), states.get(i).getSlotStatus());
+            }
+        }
+    }
 }
@@ -0,0 +1,215 @@
+package br.com.codart.domain.entities.schedule;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.domain.entities.schedule.Schedule;
+import br.com.codart.src.domain.entities.schedule.WeeklyScheduleTemplate;
+import br.com.codart.src.service.message.ResourceMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeeklyScheduleTemplateTest {
+
+    private static final LocalDate MONDAY = LocalDate.now().plusWeeks(1).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+    private static WeeklyScheduleTemplate.Builder morning() {
+        return new WeeklyScheduleTemplate.Builder()
+                .slotMinutes(20)
+                .weekdays(LocalTime.of(8, 0), LocalTime.of(12, 0));
+    }
+
+    @Nested
+    @DisplayName("Teste de geração de slots do modelo semanal")
+    class GenerationTest {
+
+        @Test
+        @DisplayName("Deve gerar os slots de segunda a sexta")
+        void shouldGenerateWeekdaySlots() {
+            List<Slot> slots = morning().build().slots(MONDAY, MONDAY.plusDays(6)).toList();
+
+            assertEquals(5 * 12, slots.size());
+            assertEquals(MONDAY.atTime(8, 0), slots.get(0).getStartTime());
+            assertEquals(MONDAY.atTime(8, 20), slots.get(0).getEndTime());
+            assertEquals(MONDAY.plusDays(4).atTime(11, 40), slots.get(slots.size() - 1).getStartTime());
+            assertTrue(slots.stream().allMatch(slot -> slot.getSlotStatus() == SlotStatusEnum.AVAILABLE));
+        }
+
+        @Test
+        @DisplayName("Não deve gerar slots nos feriados")
+        void shouldSkipHolidays() {
+            WeeklyScheduleTemplate template = morning().except(MONDAY.plusDays(2)).build();
+
+            List<Slot> slots = template.slots(MONDAY, MONDAY.plusDays(6)).toList();
+
+            assertEquals(4 * 12, slots.size());
+            assertTrue(slots.stream().noneMatch(slot -> slot.getStartTime().toLocalDate().equals(MONDAY.plusDays(2))));
+        }
+
+        @Test
+        @DisplayName("Deve gerar várias janelas no mesmo dia sem slot incompleto")
+        void shouldGenerateSeveralWindows() {
+            WeeklyScheduleTemplate template = new WeeklyScheduleTemplate.Builder()
+                    .slotMinutes(25)
+                    .window(EnumSet.of(DayOfWeek.MONDAY), LocalTime.of(14, 0), LocalTime.of(15, 0))
+                    .window(EnumSet.of(DayOfWeek.MONDAY), LocalTime.of(8, 0), LocalTime.of(9, 0))
+                    .build();
+
+            List<LocalDateTime> starts = template.slots(MONDAY, MONDAY).map(Slot::getStartTime).toList();
+
+            assertEquals(List.of(MONDAY.atTime(8, 0), MONDAY.atTime(8, 25), MONDAY.atTime(14, 0), MONDAY.atTime(14, 25)), starts);
+        }
+
+        @Test
+        @DisplayName("Deve gerar os mesmos slots em paralelo e sequencialmente")
+        void shouldGenerateSameSlotsInParallel() {
+            WeeklyScheduleTemplate template = morning().build();
+
+            List<String> sequential = template.slots(MONDAY, MONDAY.plusDays(365)).map(Slot::toString).toList();
+            List<String> parallel = template.slots(MONDAY, MONDAY.plusDays(365)).parallel().map(Slot::toString).toList();
+
+            assertEquals(sequential, parallel);
+        }
+
+        @Test
+        @DisplayName("Deve gerar ids determinísticos")
+        void shouldGenerateDeterministicIds() {
+            WeeklyScheduleTemplate template = morning().build();
+
+            Slot generated = template.slots(7L, MONDAY, MONDAY).findFirst().orElseThrow();
+            Slot onDemand = template.slotAt(7L, MONDAY.atTime(8, 0)).orElseThrow();
+
+            assertEquals(generated.getSlotId(), onDemand.getSlotId());
+            assertEquals(WeeklyScheduleTemplate.slotIdOf(7L, MONDAY.atTime(8, 0)), generated.getSlotId());
+        }
+
+        @Test
+        @DisplayName("Deve retornar vazio para horário fora do modelo")
+        void shouldReturnEmptyForTimeOutsideTemplate() {
+            WeeklyScheduleTemplate template = morning().build();
+
+            assertTrue(template.slotAt(1L, MONDAY.atTime(8, 10)).isEmpty());
+            assertTrue(template.slotAt(1L, MONDAY.atTime(12, 0)).isEmpty());
+            assertTrue(template.slotAt(1L, MONDAY.plusDays(5).atTime(8, 0)).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção se o modelo não tiver janelas")
+        void shouldThrowExceptionIfTemplateHasNoWindows() {
+            Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                    new WeeklyScheduleTemplate.Builder().slotMinutes(20).build());
+
+            assertEquals(ResourceMessage.SCHEDULE_INVALID.getMessage(), exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção se as janelas se sobrepuserem")
+        void shouldThrowExceptionIfWindowsOverlap() {
+            Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                    morning().window(EnumSet.of(DayOfWeek.MONDAY), LocalTime.of(11, 0), LocalTime.of(13, 0)).build());
+
+            assertEquals(ResourceMessage.SLOT_OVERLAP.getMessage(), exception.getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste de agenda recorrente")
+    class RecurringScheduleTest {
+
+        @Test
+        @DisplayName("Deve gerar slots apenas para o período consultado")
+        void shouldMaterializeOnlyQueriedDays() {
+            Schedule schedule = Schedule.createRecurringSchedule(1L, MONDAY.atStartOfDay(), morning().build());
+
+            assertTrue(schedule.getTimes().isEmpty());
+
+            List<Slot> available = schedule.findAvailableSlots(MONDAY.plusDays(1), MONDAY.plusDays(1));
+
+            assertEquals(12, available.size());
+            assertEquals(12, schedule.getTimes().size());
+        }
+
+        @Test
+        @DisplayName("Deve encontrar e reservar horário ainda não gerado")
+        void shouldReserveSlotNotYetMaterialized() {
+            Schedule schedule = Schedule.createRecurringSchedule(1L, MONDAY.atStartOfDay(), morning().build());
+
+            Slot slot = schedule.findSlotAt(MONDAY.plusDays(3).atTime(9, 0)).orElseThrow();
+            slot.reserveSlot();
+
+            assertEquals(11, schedule.findAvailableSlots(MONDAY.plusDays(3), MONDAY.plusDays(3)).size());
+            assertTrue(schedule.findSlotAt(MONDAY.plusDays(3).atTime(9, 10)).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Deve manter slot adicionado manualmente no lugar do horário do modelo")
+        void shouldKeepManualSlotOverTemplate() {
+            Schedule schedule = Schedule.createRecurringSchedule(1L, MONDAY.atStartOfDay(), morning().build());
+            Slot manual = Slot.createSlot(1L, MONDAY.atTime(8, 10), MONDAY.atTime(8, 50), SlotStatusEnum.AVAILABLE);
+            schedule.addSlot(manual);
+
+            List<Slot> slots = schedule.findSlotsBetween(MONDAY.atTime(8, 0), MONDAY.atTime(9, 0));
+
+            assertEquals(List.of(manual), slots);
+        }
+
+        @Test
+        @DisplayName("Deve gerar apenas o dia do slot encontrado ao buscar o próximo horário disponível")
+        void shouldMaterializeOnlyFoundDayWhenSearchingNextSlot() {
+            Schedule schedule = Schedule.createRecurringSchedule(1L, MONDAY.atStartOfDay(), morning().build());
+            LocalDateTime saturday = MONDAY.plusDays(5).atTime(9, 0);
+
+            Slot next = schedule.findNextAvailableSlot(saturday, saturday.plusDays(365), 20).orElseThrow();
+
+            assertEquals(MONDAY.plusWeeks(1).atTime(8, 0), next.getStartTime());
+            assertEquals(12, schedule.getTimes().size());
+        }
+
+        @Test
+        @DisplayName("Não deve gerar dias quando o modelo não atende à duração buscada")
+        void shouldNotMaterializeWhenTemplateCannotMatch() {
+            Schedule schedule = Schedule.createRecurringSchedule(1L, MONDAY.atStartOfDay(), morning().build());
+            Slot manual = Slot.createSlot(1L, MONDAY.plusDays(40).atTime(14, 0), MONDAY.plusDays(40).atTime(15, 0),
+                    SlotStatusEnum.AVAILABLE);
+            schedule.addSlot(manual);
+
+            Slot next = schedule.findNextAvailableSlot(MONDAY.atStartOfDay(), MONDAY.plusDays(365).atStartOfDay(), 60)
+                    .orElseThrow();
+
+            assertSame(manual, next);
+            assertEquals(1, schedule.getTimes().size());
+        }
+
+        @Test
+        @DisplayName("Deve gerar os dias percorridos ao buscar o primeiro intervalo livre")
+        void shouldMaterializeDaysWhenSearchingFreeGap() {
+            Schedule schedule = Schedule.createRecurringSchedule(1L, MONDAY.atStartOfDay(), morning().build());
+
+            assertEquals(MONDAY.atTime(12, 0), schedule.findFirstFreeGap(MONDAY.atTime(8, 0), 20));
+            // de segunda a quinta o intervalo entre 12:00 e 08:00 tem 20 horas; o de sexta vai até segunda
+            assertEquals(MONDAY.plusDays(4).atTime(12, 0), schedule.findFirstFreeGap(MONDAY.atTime(8, 0), 24 * 60));
+            assertEquals(60, schedule.findSlotsBetween(MONDAY.atStartOfDay(), MONDAY.plusDays(5).atStartOfDay()).size());
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção se nenhum intervalo livre couber no período de busca")
+        void shouldThrowWhenNoFreeGapFits() {
+            Schedule schedule = Schedule.createRecurringSchedule(1L, MONDAY.atStartOfDay(), morning().build());
+
+            Exception exception = assertThrows(IllegalArgumentException.class,
+                    () -> schedule.findFirstFreeGap(MONDAY.atTime(8, 0), 8 * 24 * 60));
+
+            assertEquals(ResourceMessage.SCHEDULE_INVALID.getMessage(), exception.getMessage());
+        }
+    }
+}
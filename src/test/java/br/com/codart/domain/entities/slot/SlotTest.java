@@ -1,13 +1,24 @@
 package br.com.codart.domain.entities.slot;
 
 import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.Enum.SlotTransitionEnum;
+import br.com.codart.src.domain.Enum.SlotTransitionOutcomeEnum;
 import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.domain.entities.SlotOwner;
 import br.com.codart.src.service.message.ResourceMessage;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -372,4 +383,257 @@ class SlotTest {
 
     }
 
+    @Nested
+    @DisplayName("Teste de concorrência das transições do slot")
+    class SlotConcurrencyTest {
+
+        private static final int THREADS = 64;
+        private static final int ROUNDS = 200;
+
+        /**
+         * Dispara a ação em todas as threads ao mesmo tempo e conta quantas terminaram sem exceção.
+         */
+        private int race(ExecutorService executor, Runnable action) throws Exception {
+            CountDownLatch ready = new CountDownLatch(THREADS);
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger winners = new AtomicInteger();
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    try {
+                        action.run();
+                        winners.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        assertEquals(ResourceMessage.NOT_AVAILABLE.getMessage(), e.getMessage());
+                    }
+                    return null;
+                }));
+            }
+            ready.await();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return winners.get();
+        }
+
+        @Test
+        @DisplayName("Deve permitir apenas uma reserva com 64 threads disputando o mesmo slot")
+        void shouldAllowExactlyOneReservation() throws Exception {
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            try {
+                for (int round = 0; round < ROUNDS; round++) {
+                    Slot slot = Slot.createSlot(1L, LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2), SlotStatusEnum.AVAILABLE);
+
+                    int winners = race(executor, slot::reserveSlot);
+
+                    assertEquals(1, winners, "Apenas uma reserva deveria vencer.");
+                    assertEquals(SlotStatusEnum.RESERVED, slot.getSlotStatus());
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste de reagendamento concorrente com cancelamento")
+    class RescheduleRaceTest {
+
+        private final LocalDateTime start = LocalDateTime.now().plusHours(1);
+        private final LocalDateTime end = start.plusHours(1);
+        private final List<String> transitions = new ArrayList<>();
+
+        /**
+         * Dono que cancela o slot enquanto o reagendamento está em andamento, como faria uma
+         * thread concorrente, e depois aceita ou rejeita o novo horário.
+         */
+        private Slot reservedSlotCancelledDuringReschedule(boolean rejectNewTime) {
+            Slot slot = Slot.createSlot(1L, start, end, SlotStatusEnum.RESERVED);
+            AtomicInteger moves = new AtomicInteger();
+            slot.attachOwner(new SlotOwner() {
+                @Override
+                public void beforeReschedule(Slot target, LocalDateTime newStartTime, LocalDateTime newEndTime) {
+                    if (moves.getAndIncrement() == 0) {
+                        assertEquals(SlotTransitionOutcomeEnum.SUCCESS, target.tryCancel());
+                        if (rejectNewTime) {
+                            throw new IllegalArgumentException(ResourceMessage.SLOT_OVERLAP.getMessage());
+                        }
+                    }
+                }
+
+                @Override
+                public void onTransition(Slot target, SlotStatusEnum from, SlotStatusEnum to) {
+                    transitions.add(from + "->" + to);
+                }
+            });
+            return slot;
+        }
+
+        @Test
+        @DisplayName("Deve manter o cancelamento concorrente quando a agenda rejeitar o novo horário")
+        void shouldKeepCancellationWhenRescheduleIsRejected() {
+            Slot slot = reservedSlotCancelledDuringReschedule(true);
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> slot.rescheduleSlot(start.plusHours(2), end.plusHours(2), 60));
+
+            assertEquals(SlotStatusEnum.CANCELLED, slot.getSlotStatus());
+            assertEquals(List.of("RESERVED->CANCELLED"), transitions);
+            assertEquals(start, slot.getStartTime());
+            assertEquals(end, slot.getEndTime());
+        }
+
+        @Test
+        @DisplayName("Deve desfazer o novo horário quando o cancelamento vencer o reagendamento")
+        void shouldRestoreTimesWhenCancellationWins() {
+            Slot slot = reservedSlotCancelledDuringReschedule(false);
+
+            Exception exception = assertThrows(IllegalStateException.class,
+                    () -> slot.rescheduleSlot(start.plusHours(2), end.plusHours(2), 60));
+
+            assertEquals(ResourceMessage.NOT_RESERVED.getMessage(), exception.getMessage());
+            assertEquals(SlotStatusEnum.CANCELLED, slot.getSlotStatus());
+            assertEquals(List.of("RESERVED->CANCELLED"), transitions);
+            assertEquals(start, slot.getStartTime());
+            assertEquals(end, slot.getEndTime());
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste de retenção do slot")
+    class HoldTest {
+
+        private Slot slot(SlotStatusEnum status) {
+            return Slot.createSlot(1L, LocalDateTime.now().plusHours(2), LocalDateTime.now().plusHours(3), status);
+        }
+
+        @Test
+        @DisplayName("Deve reter e confirmar um slot disponível")
+        void shouldHoldAndConfirm() {
+            Slot slot = slot(SlotStatusEnum.AVAILABLE);
+
+            slot.holdSlot();
+            assertEquals(SlotStatusEnum.HELD, slot.getSlotStatus());
+            slot.confirmHold();
+
+            assertEquals(SlotStatusEnum.RESERVED, slot.getSlotStatus());
+        }
+
+        @Test
+        @DisplayName("Slot retido só deve aceitar confirmação ou liberação")
+        void heldSlotShouldOnlyAcceptConfirmOrRelease() {
+            Slot slot = slot(SlotStatusEnum.AVAILABLE);
+            slot.holdSlot();
+
+            assertThrows(IllegalStateException.class, slot::reserveSlot);
+            assertThrows(IllegalStateException.class, slot::blockSlot);
+            assertThrows(IllegalStateException.class, slot::cancelSlot);
+            assertEquals(SlotTransitionOutcomeEnum.NOT_AVAILABLE, slot.tryApply(SlotTransitionEnum.HOLD));
+            assertEquals(SlotTransitionOutcomeEnum.SUCCESS, slot.tryReleaseHold());
+            assertEquals(SlotStatusEnum.AVAILABLE, slot.getSlotStatus());
+            assertEquals(SlotTransitionOutcomeEnum.NOT_HELD, slot.tryApply(SlotTransitionEnum.CONFIRM));
+        }
+
+        @Test
+        @DisplayName("Deve liberar a retenção de um slot expirado")
+        void shouldReleaseHoldOfExpiredSlot() {
+            Slot slot = Slot.createSlot(1L, LocalDateTime.now().minusHours(2), LocalDateTime.now().minusHours(1), SlotStatusEnum.HELD);
+
+            assertThrows(IllegalStateException.class, slot::confirmHold);
+            slot.releaseHold();
+
+            assertEquals(SlotStatusEnum.AVAILABLE, slot.getSlotStatus());
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste das transições sem exceção")
+    class TryTransitionTest {
+
+        private Slot slot(SlotStatusEnum status) {
+            return Slot.createSlot(1L, LocalDateTime.now().plusHours(2), LocalDateTime.now().plusHours(3), status);
+        }
+
+        @Test
+        @DisplayName("Deve reservar e devolver sucesso")
+        void shouldReserveAndReturnSuccess() {
+            Slot slot = slot(SlotStatusEnum.AVAILABLE);
+
+            assertEquals(SlotTransitionOutcomeEnum.SUCCESS, slot.tryReserve());
+            assertEquals(SlotStatusEnum.RESERVED, slot.getSlotStatus());
+            assertNull(SlotTransitionOutcomeEnum.SUCCESS.getMessage());
+        }
+
+        @Test
+        @DisplayName("Deve devolver a mesma mensagem da exceção ao rejeitar")
+        void shouldReturnSameMessageAsException() {
+            Slot slot = slot(SlotStatusEnum.RESERVED);
+
+            SlotTransitionOutcomeEnum outcome = slot.tryReserve();
+            Exception exception = assertThrows(IllegalStateException.class, slot::reserveSlot);
+
+            assertEquals(SlotTransitionOutcomeEnum.NOT_AVAILABLE, outcome);
+            assertEquals(exception.getMessage(), outcome.getMessage());
+            assertEquals(SlotStatusEnum.RESERVED, slot.getSlotStatus());
+            assertEquals(SlotTransitionOutcomeEnum.BLOCKED, slot(SlotStatusEnum.AVAILABLE).tryCancel());
+            assertEquals(SlotTransitionOutcomeEnum.NOT_RESERVED, slot(SlotStatusEnum.AVAILABLE).tryRelease());
+        }
+
+        @Test
+        @DisplayName("Deve devolver EXPIRED para slot expirado")
+        void shouldReturnExpiredForExpiredSlot() {
+            Slot slot = Slot.createSlot(1L, LocalDateTime.now().minusHours(2), LocalDateTime.now().minusHours(1), SlotStatusEnum.AVAILABLE);
+
+            assertEquals(SlotTransitionOutcomeEnum.EXPIRED, slot.tryReserve());
+            assertEquals(ResourceMessage.SLOT_EXPIRED.getMessage(), slot.tryBlock().getMessage());
+        }
+
+        @Test
+        @DisplayName("Deve considerar o novo horário de término após reagendar")
+        void shouldUseNewEndTimeAfterReschedule() {
+            Slot slot = slot(SlotStatusEnum.AVAILABLE);
+            slot.reserveSlot();
+            slot.rescheduleSlot(LocalDateTime.now().minusHours(2), LocalDateTime.now().minusHours(1), 60);
+
+            assertEquals(SlotTransitionOutcomeEnum.EXPIRED, slot.tryBlock());
+        }
+
+        @Test
+        @DisplayName("Deve devolver INVALID para reagendamento sem horários")
+        void shouldReturnInvalidForReschedule() {
+            assertEquals(SlotTransitionOutcomeEnum.INVALID, slot(SlotStatusEnum.RESERVED).tryApply(SlotTransitionEnum.RESCHEDULE));
+            assertEquals(SlotTransitionOutcomeEnum.INVALID, slot(SlotStatusEnum.RESERVED).tryApply(null));
+        }
+
+        @Test
+        @DisplayName("Não deve alocar memória ao rejeitar")
+        void shouldNotAllocateOnRejection() {
+            if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+                    || !threads.isThreadAllocatedMemorySupported()) {
+                return;
+            }
+            threads.setThreadAllocatedMemoryEnabled(true);
+            Slot slot = slot(SlotStatusEnum.RESERVED);
+            long threadId = Thread.currentThread().threadId();
+            for (int i = 0; i < 10_000; i++) {
+                slot.tryReserve();
+            }
+
+            long before = threads.getThreadAllocatedBytes(threadId);
+            int rejected = 0;
+            for (int i = 0; i < 100_000; i++) {
+                if (slot.tryReserve() == SlotTransitionOutcomeEnum.NOT_AVAILABLE) {
+                    rejected++;
+                }
+            }
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+            assertEquals(100_000, rejected);
+            assertTrue(allocated < 10_000, "Rejeições não deveriam alocar, mas alocaram " + allocated + " bytes.");
+        }
+    }
 }
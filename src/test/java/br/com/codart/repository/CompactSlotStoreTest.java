@@ -0,0 +1,217 @@
+package br.com.codart.repository;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.Enum.SlotTransitionEnum;
+import br.com.codart.src.domain.Enum.SlotTransitionOutcomeEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.repository.CompactSlotStore;
+import br.com.codart.src.service.message.ResourceMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactSlotStoreTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.now().plusDays(1).withSecond(0).withNano(0);
+
+    @Nested
+    @DisplayName("Teste de escrita e leitura do armazenamento compacto")
+    class StorageTest {
+
+        @Test
+        @DisplayName("Deve armazenar e recuperar os dados do slot")
+        void shouldAppendAndReadSlot() {
+            CompactSlotStore store = new CompactSlotStore();
+
+            int index = store.append(10L, BASE, BASE.plusMinutes(20), SlotStatusEnum.AVAILABLE);
+
+            CompactSlotStore.SlotView view = store.view(index);
+            assertEquals(10L, view.getSlotId());
+            assertEquals(BASE, view.getStartTime());
+            assertEquals(BASE.plusMinutes(20), view.getEndTime());
+            assertEquals(SlotStatusEnum.AVAILABLE, view.getSlotStatus());
+        }
+
+        @Test
+        @DisplayName("Deve encontrar slot pelo id")
+        void shouldFindIndexById() {
+            CompactSlotStore store = new CompactSlotStore();
+            for (long id = 1; id <= 1000; id++) {
+                store.append(id * 2, BASE.plusMinutes(id * 10), BASE.plusMinutes(id * 10 + 10), SlotStatusEnum.AVAILABLE);
+            }
+
+            assertEquals(499, store.indexOf(1000L));
+            assertEquals(-1, store.indexOf(1001L));
+        }
+
+        @Test
+        @DisplayName("Deve converter para Slot com os mesmos dados")
+        void shouldMaterializeSlot() {
+            CompactSlotStore store = new CompactSlotStore();
+            Slot original = Slot.createSlot(1L, BASE, BASE.plusMinutes(15), SlotStatusEnum.BLOCKED);
+
+            Slot slot = store.toSlot(store.append(original));
+
+            assertEquals(original.toString(), slot.toString());
+        }
+
+        @Test
+        @DisplayName("O Slot criado deve usar o relógio do armazenamento")
+        void shouldMaterializeSlotWithStoreClock() {
+            ZoneId zone = ZoneId.systemDefault();
+            CompactSlotStore store = new CompactSlotStore(Clock.fixed(BASE.plusDays(1).atZone(zone).toInstant(), zone));
+
+            Slot slot = store.toSlot(store.append(1L, BASE, BASE.plusMinutes(15), SlotStatusEnum.AVAILABLE));
+
+            assertEquals(SlotTransitionOutcomeEnum.EXPIRED, slot.tryReserve());
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção se os ids não forem crescentes")
+        void shouldThrowExceptionIfIdsAreNotIncreasing() {
+            CompactSlotStore store = new CompactSlotStore();
+            store.append(2L, BASE, BASE.plusMinutes(10), SlotStatusEnum.AVAILABLE);
+
+            Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                    store.append(1L, BASE, BASE.plusMinutes(10), SlotStatusEnum.AVAILABLE));
+
+            assertEquals(ResourceMessage.SLOT_INVALID.getMessage(), exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Deve ocupar menos de 24 bytes por slot")
+        void shouldUseLessThan24BytesPerSlot() {
+            CompactSlotStore store = new CompactSlotStore();
+            int total = 1_000_000;
+            for (int i = 1; i <= total; i++) {
+                store.append(i, BASE.plusMinutes(i * 10L), BASE.plusMinutes(i * 10L + 10), SlotStatusEnum.AVAILABLE);
+            }
+
+            assertEquals(total, store.size());
+            // a medida vem dos arrays alocados: pelo menos os bytes de cada slot, mais a sobra da última página
+            assertTrue(store.footprintBytes() >= (long) total * CompactSlotStore.BYTES_PER_SLOT);
+            assertTrue((double) store.footprintBytes() / total < 24, "O armazenamento deveria ocupar menos de 24 bytes por slot.");
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste de transições no armazenamento compacto")
+    class TransitionTest {
+
+        @Test
+        @DisplayName("Deve reservar e cancelar slot pela visão")
+        void shouldReserveAndCancelThroughView() {
+            CompactSlotStore store = new CompactSlotStore();
+            CompactSlotStore.SlotView view = store.view(store.append(1L, BASE, BASE.plusMinutes(10), SlotStatusEnum.AVAILABLE));
+
+            view.reserveSlot();
+            assertEquals(SlotStatusEnum.RESERVED, view.getSlotStatus());
+
+            view.cancelSlot();
+            assertEquals(SlotStatusEnum.CANCELLED, view.getSlotStatus());
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção ao reservar slot já reservado")
+        void shouldThrowExceptionWhenReservingReservedSlot() {
+            CompactSlotStore store = new CompactSlotStore();
+            int index = store.append(1L, BASE, BASE.plusMinutes(10), SlotStatusEnum.RESERVED);
+
+            Exception exception = assertThrows(IllegalStateException.class, () ->
+                    store.transition(index, SlotTransitionEnum.RESERVE));
+
+            assertEquals(ResourceMessage.NOT_AVAILABLE.getMessage(), exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção ao alterar slot expirado")
+        void shouldThrowExceptionWhenSlotIsExpired() {
+            CompactSlotStore store = new CompactSlotStore();
+            LocalDateTime past = LocalDateTime.now().minusHours(2);
+            int index = store.append(1L, past, past.plusMinutes(10), SlotStatusEnum.AVAILABLE);
+
+            Exception exception = assertThrows(IllegalStateException.class, () -> store.view(index).blockSlot());
+
+            assertEquals(ResourceMessage.SLOT_EXPIRED.getMessage(), exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Deve reagendar slot reservado")
+        void shouldRescheduleReservedSlot() {
+            CompactSlotStore store = new CompactSlotStore();
+            CompactSlotStore.SlotView view = store.view(store.append(1L, BASE, BASE.plusMinutes(10), SlotStatusEnum.RESERVED));
+
+            view.rescheduleSlot(BASE.plusHours(1), BASE.plusHours(1).plusMinutes(10), 10);
+
+            assertEquals(BASE.plusHours(1), view.getStartTime());
+            assertEquals(SlotStatusEnum.RESCHEDULED, view.getSlotStatus());
+        }
+
+        @Test
+        @DisplayName("Deve liberar reserva de slot expirado")
+        void shouldReleaseExpiredSlot() {
+            CompactSlotStore store = new CompactSlotStore();
+            LocalDateTime past = LocalDateTime.now().minusHours(2);
+            int index = store.append(1L, past, past.plusMinutes(10), SlotStatusEnum.RESERVED);
+
+            store.transition(index, SlotTransitionEnum.RELEASE);
+
+            assertEquals(SlotStatusEnum.AVAILABLE, store.status(index));
+        }
+
+        @Test
+        @DisplayName("Deve manter os horários quando o reagendamento for rejeitado")
+        void shouldKeepTimesWhenRescheduleIsRejected() {
+            CompactSlotStore store = new CompactSlotStore();
+            CompactSlotStore.SlotView view = store.view(store.append(1L, BASE, BASE.plusMinutes(10), SlotStatusEnum.AVAILABLE));
+
+            Exception exception = assertThrows(IllegalStateException.class,
+                    () -> view.rescheduleSlot(BASE.plusHours(1), BASE.plusHours(1).plusMinutes(10), 10));
+
+            assertEquals(ResourceMessage.NOT_RESERVED.getMessage(), exception.getMessage());
+            assertEquals(BASE, view.getStartTime());
+            assertEquals(BASE.plusMinutes(10), view.getEndTime());
+            assertEquals(SlotStatusEnum.AVAILABLE, view.getSlotStatus());
+        }
+
+        @Test
+        @DisplayName("Leitores que veem RESCHEDULED devem ver os novos horários")
+        void readersShouldSeeNewTimesWithRescheduledStatus() throws Exception {
+            CompactSlotStore store = new CompactSlotStore();
+            int total = 20_000;
+            for (int i = 1; i <= total; i++) {
+                store.append(i, BASE.plusMinutes(i * 10L), BASE.plusMinutes(i * 10L + 10), SlotStatusEnum.RESERVED);
+            }
+            LocalDateTime moved = BASE.minusMinutes(30);
+            int movedMinute = CompactSlotStore.toEpochMinute(moved);
+            AtomicInteger stale = new AtomicInteger();
+            AtomicBoolean done = new AtomicBoolean();
+
+            Thread reader = new Thread(() -> {
+                while (!done.get()) {
+                    for (int index = 0; index < total; index++) {
+                        if (store.status(index) == SlotStatusEnum.RESCHEDULED && store.startEpochMinute(index) != movedMinute) {
+                            stale.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            reader.start();
+            for (int index = 0; index < total; index++) {
+                store.reschedule(index, moved, moved.plusMinutes(10));
+            }
+            done.set(true);
+            reader.join();
+
+            assertEquals(0, stale.get());
+        }
+    }
+}
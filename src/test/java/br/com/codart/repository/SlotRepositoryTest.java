@@ -0,0 +1,173 @@
+package br.com.codart.repository;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.repository.SlotRepository;
+import br.com.codart.src.service.message.ResourceMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotRepositoryTest {
+
+    private static Slot availableSlot(long id) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).plusMinutes(id * 10);
+        return Slot.createSlot(id, start, start.plusMinutes(10), SlotStatusEnum.AVAILABLE);
+    }
+
+    @Nested
+    @DisplayName("Teste de operações do repositório")
+    class CrudTest {
+
+        @Test
+        @DisplayName("Deve salvar e buscar slot pelo id")
+        void shouldSaveAndFindById() {
+            SlotRepository repository = new SlotRepository();
+            Slot slot = availableSlot(1L);
+
+            repository.save(slot);
+
+            assertSame(slot, repository.findById(1L).orElseThrow());
+            assertTrue(repository.findById(2L).isEmpty());
+            assertTrue(repository.findById(null).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Deve retornar todos os slots ordenados pelo id")
+        void shouldFindAllOrderedById() {
+            SlotRepository repository = new SlotRepository();
+            repository.save(availableSlot(3L));
+            repository.save(availableSlot(1L));
+            repository.save(availableSlot(2L));
+
+            assertEquals(List.of(1L, 2L, 3L), repository.findAll().stream().map(Slot::getSlotId).toList());
+        }
+
+        @Test
+        @DisplayName("Deve remover slot pelo id")
+        void shouldDeleteById() {
+            SlotRepository repository = new SlotRepository();
+            repository.save(availableSlot(1L));
+
+            repository.deleteById(1L);
+
+            assertTrue(repository.findById(1L).isEmpty());
+            assertEquals(0, repository.count());
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção ao salvar slot nulo")
+        void shouldThrowExceptionIfSlotIsNull() {
+            SlotRepository repository = new SlotRepository();
+
+            Exception exception = assertThrows(IllegalArgumentException.class, () -> repository.save(null));
+
+            assertEquals(ResourceMessage.SLOT_INVALID.getMessage(), exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção ao alterar slot inexistente")
+        void shouldThrowExceptionWhenUpdatingMissingSlot() {
+            SlotRepository repository = new SlotRepository();
+
+            Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                    repository.update(1L, slot -> slot));
+
+            assertEquals(ResourceMessage.SLOT_NOT_FOUND.getMessage(), exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Deve arredondar a quantidade de faixas para potência de 2")
+        void shouldRoundStripesToPowerOfTwo() {
+            assertEquals(8, new SlotRepository(5).stripeCount());
+            assertEquals(1, new SlotRepository(1).stripeCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste de concorrência do repositório")
+    class ConcurrencyTest {
+
+        private static final int SLOTS_PER_THREAD = 20_000;
+
+        /**
+         * Cada thread reserva apenas os seus próprios slots, então não há disputa entre elas.
+         * A vazão com uma e com várias threads é medida no SlotRepositoryBenchmark.
+         */
+        private SlotRepository reserveInParallel(int threads) throws Exception {
+            SlotRepository repository = new SlotRepository();
+            for (long id = 1; id <= (long) threads * SLOTS_PER_THREAD; id++) {
+                repository.save(availableSlot(id));
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long first = (long) t * SLOTS_PER_THREAD + 1;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (long id = first; id < first + SLOTS_PER_THREAD; id++) {
+                        repository.update(id, slot -> {
+                            slot.reserveSlot();
+                            return slot;
+                        });
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+            return repository;
+        }
+
+        @Test
+        @DisplayName("Deve reservar slots distintos em paralelo sem perder atualizações")
+        void shouldReserveDistinctSlotsInParallel() throws Exception {
+            int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+            SlotRepository repository = reserveInParallel(threads);
+
+            assertEquals(threads * SLOTS_PER_THREAD, repository.count());
+            assertTrue(repository.findAll().stream().allMatch(slot -> slot.getSlotStatus() == SlotStatusEnum.RESERVED));
+        }
+
+        @Test
+        @DisplayName("Deve serializar operações compostas sobre o mesmo slot")
+        void shouldSerializeUpdatesOnSameSlot() throws Exception {
+            SlotRepository repository = new SlotRepository();
+            repository.save(availableSlot(1L));
+            int[] counter = {0};
+
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        repository.update(1L, slot -> counter[0]++);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+
+            assertEquals(80_000, counter[0]);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package br.com.codart.repository.archive;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.repository.archive.SlotArchive;
+import br.com.codart.src.repository.archive.SlotColdStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotArchiveTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2024, 3);
+
+    /**
+     * Slots de 20 minutos, das 8h às 18h, em todos os dias do mês, com ids consecutivos.
+     */
+    private static List<Slot> month(YearMonth month, long firstId) {
+        List<Slot> slots = new ArrayList<>();
+        long id = firstId;
+        for (int day = 1; day <= month.lengthOfMonth(); day++) {
+            for (LocalDateTime start = month.atDay(day).atTime(8, 0); start.getHour() < 18; start = start.plusMinutes(20)) {
+                SlotStatusEnum status = id % 3 == 0 ? SlotStatusEnum.RESERVED : SlotStatusEnum.AVAILABLE;
+                slots.add(Slot.createSlot(id++, start, start.plusMinutes(20), status));
+            }
+        }
+        return slots;
+    }
+
+    private static void assertSameSlot(Slot expected, Slot actual) {
+        assertEquals(expected.getSlotId(), actual.getSlotId());
+        assertEquals(expected.getStartTime(), actual.getStartTime());
+        assertEquals(expected.getEndTime(), actual.getEndTime());
+        assertEquals(expected.getSlotStatus(), actual.getSlotStatus());
+    }
+
+    @Nested
+    @DisplayName("Teste do arquivo mensal")
+    class ArchiveTest {
+
+        @Test
+        @DisplayName("Deve ler os mesmos slots que foram arquivados")
+        void shouldRoundTripSlots() {
+            List<Slot> slots = month(MONTH, 1_000);
+
+            SlotArchive archive = SlotArchive.fromBytes(SlotArchive.of(MONTH, slots).toBytes());
+            List<Slot> read = new ArrayList<>();
+            archive.forEach(read::add);
+
+            assertEquals(slots.size(), archive.size());
+            assertEquals(slots.size(), read.size());
+            for (int i = 0; i < slots.size(); i++) {
+                assertSameSlot(slots.get(i), read.get(i));
+            }
+            assertSameSlot(slots.get(42), archive.findById(slots.get(42).getSlotId()).orElseThrow());
+            assertTrue(archive.findById(1L).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Deve ocupar poucos bytes por slot")
+        void shouldCompressSlots() {
+            List<Slot> slots = month(MONTH, 1_000);
+
+            SlotArchive archive = SlotArchive.of(MONTH, slots);
+
+            // o snapshot usa 37 bytes por slot
+            assertTrue(archive.compressedSize() < slots.size() * 2, "arquivo com " + archive.compressedSize() + " bytes");
+        }
+
+        @Test
+        @DisplayName("Deve substituir slots já arquivados ao mesclar")
+        void shouldReplaceSlotsOnMerge() {
+            List<Slot> slots = month(MONTH, 1_000);
+            Slot first = slots.get(0);
+            Slot cancelled = Slot.createSlot(first.getSlotId(), first.getStartTime(), first.getEndTime(), SlotStatusEnum.CANCELLED);
+
+            SlotArchive merged = SlotArchive.of(MONTH, slots).merge(List.of(cancelled));
+
+            assertEquals(slots.size(), merged.size());
+            assertEquals(SlotStatusEnum.CANCELLED, merged.findById(first.getSlotId()).orElseThrow().getSlotStatus());
+        }
+
+        @Test
+        @DisplayName("Deve recusar slots de outro mês e arquivos corrompidos")
+        void shouldRejectInvalidInput() {
+            List<Slot> april = month(MONTH.plusMonths(1), 1);
+            byte[] bytes = SlotArchive.of(MONTH, month(MONTH, 1)).toBytes();
+            bytes[0] ^= 1;
+
+            assertThrows(IllegalArgumentException.class, () -> SlotArchive.of(MONTH, april));
+            assertThrows(IllegalArgumentException.class, () -> SlotArchive.fromBytes(bytes));
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste da camada fria")
+    class ColdStoreTest {
+
+        private Path directory;
+
+        @BeforeEach
+        void setUp() throws IOException {
+            directory = Files.createTempDirectory("slot-archive");
+        }
+
+        @AfterEach
+        void tearDown() throws IOException {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Deve separar os slots por mês e consultar apenas o período pedido")
+        void shouldQueryByDay() {
+            SlotColdStore store = new SlotColdStore();
+            List<Slot> slots = new ArrayList<>(month(MONTH, 1));
+            slots.addAll(month(MONTH.plusMonths(1), 100_000));
+
+            store.archive(slots);
+            List<Slot> found = store.findByDay(LocalDate.of(2024, 3, 31), LocalDate.of(2024, 4, 1));
+            Map<SlotStatusEnum, Integer> counts = store.countByStatus(MONTH.atDay(1), MONTH.atEndOfMonth());
+
+            assertEquals(List.of(MONTH, MONTH.plusMonths(1)), store.getMonths());
+            assertEquals(slots.size(), store.size());
+            assertEquals(60, found.size());
+            assertEquals(LocalDate.of(2024, 3, 31), found.get(0).getStartTime().toLocalDate());
+            assertEquals(LocalDate.of(2024, 4, 1), found.get(59).getStartTime().toLocalDate());
+            assertEquals(month(MONTH, 1).size(), counts.values().stream().mapToInt(Integer::intValue).sum());
+            assertEquals(100_000L, store.findById(100_000L).orElseThrow().getSlotId());
+        }
+
+        @Test
+        @DisplayName("Deve reabrir os meses gravados no diretório")
+        void shouldReloadFromDirectory() {
+            List<Slot> slots = month(MONTH, 1);
+            new SlotColdStore(directory).archive(slots);
+
+            SlotColdStore reopened = new SlotColdStore(directory);
+
+            assertEquals(List.of(MONTH), reopened.getMonths());
+            assertEquals(slots.size(), reopened.size());
+            assertSameSlot(slots.get(7), reopened.findById(slots.get(7).getSlotId()).orElseThrow());
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package br.com.codart.repository.snapshot;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.repository.SlotRepository;
+import br.com.codart.src.repository.snapshot.SlotSnapshot;
+import br.com.codart.src.repository.wal.SlotLogRecord;
+import br.com.codart.src.repository.wal.SlotWriteAheadLog;
+import br.com.codart.src.service.impl.SlotServiceImpl;
+import br.com.codart.src.service.message.ResourceMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotSnapshotTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+
+    private Path directory;
+    private Path snapshotFile;
+    private Path logFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("slot-snapshot");
+        snapshotFile = directory.resolve("slots.snapshot");
+        logFile = directory.resolve("slots.wal");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * Slot de 30 minutos; os ids de 1 a 10 ficam no primeiro dia, de 11 a 20 no segundo, e assim por diante.
+     */
+    private static Slot slot(long id, SlotStatusEnum status) {
+        LocalDateTime start = DAY.plusDays((id - 1) / 10).atTime(8, 0).plusMinutes(((id - 1) % 10) * 30);
+        return Slot.createSlot(id, start, start.plusMinutes(30), status);
+    }
+
+    private static List<Slot> slots(long count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> slot(id, id % 3 == 0 ? SlotStatusEnum.RESERVED : SlotStatusEnum.AVAILABLE))
+                .toList();
+    }
+
+    @Nested
+    @DisplayName("Teste de leitura do snapshot")
+    class ReadTest {
+
+        @Test
+        @DisplayName("Deve encontrar slots pelo id")
+        void shouldFindSlotById() {
+            SlotSnapshot.write(snapshotFile, slots(50));
+
+            SlotSnapshot snapshot = SlotSnapshot.open(snapshotFile);
+
+            assertEquals(50, snapshot.size());
+            Slot slot = snapshot.findById(27L).orElseThrow();
+            assertEquals(slot(27L, SlotStatusEnum.RESERVED).toString(), slot.toString());
+            assertTrue(snapshot.findById(51L).isEmpty());
+            assertTrue(snapshot.findById(0L).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Deve entregar apenas os slots dos dias consultados")
+        void shouldReadOnlyQueriedDays() {
+            SlotSnapshot.write(snapshotFile, slots(50));
+            SlotSnapshot snapshot = SlotSnapshot.open(snapshotFile);
+
+            List<Long> ids = new ArrayList<>();
+            snapshot.forEachBetween(DAY.plusDays(1), DAY.plusDays(2), slot -> ids.add(slot.getSlotId()));
+
+            assertEquals(LongStream.rangeClosed(11, 30).boxed().toList(), ids);
+        }
+
+        @Test
+        @DisplayName("Deve aceitar um snapshot vazio")
+        void shouldAcceptEmptySnapshot() {
+            SlotSnapshot.write(snapshotFile, List.of());
+
+            SlotSnapshot snapshot = SlotSnapshot.open(snapshotFile);
+
+            assertEquals(0, snapshot.size());
+            assertTrue(snapshot.findById(1L).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção se o arquivo não for um snapshot")
+        void shouldThrowExceptionIfFileIsNotSnapshot() throws IOException {
+            Files.write(snapshotFile, new byte[64]);
+
+            Exception exception = assertThrows(IllegalArgumentException.class, () -> SlotSnapshot.open(snapshotFile));
+
+            assertEquals(ResourceMessage.SNAPSHOT_INVALID.getMessage(), exception.getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste de carregamento sob demanda no repositório")
+    class LazyRepositoryTest {
+
+        @Test
+        @DisplayName("Deve carregar slots do snapshot quando consultados")
+        void shouldLoadSlotsOnDemand() {
+            SlotSnapshot.write(snapshotFile, slots(50));
+            SlotRepository repository = new SlotRepository(SlotSnapshot.open(snapshotFile));
+
+            Slot first = repository.findById(12L).orElseThrow();
+
+            assertSame(first, repository.findById(12L).orElseThrow());
+            assertEquals(10, repository.findByDay(DAY.plusDays(4), DAY.plusDays(4)).size());
+            assertEquals(50, repository.findAll().size());
+        }
+
+        @Test
+        @DisplayName("Não deve recarregar slot removido ou sobrescrever slot alterado")
+        void shouldKeepInMemoryChanges() {
+            SlotSnapshot.write(snapshotFile, slots(20));
+            SlotRepository repository = new SlotRepository(SlotSnapshot.open(snapshotFile));
+
+            repository.deleteById(5L);
+            repository.findById(7L).orElseThrow().reserveSlot();
+
+            assertTrue(repository.findById(5L).isEmpty());
+            List<Slot> firstDay = repository.findByDay(DAY, DAY);
+            assertEquals(9, firstDay.size());
+            assertEquals(SlotStatusEnum.RESERVED, repository.findById(7L).orElseThrow().getSlotStatus());
+            assertEquals(19, repository.count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste de ponto de controle")
+    class CheckpointTest {
+
+        @Test
+        @DisplayName("Deve truncar o log e restaurar a partir do snapshot e do restante do log")
+        void shouldRestoreFromSnapshotAndLogTail() {
+            try (SlotWriteAheadLog log = SlotWriteAheadLog.open(logFile)) {
+                SlotRepository repository = new SlotRepository();
+                SlotServiceImpl service = new SlotServiceImpl(repository, log);
+                LongStream.rangeClosed(1, 30).forEach(id -> service.saveSlot(slot(id, SlotStatusEnum.AVAILABLE)));
+                service.reserveSlot(1L);
+                service.blockSlot(2L);
+
+                SlotSnapshot.checkpoint(repository, log, snapshotFile);
+                assertEquals(0, log.durableBytes());
+
+                service.cancelSlot(1L);
+                service.reserveSlot(15L);
+                service.deleteSlot(30L);
+                service.saveSlot(slot(31L, SlotStatusEnum.AVAILABLE));
+                assertEquals(4L * SlotLogRecord.SIZE, log.durableBytes());
+            }
+
+            SlotRepository restored = new SlotRepository(SlotSnapshot.open(snapshotFile));
+            try (SlotWriteAheadLog log = SlotWriteAheadLog.open(logFile)) {
+                log.restore(restored);
+            }
+
+            assertEquals(SlotStatusEnum.CANCELLED, restored.findById(1L).orElseThrow().getSlotStatus());
+            assertEquals(SlotStatusEnum.BLOCKED, restored.findById(2L).orElseThrow().getSlotStatus());
+            assertEquals(SlotStatusEnum.RESERVED, restored.findById(15L).orElseThrow().getSlotStatus());
+            assertTrue(restored.findById(30L).isEmpty());
+            assertTrue(restored.findById(31L).isPresent());
+            assertEquals(30, restored.count());
+        }
+
+        @Test
+        @DisplayName("Deve manter escritas feitas durante o ponto de controle")
+        void shouldKeepWritesAppendedAfterMark() {
+            try (SlotWriteAheadLog log = SlotWriteAheadLog.open(logFile)) {
+                SlotRepository repository = new SlotRepository();
+                SlotServiceImpl service = new SlotServiceImpl(repository, log);
+                LongStream.rangeClosed(1, 10).forEach(id -> service.saveSlot(slot(id, SlotStatusEnum.AVAILABLE)));
+
+                long mark = log.mark();
+                service.reserveSlot(3L);
+                SlotSnapshot.write(snapshotFile, repository.findAll());
+                service.reserveSlot(4L);
+                log.truncateBefore(mark);
+
+                assertEquals(2L * SlotLogRecord.SIZE, log.durableBytes());
+            }
+
+            SlotRepository restored = new SlotRepository(SlotSnapshot.open(snapshotFile));
+            try (SlotWriteAheadLog log = SlotWriteAheadLog.open(logFile)) {
+                log.restore(restored);
+            }
+            assertEquals(SlotStatusEnum.RESERVED, restored.findById(3L).orElseThrow().getSlotStatus());
+            assertEquals(SlotStatusEnum.RESERVED, restored.findById(4L).orElseThrow().getSlotStatus());
+        }
+    }
+}
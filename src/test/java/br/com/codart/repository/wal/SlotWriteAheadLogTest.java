@@ -0,0 +1,386 @@
+package br.com.codart.repository.wal;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.repository.SlotRepository;
+import br.com.codart.src.repository.wal.SlotLogRecord;
+import br.com.codart.src.repository.wal.SlotLogRecordTypeEnum;
+import br.com.codart.src.repository.wal.SlotWriteAheadLog;
+import br.com.codart.src.service.impl.SlotServiceImpl;
+import br.com.codart.src.service.message.ResourceMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotWriteAheadLogTest {
+
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MINUTES);
+
+    private Path directory;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("slot-wal");
+        file = directory.resolve("slots.wal");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static Slot slot(long id) {
+        LocalDateTime start = START.plusMinutes(id * 10);
+        return Slot.createSlot(id, start, start.plusMinutes(10), SlotStatusEnum.AVAILABLE);
+    }
+
+    private List<SlotLogRecord> replay() {
+        List<SlotLogRecord> records = new ArrayList<>();
+        try (SlotWriteAheadLog log = SlotWriteAheadLog.open(file)) {
+            log.replay(records::add);
+        }
+        return records;
+    }
+
+    @Nested
+    @DisplayName("Teste de gravação e leitura do log")
+    class RecordTest {
+
+        @Test
+        @DisplayName("Deve ler os registros na ordem em que foram gravados")
+        void shouldReplayRecordsInOrder() {
+            try (SlotWriteAheadLog log = SlotWriteAheadLog.open(file)) {
+                log.appendAndSync(SlotLogRecord.save(slot(1L)));
+                log.appendAndSync(SlotLogRecord.transition(1L, SlotStatusEnum.AVAILABLE, SlotStatusEnum.RESERVED));
+                log.appendAndSync(SlotLogRecord.delete(1L));
+            }
+
+            List<SlotLogRecord> records = replay();
+
+            assertEquals(List.of(SlotLogRecordTypeEnum.SAVE, SlotLogRecordTypeEnum.TRANSITION, SlotLogRecordTypeEnum.DELETE),
+                    records.stream().map(SlotLogRecord::getType).toList());
+            assertEquals(slot(1L).getStartTime(), records.get(0).getStartTime());
+            assertEquals(SlotStatusEnum.AVAILABLE, records.get(1).getFrom());
+            assertEquals(SlotStatusEnum.RESERVED, records.get(1).getTo());
+            assertNull(records.get(2).getTo());
+        }
+
+        @Test
+        @DisplayName("Deve gravar registros pendentes ao fechar o log")
+        void shouldFlushPendingRecordsOnClose() {
+            try (SlotWriteAheadLog log = SlotWriteAheadLog.open(file)) {
+                log.append(SlotLogRecord.save(slot(1L)));
+                log.append(SlotLogRecord.save(slot(2L)));
+            }
+
+            assertEquals(2, replay().size());
+        }
+
+        @Test
+        @DisplayName("Deve descartar um registro final incompleto")
+        void shouldDiscardTornTail() throws IOException {
+            try (SlotWriteAheadLog log = SlotWriteAheadLog.open(file)) {
+                log.appendAndSync(SlotLogRecord.save(slot(1L)));
+                log.appendAndSync(SlotLogRecord.save(slot(2L)));
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+                channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7}));
+            }
+
+            try (SlotWriteAheadLog log = SlotWriteAheadLog.open(file)) {
+                assertEquals(2L * SlotLogRecord.SIZE, Files.size(file));
+                log.appendAndSync(SlotLogRecord.save(slot(3L)));
+            }
+
+            assertEquals(List.of(1L, 2L, 3L), replay().stream().map(SlotLogRecord::getSlotId).toList());
+        }
+
+        @Test
+        @DisplayName("Deve parar a leitura no primeiro registro corrompido")
+        void shouldStopAtCorruptedRecord() throws IOException {
+            try (SlotWriteAheadLog log = SlotWriteAheadLog.open(file)) {
+                for (long id = 1; id <= 3; id++) {
+                    log.append(SlotLogRecord.save(slot(id)));
+                }
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(new byte[]{42}), SlotLogRecord.SIZE + 10L);
+            }
+
+            assertEquals(List.of(1L), replay().stream().map(SlotLogRecord::getSlotId).toList());
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção ao gravar em log fechado")
+        void shouldThrowExceptionIfLogIsClosed() {
+            SlotWriteAheadLog log = SlotWriteAheadLog.open(file);
+            log.close();
+
+            Exception exception = assertThrows(IllegalStateException.class, () -> log.append(SlotLogRecord.delete(1L)));
+
+            assertEquals(ResourceMessage.LOG_CLOSED.getMessage(), exception.getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste de restauração do repositório")
+    class RestoreTest {
+
+        @Test
+        @DisplayName("Deve reconstruir o repositório a partir das operações do serviço")
+        void shouldRestoreRepositoryFromServiceOperations() {
+            LocalDateTime newStart = START.plusDays(2);
+            try (SlotWriteAheadLog log = SlotWriteAheadLog.open(file)) {
+                SlotServiceImpl service = new SlotServiceImpl(new SlotRepository(), log);
+                for (long id = 1; id <= 5; id++) {
+                    service.saveSlot(slot(id));
+                }
+                service.reserveSlot(1L);
+                service.blockSlot(2L);
+                service.reserveSlot(3L);
+                service.rescheduleSlot(3L, newStart, newStart.plusMinutes(30), 30);
+                service.deleteSlot(4L);
+                assertTrue(service.reserveAll(List.of(5L)).isReserved());
+            }
+
+            SlotRepository restored = new SlotRepository();
+            try (SlotWriteAheadLog log = SlotWriteAheadLog.open(file)) {
+                assertEquals(4, log.restore(restored));
+            }
+
+            assertEquals(SlotStatusEnum.RESERVED, restored.findById(1L).orElseThrow().getSlotStatus());
+            assertEquals(SlotStatusEnum.BLOCKED, restored.findById(2L).orElseThrow().getSlotStatus());
+            Slot rescheduled = restored.findById(3L).orElseThrow();
+            assertEquals(SlotStatusEnum.RESCHEDULED, rescheduled.getSlotStatus());
+            assertEquals(newStart, rescheduled.getStartTime());
+            assertEquals(newStart.plusMinutes(30), rescheduled.getEndTime());
+            assertTrue(restored.findById(4L).isEmpty());
+            assertEquals(SlotStatusEnum.RESERVED, restored.findById(5L).orElseThrow().getSlotStatus());
+        }
+
+        @Test
+        @DisplayName("Deve restaurar como disponíveis os slots de um lote desfeito")
+        void shouldRestoreRolledBackBatchAsAvailable() {
+            try (SlotWriteAheadLog log = SlotWriteAheadLog.open(file)) {
+                SlotServiceImpl service = new SlotServiceImpl(new SlotRepository(), log);
+                service.saveSlot(slot(1L));
+                service.saveSlot(slot(2L));
+                service.blockSlot(2L);
+
+                assertFalse(service.reserveAll(List.of(1L, 2L)).isReserved());
+            }
+
+            SlotRepository restored = new SlotRepository();
+            try (SlotWriteAheadLog log = SlotWriteAheadLog.open(file)) {
+                log.restore(restored);
+            }
+            assertEquals(SlotStatusEnum.AVAILABLE, restored.findById(1L).orElseThrow().getSlotStatus());
+        }
+
+        @Test
+        @DisplayName("Não deve gravar no log nenhum registro de um lote desfeito, mesmo com queda depois de outro sync")
+        void shouldNotLogRolledBackBatchBeforeCrash() throws IOException {
+            Path crashed = directory.resolve("crashed.wal");
+            try (SlotWriteAheadLog log = SlotWriteAheadLog.open(file)) {
+                SlotServiceImpl service = new SlotServiceImpl(new SlotRepository(), log);
+                service.saveSlot(slot(1L));
+                service.saveSlot(slot(2L));
+                service.saveSlot(slot(3L));
+                service.blockSlot(3L);
+                long before = log.lastSequence();
+
+                assertFalse(service.reserveAll(List.of(1L, 2L, 3L)).isReserved());
+                assertEquals(before, log.lastSequence());
+
+                // outro escritor força o log; a cópia é o que sobra no disco se o processo cair agora
+                service.saveSlot(slot(4L));
+                Files.copy(file, crashed);
+            }
+
+            SlotRepository restored = new SlotRepository();
+            try (SlotWriteAheadLog log = SlotWriteAheadLog.open(crashed)) {
+                assertEquals(4, log.restore(restored));
+                List<SlotLogRecord> records = new ArrayList<>();
+                log.replay(records::add);
+                assertTrue(records.stream().noneMatch(record -> record.getSlotId() <= 2
+                        && record.getType() == SlotLogRecordTypeEnum.TRANSITION));
+            }
+            assertEquals(SlotStatusEnum.AVAILABLE, restored.findById(1L).orElseThrow().getSlotStatus());
+            assertEquals(SlotStatusEnum.AVAILABLE, restored.findById(2L).orElseThrow().getSlotStatus());
+            assertEquals(SlotStatusEnum.BLOCKED, restored.findById(3L).orElseThrow().getSlotStatus());
+        }
+
+        @Test
+        @DisplayName("Deve restaurar retenções como disponíveis e retenções confirmadas como reservadas")
+        void shouldNotPersistHolds() {
+            try (SlotWriteAheadLog log = SlotWriteAheadLog.open(file)) {
+                SlotServiceImpl service = new SlotServiceImpl(new SlotRepository(), log);
+                service.saveSlot(slot(1L));
+                service.saveSlot(slot(2L));
+                service.holdSlot(1L);
+                service.holdSlot(2L);
+                service.confirmHold(2L);
+                service.saveSlot(service.findSlot(1L).orElseThrow());
+            }
+
+            SlotRepository restored = new SlotRepository();
+            try (SlotWriteAheadLog log = SlotWriteAheadLog.open(file)) {
+                log.restore(restored);
+            }
+            assertEquals(SlotStatusEnum.AVAILABLE, restored.findById(1L).orElseThrow().getSlotStatus());
+            assertEquals(SlotStatusEnum.RESERVED, restored.findById(2L).orElseThrow().getSlotStatus());
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste de falha do log")
+    class LogFailureTest {
+
+        @Test
+        @DisplayName("Deve desfazer a transição em memória quando o log recusa o registro")
+        void shouldRevertTransitionWhenAppendFails() {
+            SlotRepository repository = new SlotRepository();
+            SlotWriteAheadLog log = SlotWriteAheadLog.open(file);
+            SlotServiceImpl service = new SlotServiceImpl(repository, log);
+            service.saveSlot(slot(1L));
+            log.close();
+
+            IllegalStateException exception = assertThrows(IllegalStateException.class, () -> service.reserveSlot(1L));
+
+            assertEquals(ResourceMessage.LOG_CLOSED.getMessage(), exception.getMessage());
+            assertEquals(SlotStatusEnum.AVAILABLE, repository.findById(1L).orElseThrow().getSlotStatus());
+        }
+
+        @Test
+        @DisplayName("Deve desfazer o reagendamento em memória quando o log recusa o registro")
+        void shouldRevertRescheduleWhenAppendFails() {
+            SlotRepository repository = new SlotRepository();
+            SlotWriteAheadLog log = SlotWriteAheadLog.open(file);
+            SlotServiceImpl service = new SlotServiceImpl(repository, log);
+            Slot slot = service.saveSlot(slot(1L));
+            service.reserveSlot(1L);
+            LocalDateTime startTime = slot.getStartTime();
+            log.close();
+
+            assertThrows(IllegalStateException.class,
+                    () -> service.rescheduleSlot(1L, START.plusHours(5), START.plusHours(5).plusMinutes(10), 10));
+
+            assertEquals(SlotStatusEnum.RESERVED, slot.getSlotStatus());
+            assertEquals(startTime, slot.getStartTime());
+        }
+
+        @Test
+        @DisplayName("Deve manter o slot salvo quando o log recusa a exclusão")
+        void shouldKeepSlotWhenDeleteAppendFails() {
+            SlotRepository repository = new SlotRepository();
+            SlotWriteAheadLog log = SlotWriteAheadLog.open(file);
+            SlotServiceImpl service = new SlotServiceImpl(repository, log);
+            service.saveSlot(slot(1L));
+            log.close();
+
+            assertThrows(IllegalStateException.class, () -> service.deleteSlot(1L));
+
+            assertTrue(repository.findById(1L).isPresent());
+        }
+
+        @Test
+        @DisplayName("Deve desfazer o lote inteiro, sem registros no log, quando o log recusa as reservas")
+        void shouldRollBackBatchWhenAppendFails() {
+            SlotRepository repository = new SlotRepository();
+            SlotWriteAheadLog log = SlotWriteAheadLog.open(file);
+            SlotServiceImpl service = new SlotServiceImpl(repository, log);
+            for (long id = 1; id <= 3; id++) {
+                service.saveSlot(slot(id));
+            }
+            log.close();
+
+            assertThrows(IllegalStateException.class, () -> service.reserveAll(List.of(1L, 2L, 3L)));
+
+            assertTrue(repository.findAll().stream().allMatch(slot -> slot.getSlotStatus() == SlotStatusEnum.AVAILABLE));
+            assertTrue(replay().stream().allMatch(record -> record.getType() == SlotLogRecordTypeEnum.SAVE));
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste de commit em grupo")
+    class GroupCommitTest {
+
+        @Test
+        @DisplayName("Escritores concorrentes devem compartilhar o mesmo force")
+        void concurrentWritersShouldShareForce() throws Exception {
+            int threads = 16;
+            int slotsPerThread = 2_000;
+            SlotRepository repository = new SlotRepository();
+            for (long id = 1; id <= (long) threads * slotsPerThread; id++) {
+                repository.save(slot(id));
+            }
+
+            long syncs;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try (SlotWriteAheadLog log = SlotWriteAheadLog.open(file)) {
+                for (Slot slot : repository.findAll()) {
+                    log.append(SlotLogRecord.save(slot));
+                }
+                SlotServiceImpl service = new SlotServiceImpl(repository, log);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    long first = (long) t * slotsPerThread + 1;
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        for (long id = first; id < first + slotsPerThread; id++) {
+                            service.reserveSlot(id);
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                syncs = log.syncCount();
+            } finally {
+                executor.shutdownNow();
+            }
+
+            int transitions = threads * slotsPerThread;
+            // enquanto o líder grava, as outras 15 threads acumulam registros para o próximo force
+            assertTrue(syncs <= transitions / 4,
+                    "O commit em grupo deveria fazer no máximo um force a cada 4 transições, fez " + syncs);
+
+            SlotRepository restored = new SlotRepository();
+            try (SlotWriteAheadLog log = SlotWriteAheadLog.open(file)) {
+                log.restore(restored);
+            }
+            assertEquals(transitions, restored.findAll().stream()
+                    .filter(slot -> slot.getSlotStatus() == SlotStatusEnum.RESERVED)
+                    .count());
+        }
+    }
+}
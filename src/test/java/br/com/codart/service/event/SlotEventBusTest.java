@@ -0,0 +1,208 @@
+package br.com.codart.service.event;
+
+import br.com.codart.src.domain.Enum.SlotEventTypeEnum;
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.domain.entities.schedule.Schedule;
+import br.com.codart.src.repository.ScheduleRepository;
+import br.com.codart.src.service.event.SlotEventBus;
+import br.com.codart.src.service.event.SlotEventProcessor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotEventBusTest {
+
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+
+    private static void publish(SlotEventBus bus, long slotId) {
+        bus.publish(SlotEventTypeEnum.SLOT_TRANSITION, 1L, slotId,
+                SlotStatusEnum.AVAILABLE.ordinal(), SlotStatusEnum.RESERVED.ordinal(), 0);
+    }
+
+    private static List<Long> drain(SlotEventBus.Subscription subscription) {
+        List<Long> slotIds = new ArrayList<>();
+        while (subscription.poll(event -> slotIds.add(event.getSlotId()), 64) > 0) {
+            // lê até esvaziar
+        }
+        return slotIds;
+    }
+
+    @Nested
+    @DisplayName("Teste do anel de eventos")
+    class RingTest {
+
+        @Test
+        @DisplayName("Deve entregar os eventos em ordem para cada assinatura, no ritmo de cada uma")
+        void shouldDeliverInOrderToEachSubscription() {
+            SlotEventBus bus = new SlotEventBus(16);
+            SlotEventBus.Subscription audit = bus.subscribe();
+            SlotEventBus.Subscription notifications = bus.subscribe();
+            for (long id = 1; id <= 5; id++) {
+                publish(bus, id);
+            }
+
+            List<Long> firstTwo = new ArrayList<>();
+            notifications.poll(event -> firstTwo.add(event.getSlotId()), 2);
+
+            assertEquals(List.of(1L, 2L, 3L, 4L, 5L), drain(audit));
+            assertEquals(List.of(1L, 2L), firstTwo);
+            assertEquals(3, notifications.getLag());
+            assertEquals(List.of(3L, 4L, 5L), drain(notifications));
+            assertEquals(0, notifications.getLost());
+        }
+
+        @Test
+        @DisplayName("Um consumidor lento não deve segurar quem publica e deve pular os eventos sobrescritos")
+        void shouldSkipOverwrittenEventsForSlowConsumer() {
+            SlotEventBus bus = new SlotEventBus(8);
+            SlotEventBus.Subscription slow = bus.subscribe();
+            for (long id = 1; id <= 20; id++) {
+                publish(bus, id);
+            }
+
+            assertEquals(List.of(13L, 14L, 15L, 16L, 17L, 18L, 19L, 20L), drain(slow));
+            assertEquals(12, slow.getLost());
+        }
+
+        @Test
+        @DisplayName("Deve receber exatamente uma vez os eventos de vários produtores concorrentes")
+        void shouldDeliverConcurrentProducersExactlyOnce() throws Exception {
+            int producers = 4;
+            int perProducer = 20_000;
+            SlotEventBus bus = new SlotEventBus(1 << 17);
+            SlotEventBus.Subscription subscription = bus.subscribe();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long base = (p + 1) * 1_000_000L;
+                Thread thread = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < perProducer; i++) {
+                        publish(bus, base + i);
+                    }
+                });
+                thread.start();
+                threads.add(thread);
+            }
+            start.countDown();
+            List<Long> received = Collections.synchronizedList(new ArrayList<>());
+            long[] expectedNext = {1_000_000L, 2_000_000L, 3_000_000L, 4_000_000L};
+            boolean[] ordered = {true};
+            while (received.size() < producers * perProducer) {
+                subscription.poll(event -> {
+                    int producer = (int) (event.getSlotId() / 1_000_000L) - 1;
+                    ordered[0] &= event.getSlotId() == expectedNext[producer]++;
+                    received.add(event.getSlotId());
+                }, 1024);
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertTrue(ordered[0]);
+            assertEquals(producers * perProducer, received.size());
+            assertEquals(0, subscription.getLost());
+            assertEquals(producers * perProducer, bus.getPublished());
+        }
+
+        @Test
+        @DisplayName("Publicar não deve alocar memória")
+        void shouldPublishWithoutAllocating() {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            SlotEventBus bus = new SlotEventBus(1024);
+            for (int i = 0; i < 20_000; i++) {
+                publish(bus, i + 1);
+            }
+            long threadId = Thread.currentThread().threadId();
+
+            long before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < 100_000; i++) {
+                publish(bus, i + 1);
+            }
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+            // margem para a própria medição; uma alocação por evento passaria de 1 MB
+            assertTrue(allocated < 64 * 1024, "alocou " + allocated + " bytes");
+        }
+
+        @Test
+        @DisplayName("Deve recusar capacidade que não é potência de dois")
+        void shouldRejectInvalidCapacity() {
+            assertThrows(IllegalArgumentException.class, () -> new SlotEventBus(10));
+            assertThrows(IllegalArgumentException.class, () -> new SlotEventBus(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste dos eventos publicados pela agenda")
+    class ScheduleEventsTest {
+
+        @Test
+        @DisplayName("Deve publicar as transições dos slots e as mudanças de status da agenda")
+        void shouldPublishSlotTransitionsAndScheduleStatus() {
+            SlotEventBus bus = new SlotEventBus(64);
+            SlotEventBus.Subscription subscription = bus.subscribe();
+            ScheduleRepository repository = new ScheduleRepository(bus);
+            Slot slot = Slot.createSlot(1L, START, START.plusMinutes(20), SlotStatusEnum.AVAILABLE);
+            Schedule schedule = Schedule.createSchedule(1L, START, new ArrayList<>(List.of(slot)));
+            repository.save(schedule);
+
+            slot.reserveSlot();
+            slot.cancelSlot();
+            schedule.addSlot(Slot.createSlot(2L, START.plusMinutes(20), START.plusMinutes(40), SlotStatusEnum.AVAILABLE));
+
+            List<String> events = new ArrayList<>();
+            subscription.poll(event -> events.add(event.toString().replaceAll("sequence=\\d+, ", "")), 10);
+
+            assertEquals(List.of(
+                    "SlotEvent{type=SLOT_TRANSITION, scheduleId=1, slotId=1, from=AVAILABLE, to=RESERVED}",
+                    "SlotEvent{type=SLOT_TRANSITION, scheduleId=1, slotId=1, from=RESERVED, to=CANCELLED}",
+                    "SlotEvent{type=SCHEDULE_STATUS, scheduleId=1, slotId=0, from=ACTIVE, to=CANCELLED}",
+                    "SlotEvent{type=SLOT_ADDED, scheduleId=1, slotId=2, from=AVAILABLE, to=AVAILABLE}",
+                    "SlotEvent{type=SCHEDULE_STATUS, scheduleId=1, slotId=0, from=CANCELLED, to=ACTIVE}"), events);
+        }
+
+        @Test
+        @DisplayName("Deve entregar os eventos a um consumidor em outra thread")
+        void shouldDeliverToProcessorThread() throws Exception {
+            SlotEventBus bus = new SlotEventBus(64);
+            List<SlotEventTypeEnum> types = Collections.synchronizedList(new ArrayList<>());
+            List<LocalDateTime> starts = Collections.synchronizedList(new ArrayList<>());
+            SlotEventProcessor processor = new SlotEventProcessor(bus, event -> {
+                types.add(event.getType());
+                starts.add(event.getStartTime());
+                if (event.getType() == SlotEventTypeEnum.SCHEDULE_STATUS) {
+                    throw new IllegalStateException("falha do consumidor");
+                }
+            }, "audit");
+            ScheduleRepository repository = new ScheduleRepository(bus);
+            Slot slot = Slot.createSlot(1L, START, START.plusMinutes(20), SlotStatusEnum.AVAILABLE);
+            repository.save(Schedule.createSchedule(1L, START, new ArrayList<>(List.of(slot))));
+
+            slot.reserveSlot();
+            slot.cancelSlot();
+            slot.reopenSlot();
+            processor.close();
+
+            assertEquals(List.of(SlotEventTypeEnum.SLOT_TRANSITION, SlotEventTypeEnum.SLOT_TRANSITION,
+                    SlotEventTypeEnum.SCHEDULE_STATUS, SlotEventTypeEnum.SLOT_TRANSITION,
+                    SlotEventTypeEnum.SCHEDULE_STATUS), types);
+            assertEquals(START, starts.get(0));
+            assertEquals(0, processor.getLost());
+        }
+    }
+}
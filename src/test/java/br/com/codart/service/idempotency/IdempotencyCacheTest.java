@@ -0,0 +1,170 @@
+package br.com.codart.service.idempotency;
+
+import br.com.codart.src.service.idempotency.IdempotencyCache;
+import br.com.codart.src.service.message.ResourceMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyCacheTest {
+
+    /**
+     * Relógio que só anda quando o teste manda.
+     */
+    private static final class ManualClock extends Clock {
+
+        private volatile long millis = 1_000_000;
+
+        void advance(Duration duration) {
+            millis += duration.toMillis();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste da repetição por chave")
+    class ReplayTest {
+
+        @Test
+        @DisplayName("Deve executar a operação uma única vez por chave")
+        void shouldExecuteOncePerKey() {
+            IdempotencyCache<String> cache = new IdempotencyCache<>(Duration.ofMinutes(5), 100);
+            AtomicInteger executions = new AtomicInteger();
+
+            String first = cache.execute("a", 1L, () -> "resultado-" + executions.incrementAndGet());
+            String retry = cache.execute("a", 1L, () -> "resultado-" + executions.incrementAndGet());
+            String other = cache.execute("b", 1L, () -> "resultado-" + executions.incrementAndGet());
+
+            assertEquals("resultado-1", first);
+            assertEquals("resultado-1", retry);
+            assertEquals("resultado-2", other);
+            assertEquals(2, executions.get());
+        }
+
+        @Test
+        @DisplayName("Deve executar de novo depois de uma falha que não é regra de negócio")
+        void shouldRetryAfterInfrastructureFailure() {
+            IdempotencyCache<String> cache = new IdempotencyCache<>(Duration.ofMinutes(5), 100);
+
+            assertThrows(UncheckedIOException.class,
+                    () -> cache.execute("a", 1L, () -> { throw new UncheckedIOException(new IOException("disco")); }));
+
+            assertEquals("ok", cache.execute("a", 1L, () -> "ok"));
+        }
+
+        @Test
+        @DisplayName("Chamadas concorrentes com a mesma chave devem esperar a primeira execução")
+        void shouldExecuteOnceUnderConcurrency() throws Exception {
+            IdempotencyCache<Integer> cache = new IdempotencyCache<>(Duration.ofMinutes(5), 100);
+            AtomicInteger executions = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<Integer>> results = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return cache.execute("a", 1L, () -> {
+                            try {
+                                Thread.sleep(20);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            return executions.incrementAndGet();
+                        });
+                    }));
+                }
+                start.countDown();
+                for (Future<Integer> result : results) {
+                    assertEquals(1, result.get());
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            assertEquals(1, executions.get());
+        }
+
+        @Test
+        @DisplayName("Deve recusar chave inválida")
+        void shouldRejectInvalidKey() {
+            IdempotencyCache<String> cache = new IdempotencyCache<>(Duration.ofMinutes(5), 100);
+
+            IllegalArgumentException blank = assertThrows(IllegalArgumentException.class, () -> cache.execute(" ", 1L, () -> "x"));
+
+            assertEquals(ResourceMessage.IDEMPOTENCY_KEY_INVALID.getMessage(), blank.getMessage());
+            assertThrows(IllegalArgumentException.class, () -> cache.execute("k".repeat(256), 1L, () -> "x"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste da retirada das chaves")
+    class EvictionTest {
+
+        @Test
+        @DisplayName("Deve esquecer a chave depois do prazo")
+        void shouldForgetKeyAfterTtl() {
+            ManualClock clock = new ManualClock();
+            IdempotencyCache<Integer> cache = new IdempotencyCache<>(Duration.ofMinutes(5), 100, clock);
+            AtomicInteger executions = new AtomicInteger();
+
+            cache.execute("a", 1L, executions::incrementAndGet);
+            clock.advance(Duration.ofMinutes(4));
+            cache.execute("a", 1L, executions::incrementAndGet);
+            clock.advance(Duration.ofMinutes(2));
+            int afterTtl = cache.execute("a", 1L, executions::incrementAndGet);
+            cache.execute("b", 1L, executions::incrementAndGet);
+
+            assertEquals(2, afterTtl);
+            assertEquals(2, cache.size());
+        }
+
+        @Test
+        @DisplayName("Deve manter a memória limitada com milhões de chaves")
+        void shouldStayBoundedWithMillionsOfKeys() {
+            ManualClock clock = new ManualClock();
+            IdempotencyCache<Long> cache = new IdempotencyCache<>(Duration.ofHours(1), 50_000, clock);
+
+            for (long i = 0; i < 2_000_000; i++) {
+                long value = i;
+                cache.execute("chave-" + i, i, () -> value);
+                if (i % 1_000 == 0) {
+                    clock.advance(Duration.ofMillis(100));
+                }
+            }
+
+            assertTrue(cache.size() <= 50_001, "chaves guardadas: " + cache.size());
+            assertEquals(1_999_999L, cache.execute("chave-1999999", 1_999_999L, () -> -1L));
+        }
+    }
+}
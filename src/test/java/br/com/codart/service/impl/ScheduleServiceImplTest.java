@@ -0,0 +1,191 @@
+package br.com.codart.service.impl;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.domain.entities.schedule.Schedule;
+import br.com.codart.src.domain.entities.schedule.WeeklyScheduleTemplate;
+import br.com.codart.src.repository.ScheduleRepository;
+import br.com.codart.src.repository.SlotRepository;
+import br.com.codart.src.service.impl.ScheduleServiceImpl;
+import br.com.codart.src.service.impl.SlotServiceImpl;
+import br.com.codart.src.service.message.ResourceMessage;
+import br.com.codart.src.service.result.AvailableSlot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleServiceImplTest {
+
+    private static final LocalDate MONDAY = LocalDate.now().plusWeeks(1).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+    private ScheduleRepository scheduleRepository;
+    private ScheduleServiceImpl scheduleService;
+
+    @BeforeEach
+    void setUp() {
+        scheduleRepository = new ScheduleRepository();
+        scheduleService = new ScheduleServiceImpl(scheduleRepository, new SlotServiceImpl(new SlotRepository()));
+    }
+
+    private static List<String> describe(List<AvailableSlot> slots) {
+        return slots.stream()
+                .map(available -> available.getScheduleId() + "@" + available.getSlot().getStartTime().toLocalTime())
+                .toList();
+    }
+
+    @Nested
+    @DisplayName("Teste da disponibilidade de várias agendas")
+    class ClinicAvailabilityTest {
+
+        /**
+         * Caminho sequencial: cada agenda no intervalo inteiro, tudo ordenado no fim.
+         */
+        private List<String> keys(List<AvailableSlot> slots) {
+            return slots.stream()
+                    .map(available -> available.getScheduleId() + "/" + available.getSlot().getSlotId() + "@" + available.getSlot().getStartTime())
+                    .toList();
+        }
+
+        private List<AvailableSlot> sequential(List<Long> scheduleIds, LocalDate from, LocalDate to) {
+            List<AvailableSlot> result = new ArrayList<>();
+            for (Long scheduleId : scheduleIds) {
+                for (Slot slot : scheduleRepository.findById(scheduleId).orElseThrow().findAvailableSlots(from, to)) {
+                    result.add(new AvailableSlot(scheduleId, slot));
+                }
+            }
+            result.sort(AvailableSlot.BY_START);
+            return result;
+        }
+
+        @Test
+        @DisplayName("Deve devolver em paralelo exatamente o resultado sequencial")
+        void shouldMatchSequentialResult() {
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                ScheduleServiceImpl parallel = new ScheduleServiceImpl(scheduleRepository,
+                        new SlotServiceImpl(new SlotRepository()), pool);
+                List<Long> ids = new ArrayList<>();
+                for (long id = 1; id <= 40; id++) {
+                    WeeklyScheduleTemplate template = new WeeklyScheduleTemplate.Builder()
+                            .slotMinutes(10 + (int) (id % 3) * 10)
+                            .weekdays(LocalTime.of(7 + (int) (id % 4), 0), LocalTime.of(18, 0))
+                            .build();
+                    Schedule schedule = Schedule.createRecurringSchedule(id, MONDAY.atStartOfDay(), template);
+                    scheduleRepository.save(schedule);
+                    ids.add(id);
+                    for (Slot slot : schedule.findAvailableSlots(MONDAY, MONDAY.plusDays(2))) {
+                        if (slot.getSlotId() % 5 == id % 5) {
+                            slot.reserveSlot();
+                        }
+                    }
+                }
+                // slot que atravessa a meia-noite não pode aparecer duas vezes
+                Schedule night = Schedule.createSchedule(41L, MONDAY.atStartOfDay(), new ArrayList<>(List.of(
+                        Slot.createSlot(1L, MONDAY.atTime(23, 50), MONDAY.plusDays(1).atTime(0, 30), SlotStatusEnum.AVAILABLE))));
+                scheduleRepository.save(night);
+                ids.add(41L);
+
+                List<AvailableSlot> result = parallel.findAvailableSlots(ids, MONDAY, MONDAY.plusDays(6));
+                List<AvailableSlot> fromTuesday = parallel.findAvailableSlots(ids, MONDAY.plusDays(1), MONDAY.plusDays(6));
+
+                assertEquals(keys(sequential(ids, MONDAY, MONDAY.plusDays(6))), keys(result));
+                assertEquals(keys(sequential(ids, MONDAY.plusDays(1), MONDAY.plusDays(6))), keys(fromTuesday));
+                assertEquals(1, result.stream().filter(available -> available.getScheduleId() == 41L).count());
+                assertEquals(1, fromTuesday.stream().filter(available -> available.getScheduleId() == 41L).count());
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        @Test
+        @DisplayName("Deve recusar agenda inexistente ou período inválido")
+        void shouldRejectMissingScheduleOrInvalidRange() {
+            scheduleService.createSchedule(1L, MONDAY, LocalTime.of(8, 0), LocalTime.of(9, 0), 20);
+
+            IllegalArgumentException missing = assertThrows(IllegalArgumentException.class,
+                    () -> scheduleService.findAvailableSlots(List.of(1L, 99L), MONDAY, MONDAY));
+
+            assertEquals(ResourceMessage.SCHEDULE_NOT_FOUND.getMessage(), missing.getMessage());
+            assertThrows(IllegalArgumentException.class,
+                    () -> scheduleService.findAvailableSlots(List.of(1L), MONDAY.plusDays(1), MONDAY));
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste da busca dos próximos horários disponíveis")
+    class NextAvailableSlotsTest {
+
+        @Test
+        @DisplayName("Deve intercalar os horários das agendas em ordem e parar no limite")
+        void shouldMergeSchedulesInStartOrder() {
+            scheduleService.createSchedule(1L, MONDAY, LocalTime.of(8, 0), LocalTime.of(9, 0), 20);
+            scheduleService.createSchedule(2L, MONDAY, LocalTime.of(8, 10), LocalTime.of(9, 10), 20);
+            scheduleService.createSchedule(3L, MONDAY, LocalTime.of(8, 0), LocalTime.of(8, 40), 20);
+
+            List<AvailableSlot> next = scheduleService.findNextAvailableSlots(List.of(2L, 1L, 3L), MONDAY.atTime(8, 0), 20, 5);
+
+            assertEquals(List.of("1@08:00", "3@08:00", "2@08:10", "1@08:20", "3@08:20"), describe(next));
+        }
+
+        @Test
+        @DisplayName("Deve ignorar horários ocupados, anteriores ao início ou curtos demais")
+        void shouldSkipUnavailableEarlyOrShortSlots() {
+            scheduleService.createSchedule(1L, MONDAY, LocalTime.of(8, 0), LocalTime.of(10, 0), 20);
+            Schedule schedule = scheduleRepository.findById(1L).orElseThrow();
+            schedule.findSlotAt(MONDAY.atTime(8, 40)).orElseThrow().reserveSlot();
+            schedule.addSlot(Slot.createSlot(99L, MONDAY.atTime(10, 0), MONDAY.atTime(10, 40), SlotStatusEnum.AVAILABLE));
+
+            List<AvailableSlot> next = scheduleService.findNextAvailableSlots(List.of(1L), MONDAY.atTime(8, 30), 20, 10);
+            List<AvailableSlot> long40 = scheduleService.findNextAvailableSlots(List.of(1L), MONDAY.atTime(8, 0), 40, 10);
+
+            assertEquals(List.of("1@09:00", "1@09:20", "1@09:40", "1@10:00"), describe(next));
+            assertEquals(List.of("1@10:00"), describe(long40));
+        }
+
+        @Test
+        @DisplayName("Deve gerar apenas os dias percorridos de uma agenda recorrente")
+        void shouldMaterializeOnlyVisitedDays() {
+            WeeklyScheduleTemplate template = new WeeklyScheduleTemplate.Builder()
+                    .slotMinutes(20)
+                    .weekdays(LocalTime.of(8, 0), LocalTime.of(12, 0))
+                    .build();
+            Schedule recurring = Schedule.createRecurringSchedule(7L, MONDAY.atStartOfDay(), template);
+            scheduleRepository.save(recurring);
+
+            // sábado e domingo não têm horários: a busca segue até segunda
+            LocalDateTime saturday = MONDAY.plusDays(5).atStartOfDay();
+            List<AvailableSlot> next = scheduleService.findNextAvailableSlots(List.of(7L), saturday, 20, 3);
+
+            assertEquals(List.of("7@08:00", "7@08:20", "7@08:40"), describe(next));
+            assertEquals(MONDAY.plusWeeks(1), next.get(0).getSlot().getStartTime().toLocalDate());
+            assertEquals(12, recurring.getTimes().size());
+        }
+
+        @Test
+        @DisplayName("Deve recusar agenda inexistente ou parâmetros inválidos")
+        void shouldRejectMissingScheduleOrInvalidArguments() {
+            scheduleService.createSchedule(1L, MONDAY, LocalTime.of(8, 0), LocalTime.of(9, 0), 20);
+            LocalDateTime after = MONDAY.atTime(8, 0);
+
+            IllegalArgumentException missing = assertThrows(IllegalArgumentException.class,
+                    () -> scheduleService.findNextAvailableSlots(List.of(1L, 99L), after, 20, 5));
+
+            assertEquals(ResourceMessage.SCHEDULE_NOT_FOUND.getMessage(), missing.getMessage());
+            assertThrows(IllegalArgumentException.class, () -> scheduleService.findNextAvailableSlots(List.of(), after, 20, 5));
+            assertThrows(IllegalArgumentException.class, () -> scheduleService.findNextAvailableSlots(List.of(1L), after, 0, 5));
+            assertThrows(IllegalArgumentException.class, () -> scheduleService.findNextAvailableSlots(List.of(1L), after, 20, 0));
+        }
+    }
+}
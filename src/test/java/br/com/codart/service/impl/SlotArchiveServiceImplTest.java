@@ -0,0 +1,190 @@
+package br.com.codart.service.impl;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.domain.entities.schedule.Schedule;
+import br.com.codart.src.domain.entities.schedule.WeeklyScheduleTemplate;
+import br.com.codart.src.repository.ScheduleRepository;
+import br.com.codart.src.repository.SlotRepository;
+import br.com.codart.src.repository.archive.SlotColdStore;
+import br.com.codart.src.service.impl.SlotArchiveServiceImpl;
+import br.com.codart.src.service.impl.SlotServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotArchiveServiceImplTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().withNano(0);
+
+    private SlotRepository slotRepository;
+    private ScheduleRepository scheduleRepository;
+    private SlotColdStore coldStore;
+    private SlotArchiveServiceImpl archiveService;
+
+    @BeforeEach
+    void setUp() {
+        slotRepository = new SlotRepository();
+        scheduleRepository = new ScheduleRepository();
+        coldStore = new SlotColdStore();
+        archiveService = new SlotArchiveServiceImpl(slotRepository, new SlotServiceImpl(slotRepository),
+                scheduleRepository, coldStore);
+    }
+
+    @AfterEach
+    void tearDown() {
+        archiveService.close();
+    }
+
+    /**
+     * Agenda com um slot de 20 minutos por dia às 8h, de {@code days} dias atrás até {@code days} dias à frente.
+     */
+    private Schedule schedule(long scheduleId, int days) {
+        List<Slot> slots = new ArrayList<>();
+        for (int day = -days; day <= days; day++) {
+            LocalDateTime start = NOW.toLocalDate().plusDays(day).atTime(8, 0);
+            Slot slot = Slot.createSlot(scheduleId * 1_000 + day + days + 1, start, start.plusMinutes(20), SlotStatusEnum.AVAILABLE);
+            slots.add(slot);
+            slotRepository.save(slot);
+        }
+        Schedule schedule = Schedule.createSchedule(scheduleId, NOW, slots);
+        scheduleRepository.save(schedule);
+        return schedule;
+    }
+
+    @Nested
+    @DisplayName("Teste do arquivamento")
+    class ArchiveTest {
+
+        @Test
+        @DisplayName("Deve retirar da memória os slots encerrados e mantê-los no arquivo")
+        void shouldMoveEndedSlotsToColdStore() {
+            Schedule schedule = schedule(1L, 30);
+            LocalDateTime cutoff = NOW.toLocalDate().atStartOfDay();
+
+            int archived = archiveService.archiveEndedBefore(cutoff);
+
+            assertEquals(30, archived);
+            assertEquals(31, slotRepository.count());
+            assertEquals(31, schedule.getTimes().size());
+            assertTrue(schedule.getTimes().stream().noneMatch(slot -> slot.getEndTime().isBefore(cutoff)));
+            assertEquals(30, coldStore.size());
+            assertEquals(31, schedule.countSlots(SlotStatusEnum.AVAILABLE));
+            assertTrue(schedule.findAvailableSlots(NOW.toLocalDate().minusDays(30), NOW.toLocalDate().minusDays(1)).isEmpty());
+
+            LocalDate yesterday = NOW.toLocalDate().minusDays(1);
+            List<Slot> history = archiveService.findArchivedSlots(yesterday, yesterday);
+            assertEquals(1, history.size());
+            assertEquals(yesterday.atTime(8, 0), history.get(0).getStartTime());
+            assertTrue(archiveService.findArchivedSlot(history.get(0).getSlotId()).isPresent());
+        }
+
+        @Test
+        @DisplayName("Deve arquivar slots do repositório fora de agendas, com o status final")
+        void shouldArchiveRepositorySlots() {
+            LocalDateTime start = NOW.minusDays(3);
+            slotRepository.save(Slot.createSlot(1L, start, start.plusMinutes(20), SlotStatusEnum.RESERVED));
+            slotRepository.save(Slot.createSlot(2L, start.plusHours(1), start.plusHours(1).plusMinutes(20), SlotStatusEnum.CANCELLED));
+
+            archiveService.archiveEndedBefore(NOW);
+            Map<SlotStatusEnum, Integer> counts = archiveService.countArchivedByStatus(start.toLocalDate(), NOW.toLocalDate());
+
+            assertEquals(0, slotRepository.count());
+            assertEquals(Map.of(SlotStatusEnum.RESERVED, 1, SlotStatusEnum.CANCELLED, 1), counts);
+        }
+
+        @Test
+        @DisplayName("Arquivar de novo não deve duplicar slots")
+        void shouldBeIdempotent() {
+            schedule(1L, 10);
+
+            archiveService.archiveEndedBefore(NOW.toLocalDate().atStartOfDay());
+            int again = archiveService.archiveEndedBefore(NOW.toLocalDate().atStartOfDay());
+
+            assertEquals(0, again);
+            assertEquals(10, coldStore.size());
+        }
+
+        @Test
+        @DisplayName("Não deve gerar de novo os dias arquivados de agendas recorrentes")
+        void shouldNotRematerializeArchivedDays() {
+            WeeklyScheduleTemplate template = new WeeklyScheduleTemplate.Builder()
+                    .slotMinutes(30)
+                    .window(EnumSet.allOf(DayOfWeek.class), LocalTime.of(8, 0), LocalTime.of(10, 0))
+                    .build();
+            Schedule schedule = Schedule.createRecurringSchedule(2L, NOW, template);
+            scheduleRepository.save(schedule);
+            LocalDate today = NOW.toLocalDate();
+            schedule.findSlotsBetween(today.minusDays(7).atStartOfDay(), today.plusDays(7).atStartOfDay());
+
+            int archived = archiveService.archiveEndedBefore(today.atStartOfDay());
+
+            assertEquals(7 * 4, archived);
+            assertTrue(schedule.findSlotsBetween(today.minusDays(14).atStartOfDay(), today.atStartOfDay()).isEmpty());
+            assertEquals(7 * 4, archiveService.findArchivedSlots(today.minusDays(7), today.minusDays(1)).size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste do arquivamento em segundo plano")
+    class BackgroundTest {
+
+        @Test
+        @DisplayName("Deve arquivar periodicamente os slots encerrados")
+        void shouldArchivePeriodically() throws InterruptedException {
+            schedule(1L, 5);
+
+            archiveService.start(Duration.ofMillis(20));
+            long limit = System.currentTimeMillis() + 10_000;
+            while (coldStore.size() < 5 && System.currentTimeMillis() < limit) {
+                Thread.sleep(20);
+            }
+
+            // depois das 8h20 o slot de hoje também já terminou
+            assertTrue(coldStore.size() >= 5);
+            assertThrows(IllegalStateException.class, () -> archiveService.start(Duration.ofMillis(20)));
+            assertEquals(0, archiveService.getFailures());
+            assertTrue(archiveService.getLastFailure().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Deve registrar as falhas e continuar arquivando")
+        void shouldRecordFailures() throws InterruptedException {
+            IllegalStateException diskFull = new IllegalStateException("disco cheio");
+            SlotColdStore failingStore = new SlotColdStore() {
+                @Override
+                public synchronized void archive(Collection<Slot> slots) {
+                    throw diskFull;
+                }
+            };
+            archiveService = new SlotArchiveServiceImpl(slotRepository, new SlotServiceImpl(slotRepository),
+                    scheduleRepository, failingStore);
+            schedule(1L, 5);
+
+            archiveService.start(Duration.ofMillis(20));
+            long limit = System.currentTimeMillis() + 10_000;
+            while (archiveService.getFailures() < 2 && System.currentTimeMillis() < limit) {
+                Thread.sleep(20);
+            }
+
+            assertTrue(archiveService.getFailures() >= 2);
+            assertSame(diskFull, archiveService.getLastFailure().orElseThrow());
+            assertEquals(11, slotRepository.count());
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package br.com.codart.service.impl;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.repository.SlotRepository;
+import br.com.codart.src.service.impl.SlotHoldServiceImpl;
+import br.com.codart.src.service.impl.SlotServiceImpl;
+import br.com.codart.src.service.message.ResourceMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotHoldServiceImplTest {
+
+    private static final long TICK_MILLIS = 10;
+
+    private SlotRepository repository;
+    private SlotServiceImpl slotService;
+    private SlotHoldServiceImpl holdService;
+
+    @BeforeEach
+    void setUp() {
+        repository = new SlotRepository();
+        slotService = new SlotServiceImpl(repository);
+        holdService = new SlotHoldServiceImpl(slotService, TICK_MILLIS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        holdService.close();
+    }
+
+    private void save(long id) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).plusMinutes(id * 10);
+        repository.save(Slot.createSlot(id, start, start.plusMinutes(10), SlotStatusEnum.AVAILABLE));
+    }
+
+    private SlotStatusEnum statusOf(long id) {
+        return repository.findById(id).orElseThrow().getSlotStatus();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long limit = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < limit, "condição não atingida a tempo");
+            Thread.sleep(TICK_MILLIS);
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste de retenção e confirmação")
+    class HoldTest {
+
+        @Test
+        @DisplayName("Slot retido não deve ser reservado, bloqueado ou retido por outro")
+        void heldSlotShouldRejectOtherOperations() {
+            save(1L);
+
+            holdService.holdSlot(1L, Duration.ofMinutes(5));
+
+            assertEquals(SlotStatusEnum.HELD, statusOf(1L));
+            assertThrows(IllegalStateException.class, () -> slotService.reserveSlot(1L));
+            assertThrows(IllegalStateException.class, () -> slotService.blockSlot(1L));
+            assertThrows(IllegalStateException.class, () -> slotService.cancelSlot(1L));
+            assertThrows(IllegalStateException.class, () -> holdService.holdSlot(1L, Duration.ofMinutes(5)));
+            assertEquals(1, holdService.countHolds());
+        }
+
+        @Test
+        @DisplayName("Deve confirmar a retenção como reserva")
+        void shouldConfirmHold() {
+            save(1L);
+            holdService.holdSlot(1L, Duration.ofMinutes(5));
+
+            Slot slot = holdService.confirmHold(1L);
+
+            assertEquals(SlotStatusEnum.RESERVED, slot.getSlotStatus());
+            assertEquals(0, holdService.countHolds());
+            IllegalStateException exception = assertThrows(IllegalStateException.class, () -> holdService.confirmHold(1L));
+            assertEquals(ResourceMessage.SLOT_NOT_HELD.getMessage(), exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Deve liberar a retenção quando o paciente desiste")
+        void shouldReleaseHold() {
+            save(1L);
+            holdService.holdSlot(1L, Duration.ofMinutes(5));
+
+            holdService.releaseHold(1L);
+
+            assertEquals(SlotStatusEnum.AVAILABLE, statusOf(1L));
+            assertEquals(SlotStatusEnum.RESERVED, slotService.reserveSlot(1L).getSlotStatus());
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção para prazo inválido")
+        void shouldRejectInvalidTtl() {
+            save(1L);
+
+            assertThrows(IllegalArgumentException.class, () -> holdService.holdSlot(1L, Duration.ZERO));
+            assertThrows(IllegalArgumentException.class, () -> holdService.holdSlot(1L, null));
+            assertEquals(SlotStatusEnum.AVAILABLE, statusOf(1L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste de expiração das retenções")
+    class ExpiryTest {
+
+        @Test
+        @DisplayName("Retenção não confirmada deve ser liberada ao vencer")
+        void shouldReleaseExpiredHold() throws InterruptedException {
+            save(1L);
+            holdService.holdSlot(1L, Duration.ofMillis(50));
+
+            await(() -> statusOf(1L) == SlotStatusEnum.AVAILABLE);
+
+            assertEquals(0, holdService.countHolds());
+            assertThrows(IllegalStateException.class, () -> holdService.confirmHold(1L));
+        }
+
+        @Test
+        @DisplayName("Retenção renovada não deve ser liberada no prazo original")
+        void shouldKeepExtendedHold() throws InterruptedException {
+            save(1L);
+            save(2L);
+            holdService.holdSlot(1L, Duration.ofMillis(100));
+            holdService.holdSlot(2L, Duration.ofMillis(100));
+
+            holdService.extendHold(1L, Duration.ofMinutes(5));
+            await(() -> statusOf(2L) == SlotStatusEnum.AVAILABLE);
+            Thread.sleep(5 * TICK_MILLIS);
+
+            assertEquals(SlotStatusEnum.HELD, statusOf(1L));
+            assertEquals(SlotStatusEnum.RESERVED, holdService.confirmHold(1L).getSlotStatus());
+        }
+
+        @Test
+        @DisplayName("Deve liberar centenas de milhares de retenções sem uma thread por retenção")
+        void shouldExpireManyHolds() throws InterruptedException {
+            int holds = 200_000;
+            for (long id = 1; id <= holds; id++) {
+                save(id);
+            }
+            ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+            long startedBefore = threadBean.getTotalStartedThreadCount();
+
+            for (long id = 1; id <= holds; id++) {
+                holdService.holdSlot(id, Duration.ofMillis(3_000 + id % 1_000));
+            }
+            assertEquals(holds, holdService.countHolds());
+            // conta as threads iniciadas, e não as vivas, para não depender de threads de outros testes
+            // terminando no meio; a margem cobre threads de fundo da JVM, não uma por retenção
+            assertTrue(threadBean.getTotalStartedThreadCount() - startedBefore <= 8);
+
+            await(() -> holdService.countHolds() == 0);
+            for (long id = 1; id <= holds; id++) {
+                assertEquals(SlotStatusEnum.AVAILABLE, statusOf(id));
+            }
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package br.com.codart.service.impl;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.domain.entities.SlotOwner;
+import br.com.codart.src.repository.SlotRepository;
+import br.com.codart.src.service.impl.SlotServiceImpl;
+import br.com.codart.src.service.message.ResourceMessage;
+import br.com.codart.src.service.result.BatchReservationResult;
+import br.com.codart.src.service.result.ReservationStatusEnum;
+import br.com.codart.src.service.result.SlotReservation;
+import br.com.codart.src.service.result.SlotReservationOutcome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotServiceImplTest {
+
+    private SlotRepository repository;
+    private SlotServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new SlotRepository();
+        service = new SlotServiceImpl(repository);
+    }
+
+    private Slot save(long id, SlotStatusEnum status) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).plusMinutes(id * 10);
+        Slot slot = Slot.createSlot(id, start, start.plusMinutes(10), status);
+        repository.save(slot);
+        return slot;
+    }
+
+    private SlotStatusEnum statusOf(long id) {
+        return repository.findById(id).orElseThrow().getSlotStatus();
+    }
+
+    @Nested
+    @DisplayName("Teste de reserva com chave de idempotência")
+    class IdempotentReserveTest {
+
+        @Test
+        @DisplayName("Deve devolver a reserva original ao repetir a chave, sem nova transição")
+        void shouldReplayReservationForSameKey() {
+            Slot slot = save(1L, SlotStatusEnum.AVAILABLE);
+
+            SlotReservation first = service.reserveSlot(1L, "chave-1");
+            slot.cancelSlot();
+            SlotReservation retry = service.reserveSlot(1L, "chave-1");
+
+            // a repetição devolve a resposta original, não o estado atual do slot
+            assertSame(first, retry);
+            assertEquals(SlotStatusEnum.RESERVED, retry.getSlotStatus());
+            assertEquals(slot.getStartTime(), retry.getStartTime());
+            // a repetição não reservou de novo o slot cancelado
+            assertEquals(SlotStatusEnum.CANCELLED, statusOf(1L));
+        }
+
+        @Test
+        @DisplayName("Deve repetir a rejeição original e recusar a chave em outro slot")
+        void shouldReplayRejectionAndRejectReusedKey() {
+            save(1L, SlotStatusEnum.RESERVED);
+            save(2L, SlotStatusEnum.AVAILABLE);
+
+            IllegalStateException first = assertThrows(IllegalStateException.class, () -> service.reserveSlot(1L, "chave-1"));
+            IllegalStateException retry = assertThrows(IllegalStateException.class, () -> service.reserveSlot(1L, "chave-1"));
+            IllegalArgumentException reused = assertThrows(IllegalArgumentException.class, () -> service.reserveSlot(2L, "chave-1"));
+
+            assertEquals(ResourceMessage.NOT_AVAILABLE.getMessage(), first.getMessage());
+            assertSame(first, retry);
+            assertEquals(ResourceMessage.IDEMPOTENCY_KEY_REUSED.getMessage(), reused.getMessage());
+            assertEquals(SlotStatusEnum.AVAILABLE, statusOf(2L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste de reserva em lote")
+    class ReserveAllTest {
+
+        @Test
+        @DisplayName("Deve reservar todos os slots do lote")
+        void shouldReserveAllSlots() {
+            save(1L, SlotStatusEnum.AVAILABLE);
+            save(2L, SlotStatusEnum.AVAILABLE);
+            save(3L, SlotStatusEnum.AVAILABLE);
+
+            BatchReservationResult result = service.reserveAll(List.of(3L, 1L, 2L, 1L));
+
+            assertTrue(result.isReserved());
+            assertEquals(List.of(1L, 2L, 3L), result.getOutcomes().stream().map(SlotReservationOutcome::getSlotId).toList());
+            assertTrue(result.getOutcomes().stream().allMatch(outcome -> outcome.getStatus() == ReservationStatusEnum.RESERVED));
+            assertEquals(SlotStatusEnum.RESERVED, statusOf(2L));
+        }
+
+        @Test
+        @DisplayName("Deve desfazer as reservas se algum slot não estiver disponível")
+        void shouldRollbackWhenSlotIsNotAvailable() {
+            save(1L, SlotStatusEnum.AVAILABLE);
+            save(2L, SlotStatusEnum.RESERVED);
+            save(3L, SlotStatusEnum.AVAILABLE);
+
+            BatchReservationResult result = service.reserveAll(List.of(1L, 2L, 3L));
+
+            assertFalse(result.isReserved());
+            List<SlotReservationOutcome> outcomes = result.getOutcomes();
+            assertEquals(ReservationStatusEnum.ROLLED_BACK, outcomes.get(0).getStatus());
+            assertEquals(ReservationStatusEnum.REJECTED, outcomes.get(1).getStatus());
+            assertEquals(ResourceMessage.NOT_AVAILABLE.getMessage(), outcomes.get(1).getMessage());
+            assertEquals(ReservationStatusEnum.NOT_ATTEMPTED, outcomes.get(2).getStatus());
+            assertEquals(SlotStatusEnum.AVAILABLE, statusOf(1L));
+            assertEquals(SlotStatusEnum.AVAILABLE, statusOf(3L));
+        }
+
+        @Test
+        @DisplayName("Deve informar a liberação que falhou ao desfazer o lote")
+        void shouldReportFailedRelease() {
+            Slot first = save(1L, SlotStatusEnum.AVAILABLE);
+            save(2L, SlotStatusEnum.BLOCKED);
+            // uma transição feita direto no slot, por fora do serviço, logo depois da reserva do lote
+            first.attachOwner(new SlotOwner() {
+                @Override
+                public void beforeReschedule(Slot slot, LocalDateTime newStartTime, LocalDateTime newEndTime) {
+                }
+
+                @Override
+                public void onTransition(Slot slot, SlotStatusEnum from, SlotStatusEnum to) {
+                    if (to == SlotStatusEnum.RESERVED) {
+                        slot.tryCancel();
+                    }
+                }
+            });
+
+            BatchReservationResult result = service.reserveAll(List.of(1L, 2L));
+
+            assertFalse(result.isReserved());
+            assertEquals(ReservationStatusEnum.RELEASE_FAILED, result.getOutcomes().get(0).getStatus());
+            assertEquals(ResourceMessage.NOT_RESERVED.getMessage(), result.getOutcomes().get(0).getMessage());
+            assertEquals(SlotStatusEnum.CANCELLED, statusOf(1L));
+        }
+
+        @Test
+        @DisplayName("Desfazer um lote não deve liberar a reserva de outro paciente")
+        void rollbackShouldNotReleaseAnotherReservation() throws Exception {
+            save(1L, SlotStatusEnum.AVAILABLE);
+            Slot second = save(2L, SlotStatusEnum.AVAILABLE);
+            save(3L, SlotStatusEnum.BLOCKED);
+            AtomicBoolean patientReserved = new AtomicBoolean();
+            // outro paciente cancela, reabre e reserva o slot 1 enquanto o lote ainda está no slot 2
+            Thread patient = new Thread(() -> {
+                try {
+                    service.cancelSlot(1L);
+                    service.reopenSlot(1L);
+                    service.reserveSlot(1L);
+                    patientReserved.set(true);
+                } catch (IllegalStateException e) {
+                    // o lote já tinha desfeito a reserva dele
+                }
+            });
+            second.attachOwner(new SlotOwner() {
+                @Override
+                public void beforeReschedule(Slot slot, LocalDateTime newStartTime, LocalDateTime newEndTime) {
+                }
+
+                @Override
+                public void onTransition(Slot slot, SlotStatusEnum from, SlotStatusEnum to) {
+                    if (to == SlotStatusEnum.RESERVED) {
+                        patient.start();
+                        try {
+                            patient.join(200);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                }
+            });
+
+            assertFalse(service.reserveAll(List.of(1L, 2L, 3L)).isReserved());
+            patient.join();
+
+            assertEquals(patientReserved.get() ? SlotStatusEnum.RESERVED : SlotStatusEnum.AVAILABLE, statusOf(1L));
+        }
+
+        @Test
+        @DisplayName("Não deve alterar nenhum slot se algum não existir")
+        void shouldNotReserveWhenSlotIsMissing() {
+            save(1L, SlotStatusEnum.AVAILABLE);
+
+            BatchReservationResult result = service.reserveAll(List.of(1L, 99L));
+
+            assertFalse(result.isReserved());
+            assertEquals(ReservationStatusEnum.NOT_ATTEMPTED, result.getOutcomes().get(0).getStatus());
+            assertEquals(ResourceMessage.SLOT_NOT_FOUND.getMessage(), result.getOutcomes().get(1).getMessage());
+            assertEquals(SlotStatusEnum.AVAILABLE, statusOf(1L));
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção se o lote for vazio")
+        void shouldThrowExceptionIfBatchIsEmpty() {
+            Exception exception = assertThrows(IllegalArgumentException.class, () -> service.reserveAll(List.of()));
+
+            assertEquals(ResourceMessage.SLOT_INVALID.getMessage(), exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Deve reservar centenas de slots em um único lote")
+        void shouldReserveHundredsOfSlots() {
+            LongStream.rangeClosed(1, 500).forEach(id -> save(id, SlotStatusEnum.AVAILABLE));
+
+            BatchReservationResult result = service.reserveAll(LongStream.rangeClosed(1, 500).boxed().toList());
+
+            assertTrue(result.isReserved());
+            assertEquals(500, result.getOutcomes().size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste de concorrência da reserva em lote")
+    class ReserveAllConcurrencyTest {
+
+        @Test
+        @DisplayName("Lotes concorrentes devem reservar tudo ou nada")
+        void concurrentBatchesShouldBeAllOrNothing() throws Exception {
+            int threads = 8;
+            int rounds = 100;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                for (int round = 0; round < rounds; round++) {
+                    setUp();
+                    LongStream.rangeClosed(1, 20).forEach(id -> save(id, SlotStatusEnum.AVAILABLE));
+
+                    CountDownLatch start = new CountDownLatch(1);
+                    List<Future<BatchReservationResult>> futures = new ArrayList<>();
+                    for (int t = 0; t < threads; t++) {
+                        List<Long> ids = new ArrayList<>(LongStream.rangeClosed(1, 20).boxed().toList());
+                        Collections.shuffle(ids);
+                        List<Long> batch = ids.subList(0, 10);
+                        futures.add(executor.submit(() -> {
+                            start.await();
+                            return service.reserveAll(batch);
+                        }));
+                    }
+                    start.countDown();
+
+                    int reservedSlots = 0;
+                    for (Future<BatchReservationResult> future : futures) {
+                        BatchReservationResult result = future.get();
+                        if (result.isReserved()) {
+                            reservedSlots += result.getOutcomes().size();
+                        }
+                    }
+                    long actual = repository.findAll().stream()
+                            .filter(slot -> slot.getSlotStatus() == SlotStatusEnum.RESERVED)
+                            .count();
+                    assertEquals(reservedSlots, actual, "Apenas os slots de lotes concluídos deveriam estar reservados.");
+                    assertTrue(reservedSlots > 0, "Pelo menos um lote deveria concluir.");
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+}
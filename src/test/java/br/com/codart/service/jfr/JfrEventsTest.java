@@ -0,0 +1,147 @@
+package br.com.codart.service.jfr;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.domain.entities.schedule.Schedule;
+import br.com.codart.src.repository.ScheduleRepository;
+import br.com.codart.src.repository.SlotRepository;
+import br.com.codart.src.service.jfr.RepositoryOperationEvent;
+import br.com.codart.src.service.jfr.ScheduleConstructionEvent;
+import br.com.codart.src.service.jfr.SlotTransitionEvent;
+import br.com.codart.src.service.message.ResourceMessage;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrEventsTest {
+
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+
+    private static List<RecordedEvent> record(Runnable work) throws IOException {
+        Path file = Files.createTempFile("schedule", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(SlotTransitionEvent.class);
+            recording.enable(ScheduleConstructionEvent.class);
+            recording.enable(RepositoryOperationEvent.class);
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> result = new ArrayList<>();
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(name)) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    @Nested
+    @DisplayName("Teste dos eventos do Flight Recorder")
+    class RecordingTest {
+
+        @Test
+        @DisplayName("Deve registrar transições aceitas e rejeitadas com a agenda e os status")
+        void shouldRecordSlotTransitions() throws IOException {
+            List<RecordedEvent> events = record(() -> {
+                Slot slot = Slot.createSlot(7L, START, START.plusMinutes(20), SlotStatusEnum.AVAILABLE);
+                Schedule.createSchedule(3L, START, new ArrayList<>(List.of(slot)));
+                slot.reserveSlot();
+                assertThrows(IllegalStateException.class, slot::reserveSlot);
+                slot.tryReserve();
+            });
+
+            List<RecordedEvent> transitions = ofType(events, "br.com.codart.SlotTransition");
+            assertEquals(3, transitions.size());
+            RecordedEvent accepted = transitions.get(0);
+            assertEquals(7L, accepted.getLong("slotId"));
+            assertEquals(3L, accepted.getLong("scheduleId"));
+            assertEquals("RESERVE", accepted.getString("transition"));
+            assertEquals("AVAILABLE", accepted.getString("fromStatus"));
+            assertEquals("RESERVED", accepted.getString("toStatus"));
+            assertTrue(accepted.getBoolean("accepted"));
+
+            RecordedEvent thrown = transitions.get(1);
+            assertFalse(thrown.getBoolean("accepted"));
+            assertTrue(thrown.getBoolean("thrown"));
+            assertEquals(ResourceMessage.NOT_AVAILABLE.getMessage(), thrown.getString("rejection"));
+            assertFalse(transitions.get(2).getBoolean("thrown"));
+            assertEquals("NOT_AVAILABLE", transitions.get(2).getString("rejection"));
+        }
+
+        @Test
+        @DisplayName("Deve registrar a construção das agendas, inclusive as inválidas")
+        void shouldRecordScheduleConstruction() throws IOException {
+            List<RecordedEvent> events = record(() -> {
+                Schedule.createSchedule(1L, START, new ArrayList<>(List.of(
+                        Slot.createSlot(1L, START, START.plusMinutes(20), SlotStatusEnum.AVAILABLE),
+                        Slot.createSlot(2L, START.plusMinutes(20), START.plusMinutes(40), SlotStatusEnum.AVAILABLE))));
+                assertThrows(IllegalArgumentException.class, () -> Schedule.createSchedule(2L, START, new ArrayList<>(List.of(
+                        Slot.createSlot(3L, START, START.plusMinutes(20), SlotStatusEnum.AVAILABLE),
+                        Slot.createSlot(4L, START.plusMinutes(10), START.plusMinutes(30), SlotStatusEnum.AVAILABLE)))));
+            });
+
+            List<RecordedEvent> constructions = ofType(events, "br.com.codart.ScheduleConstruction");
+            assertEquals(2, constructions.size());
+            assertEquals(1L, constructions.get(0).getLong("scheduleId"));
+            assertEquals(2, constructions.get(0).getInt("slots"));
+            assertTrue(constructions.get(0).getBoolean("valid"));
+            assertFalse(constructions.get(1).getBoolean("valid"));
+            assertTrue(constructions.get(0).getDuration("validation").toNanos()
+                    <= constructions.get(0).getDuration().toNanos());
+        }
+
+        @Test
+        @DisplayName("Deve registrar as operações dos repositórios")
+        void shouldRecordRepositoryOperations() throws IOException {
+            List<RecordedEvent> events = record(() -> {
+                SlotRepository slots = new SlotRepository();
+                slots.save(Slot.createSlot(1L, START, START.plusMinutes(20), SlotStatusEnum.AVAILABLE));
+                slots.findById(1L);
+                slots.findById(2L);
+                slots.update(1L, Slot::tryReserve);
+                new ScheduleRepository().findById(9L);
+            });
+
+            List<String> operations = new ArrayList<>();
+            for (RecordedEvent event : ofType(events, "br.com.codart.RepositoryOperation")) {
+                operations.add(event.getString("repository") + "." + event.getString("operation")
+                        + "(" + event.getLong("entityId") + ")=" + event.getBoolean("found"));
+            }
+            assertEquals(List.of(
+                    "SlotRepository.save(1)=false",
+                    "SlotRepository.findById(1)=true",
+                    "SlotRepository.findById(2)=false",
+                    "SlotRepository.findById(1)=true",
+                    "SlotRepository.update(1)=true",
+                    "ScheduleRepository.findById(9)=false"), operations);
+        }
+
+        @Test
+        @DisplayName("Sem gravação, nenhum evento deve ser criado")
+        void shouldNotCreateEventsWithoutRecording() {
+            assertNull(SlotTransitionEvent.start());
+            assertNull(ScheduleConstructionEvent.start());
+            assertNull(RepositoryOperationEvent.start());
+        }
+    }
+}
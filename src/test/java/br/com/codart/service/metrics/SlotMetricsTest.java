@@ -0,0 +1,152 @@
+package br.com.codart.service.metrics;
+
+import br.com.codart.src.domain.Enum.SlotOperationEnum;
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.repository.SlotRepository;
+import br.com.codart.src.service.ISlotService;
+import br.com.codart.src.service.impl.SlotServiceImpl;
+import br.com.codart.src.service.message.ResourceMessage;
+import br.com.codart.src.service.metrics.LatencyHistogram;
+import br.com.codart.src.service.metrics.LatencySnapshot;
+import br.com.codart.src.service.metrics.MeteredSlotService;
+import br.com.codart.src.service.metrics.SlotMetrics;
+import br.com.codart.src.service.metrics.SlotMetricsSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotMetricsTest {
+
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+
+    @Nested
+    @DisplayName("Teste do histograma de latências")
+    class HistogramTest {
+
+        @Test
+        @DisplayName("Os percentis devem ficar no máximo 12,5% acima do valor real")
+        void shouldBoundPercentileError() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (long nanos = 1; nanos <= 100_000; nanos++) {
+                histogram.record(nanos);
+            }
+
+            LatencySnapshot snapshot = histogram.snapshot();
+
+            assertEquals(100_000, snapshot.getCount());
+            assertEquals(50_000, snapshot.getMeanNanos());
+            for (double quantile : new double[]{0.5, 0.9, 0.99, 0.999}) {
+                long exact = (long) (quantile * 100_000);
+                long estimate = snapshot.getPercentileNanos(quantile);
+                assertTrue(estimate >= exact && estimate <= exact * 1.125, quantile + ": " + estimate);
+            }
+            assertTrue(snapshot.getMaxNanos() >= 100_000);
+        }
+
+        @Test
+        @DisplayName("Deve aceitar valores extremos e recusar percentil inválido")
+        void shouldHandleExtremes() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(-5);
+            histogram.record(Long.MAX_VALUE);
+
+            LatencySnapshot snapshot = histogram.snapshot();
+
+            assertEquals(0, snapshot.getPercentileNanos(0.5));
+            assertEquals(Long.MAX_VALUE, snapshot.getMaxNanos());
+            assertThrows(IllegalArgumentException.class, () -> snapshot.getPercentileNanos(1.5));
+            assertEquals(0, new LatencyHistogram().snapshot().getPercentileNanos(0.99));
+        }
+
+        @Test
+        @DisplayName("Não deve perder registros de threads concorrentes")
+        void shouldNotLoseConcurrentRecords() throws InterruptedException {
+            LatencyHistogram histogram = new LatencyHistogram();
+            int threads = 4;
+            int perThread = 50_000;
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Thread worker = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < perThread; i++) {
+                        histogram.record(100);
+                    }
+                });
+                worker.start();
+                workers.add(worker);
+            }
+            start.countDown();
+            for (Thread worker : workers) {
+                worker.join();
+            }
+
+            assertEquals(threads * perThread, histogram.snapshot().getCount());
+            assertEquals(100L * threads * perThread, histogram.snapshot().getTotalNanos());
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste das métricas do serviço de slots")
+    class MeteredServiceTest {
+
+        @Test
+        @DisplayName("Deve contar as operações por resultado e pelo motivo da rejeição")
+        void shouldCountOutcomesByReason() {
+            SlotMetrics metrics = new SlotMetrics(1);
+            ISlotService slotService = new MeteredSlotService(new SlotServiceImpl(new SlotRepository()), metrics);
+            slotService.saveSlot(Slot.createSlot(1L, START, START.plusMinutes(20), SlotStatusEnum.AVAILABLE));
+
+            slotService.reserveSlot(1L);
+            assertThrows(IllegalStateException.class, () -> slotService.reserveSlot(1L));
+            assertThrows(IllegalArgumentException.class, () -> slotService.reserveSlot(99L));
+
+            SlotMetricsSnapshot snapshot = metrics.snapshot();
+            assertEquals(Map.of(SlotMetrics.SUCCESS, 1L,
+                    ResourceMessage.NOT_AVAILABLE.name(), 1L,
+                    ResourceMessage.SLOT_NOT_FOUND.name(), 1L), snapshot.getCounts(SlotOperationEnum.RESERVE));
+            assertEquals(3, snapshot.getLatency(SlotOperationEnum.RESERVE).getCount());
+            assertEquals(1, metrics.countFailures(SlotOperationEnum.RESERVE, ResourceMessage.NOT_AVAILABLE));
+            assertEquals(List.of(SlotOperationEnum.SAVE, SlotOperationEnum.RESERVE), new ArrayList<>(snapshot.getOperations()));
+        }
+
+        @Test
+        @DisplayName("Deve contar todas as operações mesmo medindo a latência só de uma amostra")
+        void shouldSampleLatencyButCountEverything() {
+            SlotMetrics metrics = new SlotMetrics(16);
+            ISlotService slotService = new MeteredSlotService(new SlotServiceImpl(new SlotRepository()), metrics);
+            slotService.saveSlot(Slot.createSlot(1L, START, START.plusMinutes(20), SlotStatusEnum.AVAILABLE));
+
+            for (int i = 0; i < 16_000; i++) {
+                slotService.holdSlot(1L);
+                slotService.releaseHold(1L);
+            }
+
+            SlotMetricsSnapshot snapshot = metrics.snapshot();
+            long sampled = snapshot.getLatency(SlotOperationEnum.HOLD).getCount();
+            assertEquals(16_000, snapshot.getCount(SlotOperationEnum.HOLD, SlotMetrics.SUCCESS));
+            assertTrue(sampled > 500 && sampled < 1_500, "amostradas: " + sampled);
+        }
+
+        @Test
+        @DisplayName("Deve recusar taxa de amostragem que não é potência de dois")
+        void shouldRejectInvalidSampling() {
+            assertThrows(IllegalArgumentException.class, () -> new SlotMetrics(10));
+            assertThrows(IllegalArgumentException.class, () -> new SlotMetrics(0));
+            assertThrows(IllegalArgumentException.class, () -> new MeteredSlotService(null, new SlotMetrics()));
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package br.com.codart.service.notification;
+
+import br.com.codart.src.domain.Enum.NotificationTypeEnum;
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.domain.entities.schedule.Schedule;
+import br.com.codart.src.repository.ScheduleRepository;
+import br.com.codart.src.repository.SlotRepository;
+import br.com.codart.src.service.event.SlotEventBus;
+import br.com.codart.src.service.impl.SlotServiceImpl;
+import br.com.codart.src.service.notification.INotificationGateway;
+import br.com.codart.src.service.notification.Notification;
+import br.com.codart.src.service.notification.NotificationBatch;
+import br.com.codart.src.service.notification.NotificationBatcher;
+import br.com.codart.src.service.notification.NotificationDispatcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationDispatcherTest {
+
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+
+    /**
+     * Gateway em memória que demora {@code latencyMillis} por envio e registra os lotes recebidos.
+     */
+    private static final class FakeGateway implements INotificationGateway {
+
+        private final long latencyMillis;
+        private final List<List<NotificationBatch>> calls = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile int maxInFlight;
+
+        private FakeGateway(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public void send(List<NotificationBatch> batches) {
+            maxInFlight = Math.max(maxInFlight, inFlight.incrementAndGet());
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            calls.add(batches);
+        }
+
+        private int notifications() {
+            synchronized (calls) {
+                return calls.stream().flatMap(List::stream).mapToInt(batch -> batch.getNotifications().size()).sum();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste do envio de avisos a partir dos eventos")
+    class DispatcherTest {
+
+        @Test
+        @DisplayName("Deve juntar por paciente os avisos de um dia cancelado em um único envio")
+        void shouldCoalesceCancelledDayPerPatient() {
+            SlotEventBus bus = new SlotEventBus(1024);
+            FakeGateway gateway = new FakeGateway(5);
+            // sem paciente para os slots de id múltiplo de 7
+            NotificationDispatcher dispatcher = new NotificationDispatcher(bus,
+                    (scheduleId, slotId) -> slotId % 7 == 0 ? null : "paciente-" + slotId % 5,
+                    gateway, 100, Duration.ofSeconds(30), 64);
+            List<Slot> slots = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                slots.add(Slot.createSlot(i + 1L, START.plusMinutes(20L * i), START.plusMinutes(20L * i + 20), SlotStatusEnum.AVAILABLE));
+            }
+            new ScheduleRepository(bus).save(Schedule.createSchedule(1L, START, new ArrayList<>(slots)));
+
+            slots.forEach(Slot::reserveSlot);
+            slots.forEach(Slot::cancelSlot);
+            dispatcher.close();
+
+            assertEquals(1, gateway.calls.size());
+            List<NotificationBatch> batches = gateway.calls.get(0);
+            assertEquals(5, batches.size());
+            // 30 slots, menos os 4 sem paciente, um aviso por slot: o cancelamento substitui a reserva
+            assertEquals(26, gateway.notifications());
+            assertTrue(batches.stream().flatMap(batch -> batch.getNotifications().stream())
+                    .allMatch(notification -> notification.getType() == NotificationTypeEnum.CANCELLED));
+            assertTrue(batches.stream().allMatch(batch -> batch.getNotifications().stream()
+                    .allMatch(notification -> batch.getRecipient().equals("paciente-" + notification.getSlotId() % 5))));
+            assertEquals(26, dispatcher.getSent());
+            assertEquals(0, dispatcher.getLostEvents());
+        }
+
+        @Test
+        @DisplayName("Não deve avisar as reservas de um lote desfeito")
+        void shouldNotNotifyRolledBackBatch() {
+            SlotEventBus bus = new SlotEventBus(64);
+            FakeGateway gateway = new FakeGateway(0);
+            NotificationDispatcher dispatcher = new NotificationDispatcher(bus, (scheduleId, slotId) -> "paciente",
+                    gateway, 100, Duration.ofSeconds(30), 16);
+            SlotRepository slotRepository = new SlotRepository();
+            List<Slot> slots = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                Slot slot = Slot.createSlot(i + 1L, START.plusMinutes(20L * i), START.plusMinutes(20L * i + 20), SlotStatusEnum.AVAILABLE);
+                slotRepository.save(slot);
+                slots.add(slot);
+            }
+            new ScheduleRepository(bus).save(Schedule.createSchedule(1L, START, new ArrayList<>(slots)));
+            slots.get(2).blockSlot();
+
+            // o slot 3 está bloqueado: as reservas dos slots 1 e 2 são desfeitas
+            assertFalse(new SlotServiceImpl(slotRepository).reserveAll(List.of(1L, 2L, 3L)).isReserved());
+            dispatcher.close();
+
+            assertEquals(0, gateway.calls.size());
+            assertEquals(0, dispatcher.getSent());
+        }
+
+        @Test
+        @DisplayName("Deve avisar o cancelamento de uma reserva desfeita depois de o aviso ter sido enviado")
+        void shouldCancelAlreadySentBooking() throws Exception {
+            FakeGateway gateway = new FakeGateway(0);
+            NotificationBatcher batcher = new NotificationBatcher(gateway, 1, Duration.ofSeconds(30));
+            SubmissionPublisher<Notification> publisher = new SubmissionPublisher<>();
+            publisher.subscribe(batcher);
+
+            publisher.submit(new Notification("paciente", NotificationTypeEnum.BOOKED, 1L, 1L, START));
+            publisher.submit(new Notification("paciente", NotificationTypeEnum.RELEASED, 1L, 1L, START));
+            publisher.close();
+            batcher.getCompletion().get(10, TimeUnit.SECONDS);
+
+            assertEquals(2, gateway.calls.size());
+            assertEquals(NotificationTypeEnum.BOOKED, gateway.calls.get(0).get(0).getNotifications().get(0).getType());
+            assertEquals(NotificationTypeEnum.CANCELLED, gateway.calls.get(1).get(0).getNotifications().get(0).getType());
+        }
+
+        @Test
+        @DisplayName("Deve enviar ao fim da janela mesmo sem completar o lote")
+        void shouldFlushWhenWindowElapses() throws Exception {
+            SlotEventBus bus = new SlotEventBus(64);
+            FakeGateway gateway = new FakeGateway(0);
+            NotificationDispatcher dispatcher = new NotificationDispatcher(bus, (scheduleId, slotId) -> "paciente",
+                    gateway, 100, Duration.ofMillis(50), 16);
+            Slot slot = Slot.createSlot(1L, START, START.plusMinutes(20), SlotStatusEnum.AVAILABLE);
+            new ScheduleRepository(bus).save(Schedule.createSchedule(1L, START, new ArrayList<>(List.of(slot))));
+
+            slot.reserveSlot();
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (gateway.calls.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(1, gateway.calls.size());
+            assertEquals(NotificationTypeEnum.BOOKED, gateway.calls.get(0).get(0).getNotifications().get(0).getType());
+            assertEquals(START, gateway.calls.get(0).get(0).getNotifications().get(0).getStartTime());
+            dispatcher.close();
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste da contrapressão")
+    class BackpressureTest {
+
+        @Test
+        @DisplayName("Um gateway lento deve fazer quem publica esperar, com lotes limitados e um envio por vez")
+        void shouldApplyBackpressureToPublisher() throws Exception {
+            FakeGateway gateway = new FakeGateway(20);
+            NotificationBatcher batcher = new NotificationBatcher(gateway, 8, Duration.ofSeconds(30));
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            SubmissionPublisher<Notification> publisher = new SubmissionPublisher<>(executor, 16);
+            publisher.subscribe(batcher);
+
+            long started = System.nanoTime();
+            for (int i = 0; i < 200; i++) {
+                publisher.submit(new Notification("paciente-" + i, NotificationTypeEnum.CANCELLED, 1L, i + 1L, START));
+            }
+            long blockedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            publisher.close();
+            batcher.getCompletion().get(10, TimeUnit.SECONDS);
+            executor.shutdown();
+
+            // sem contrapressão, publicar 200 avisos levaria poucos milissegundos; com ela,
+            // pelo menos (200 - buffer - lote) / lote envios de 20 ms precisam terminar antes
+            assertTrue(blockedMillis >= 300, "publicou em " + blockedMillis + " ms");
+            assertEquals(200, gateway.notifications());
+            assertEquals(25, gateway.calls.size());
+            assertTrue(gateway.calls.stream().allMatch(call -> call.size() <= 8));
+            assertEquals(1, gateway.maxInFlight);
+        }
+
+        @Test
+        @DisplayName("Deve descartar o lote recusado pelo gateway e continuar com os seguintes")
+        void shouldContinueAfterGatewayFailure() throws Exception {
+            AtomicInteger calls = new AtomicInteger();
+            NotificationBatcher batcher = new NotificationBatcher(batches -> {
+                if (calls.incrementAndGet() == 1) {
+                    throw new IllegalStateException("gateway fora do ar");
+                }
+            }, 2, Duration.ofSeconds(30));
+            SubmissionPublisher<Notification> publisher = new SubmissionPublisher<>();
+            publisher.subscribe(batcher);
+
+            for (int i = 0; i < 4; i++) {
+                publisher.submit(new Notification("paciente", NotificationTypeEnum.BOOKED, 1L, i + 1L, START));
+            }
+            publisher.close();
+            batcher.getCompletion().get(10, TimeUnit.SECONDS);
+
+            assertEquals(2, batcher.getFailed());
+            assertEquals(2, batcher.getSent());
+            assertEquals(2, batcher.getGatewayCalls());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.codart.service.query;
+
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.domain.entities.schedule.Schedule;
+import br.com.codart.src.repository.ScheduleRepository;
+import br.com.codart.src.service.event.SlotEventBus;
+import br.com.codart.src.service.query.AvailabilityProjection;
+import br.com.codart.src.service.query.AvailableTime;
+import br.com.codart.src.service.query.DayAvailabilityView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityProjectionTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+    private static final LocalDateTime START = DAY.atTime(8, 0);
+
+    private ScheduleRepository repository;
+    private AvailabilityProjection projection;
+    private Slot first;
+    private Schedule schedule;
+
+    @BeforeEach
+    void setUp() {
+        SlotEventBus bus = new SlotEventBus(1024);
+        repository = new ScheduleRepository(bus);
+        first = Slot.createSlot(1L, START, START.plusMinutes(20), SlotStatusEnum.AVAILABLE);
+        List<Slot> slots = new ArrayList<>(List.of(first,
+                Slot.createSlot(2L, START.plusMinutes(20), START.plusMinutes(40), SlotStatusEnum.AVAILABLE),
+                Slot.createSlot(3L, START.plusDays(1), START.plusDays(1).plusMinutes(20), SlotStatusEnum.AVAILABLE)));
+        schedule = Schedule.createSchedule(1L, START, slots);
+        repository.save(schedule);
+        projection = new AvailabilityProjection(bus, repository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        projection.close();
+    }
+
+    private static List<Long> slotIds(DayAvailabilityView view) {
+        return view.getTimes().stream().map(AvailableTime::getSlotId).toList();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "a projeção não recebeu o evento");
+            Thread.sleep(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste das visões de disponibilidade")
+    class ViewTest {
+
+        @Test
+        @DisplayName("Deve servir a mesma visão imutável enquanto o dia não muda")
+        void shouldServeCachedView() {
+            DayAvailabilityView view = projection.findDay(1L, DAY);
+
+            assertEquals(List.of(1L, 2L), slotIds(view));
+            assertSame(view, projection.findDay(1L, DAY));
+            assertEquals(1, projection.getHits());
+            assertEquals(1, projection.getRebuilds());
+            assertThrows(UnsupportedOperationException.class, () -> view.getTimes().clear());
+        }
+
+        @Test
+        @DisplayName("Uma reserva deve invalidar só a visão do próprio dia")
+        void shouldInvalidateOnlyChangedDay() throws InterruptedException {
+            DayAvailabilityView today = projection.findDay(1L, DAY);
+            DayAvailabilityView tomorrow = projection.findDay(1L, DAY.plusDays(1));
+
+            first.reserveSlot();
+            await(() -> projection.findDay(1L, DAY).getVersion() == 1);
+
+            DayAvailabilityView rebuilt = projection.findDay(1L, DAY);
+            assertNotSame(today, rebuilt);
+            assertEquals(List.of(2L), slotIds(rebuilt));
+            assertEquals(List.of(1L, 2L), slotIds(today));
+            assertSame(tomorrow, projection.findDay(1L, DAY.plusDays(1)));
+        }
+
+        @Test
+        @DisplayName("Deve refletir slots adicionados e transições que voltam a AVAILABLE")
+        void shouldReflectAddedAndReleasedSlots() throws InterruptedException {
+            projection.findDay(1L, DAY);
+            first.reserveSlot();
+            await(() -> slotIds(projection.findDay(1L, DAY)).equals(List.of(2L)));
+
+            first.releaseSlot();
+            schedule.addSlot(Slot.createSlot(4L, START.plusMinutes(40), START.plusMinutes(60), SlotStatusEnum.AVAILABLE));
+
+            await(() -> slotIds(projection.findDay(1L, DAY)).equals(List.of(1L, 2L, 4L)));
+            assertEquals(List.of(3L), slotIds(projection.findDays(1L, DAY, DAY.plusDays(1)).get(1)));
+        }
+
+        @Test
+        @DisplayName("Deve descartar a versão dos dias arquivados sem voltar a servir a visão antiga")
+        void shouldDropVersionsOfArchivedDays() throws InterruptedException {
+            DayAvailabilityView tomorrow = projection.findDay(1L, DAY.plusDays(1));
+            first.reserveSlot();
+            await(() -> projection.countVersions() == 1);
+            DayAvailabilityView reserved = projection.findDay(1L, DAY);
+
+            schedule.evictEndedBefore(START.plusHours(1));
+
+            await(() -> projection.countVersions() == 0);
+            DayAvailabilityView archived = projection.findDay(1L, DAY);
+            assertNotSame(reserved, archived);
+            assertEquals(List.of(), slotIds(archived));
+            assertTrue(archived.getVersion() > reserved.getVersion());
+            assertEquals(List.of(3L), slotIds(projection.findDay(1L, DAY.plusDays(1))));
+            assertNotSame(tomorrow, projection.findDay(1L, DAY.plusDays(1)));
+        }
+
+        @Test
+        @DisplayName("Deve recusar agenda inexistente e intervalo inválido")
+        void shouldRejectUnknownScheduleAndInvalidRange() {
+            assertThrows(IllegalArgumentException.class, () -> projection.findDay(99L, DAY));
+            assertThrows(IllegalArgumentException.class, () -> projection.findDays(1L, DAY.plusDays(1), DAY));
+        }
+    }
+}
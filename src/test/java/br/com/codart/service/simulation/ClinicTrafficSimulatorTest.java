@@ -0,0 +1,175 @@
+package br.com.codart.service.simulation;
+
+import br.com.codart.src.domain.Enum.SlotOperationEnum;
+import br.com.codart.src.domain.Enum.SlotStatusEnum;
+import br.com.codart.src.domain.Enum.SlotTransitionOutcomeEnum;
+import br.com.codart.src.domain.entities.Slot;
+import br.com.codart.src.service.message.ResourceMessage;
+import br.com.codart.src.service.metrics.SlotMetrics;
+import br.com.codart.src.service.simulation.ClinicTrafficSimulator;
+import br.com.codart.src.service.simulation.SimulationConfig;
+import br.com.codart.src.service.simulation.SimulationReport;
+import br.com.codart.src.service.simulation.VirtualClock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClinicTrafficSimulatorTest {
+
+    private static SimulationConfig.Builder small() {
+        return new SimulationConfig.Builder()
+                .doctors(4)
+                .days(2)
+                .operations(5_000)
+                .threads(1);
+    }
+
+    private static Map<SlotOperationEnum, Map<String, Long>> counts(SimulationReport report) {
+        Map<SlotOperationEnum, Map<String, Long>> counts = new EnumMap<>(SlotOperationEnum.class);
+        for (SlotOperationEnum operation : report.getMetrics().getOperations()) {
+            counts.put(operation, report.getMetrics().getCounts(operation));
+        }
+        return counts;
+    }
+
+    @Nested
+    @DisplayName("Simulação")
+    class Simulation {
+
+        @Test
+        @DisplayName("Deve repetir os mesmos resultados com a mesma seed")
+        void shouldRepeatResultsWithSameSeed() {
+            SimulationReport first = new ClinicTrafficSimulator(small().seed(7).build()).run();
+            SimulationReport second = new ClinicTrafficSimulator(small().seed(7).build()).run();
+            SimulationReport other = new ClinicTrafficSimulator(small().seed(8).build()).run();
+
+            assertEquals(counts(first), counts(second));
+            assertNotEquals(counts(first), counts(other));
+        }
+
+        @Test
+        @DisplayName("Deve repetir os resultados de uma thread com várias threads")
+        void shouldRepeatResultsWithSeveralThreads() {
+            SimulationReport single = new ClinicTrafficSimulator(small().seed(7).build()).run();
+            SimulationReport parallel = new ClinicTrafficSimulator(small().seed(7).threads(4).build()).run();
+
+            assertEquals(counts(single), counts(parallel));
+        }
+
+        @Test
+        @DisplayName("Não deve depender do fuso da máquina")
+        void shouldNotDependOnSystemZone() {
+            TimeZone previous = TimeZone.getDefault();
+            try {
+                TimeZone.setDefault(TimeZone.getTimeZone("America/Sao_Paulo"));
+                SimulationReport inSaoPaulo = new ClinicTrafficSimulator(small().seed(7).build()).run();
+                TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+                SimulationReport inTokyo = new ClinicTrafficSimulator(small().seed(7).build()).run();
+
+                assertEquals(counts(inSaoPaulo), counts(inTokyo));
+            } finally {
+                TimeZone.setDefault(previous);
+            }
+        }
+
+        @Test
+        @DisplayName("Deve expirar horários no decorrer do dia virtual")
+        void shouldExpireSlotsDuringVirtualDay() {
+            SimulationReport report = new ClinicTrafficSimulator(small().build()).run();
+
+            long expired = report.getMetrics().getCount(SlotOperationEnum.RESERVE, ResourceMessage.SLOT_EXPIRED.name());
+            assertTrue(expired > 0);
+            assertEquals(Duration.ofHours(12), report.getVirtualDuration());
+            assertTrue(report.getSpeedup() > 1);
+        }
+
+        @Test
+        @DisplayName("Deve executar todas as operações com várias threads")
+        void shouldRunAllOperationsWithSeveralThreads() {
+            SimulationReport report = new ClinicTrafficSimulator(small().threads(4).massCancellations(0).build()).run();
+
+            long slots = 4 * 2 * 30;
+            assertEquals(slots, report.getMetrics().getCount(SlotOperationEnum.SAVE, SlotMetrics.SUCCESS));
+            assertEquals(5_000 + slots, report.getSlotOperations());
+            assertTrue(report.toString().contains("threads=4"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Relógio virtual")
+    class Virtual {
+
+        private final ZoneId zone = ZoneId.systemDefault();
+        private final LocalDateTime start = LocalDate.of(2025, 3, 10).atTime(8, 0);
+
+        @Test
+        @DisplayName("Deve avançar apenas para frente")
+        void shouldOnlyMoveForward() {
+            VirtualClock clock = new VirtualClock(start.atZone(zone).toInstant(), zone);
+
+            clock.advance(Duration.ofMinutes(30));
+            clock.advanceTo(start.atZone(zone).toInstant());
+
+            assertEquals(start.plusMinutes(30), LocalDateTime.now(clock));
+            assertEquals(clock.millis(), clock.withZone(ZoneId.of("UTC")).millis());
+        }
+
+        @Test
+        @DisplayName("Deve expirar o slot pelo próprio relógio, sem afetar os demais slots")
+        void shouldExpireSlotByItsOwnClock() {
+            LocalDateTime future = LocalDateTime.now().plusDays(1);
+            VirtualClock clock = new VirtualClock(future.atZone(zone).toInstant(), zone);
+            Slot simulated = Slot.createSlot(1L, future.plusHours(1), future.plusHours(2), SlotStatusEnum.AVAILABLE, clock);
+            Slot real = Slot.createSlot(2L, future.plusHours(1), future.plusHours(2), SlotStatusEnum.AVAILABLE);
+
+            clock.advance(Duration.ofHours(3));
+
+            assertEquals(SlotTransitionOutcomeEnum.EXPIRED, simulated.tryReserve());
+            assertEquals(SlotTransitionOutcomeEnum.SUCCESS, real.tryReserve());
+        }
+
+        @Test
+        @DisplayName("Deve converter os horários do slot no fuso do relógio")
+        void shouldUseClockZone() {
+            ZoneId utc = ZoneId.of("UTC");
+            ZoneId saoPaulo = ZoneId.of("America/Sao_Paulo");
+            // 12:00 em UTC são 09:00 em São Paulo: o slot das 10:00 já terminou em UTC, mas não em São Paulo
+            VirtualClock clock = new VirtualClock(start.withHour(12).atZone(utc).toInstant(), utc);
+
+            Slot inUtc = Slot.createSlot(1L, start.withHour(10), start.withHour(11), SlotStatusEnum.AVAILABLE, clock);
+            Slot inSaoPaulo = Slot.createSlot(2L, start.withHour(10), start.withHour(11), SlotStatusEnum.AVAILABLE,
+                    clock.withZone(saoPaulo));
+
+            assertEquals(SlotTransitionOutcomeEnum.EXPIRED, inUtc.tryReserve());
+            assertEquals(SlotTransitionOutcomeEnum.SUCCESS, inSaoPaulo.tryReserve());
+        }
+    }
+
+    @Nested
+    @DisplayName("Configuração")
+    class Configuration {
+
+        @Test
+        @DisplayName("Deve rejeitar configuração inválida")
+        void shouldRejectInvalidConfig() {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> new SimulationConfig.Builder().doctors(0).build());
+            assertThrows(IllegalArgumentException.class, () -> new SimulationConfig.Builder().zone(null).build());
+
+            assertEquals(ResourceMessage.SIMULATION_INVALID.getMessage(), exception.getMessage());
+            assertThrows(IllegalArgumentException.class,
+                    () -> Slot.createSlot(1L, LocalDateTime.now(), LocalDateTime.now().plusHours(1), SlotStatusEnum.AVAILABLE, null));
+            assertThrows(IllegalArgumentException.class, () -> new ClinicTrafficSimulator(null));
+        }
+    }
+}
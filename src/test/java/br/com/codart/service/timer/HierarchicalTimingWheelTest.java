@@ -0,0 +1,137 @@
+package br.com.codart.service.timer;
+
+import br.com.codart.src.service.timer.HierarchicalTimingWheel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 100;
+
+    @Nested
+    @DisplayName("Teste de vencimento dos prazos")
+    class ExpiryTest {
+
+        @Test
+        @DisplayName("Deve entregar cada prazo no tick em que vence, nunca antes")
+        void shouldExpireAtDeadline() {
+            HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 0);
+            wheel.schedule(250, "a");
+            wheel.schedule(300, "b");
+            wheel.schedule(10_000, "c");
+            List<String> expired = new ArrayList<>();
+
+            assertEquals(0, wheel.advanceTo(249, expired::add));
+            // 250 e 300 caem no mesmo tick
+            assertEquals(2, wheel.advanceTo(300, expired::add));
+            assertEquals(List.of("a", "b"), expired);
+            assertEquals(0, wheel.advanceTo(9_999, expired::add));
+            assertEquals(1, wheel.advanceTo(10_000, expired::add));
+            assertEquals(List.of("a", "b", "c"), expired);
+            assertEquals(0, wheel.size());
+        }
+
+        @Test
+        @DisplayName("Deve redistribuir prazos longos pelos níveis até o vencimento")
+        void shouldCascadeLongDeadlines() {
+            HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(TICK, 0);
+            // 1 hora e 1 dia: níveis 2 e 3
+            long hour = 3_600_000;
+            long day = 86_400_000;
+            wheel.schedule(hour, hour);
+            wheel.schedule(day, day);
+            List<Long> expired = new ArrayList<>();
+
+            wheel.advanceTo(hour - 1, expired::add);
+            assertTrue(expired.isEmpty());
+            wheel.advanceTo(hour, expired::add);
+            assertEquals(List.of(hour), expired);
+            wheel.advanceTo(day - 1, expired::add);
+            assertEquals(1, expired.size());
+            wheel.advanceTo(day, expired::add);
+            assertEquals(List.of(hour, day), expired);
+        }
+
+        @Test
+        @DisplayName("Prazo já vencido deve ser entregue no próximo tick")
+        void shouldExpirePastDeadlineOnNextTick() {
+            HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 0);
+            wheel.advanceTo(1_000, task -> fail());
+            wheel.schedule(500, "late");
+            List<String> expired = new ArrayList<>();
+
+            wheel.advanceTo(1_099, expired::add);
+            assertTrue(expired.isEmpty());
+            wheel.advanceTo(1_100, expired::add);
+            assertEquals(List.of("late"), expired);
+        }
+
+        @Test
+        @DisplayName("Deve entregar centenas de milhares de prazos exatamente uma vez")
+        void shouldExpireManyDeadlinesExactlyOnce() {
+            int count = 500_000;
+            HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(TICK, 0);
+            long[] deadlines = new long[count];
+            Random random = new Random(14);
+            for (int i = 0; i < count; i++) {
+                deadlines[i] = 1 + random.nextInt(900_000);
+                wheel.schedule(deadlines[i], i);
+            }
+            assertEquals(count, wheel.size());
+
+            boolean[] seen = new boolean[count];
+            int[] total = new int[1];
+            for (long now = 0; now <= 900_000; now += 1_000) {
+                long current = now;
+                wheel.advanceTo(current, i -> {
+                    assertFalse(seen[i]);
+                    assertTrue(deadlines[i] <= current, "prazo entregue antes da hora");
+                    assertTrue(deadlines[i] > current - 1_000 - TICK, "prazo entregue com atraso");
+                    seen[i] = true;
+                    total[0]++;
+                });
+            }
+            assertEquals(count, total[0]);
+            assertEquals(0, wheel.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Teste de cancelamento")
+    class CancelTest {
+
+        @Test
+        @DisplayName("Prazo cancelado não deve ser entregue")
+        void shouldNotExpireCancelledTimeout() {
+            HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 0);
+            HierarchicalTimingWheel<String>.Timeout cancelled = wheel.schedule(500, "cancelled");
+            wheel.schedule(500, "kept");
+
+            assertTrue(cancelled.cancel());
+            assertFalse(cancelled.cancel());
+            List<String> expired = new ArrayList<>();
+            wheel.advanceTo(1_000, expired::add);
+
+            assertEquals(List.of("kept"), expired);
+            assertEquals(0, wheel.size());
+        }
+
+        @Test
+        @DisplayName("Não deve cancelar um prazo já entregue")
+        void shouldNotCancelExpiredTimeout() {
+            HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 0);
+            HierarchicalTimingWheel<String>.Timeout timeout = wheel.schedule(100, "a");
+
+            wheel.advanceTo(100, task -> { });
+
+            assertFalse(timeout.cancel());
+        }
+    }
+}